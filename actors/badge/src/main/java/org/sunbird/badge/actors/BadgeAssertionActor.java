@@ -3,7 +3,6 @@ package org.sunbird.badge.actors;
 
 import java.io.IOException;
 import java.util.Map;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.badge.BadgeOperations;
 import org.sunbird.badge.service.BadgingService;
@@ -18,6 +17,7 @@ import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.TelemetryEnvKey;
 import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.Util;
 
 /** @author Manzarul */
@@ -25,7 +25,7 @@ import org.sunbird.learner.util.Util;
   tasks = {"createBadgeAssertion", "getBadgeAssertion", "getBadgeAssertionList", "revokeBadge"},
   asyncTasks = {}
 )
-public class BadgeAssertionActor extends BaseActor {
+public class BadgeAssertionActor extends InstrumentedActor {
 
   BadgingService service = BadgingFactory.getInstance();
 
@@ -1,6 +1,5 @@
 package org.sunbird.badge.actors;
 
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.badge.service.BadgingService;
 import org.sunbird.badge.service.impl.BadgingFactory;
@@ -10,6 +9,7 @@ import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.TelemetryEnvKey;
 import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.Util;
 
 /**
@@ -21,7 +21,7 @@ import org.sunbird.learner.util.Util;
   tasks = {"createBadgeClass", "getBadgeClass", "searchBadgeClass", "deleteBadgeClass"},
   asyncTasks = {}
 )
-public class BadgeClassActor extends BaseActor {
+public class BadgeClassActor extends InstrumentedActor {
   private BadgingService badgingService;
 
   public BadgeClassActor() {
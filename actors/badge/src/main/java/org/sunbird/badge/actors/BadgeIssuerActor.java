@@ -1,7 +1,6 @@
 package org.sunbird.badge.actors;
 
 import java.io.IOException;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.badge.service.BadgingService;
 import org.sunbird.badge.service.impl.BadgingFactory;
@@ -11,6 +10,7 @@ import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.TelemetryEnvKey;
 import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.Util;
 
 /** Created by arvind on 5/3/18. */
@@ -18,7 +18,7 @@ import org.sunbird.learner.util.Util;
   tasks = {"createBadgeIssuer", "getBadgeIssuer", "getAllIssuer", "deleteIssuer"},
   asyncTasks = {}
 )
-public class BadgeIssuerActor extends BaseActor {
+public class BadgeIssuerActor extends InstrumentedActor {
 
   private BadgingService badgingService;
 
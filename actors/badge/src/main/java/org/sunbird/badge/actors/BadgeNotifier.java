@@ -1,9 +1,10 @@
 package org.sunbird.badge.actors;
 
+import akka.dispatch.Futures;
+import akka.pattern.Patterns;
 import java.util.Arrays;
 import java.util.List;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.badge.BadgeOperations;
 import org.sunbird.common.models.response.Response;
@@ -11,18 +12,25 @@ import org.sunbird.common.models.response.ResponseParams;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.quartz.scheduler.ContentBadgeReplayScheduler;
 import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.content.service.ContentService;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.Util;
+import scala.concurrent.Future;
 
 /** @author Mahesh Kumar Gangula */
 @ActorConfig(
   tasks = {},
-  asyncTasks = {"assignBadgeMessage", "revokeBadgeMessage"}
+  asyncTasks = {
+    "assignBadgeMessage",
+    "revokeBadgeMessage",
+    ContentBadgeReplayScheduler.REPLAY_OPERATION
+  }
 )
-public class BadgeNotifier extends BaseActor {
+public class BadgeNotifier extends InstrumentedActor {
 
   private static final String INVALID_BADGE_NOTIFICATION_REQUEST =
       "INVALID_BADGE_NOTIFICATION_REQUEST";
@@ -40,30 +48,31 @@ public class BadgeNotifier extends BaseActor {
         "Processing badge notification for " + operation,
         request.getRequest(),
         LoggerEnum.INFO.name());
-    Response response;
-    if (StringUtils.isNotBlank(operation) && asyncTasks.contains(operation)) {
-      response = processBadge(operation, objectType, request);
-      sender().tell(response, self());
+    if (ContentBadgeReplayScheduler.REPLAY_OPERATION.equals(operation)) {
+      ContentService.replayBadgeUpdates();
+    } else if (StringUtils.isNotBlank(operation) && asyncTasks.contains(operation)) {
+      Future<Response> response = processBadge(operation, objectType, request);
+      Patterns.pipe(response, getContext().dispatcher()).to(sender());
     } else {
       onReceiveUnsupportedMessage(request.getOperation());
     }
   }
 
-  private Response processBadge(String operation, String objectType, Request request)
-      throws Exception {
-    Response response;
+  private Future<Response> processBadge(String operation, String objectType, Request request) {
+    Future<Response> response;
     if (StringUtils.isBlank(objectType)) {
-      response = invalidObjectType(INVALID_BADGE_NOTIFICATION_REQUEST, objectType);
+      response =
+          Futures.successful(invalidObjectType(INVALID_BADGE_NOTIFICATION_REQUEST, objectType));
     } else {
       String caseVal = objectType.toUpperCase() + ":" + operation.toUpperCase();
       switch (caseVal) {
         case "USER:ASSIGNBADGEMESSAGE":
           request.setOperation(BadgeOperations.assignBadgeToUser.name());
-          response = notifyUser(request);
+          response = Futures.successful(notifyUser(request));
           break;
         case "USER:REVOKEBADGEMESSAGE":
           request.setOperation(BadgeOperations.revokeBadgeFromUser.name());
-          response = notifyUser(request);
+          response = Futures.successful(notifyUser(request));
           break;
         case "CONTENT:ASSIGNBADGEMESSAGE":
           response = ContentService.assignBadge(request);
@@ -72,7 +81,8 @@ public class BadgeNotifier extends BaseActor {
           response = ContentService.revokeBadge(request);
           break;
         default:
-          response = invalidObjectType(INVALID_BADGE_NOTIFICATION_REQUEST, objectType);
+          response =
+              Futures.successful(invalidObjectType(INVALID_BADGE_NOTIFICATION_REQUEST, objectType));
           break;
       }
     }
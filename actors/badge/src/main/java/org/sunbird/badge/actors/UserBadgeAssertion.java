@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.badge.BadgeOperations;
 import org.sunbird.cassandra.CassandraOperation;
@@ -18,6 +17,7 @@ import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.Util;
 import org.sunbird.learner.util.Util.DbInfo;
 import org.sunbird.telemetry.util.TelemetryUtil;
@@ -26,7 +26,7 @@ import org.sunbird.telemetry.util.TelemetryUtil;
   tasks = {},
   asyncTasks = {"assignBadgeToUser", "revokeBadgeFromUser"}
 )
-public class UserBadgeAssertion extends BaseActor {
+public class UserBadgeAssertion extends InstrumentedActor {
 
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private DbInfo dbInfo = Util.dbInfoMap.get(BadgingJsonKey.USER_BADGE_ASSERTION_DB);
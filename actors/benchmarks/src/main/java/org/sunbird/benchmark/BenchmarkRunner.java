@@ -0,0 +1,48 @@
+package org.sunbird.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks jar. Accepts all JMH command line options (e.g. a benchmark name
+ * pattern, -f, -wi, -i, -prof gc) and, unless -rf / -rff are given, writes results in JMH JSON
+ * format to jmh-result.json so that runs can be compared by tooling.
+ *
+ * <p>The module is built only with the benchmarks profile (mvn -Pbenchmarks package).
+ *
+ * <p>Benchmarks call the production code through the module artifacts, never a copy of it. So the
+ * telemetry consumer (SunbirdTelemetryEventConsumer) is not covered: actors/telemetry-core has no
+ * pom and is not a module of the build, so no artifact containing it can be depended on. A
+ * benchmark of it can be added once telemetry-core is built as a module.
+ *
+ * <p>Usage: java -jar actors/benchmarks/target/benchmarks.jar [JMH options] [benchmark regexp]
+ */
+public final class BenchmarkRunner {
+
+  private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+  private BenchmarkRunner() {}
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+    if (commandLineOptions.shouldHelp()) {
+      commandLineOptions.showHelp();
+      return;
+    }
+    if (commandLineOptions.shouldList()) {
+      new Runner(commandLineOptions).list();
+      return;
+    }
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+    if (!commandLineOptions.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+    if (!commandLineOptions.getResult().hasValue()) {
+      options.result(DEFAULT_RESULT_FILE);
+    }
+    new Runner(options.build()).run();
+  }
+}
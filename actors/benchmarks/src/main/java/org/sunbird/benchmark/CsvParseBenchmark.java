@@ -0,0 +1,94 @@
+package org.sunbird.benchmark;
+
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.testkit.TestActorRef;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sunbird.common.request.Request;
+import org.sunbird.learner.actors.bulkupload.BaseBulkUploadActor;
+
+/**
+ * Benchmark of {@link BaseBulkUploadActor#parseCsvFile(byte[], String)}, which parses every bulk
+ * upload file. The file has a header and user like rows, some values quoted and containing
+ * commas. The method is called on an instance of a minimal bulk upload actor created with {@link
+ * TestActorRef}; the store is only used when parsing fails, which does not happen here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvParseBenchmark {
+
+  private static final String HEADER =
+      "firstName,lastName,email,phone,userName,location,externalId,provider,roles,position\n";
+
+  @Param({"100", "10000"})
+  private int rows;
+
+  private ActorSystem system;
+  private BaseBulkUploadActor actor;
+  private byte[] file;
+
+  @Setup
+  public void setUp() {
+    system = ActorSystem.create("CsvParseBenchmark");
+    TestActorRef<CsvParsingActor> actorRef =
+        TestActorRef.create(system, Props.create(CsvParsingActor.class));
+    actor = actorRef.underlyingActor();
+
+    StringBuilder csv = new StringBuilder(HEADER);
+    for (int i = 0; i < rows; i++) {
+      csv.append("First")
+          .append(i)
+          .append(",Last")
+          .append(i)
+          .append(",user")
+          .append(i)
+          .append("@example.org,")
+          .append(9000000000L + i)
+          .append(",user_")
+          .append(i)
+          .append(",\"Bengaluru, Karnataka\",ext-")
+          .append(i)
+          .append(",provider,\"PUBLIC,CONTENT_CREATOR\",\"Teacher \"\"Grade ")
+          .append(i % 12)
+          .append("\"\"\"\n");
+    }
+    file = csv.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @TearDown
+  public void tearDown() {
+    system.terminate();
+  }
+
+  @Benchmark
+  public List<String[]> parseCsvFile() throws Exception {
+    return actor.parseCsvFile(file, "benchmark");
+  }
+
+  /** Bulk upload actor exposing only the parsing of {@link BaseBulkUploadActor}. */
+  public static class CsvParsingActor extends BaseBulkUploadActor {
+
+    @Override
+    public void onReceive(Request request) throws Throwable {
+      onReceiveUnsupportedOperation(request.getOperation());
+    }
+  }
+}
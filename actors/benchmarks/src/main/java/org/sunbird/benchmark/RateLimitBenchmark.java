@@ -0,0 +1,123 @@
+package org.sunbird.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.ratelimit.dao.RateLimitDao;
+import org.sunbird.ratelimit.limiter.RateLimit;
+import org.sunbird.ratelimit.limiter.RateLimiter;
+import org.sunbird.ratelimit.service.RateLimitServiceImpl;
+
+/**
+ * Benchmark of {@link RateLimitServiceImpl#throttleByKey(String, RateLimiter[])}, called for every
+ * OTP generation. Rate limits are kept by an in memory DAO instead of Cassandra, so the benchmark
+ * measures the service itself (reading limits, checking and counting them, building records).
+ * Calls cycle through one or many keys with limits high enough never to be crossed; after the
+ * first cycle every key has a rate limit for each unit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitBenchmark {
+
+  @Param({"1", "1000"})
+  private int keys;
+
+  private RateLimitServiceImpl rateLimitService;
+  private String[] keyNames;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    rateLimitService =
+        new RateLimitServiceImpl(new InMemoryRateLimitDao()) {
+          @Override
+          public boolean isRateLimitOn() {
+            return true;
+          }
+        };
+
+    keyNames = new String[keys];
+    for (int i = 0; i < keys; i++) {
+      keyNames[i] = "user" + i + "@example.org";
+    }
+  }
+
+  @Benchmark
+  public void throttleByKey() {
+    String key = keyNames[next];
+    next = (next + 1) % keyNames.length;
+    rateLimitService.throttleByKey(key, BenchmarkRateLimiter.values());
+  }
+
+  /** Rate limits which are never crossed during a benchmark run. */
+  private enum BenchmarkRateLimiter implements RateLimiter {
+    MINUTE(60),
+    HOUR(3600),
+    DAY(86400);
+
+    private final int ttl;
+
+    BenchmarkRateLimiter(int ttl) {
+      this.ttl = ttl;
+    }
+
+    @Override
+    public Integer getRateLimit() {
+      return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int getTTL() {
+      return ttl;
+    }
+  }
+
+  /** Rate limit DAO keeping records in memory, by key and unit, without expiry. */
+  private static class InMemoryRateLimitDao implements RateLimitDao {
+
+    private final Map<String, Map<String, Map<String, Object>>> records =
+        new ConcurrentHashMap<>();
+
+    @Override
+    public void insertRateLimits(List<RateLimit> rateLimits) {
+      for (RateLimit rateLimit : rateLimits) {
+        Map<String, Object> record = rateLimit.getRecord();
+        record.put(JsonKey.TTL, rateLimit.getTTL());
+        records
+            .computeIfAbsent(rateLimit.getKey(), key -> new ConcurrentHashMap<>())
+            .put(rateLimit.getUnit(), record);
+      }
+    }
+
+    @Override
+    public List<Map<String, Object>> getRateLimits(String key) {
+      List<Map<String, Object>> rateLimits = new ArrayList<>();
+      Map<String, Map<String, Object>> recordsByUnit = records.get(key);
+      if (recordsByUnit != null) {
+        for (Map<String, Object> record : recordsByUnit.values()) {
+          rateLimits.add(new HashMap<>(record));
+        }
+      }
+      return rateLimits;
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package org.sunbird.benchmark;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.dto.SearchDTO;
+import org.sunbird.learner.util.Util;
+
+/**
+ * Benchmark of {@link Util#createSearchDto(Map)}, which converts every search request body into
+ * a search DTO. Request shape is that of a search API call (numbers as BigInteger, as parsed by
+ * the service), with sortFields sort and soft constraint entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchDtoBenchmark {
+
+  @Param({"1", "10"})
+  private int sortFields;
+
+  private Map<String, Object> searchQuery;
+
+  @Setup
+  public void setUp() {
+    searchQuery = new HashMap<>();
+    searchQuery.put(JsonKey.QUERY, "mathematics");
+
+    Map<String, Object> filters = new HashMap<>();
+    filters.put(JsonKey.STATUS, BigInteger.ONE);
+    filters.put(JsonKey.CHANNEL, Arrays.asList("channel1", "channel2"));
+    filters.put(JsonKey.ORGANISATION_ID, "0123456789");
+    searchQuery.put(JsonKey.FILTERS, filters);
+
+    searchQuery.put(JsonKey.FIELDS, Arrays.asList(JsonKey.ID, JsonKey.EMAIL, JsonKey.FIRST_NAME));
+    searchQuery.put(JsonKey.EXISTS, Arrays.asList(JsonKey.EMAIL));
+    searchQuery.put(JsonKey.NOT_EXISTS, Arrays.asList(JsonKey.PHONE));
+
+    List<Map<String, String>> facets = new ArrayList<>();
+    Map<String, String> facet = new HashMap<>();
+    facet.put(JsonKey.CHANNEL, null);
+    facets.add(facet);
+    searchQuery.put(JsonKey.FACETS, facets);
+
+    Map<String, String> sortBy = new HashMap<>();
+    Map<String, BigInteger> softConstraints = new HashMap<>();
+    for (int i = 0; i < sortFields; i++) {
+      sortBy.put("field" + i, "asc");
+      softConstraints.put("field" + i, BigInteger.valueOf(i + 1));
+    }
+    searchQuery.put(JsonKey.SORT_BY, sortBy);
+    searchQuery.put(JsonKey.SOFT_CONSTRAINTS, softConstraints);
+    searchQuery.put(JsonKey.OFFSET, BigInteger.ZERO);
+    searchQuery.put(JsonKey.LIMIT, BigInteger.valueOf(100));
+  }
+
+  @Benchmark
+  public SearchDTO createSearchDto() {
+    return Util.createSearchDto(searchQuery);
+  }
+}
@@ -0,0 +1,100 @@
+package org.sunbird.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.learner.util.UserUtility;
+
+/**
+ * Benchmark of {@link UserUtility#encryptUserData(Map)} and {@link
+ * UserUtility#decryptUserData(Map)} for a user with and without addresses. Both methods replace
+ * values in place, so each invocation works on a fresh copy of the user; {@link #copyUser()}
+ * measures the copy alone so that it can be subtracted.
+ *
+ * <p>Encryption key is read from configuration as in the service (sunbird_encryption_key).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDataEncryptionBenchmark {
+
+  private static final String[] ADDRESS_FIELDS = {
+    "addressLine1", "addressLine2", "city", "state", "zipcode"
+  };
+
+  @Param({"0", "2"})
+  private int addresses;
+
+  private Map<String, Object> plainUser;
+  private Map<String, Object> encryptedUser;
+
+  @Setup
+  public void setUp() throws Exception {
+    plainUser = new HashMap<>();
+    plainUser.put(JsonKey.ID, "7d086d0e-4d4c-4d8f-8f35-0a5b0c9d5f6e");
+    plainUser.put(JsonKey.FIRST_NAME, "First");
+    plainUser.put(JsonKey.EMAIL, "first.last@example.org");
+    plainUser.put(JsonKey.PHONE, "9999999999");
+    plainUser.put(JsonKey.USERNAME, "first_last");
+    plainUser.put(JsonKey.LOGIN_ID, "first_last@channel");
+    plainUser.put(JsonKey.LOCATION, "Bengaluru");
+    if (addresses > 0) {
+      List<Map<String, Object>> addressList = new ArrayList<>();
+      for (int i = 0; i < addresses; i++) {
+        Map<String, Object> address = new HashMap<>();
+        for (String field : ADDRESS_FIELDS) {
+          address.put(field, field + " value " + i);
+        }
+        addressList.add(address);
+      }
+      plainUser.put(JsonKey.ADDRESS, addressList);
+    }
+    encryptedUser = UserUtility.encryptUserData(copy(plainUser));
+  }
+
+  @Benchmark
+  public Map<String, Object> copyUser() {
+    return copy(plainUser);
+  }
+
+  @Benchmark
+  public Map<String, Object> encryptUserData() throws Exception {
+    return UserUtility.encryptUserData(copy(plainUser));
+  }
+
+  @Benchmark
+  public Map<String, Object> decryptUserData() {
+    return UserUtility.decryptUserData(copy(encryptedUser));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> copy(Map<String, Object> user) {
+    Map<String, Object> copy = new HashMap<>(user);
+    List<Map<String, Object>> addressList = (List<Map<String, Object>>) user.get(JsonKey.ADDRESS);
+    if (addressList != null) {
+      List<Map<String, Object>> addressCopy = new ArrayList<>(addressList.size());
+      for (Map<String, Object> address : addressList) {
+        addressCopy.add(new HashMap<>(address));
+      }
+      copy.put(JsonKey.ADDRESS, addressCopy);
+    }
+    return copy;
+  }
+}
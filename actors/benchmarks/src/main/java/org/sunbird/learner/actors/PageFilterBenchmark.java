@@ -0,0 +1,99 @@
+package org.sunbird.learner.actors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark of merging of requested page filters into default filters of a page section
+ * (PageManagementActor applyFilters), done for every section of every page data request. The
+ * merge covers list into list, value into list, list into value, value into value, map and new
+ * key cases, with a few or many values per list.
+ *
+ * <p>The benchmark is in the actor's package to call the package-private merge directly. The merge
+ * changes both filter maps in place, so each invocation works on fresh copies; {@link
+ * #copyFilters(Blackhole)} measures the copy alone so that it can be subtracted.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageFilterBenchmark {
+
+  @Param({"2", "50"})
+  private int values;
+
+  private Map<String, Object> sectionFilters;
+  private Map<String, Object> requestFilters;
+
+  @Setup
+  public void setUp() {
+    sectionFilters = new HashMap<>();
+    sectionFilters.put("contentType", values("Course", values));
+    sectionFilters.put("gradeLevel", values("Grade", values));
+    sectionFilters.put("board", "CBSE");
+    sectionFilters.put("medium", "Hindi");
+    sectionFilters.put("status", values("Live", 1));
+    sectionFilters.put("createdOn", new HashMap<>());
+
+    requestFilters = new HashMap<>();
+    requestFilters.put("contentType", values("Resource", values));
+    requestFilters.put("gradeLevel", "Grade 0");
+    requestFilters.put("board", values("NCERT", values));
+    requestFilters.put("medium", "English");
+    requestFilters.put("createdOn", values("2018", 1));
+    requestFilters.put("language", values("English", values));
+  }
+
+  @Benchmark
+  public void copyFilters(Blackhole blackhole) {
+    blackhole.consume(copy(sectionFilters));
+    blackhole.consume(copy(requestFilters));
+  }
+
+  @Benchmark
+  public Map<String, Object> applyFilters() {
+    Map<String, Object> filters = copy(sectionFilters);
+    PageManagementActor.applyFilters(filters, copy(requestFilters));
+    return filters;
+  }
+
+  private static List<Object> values(String prefix, int count) {
+    List<Object> list = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      list.add(prefix + " " + i);
+    }
+    return list;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> copy(Map<String, Object> filters) {
+    Map<String, Object> copy = new HashMap<>(filters.size() * 2);
+    for (Map.Entry<String, Object> entry : filters.entrySet()) {
+      Object value = entry.getValue();
+      if (value instanceof List) {
+        value = new ArrayList<>((List<Object>) value);
+      } else if (value instanceof Map) {
+        value = new HashMap<>((Map<String, Object>) value);
+      }
+      copy.put(entry.getKey(), value);
+    }
+    return copy;
+  }
+}
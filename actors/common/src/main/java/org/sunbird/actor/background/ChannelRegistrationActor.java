@@ -8,7 +8,6 @@ import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONArray;
 import org.json.JSONObject;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.ElasticSearchUtil;
@@ -21,6 +20,7 @@ import org.sunbird.common.models.util.PropertiesCache;
 import org.sunbird.common.request.Request;
 import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.Util;
 
 /** @author Amit Kumar */
@@ -28,7 +28,7 @@ import org.sunbird.learner.util.Util;
   tasks = {},
   asyncTasks = {"registerChannel"}
 )
-public class ChannelRegistrationActor extends BaseActor {
+public class ChannelRegistrationActor extends InstrumentedActor {
 
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
 
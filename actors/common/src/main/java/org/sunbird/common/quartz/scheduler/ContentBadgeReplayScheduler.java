@@ -0,0 +1,33 @@
+package org.sunbird.common.quartz.scheduler;
+
+import java.util.Calendar;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.request.Request;
+import org.sunbird.learner.util.Util;
+
+/**
+ * Scheduler job to make the stored badge updates of content again. Badge updates are made by the
+ * content service, so the job only asks a background actor to replay them. In cluster mode quartz
+ * runs the job on one of the nodes.
+ */
+public class ContentBadgeReplayScheduler extends BaseJob {
+
+  public static final String REPLAY_OPERATION = "replayContentBadgeUpdates";
+
+  @Override
+  public void execute(JobExecutionContext ctx) throws JobExecutionException {
+    ProjectLogger.log(
+        "ContentBadgeReplayScheduler:execute: Running content badge replay job at: "
+            + Calendar.getInstance().getTime(),
+        LoggerEnum.INFO.name());
+    Util.initializeContextForSchedulerJob(
+        JsonKey.SYSTEM, ctx.getFireInstanceId(), JsonKey.SCHEDULER_JOB);
+    Request request = new Request();
+    request.setOperation(REPLAY_OPERATION);
+    tellToBGRouter(request);
+  }
+}
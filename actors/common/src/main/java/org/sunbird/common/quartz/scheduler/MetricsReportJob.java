@@ -1,8 +1,5 @@
 package org.sunbird.common.quartz.scheduler;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import java.io.IOException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
@@ -44,8 +41,6 @@ public class MetricsReportJob extends BaseJob {
   }
 
   private void performReportJob() {
-
-    ObjectMapper mapper = new ObjectMapper();
     SimpleDateFormat simpleDateFormat = ProjectUtil.getDateFormatter();
     simpleDateFormat.setLenient(false);
 
@@ -65,23 +60,17 @@ public class MetricsReportJob extends BaseJob {
         String updatedDate = (String) map.get(JsonKey.UPDATED_DATE);
         try {
           if (thirtyMinutesBefore.compareTo(simpleDateFormat.parse(updatedDate)) >= 0) {
-            String jsonString = (String) map.get(JsonKey.DATA);
-            // convert that string to List<List<Object>>
-            TypeReference<List<List<Object>>> typeReference =
-                new TypeReference<List<List<Object>>>() {};
-            List<List<Object>> data = mapper.readValue(jsonString, typeReference);
-            // assign the back ground task to background job actor ...
+            // report data stays in the store, background job actor reads it using request id
             Request backGroundRequest = new Request();
             backGroundRequest.setOperation(ActorOperations.FILE_GENERATION_AND_UPLOAD.getValue());
 
             Map<String, Object> innerMap = new HashMap<>();
             innerMap.put(JsonKey.REQUEST_ID, map.get(JsonKey.ID));
-            innerMap.put(JsonKey.DATA, data);
 
             backGroundRequest.setRequest(innerMap);
             tellToBGRouter(backGroundRequest);
           }
-        } catch (ParseException | IOException e) {
+        } catch (ParseException e) {
           ProjectLogger.log(e.getMessage(), e);
         }
       }
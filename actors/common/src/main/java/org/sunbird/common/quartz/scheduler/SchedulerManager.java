@@ -18,10 +18,12 @@ import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.PropertiesCache;
+import org.sunbird.learner.util.Util;
 
 /**
  * This class will manage all the Quartz scheduler. We need to call the schedule method at one time.
- * we are calling this method from Util.java class.
+ * we are calling this method from StartupManager once actors and Cassandra connections are ready,
+ * or after a delay from Util when the service is not started through StartupManager.
  *
  * @author Manzarul
  */
@@ -42,7 +44,6 @@ public final class SchedulerManager {
         LoggerEnum.INFO.name());
 
     try {
-      Thread.sleep(240000);
       boolean isEmbedded = false;
       Properties configProp = null;
       String embeddVal = System.getenv(JsonKey.SUNBIRD_QUARTZ_MODE);
@@ -65,6 +66,7 @@ public final class SchedulerManager {
       scheduleMetricsReportJob(identifier);
       scheduleUpdateUserCountJob(identifier);
       scheduleChannelReg(identifier);
+      scheduleContentBadgeReplayJob(identifier);
     } catch (Exception e) {
       ProjectLogger.log(
           "SchedulerManager:schedule: Error in starting scheduler jobs - org.sunbird.common.quartz.scheduler.SchedulerManager ",
@@ -244,6 +246,41 @@ public final class SchedulerManager {
     }
   }
 
+  private void scheduleContentBadgeReplayJob(String identifier) {
+    // 1- create a job and bind with class which is implementing Job
+    // interface.
+    JobDetail contentBadgeReplayJob =
+        JobBuilder.newJob(ContentBadgeReplayScheduler.class)
+            .requestRecovery(true)
+            .withDescription("Scheduler for replay of stored content badge updates")
+            .withIdentity("contentBadgeReplayScheduler", identifier)
+            .build();
+
+    // 2- Create a trigger object that will define frequency of run.
+    // This will run every sunbird_content_badge_replay_interval_ms milliseconds.
+    Trigger contentBadgeReplayTrigger =
+        TriggerBuilder.newTrigger()
+            .withIdentity("contentBadgeReplayTrigger", identifier)
+            .withSchedule(
+                SimpleScheduleBuilder.simpleSchedule()
+                    .withIntervalInMilliseconds(
+                        Util.getIntConfigValue("sunbird_content_badge_replay_interval_ms", 300000))
+                    .repeatForever())
+            .build();
+    try {
+      if (scheduler.checkExists(contentBadgeReplayJob.getKey())) {
+        scheduler.deleteJob(contentBadgeReplayJob.getKey());
+      }
+      scheduler.scheduleJob(contentBadgeReplayJob, contentBadgeReplayTrigger);
+      scheduler.start();
+      ProjectLogger.log(
+          "SchedulerManager:scheduleContentBadgeReplayJob: ContentBadgeReplayScheduler started",
+          LoggerEnum.INFO.name());
+    } catch (Exception e) {
+      ProjectLogger.log(e.getMessage(), e);
+    }
+  }
+
   private void scheduleCourseBatchCount(String identifier) {
     // 1- create a job and bind with class which is implementing Job
     // interface.
@@ -323,7 +360,7 @@ public final class SchedulerManager {
     return configProp;
   }
 
-  public static SchedulerManager getInstance() {
+  public static synchronized SchedulerManager getInstance() {
     if (schedulerManager != null) {
       return schedulerManager;
     } else {
@@ -1,12 +1,10 @@
 /** */
 package org.sunbird.common.quartz.scheduler;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.Date;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.quartz.JobExecutionContext;
@@ -20,18 +18,21 @@ import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.Request;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.bulkupload.BulkUploadLeaseManager;
 import org.sunbird.learner.util.Util;
 import org.sunbird.telemetry.util.TelemetryEvents;
 import org.sunbird.telemetry.util.TelemetryUtil;
 
 /**
- * This class will lookup into bulk process table. if process type is new or in progress (more than
- * x hours) then take the process id and do the re-process of job.
+ * This class will lookup into bulk process table. if process is new and not leased by any node, or
+ * its lease expired (or was released) while it is still new or in progress, then take the process
+ * id and do the re-process of job. Expired leases are found through the heartbeat bucket index of
+ * the leases, so in progress processes are not scanned. Textbook uploads are not stored, so such
+ * textbook uploads are marked failed instead.
  *
  * @author Manzarul
  */
 public class UploadLookUpScheduler extends BaseJob {
-  private SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss:SSSZ");
 
   public void execute(JobExecutionContext ctx) throws JobExecutionException {
     ProjectLogger.log(
@@ -46,63 +47,59 @@ public class UploadLookUpScheduler extends BaseJob {
         genarateLogInfo(JsonKey.SYSTEM, ctx.getJobDetail().getDescription());
     Util.DbInfo bulkDb = Util.dbInfoMap.get(JsonKey.BULK_OP_DB);
     CassandraOperation cassandraOperation = ServiceFactory.getInstance();
-    List<Map<String, Object>> result = null;
-    // get List of process with status as New
+    Map<String, Map<String, Object>> pendingProcesses = new LinkedHashMap<>();
+    // get List of process with status as New which are not picked by any node
     Response res =
         cassandraOperation.getRecordsByProperty(
             bulkDb.getKeySpace(),
             bulkDb.getTableName(),
             JsonKey.STATUS,
             ProjectUtil.BulkProcessStatus.NEW.getValue());
-    result = ((List<Map<String, Object>>) res.get(JsonKey.RESPONSE));
+    List<Map<String, Object>> result = ((List<Map<String, Object>>) res.get(JsonKey.RESPONSE));
     ProjectLogger.log(
         "Total No. of record in Bulk_upload_process table with status as NEW are : :"
             + result.size(),
         LoggerEnum.INFO.name());
     if (!result.isEmpty()) {
-      process(result);
-    }
-    // get List of Process with status as InProgress
-    res =
-        cassandraOperation.getRecordsByProperty(
-            bulkDb.getKeySpace(),
-            bulkDb.getTableName(),
-            JsonKey.STATUS,
-            ProjectUtil.BulkProcessStatus.IN_PROGRESS.getValue());
-    result = ((List<Map<String, Object>>) res.get(JsonKey.RESPONSE));
-    ProjectLogger.log(
-        "Total No. of record in Bulk_upload_process table with status as IN_PROGRESS are : :"
-            + result.size(),
-        LoggerEnum.INFO.name());
-    if (null != result) {
-      Iterator<Map<String, Object>> itr = result.iterator();
-      while (itr.hasNext()) {
-        Map<String, Object> map = itr.next();
-        try {
-          Date startTime = format.parse((String) map.get(JsonKey.PROCESS_START_TIME));
-          Date currentTime = format.parse(format.format(new Date()));
-          long difference = currentTime.getTime() - startTime.getTime();
-          int hourDiff = (int) (difference / (1000 * 3600));
-          // if diff is more than 5Hr then only process it.
-          if (hourDiff < 5) {
-            itr.remove();
-          }
-        } catch (ParseException ex) {
-          ProjectLogger.log(ex.getMessage(), ex);
+      List<String> processIds = new ArrayList<>();
+      for (Map<String, Object> map : result) {
+        processIds.add((String) map.get(JsonKey.ID));
+      }
+      Map<String, Boolean> leaseStatus = BulkUploadLeaseManager.getLeaseStatus(processIds);
+      for (Map<String, Object> map : result) {
+        if (!leaseStatus.get(map.get(JsonKey.ID))) {
+          pendingProcesses.put((String) map.get(JsonKey.ID), map);
         }
       }
-      if (!result.isEmpty()) {
-        ProjectLogger.log(
-            "Total No. of record in Bulk_upload_process table with status as IN_PROGRESS "
-                + "with diff bw start time and current time greater than 5Hr are : :"
-                + result.size(),
-            LoggerEnum.INFO.name());
-        process(result);
+    }
+    // get List of process whose lease expired (node processing it stopped renewing the lease) or
+    // was released, which are still NEW or IN_PROGRESS
+    List<Object> expiredProcessIds = new ArrayList<>(BulkUploadLeaseManager.getExpiredProcessIds());
+    if (!expiredProcessIds.isEmpty()) {
+      res =
+          cassandraOperation.getRecordsByProperty(
+              bulkDb.getKeySpace(), bulkDb.getTableName(), JsonKey.ID, expiredProcessIds);
+      result = ((List<Map<String, Object>>) res.get(JsonKey.RESPONSE));
+      result.removeIf(map -> !isPending((int) map.get(JsonKey.STATUS)));
+      ProjectLogger.log(
+          "Total No. of record in Bulk_upload_process table with expired lease are : :"
+              + result.size(),
+          LoggerEnum.INFO.name());
+      for (Map<String, Object> map : result) {
+        pendingProcesses.put((String) map.get(JsonKey.ID), map);
       }
     }
+    if (!pendingProcesses.isEmpty()) {
+      process(new ArrayList<>(pendingProcesses.values()));
+    }
     TelemetryUtil.telemetryProcessingCall(logInfo, null, null, TelemetryEvents.LOG.getName());
   }
 
+  private boolean isPending(int status) {
+    return ProjectUtil.BulkProcessStatus.NEW.getValue() == status
+        || ProjectUtil.BulkProcessStatus.IN_PROGRESS.getValue() == status;
+  }
+
   private void process(List<Map<String, Object>> result) {
     Request request = new Request();
     request.put(JsonKey.DATA, result);
@@ -1,21 +1,25 @@
 package org.sunbird.learner.actors;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.actor.background.BackgroundOperations;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.ElasticSearchUtil;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.Request;
-import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.util.Util;
 
@@ -23,9 +27,27 @@ import org.sunbird.learner.util.Util;
   tasks = {},
   asyncTasks = {"updateUserCountToLocationID"}
 )
-public class BackGroundServiceActor extends BaseActor {
+public class BackGroundServiceActor extends InstrumentedActor {
+
+  private static final String RAW_APPEND = ".raw";
+  private static final String DOC_COUNT = "doc_count";
+  private static final String LOCATIONS_AGGREGATION = "locations";
+  private static final String ORGS_AGGREGATION = "orgs";
+  private static final int LOCATION_CHUNK_SIZE =
+      Util.getIntConfigValue("sunbird_user_count_location_chunk_size", 500);
+  private static final int MAX_ORGS_PER_LOCATION =
+      Util.getIntConfigValue("sunbird_user_count_max_orgs_per_location", 10000);
+  private static final ExecutorService writeExecutor =
+      Executors.newFixedThreadPool(
+          Util.getIntConfigValue("sunbird_user_count_write_parallelism", 8),
+          runnable -> {
+            Thread thread = new Thread(runnable, "user-count-writer");
+            thread.setDaemon(true);
+            return thread;
+          });
 
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+  private ObjectMapper mapper = new ObjectMapper();
 
   @Override
   public void onReceive(Request request) throws Throwable {
@@ -49,6 +71,7 @@ public class BackGroundServiceActor extends BaseActor {
             locDbInfo.getKeySpace(), locDbInfo.getTableName(), JsonKey.ID, locationIds);
     List<Map<String, Object>> list = (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
     if (null != list && !list.isEmpty()) {
+      List<String> locationIdsToUpdate = new ArrayList<>();
       for (Map<String, Object> map : list) {
         String locationId = (String) map.get(JsonKey.ID);
         ProjectLogger.log("Processing start for LocationId " + locationId);
@@ -60,13 +83,7 @@ public class BackGroundServiceActor extends BaseActor {
             && !StringUtils.isBlank(operation)
             && operation.equalsIgnoreCase("UpdateUserCountScheduler")) {
           ProjectLogger.log("Processing start for LocationId for Scheduler " + locationId);
-          int count = getUserCount(locationId);
-          Map<String, Object> reqMap = new HashMap<>();
-          reqMap.put(JsonKey.ID, locationId);
-          reqMap.put(JsonKey.USER_COUNT, count);
-          reqMap.put(JsonKey.USER_COUNT_TTL, String.valueOf(System.currentTimeMillis()));
-          cassandraOperation.updateRecord(
-              locDbInfo.getKeySpace(), locDbInfo.getTableName(), reqMap);
+          locationIdsToUpdate.add(locationId);
         } else if (!StringUtils.isBlank(operation)
             && operation.equalsIgnoreCase("GeoLocationManagementActor")) {
           ProjectLogger.log(
@@ -87,62 +104,203 @@ public class BackGroundServiceActor extends BaseActor {
           int hours = (int) (diff / (1000 * 60 * 60));
           if (hours >= 24) {
             ProjectLogger.log("Updating user count for LocnId " + locationId);
-            int usrCount = getUserCount(locationId);
-            Map<String, Object> reqMap = new HashMap<>();
-            reqMap.put(JsonKey.ID, locationId);
-            reqMap.put(JsonKey.USER_COUNT, usrCount);
-            reqMap.put(JsonKey.USER_COUNT_TTL, String.valueOf(System.currentTimeMillis()));
-            cassandraOperation.updateRecord(
-                locDbInfo.getKeySpace(), locDbInfo.getTableName(), reqMap);
+            locationIdsToUpdate.add(locationId);
           }
         }
       }
+      updateUserCounts(locDbInfo, locationIdsToUpdate);
       ProjectLogger.log("Processing end user count update ");
     }
   }
 
-  private static int getUserCount(String locationId) {
-    ProjectLogger.log("fetching user count start ");
-    SearchDTO searchDto = new SearchDTO();
-    List<String> list = new ArrayList<>();
-    list.add(JsonKey.ID);
-    searchDto.setFields(list);
-    Map<String, Object> filter = new HashMap<>();
-    filter.put(JsonKey.LOCATION_ID, locationId);
-    searchDto.getAdditionalProperties().put(JsonKey.FILTERS, filter);
-    Map<String, Object> esResponse =
-        ElasticSearchUtil.complexSearch(
-            searchDto,
-            ProjectUtil.EsIndex.sunbird.getIndexName(),
-            ProjectUtil.EsType.organisation.getTypeName());
-    List<Map<String, Object>> orgList = (List<Map<String, Object>>) esResponse.get(JsonKey.CONTENT);
+  /**
+   * Computes user count of given locations in chunks (one org aggregation and one user aggregation
+   * per chunk) and writes them back using parallel single row updates.
+   */
+  private void updateUserCounts(Util.DbInfo locDbInfo, List<String> locationIds) {
+    int failedCount = 0;
+    for (List<String> locationIdChunk : Lists.partition(locationIds, LOCATION_CHUNK_SIZE)) {
+      Map<String, Integer> userCounts;
+      try {
+        userCounts = getUserCounts(locationIdChunk);
+      } catch (Exception e) {
+        failedCount += locationIdChunk.size();
+        ProjectLogger.log(
+            "BackGroundServiceActor:updateUserCounts: Failed to get user count for "
+                + locationIdChunk.size()
+                + " locations "
+                + locationIdChunk,
+            e);
+        continue;
+      }
+      failedCount += writeUserCounts(locDbInfo, locationIdChunk, userCounts);
+    }
+    if (failedCount > 0) {
+      ProjectLogger.log(
+          "BackGroundServiceActor:updateUserCounts: Failed to update user count of "
+              + failedCount
+              + " of "
+              + locationIds.size()
+              + " locations",
+          LoggerEnum.ERROR.name());
+    }
+  }
 
-    List<String> orgIdList = new ArrayList<>();
-    for (Map<String, Object> map : orgList) {
-      orgIdList.add((String) map.get(JsonKey.ID));
+  /**
+   * Writes user count of each location as a single row update. Rows are independent, so they are
+   * not grouped in a (logged) batch but written in parallel.
+   *
+   * @return Number of locations whose user count could not be written
+   */
+  private int writeUserCounts(
+      Util.DbInfo locDbInfo, List<String> locationIds, Map<String, Integer> userCounts) {
+    String userCountTTL = String.valueOf(System.currentTimeMillis());
+    List<CompletableFuture<Boolean>> writes = new ArrayList<>();
+    for (String locationId : locationIds) {
+      Map<String, Object> reqMap = new HashMap<>();
+      reqMap.put(JsonKey.ID, locationId);
+      reqMap.put(JsonKey.USER_COUNT, userCounts.getOrDefault(locationId, 0));
+      reqMap.put(JsonKey.USER_COUNT_TTL, userCountTTL);
+      writes.add(
+          CompletableFuture.supplyAsync(
+              () -> {
+                try {
+                  cassandraOperation.updateRecord(
+                      locDbInfo.getKeySpace(), locDbInfo.getTableName(), reqMap);
+                  return true;
+                } catch (Exception e) {
+                  ProjectLogger.log(
+                      "BackGroundServiceActor:writeUserCounts: Failed to update location "
+                          + locationId,
+                      e);
+                  return false;
+                }
+              },
+              writeExecutor));
     }
-    ProjectLogger.log(
-        "Total No of Organisation for Location Id " + locationId + " , " + orgIdList.size());
-    if (!orgIdList.isEmpty()) {
-      searchDto = new SearchDTO();
-      List<String> list2 = new ArrayList<>();
-      list2.add(JsonKey.ID);
-      searchDto.setFields(list2);
-      searchDto.setLimit(0);
-      Map<String, Object> filter2 = new HashMap<>();
-      filter2.put(JsonKey.ORGANISATIONS + "." + JsonKey.ORGANISATION_ID, orgIdList);
-      ProjectLogger.log("filter2.get(JsonKey.ORGANISATIONS.JsonKey.ORGANISATION_ID) " + orgIdList);
-      searchDto.getAdditionalProperties().put(JsonKey.FILTERS, filter2);
-      Map<String, Object> esResponse2 =
-          ElasticSearchUtil.complexSearch(
-              searchDto,
-              ProjectUtil.EsIndex.sunbird.getIndexName(),
-              ProjectUtil.EsType.user.getTypeName());
-      long userCount = (long) esResponse2.get(JsonKey.COUNT);
-      ProjectLogger.log("Total No of User for Location Id " + locationId + " , " + userCount);
-      return (int) userCount;
-    } else {
-      return 0;
+    int failedCount = 0;
+    for (CompletableFuture<Boolean> write : writes) {
+      if (!write.join()) {
+        failedCount++;
+      }
+    }
+    return failedCount;
+  }
+
+  /**
+   * Get number of users of each location. Organisations are grouped by location using terms
+   * aggregation and then users of each location (users belonging to any organisation of the
+   * location) are counted using one filters aggregation having one bucket per location.
+   *
+   * @param locationIds Location ids
+   * @return Map of location id and user count
+   */
+  private Map<String, Integer> getUserCounts(List<String> locationIds) throws Exception {
+    Map<String, List<String>> orgIdsByLocation = getOrgIdsByLocation(locationIds);
+    Map<String, Integer> userCounts = new HashMap<>();
+    if (orgIdsByLocation.isEmpty()) {
+      return userCounts;
+    }
+    Map<String, Object> locationFilters = new HashMap<>();
+    for (Map.Entry<String, List<String>> entry : orgIdsByLocation.entrySet()) {
+      locationFilters.put(
+          entry.getKey(),
+          termsQuery(
+              JsonKey.ORGANISATIONS + "." + JsonKey.ORGANISATION_ID + RAW_APPEND,
+              entry.getValue()));
+    }
+    Map<String, Object> query = new HashMap<>();
+    query.put(JsonKey.SIZE, 0);
+    Map<String, Object> locationAggregation =
+        singletonMap("filters", singletonMap("filters", locationFilters));
+    query.put(JsonKey.AGGREGATIONS, singletonMap(LOCATIONS_AGGREGATION, locationAggregation));
+    Map<String, Object> buckets =
+        (Map<String, Object>)
+            getAggregation(ProjectUtil.EsType.user.getTypeName(), query).get(JsonKey.BUCKETS);
+    for (Map.Entry<String, Object> bucket : buckets.entrySet()) {
+      Number count = (Number) ((Map<String, Object>) bucket.getValue()).get(DOC_COUNT);
+      userCounts.put(bucket.getKey(), count.intValue());
+      ProjectLogger.log("Total No of User for Location Id " + bucket.getKey() + " , " + count);
+    }
+    return userCounts;
+  }
+
+  private Map<String, List<String>> getOrgIdsByLocation(List<String> locationIds)
+      throws Exception {
+    Map<String, Object> orgTerms = new HashMap<>();
+    orgTerms.put(JsonKey.FIELD, JsonKey.ID + RAW_APPEND);
+    orgTerms.put(JsonKey.SIZE, MAX_ORGS_PER_LOCATION);
+    Map<String, Object> locationTerms = new HashMap<>();
+    locationTerms.put(JsonKey.FIELD, JsonKey.LOCATION_ID + RAW_APPEND);
+    locationTerms.put(JsonKey.SIZE, locationIds.size());
+    Map<String, Object> locationAggregation = new HashMap<>();
+    locationAggregation.put("terms", locationTerms);
+    locationAggregation.put(
+        JsonKey.AGGREGATIONS, singletonMap(ORGS_AGGREGATION, singletonMap("terms", orgTerms)));
+    Map<String, Object> query = new HashMap<>();
+    query.put(JsonKey.SIZE, 0);
+    query.put(JsonKey.QUERY, termsQuery(JsonKey.LOCATION_ID + RAW_APPEND, locationIds));
+    query.put(JsonKey.AGGREGATIONS, singletonMap(LOCATIONS_AGGREGATION, locationAggregation));
+
+    Map<String, List<String>> orgIdsByLocation = new HashMap<>();
+    List<Map<String, Object>> locationBuckets =
+        (List<Map<String, Object>>)
+            getAggregation(ProjectUtil.EsType.organisation.getTypeName(), query)
+                .get(JsonKey.BUCKETS);
+    for (Map<String, Object> locationBucket : locationBuckets) {
+      List<String> orgIds = new ArrayList<>();
+      List<Map<String, Object>> orgBuckets =
+          (List<Map<String, Object>>)
+              ((Map<String, Object>) locationBucket.get(ORGS_AGGREGATION)).get(JsonKey.BUCKETS);
+      for (Map<String, Object> orgBucket : orgBuckets) {
+        orgIds.add((String) orgBucket.get(JsonKey.KEY));
+      }
+      ProjectLogger.log(
+          "Total No of Organisation for Location Id "
+              + locationBucket.get(JsonKey.KEY)
+              + " , "
+              + orgIds.size());
+      if (!orgIds.isEmpty()) {
+        orgIdsByLocation.put((String) locationBucket.get(JsonKey.KEY), orgIds);
+      }
+    }
+    return orgIdsByLocation;
+  }
+
+  /**
+   * Runs given aggregation query and returns the "locations" aggregation result. Search response
+   * body of ES is expected under {@link JsonKey#RESPONSE} of the returned response.
+   */
+  private Map<String, Object> getAggregation(String type, Map<String, Object> query)
+      throws Exception {
+    Response response =
+        ElasticSearchUtil.searchMetricsData(
+            ProjectUtil.EsIndex.sunbird.getIndexName(), type, mapper.writeValueAsString(query));
+    Object aggregation = null;
+    Object esResult = response.get(JsonKey.RESPONSE);
+    if (esResult instanceof Map) {
+      Object aggregations = ((Map<String, Object>) esResult).get(JsonKey.AGGREGATIONS);
+      if (aggregations instanceof Map) {
+        aggregation = ((Map<String, Object>) aggregations).get(LOCATIONS_AGGREGATION);
+      }
     }
+    if (!(aggregation instanceof Map)) {
+      throw new IllegalStateException(
+          "BackGroundServiceActor:getAggregation: Unexpected search response for type "
+              + type
+              + " : "
+              + response.getResult());
+    }
+    return (Map<String, Object>) aggregation;
+  }
+
+  private static Map<String, Object> termsQuery(String field, List<String> values) {
+    return singletonMap("terms", singletonMap(field, values));
+  }
+
+  private static Map<String, Object> singletonMap(String key, Object value) {
+    Map<String, Object> map = new HashMap<>();
+    map.put(key, value);
+    return map;
   }
 }
@@ -1,5 +1,6 @@
 package org.sunbird.learner.actors;
 
+import akka.actor.ActorRef;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -11,7 +12,6 @@ import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONException;
 import org.json.JSONObject;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.ElasticSearchUtil;
@@ -28,6 +28,7 @@ import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.util.CourseBatchSchedulerUtil;
+import org.sunbird.learner.util.EsWriteBehindQueue;
 import org.sunbird.learner.util.Util;
 import org.sunbird.learner.util.Util.DbInfo;
 
@@ -57,7 +58,7 @@ import org.sunbird.learner.util.Util.DbInfo;
     "insertCourseBatchToEs"
   }
 )
-public class BackgroundJobManager extends BaseActor {
+public class BackgroundJobManager extends InstrumentedActor {
 
   private static Map<String, String> headerMap = new HashMap<>();
   private static Util.DbInfo dbInfo = null;
@@ -140,13 +141,11 @@ public class BackgroundJobManager extends BaseActor {
         badgesList = removeDataFromMap(badgesList);
         Map<String, Object> map = new HashMap<>();
         map.put(JsonKey.BADGES, badgesList);
-        boolean updateResponse =
-            updateDataToElastic(
-                ProjectUtil.EsIndex.sunbird.getIndexName(),
-                ProjectUtil.EsType.user.getTypeName(),
-                (String) userBadgeMap.get(JsonKey.RECEIVER_ID),
-                map);
-        ProjectLogger.log("User badge update response==" + updateResponse);
+        EsWriteBehindQueue.update(
+            ProjectUtil.EsIndex.sunbird.getIndexName(),
+            ProjectUtil.EsType.user.getTypeName(),
+            (String) userBadgeMap.get(JsonKey.RECEIVER_ID),
+            map);
       }
     } else {
       ProjectLogger.log("No data found user badges to sync with user===", LoggerEnum.INFO.name());
@@ -172,29 +171,25 @@ public class BackgroundJobManager extends BaseActor {
     List<String> roles = (List<String>) actorMessage.getRequest().get(JsonKey.ROLES);
     String type = (String) actorMessage.get(JsonKey.TYPE);
     String orgId = (String) actorMessage.get(JsonKey.ORGANISATION_ID);
-    Map<String, Object> result =
-        ElasticSearchUtil.getDataByIdentifier(
-            ProjectUtil.EsIndex.sunbird.getIndexName(),
-            ProjectUtil.EsType.user.getTypeName(),
-            (String) actorMessage.get(JsonKey.USER_ID));
-    if (type.equals(JsonKey.USER)) {
-      result.put(JsonKey.ROLES, roles);
-    } else if (type.equals(JsonKey.ORGANISATION)) {
-      List<Map<String, Object>> roleMapList =
-          (List<Map<String, Object>>) result.get(JsonKey.ORGANISATIONS);
-      if (null != roleMapList) {
-        for (Map<String, Object> map : roleMapList) {
-          if ((orgId.equalsIgnoreCase((String) map.get(JsonKey.ORGANISATION_ID)))) {
-            map.put(JsonKey.ROLES, roles);
-          }
-        }
-      }
-    }
-    updateDataToElastic(
+    EsWriteBehindQueue.modify(
         ProjectUtil.EsIndex.sunbird.getIndexName(),
         ProjectUtil.EsType.user.getTypeName(),
-        (String) result.get(JsonKey.IDENTIFIER),
-        result);
+        (String) actorMessage.get(JsonKey.USER_ID),
+        result -> {
+          if (type.equals(JsonKey.USER)) {
+            result.put(JsonKey.ROLES, roles);
+          } else if (type.equals(JsonKey.ORGANISATION)) {
+            List<Map<String, Object>> roleMapList =
+                (List<Map<String, Object>>) result.get(JsonKey.ORGANISATIONS);
+            if (null != roleMapList) {
+              for (Map<String, Object> map : roleMapList) {
+                if ((orgId.equalsIgnoreCase((String) map.get(JsonKey.ORGANISATION_ID)))) {
+                  map.put(JsonKey.ROLES, roles);
+                }
+              }
+            }
+          }
+        });
   }
 
   @SuppressWarnings("unchecked")
@@ -202,7 +197,7 @@ public class BackgroundJobManager extends BaseActor {
 
     Map<String, Object> batch =
         (Map<String, Object>) actorMessage.getRequest().get(JsonKey.USER_COURSES);
-    updateDataToElastic(
+    EsWriteBehindQueue.update(
         ProjectUtil.EsIndex.sunbird.getIndexName(),
         ProjectUtil.EsType.usercourses.getTypeName(),
         (String) batch.get(JsonKey.ID),
@@ -214,7 +209,7 @@ public class BackgroundJobManager extends BaseActor {
 
     Map<String, Object> batch =
         (Map<String, Object>) actorMessage.getRequest().get(JsonKey.USER_COURSES);
-    insertDataToElastic(
+    EsWriteBehindQueue.index(
         ProjectUtil.EsIndex.sunbird.getIndexName(),
         ProjectUtil.EsType.usercourses.getTypeName(),
         (String) batch.get(JsonKey.ID),
@@ -224,62 +219,52 @@ public class BackgroundJobManager extends BaseActor {
   @SuppressWarnings("unchecked")
   private void removeUserOrgInfoToEs(Request actorMessage) {
     Map<String, Object> orgMap = (Map<String, Object>) actorMessage.getRequest().get(JsonKey.USER);
-    Map<String, Object> result =
-        ElasticSearchUtil.getDataByIdentifier(
-            ProjectUtil.EsIndex.sunbird.getIndexName(),
-            ProjectUtil.EsType.user.getTypeName(),
-            (String) orgMap.get(JsonKey.USER_ID));
-    if (result.containsKey(JsonKey.ORGANISATIONS) && null != result.get(JsonKey.ORGANISATIONS)) {
-      List<Map<String, Object>> orgMapList =
-          (List<Map<String, Object>>) result.get(JsonKey.ORGANISATIONS);
-      if (null != orgMapList) {
-        Iterator<Map<String, Object>> itr = orgMapList.iterator();
-        while (itr.hasNext()) {
-          Map<String, Object> map = itr.next();
-          if ((((String) map.get(JsonKey.USER_ID))
-                  .equalsIgnoreCase((String) orgMap.get(JsonKey.USER_ID)))
-              && (((String) map.get(JsonKey.ORGANISATION_ID))
-                  .equalsIgnoreCase((String) orgMap.get(JsonKey.ORGANISATION_ID)))) {
-            itr.remove();
-          }
-        }
-      }
-    }
-    updateDataToElastic(
+    EsWriteBehindQueue.modify(
         ProjectUtil.EsIndex.sunbird.getIndexName(),
         ProjectUtil.EsType.user.getTypeName(),
-        (String) result.get(JsonKey.IDENTIFIER),
-        result);
+        (String) orgMap.get(JsonKey.USER_ID),
+        result -> {
+          List<Map<String, Object>> orgMapList =
+              (List<Map<String, Object>>) result.get(JsonKey.ORGANISATIONS);
+          if (null != orgMapList) {
+            Iterator<Map<String, Object>> itr = orgMapList.iterator();
+            while (itr.hasNext()) {
+              Map<String, Object> map = itr.next();
+              if ((((String) map.get(JsonKey.USER_ID))
+                      .equalsIgnoreCase((String) orgMap.get(JsonKey.USER_ID)))
+                  && (((String) map.get(JsonKey.ORGANISATION_ID))
+                      .equalsIgnoreCase((String) orgMap.get(JsonKey.ORGANISATION_ID)))) {
+                itr.remove();
+              }
+            }
+          }
+        });
   }
 
   @SuppressWarnings("unchecked")
   private void updateUserOrgInfoToEs(Request actorMessage) {
     Map<String, Object> orgMap = (Map<String, Object>) actorMessage.getRequest().get(JsonKey.USER);
-    Map<String, Object> result =
-        ElasticSearchUtil.getDataByIdentifier(
-            ProjectUtil.EsIndex.sunbird.getIndexName(),
-            ProjectUtil.EsType.user.getTypeName(),
-            (String) orgMap.get(JsonKey.USER_ID));
-    if (result.containsKey(JsonKey.ORGANISATIONS) && null != result.get(JsonKey.ORGANISATIONS)) {
-      List<Map<String, Object>> orgMapList =
-          (List<Map<String, Object>>) result.get(JsonKey.ORGANISATIONS);
-      orgMapList.add(orgMap);
-    } else {
-      List<Map<String, Object>> mapList = new ArrayList<>();
-      mapList.add(orgMap);
-      result.put(JsonKey.ORGANISATIONS, mapList);
-    }
-    updateDataToElastic(
+    EsWriteBehindQueue.modify(
         ProjectUtil.EsIndex.sunbird.getIndexName(),
         ProjectUtil.EsType.user.getTypeName(),
-        (String) result.get(JsonKey.IDENTIFIER),
-        result);
+        (String) orgMap.get(JsonKey.USER_ID),
+        result -> {
+          if (null != result.get(JsonKey.ORGANISATIONS)) {
+            List<Map<String, Object>> orgMapList =
+                (List<Map<String, Object>>) result.get(JsonKey.ORGANISATIONS);
+            orgMapList.add(orgMap);
+          } else {
+            List<Map<String, Object>> mapList = new ArrayList<>();
+            mapList.add(orgMap);
+            result.put(JsonKey.ORGANISATIONS, mapList);
+          }
+        });
   }
 
   @SuppressWarnings("unchecked")
   private void updateCourseBatchInfoToEs(Request actorMessage) {
     Map<String, Object> batch = (Map<String, Object>) actorMessage.getRequest().get(JsonKey.BATCH);
-    updateDataToElastic(
+    EsWriteBehindQueue.update(
         ProjectUtil.EsIndex.sunbird.getIndexName(),
         ProjectUtil.EsType.course.getTypeName(),
         (String) batch.get(JsonKey.ID),
@@ -345,7 +330,7 @@ public class BackgroundJobManager extends BaseActor {
       }
       // making call to register tag
       registertag(hashOrgId, "{}", CourseBatchSchedulerUtil.headerMap);
-      insertDataToElastic(
+      EsWriteBehindQueue.index(
           ProjectUtil.EsIndex.sunbird.getIndexName(),
           ProjectUtil.EsType.organisation.getTypeName(),
           id,
@@ -357,37 +342,29 @@ public class BackgroundJobManager extends BaseActor {
   private void updateOrgInfoToEs(Request actorMessage) {
     Map<String, Object> orgMap =
         (Map<String, Object>) actorMessage.getRequest().get(JsonKey.ORGANISATION);
-    updateDataToElastic(
+    EsWriteBehindQueue.update(
         ProjectUtil.EsIndex.sunbird.getIndexName(),
         ProjectUtil.EsType.organisation.getTypeName(),
         (String) orgMap.get(JsonKey.ID),
         orgMap);
   }
 
-  private boolean updateDataToElastic(
-      String indexName, String typeName, String identifier, Map<String, Object> data) {
-    boolean response = ElasticSearchUtil.updateData(indexName, typeName, identifier, data);
-    if (response) {
-      return true;
-    }
-    ProjectLogger.log(
-        "unbale to save the data inside ES with identifier " + identifier, LoggerEnum.INFO.name());
-    return false;
-  }
-
   private void updateUserInfoToEs(Request actorMessage) {
     String userId = (String) actorMessage.getRequest().get(JsonKey.ID);
-    Map<String, Object> userDetails =
-        Util.getUserDetails(userId, getActorRef(ActorOperations.GET_SYSTEM_SETTING.getValue()));
-    ProjectLogger.log(
-        "BackGroundJobManager:updateUserInfoToEs userRootOrgId "
-            + userDetails.get(JsonKey.ROOT_ORG_ID),
-        LoggerEnum.INFO.name());
-    insertDataToElastic(
+    ActorRef systemSettingActorRef = getActorRef(ActorOperations.GET_SYSTEM_SETTING.getValue());
+    // User details are read from Cassandra at flush time, once for all updates of the user.
+    EsWriteBehindQueue.reindex(
         ProjectUtil.EsIndex.sunbird.getIndexName(),
         ProjectUtil.EsType.user.getTypeName(),
         userId,
-        userDetails);
+        () -> {
+          Map<String, Object> userDetails = Util.getUserDetails(userId, systemSettingActorRef);
+          ProjectLogger.log(
+              "BackGroundJobManager:updateUserInfoToEs userRootOrgId "
+                  + userDetails.get(JsonKey.ROOT_ORG_ID),
+              LoggerEnum.INFO.name());
+          return userDetails;
+        });
   }
 
   /** Method to update the user count . */
@@ -618,7 +595,7 @@ public class BackgroundJobManager extends BaseActor {
     Map<String, Object> noteMap = (Map<String, Object>) actorMessage.getRequest().get(JsonKey.NOTE);
     if (ProjectUtil.isNotNull(noteMap) && noteMap.size() > 0) {
       String id = (String) noteMap.get(JsonKey.ID);
-      insertDataToElastic(
+      EsWriteBehindQueue.index(
           ProjectUtil.EsIndex.sunbird.getIndexName(),
           ProjectUtil.EsType.usernotes.getTypeName(),
           id,
@@ -631,7 +608,7 @@ public class BackgroundJobManager extends BaseActor {
   @SuppressWarnings("unchecked")
   private void updateUserNotesToEs(Request actorMessage) {
     Map<String, Object> noteMap = (Map<String, Object>) actorMessage.getRequest().get(JsonKey.NOTE);
-    updateDataToElastic(
+    EsWriteBehindQueue.update(
         ProjectUtil.EsIndex.sunbird.getIndexName(),
         ProjectUtil.EsType.usernotes.getTypeName(),
         (String) noteMap.get(JsonKey.ID),
@@ -0,0 +1,31 @@
+package org.sunbird.learner.actors;
+
+import org.sunbird.actor.core.BaseActor;
+import org.sunbird.common.request.Request;
+import org.sunbird.learner.util.ActorMetrics;
+
+/**
+ * Base actor recording time taken, failures and in flight count of every operation in {@link
+ * ActorMetrics}. Time taken is the time spent in {@link #onReceive(Request)}, for operations
+ * completed asynchronously (e.g. piped futures) it does not include the asynchronous part.
+ */
+public abstract class InstrumentedActor extends BaseActor {
+
+  @Override
+  public void onReceive(Object message) throws Throwable {
+    if (!(message instanceof Request)) {
+      super.onReceive(message);
+      return;
+    }
+    Request request = (Request) message;
+    ActorMetrics.OperationTimer timer = ActorMetrics.start(request.getOperation());
+    try {
+      onReceive(request);
+    } catch (Exception e) {
+      timer.failed();
+      onReceiveException(request.getOperation(), e);
+    } finally {
+      timer.stop();
+    }
+  }
+}
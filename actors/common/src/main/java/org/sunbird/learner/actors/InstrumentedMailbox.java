@@ -0,0 +1,83 @@
+package org.sunbird.learner.actors;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.dispatch.Envelope;
+import akka.dispatch.MailboxType;
+import akka.dispatch.MessageQueue;
+import akka.dispatch.ProducesMessageQueue;
+import akka.dispatch.UnboundedMessageQueueSemantics;
+import com.typesafe.config.Config;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.sunbird.learner.util.ActorMetrics;
+import scala.Option;
+
+/**
+ * Unbounded mailbox which keeps count of queued messages, per mailbox (so size is known without
+ * traversing the queue) and per router (name of the parent of the owning actor) in {@link
+ * ActorMetrics}. Configured as default mailbox of the actor system.
+ */
+public class InstrumentedMailbox
+    implements MailboxType, ProducesMessageQueue<InstrumentedMailbox.InstrumentedMessageQueue> {
+
+  private static final String UNKNOWN_ROUTER = "unknown";
+
+  public InstrumentedMailbox(ActorSystem.Settings settings, Config config) {}
+
+  @Override
+  public MessageQueue create(Option<ActorRef> owner, Option<ActorSystem> system) {
+    String router = owner.isDefined() ? owner.get().path().parent().name() : UNKNOWN_ROUTER;
+    return new InstrumentedMessageQueue(ActorMetrics.getMailboxDepth(router));
+  }
+
+  /** Message queue of {@link InstrumentedMailbox}. */
+  public static class InstrumentedMessageQueue
+      implements MessageQueue, UnboundedMessageQueueSemantics {
+
+    private final Queue<Envelope> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong routerDepth;
+
+    private InstrumentedMessageQueue(AtomicLong routerDepth) {
+      this.routerDepth = routerDepth;
+    }
+
+    @Override
+    public void enqueue(ActorRef receiver, Envelope handle) {
+      queue.offer(handle);
+      size.incrementAndGet();
+      routerDepth.incrementAndGet();
+    }
+
+    @Override
+    public Envelope dequeue() {
+      Envelope envelope = queue.poll();
+      if (envelope != null) {
+        size.decrementAndGet();
+        routerDepth.decrementAndGet();
+      }
+      return envelope;
+    }
+
+    @Override
+    public int numberOfMessages() {
+      return size.get();
+    }
+
+    @Override
+    public boolean hasMessages() {
+      return !queue.isEmpty();
+    }
+
+    @Override
+    public void cleanUp(ActorRef owner, MessageQueue deadLetters) {
+      Envelope envelope;
+      while ((envelope = dequeue()) != null) {
+        deadLetters.enqueue(owner, envelope);
+      }
+    }
+  }
+}
@@ -7,7 +7,6 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.models.response.Response;
@@ -32,7 +31,7 @@ import org.sunbird.learner.util.Util;
   tasks = {},
   asyncTasks = {"updateLearnerState"}
 )
-public class LeanerStateUpdateBackGroundActor extends BaseActor {
+public class LeanerStateUpdateBackGroundActor extends InstrumentedActor {
 
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private static final String CONTENT_STATE_INFO = "contentStateInfo";
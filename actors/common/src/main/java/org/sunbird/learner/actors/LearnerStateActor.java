@@ -1,19 +1,32 @@
 package org.sunbird.learner.actors;
 
+import akka.dispatch.ExecutionContexts;
+import akka.dispatch.Futures;
+import akka.dispatch.Mapper;
+import akka.dispatch.Recover;
+import akka.pattern.Patterns;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.helpers.MessageFormatter;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.exception.ProjectCommonException;
@@ -26,10 +39,19 @@ import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.models.util.datasecurity.OneWayHashing;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.content.util.TextBookTocUtil;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.coursebatch.dao.CourseBatchDao;
+import org.sunbird.learner.actors.coursebatch.dao.impl.CourseBatchDaoImpl;
+import org.sunbird.learner.actors.coursebatch.service.CourseBatchCache;
 import org.sunbird.learner.actors.coursebatch.service.UserCoursesService;
 import org.sunbird.learner.util.ContentSearchUtil;
+import org.sunbird.learner.util.CourseMetadataCache;
 import org.sunbird.learner.util.Util;
+import org.sunbird.models.course.batch.CourseBatch;
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.ExecutionContextExecutor;
+import scala.concurrent.Future;
 
 /**
  * This actor will handle leaner's state operation like get course , get content etc.
@@ -38,13 +60,50 @@ import org.sunbird.learner.util.Util;
  * @author Arvind
  */
 @ActorConfig(
-  tasks = {"getCourse", "getContent"},
+  tasks = {"getCourse", "getContent", "getBatchContentState"},
   asyncTasks = {}
 )
-public class LearnerStateActor extends BaseActor {
+public class LearnerStateActor extends InstrumentedActor {
+
+  private static final String GET_BATCH_CONTENT_STATE = "getBatchContentState";
+  private static final int BULK_READ_PARALLELISM =
+      Util.getIntConfigValue("sunbird_learner_state_bulk_read_parallelism", 8);
+  private static final int BULK_READ_KEYS_PER_QUERY =
+      Util.getIntConfigValue("sunbird_learner_state_bulk_read_keys_per_query", 100);
+  private static final int BULK_READ_MAX_PAGE_SIZE =
+      Util.getIntConfigValue("sunbird_learner_state_bulk_read_page_size", 1000);
+  private static final int COURSE_LEAF_NODES_TTL_SECONDS =
+      Util.getIntConfigValue("sunbird_learner_state_course_leaf_nodes_ttl", 300);
+  private static final int COURSE_LEAF_NODES_CACHE_SIZE =
+      Util.getIntConfigValue("sunbird_learner_state_course_leaf_nodes_cache_size", 1000);
+
+  /**
+   * Shared by all actor instances for blocking reads, so it caps the number of concurrent bulk read
+   * queries and keeps blocking reads off the actor dispatcher.
+   */
+  private static final ExecutorService readExecutor =
+      Executors.newFixedThreadPool(
+          BULK_READ_PARALLELISM,
+          runnable -> {
+            Thread thread = new Thread(runnable, "learner-state-read");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private static final ExecutionContext readExecutionContext =
+      ExecutionContexts.fromExecutorService(readExecutor);
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  /** Map of course id and ids of leaf contents of the course hierarchy. */
+  private static final Cache<String, List<String>> courseLeafNodeIds =
+      CacheBuilder.newBuilder()
+          .maximumSize(COURSE_LEAF_NODES_CACHE_SIZE)
+          .expireAfterWrite(COURSE_LEAF_NODES_TTL_SECONDS, TimeUnit.SECONDS)
+          .build();
 
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private UserCoursesService userCoursesService = new UserCoursesService();
+  private CourseBatchDao courseBatchDao = new CourseBatchDaoImpl();
 
   /**
    * Receives the actor message and perform the operation like get course , get content etc.
@@ -64,119 +123,160 @@ public class LearnerStateActor extends BaseActor {
       res = getCourseContentState(userId, requestMap);
       removeUnwantedProperties(res);
       sender().tell(res, self());
+    } else if (request.getOperation().equalsIgnoreCase(GET_BATCH_CONTENT_STATE)) {
+      getBatchContentState(request);
     } else {
       onReceiveUnsupportedOperation(request.getOperation());
     }
   }
 
+  /**
+   * Get active courses of user along with course details. Enrolled courses are read and course
+   * details are searched asynchronously and the response is piped to sender, so actor thread never
+   * waits on the search. Course details are served from {@link CourseMetadataCache} and only the
+   * courses missing from it are searched, in one request. If the search fails, batches are still
+   * returned, without details of the courses missing from cache. If reading the batches fails,
+   * sender gets the {@link ProjectCommonException}, as for any exception thrown by the actor.
+   *
+   * @param request Request containing user id
+   */
+  @SuppressWarnings("unchecked")
   public void getCourse(Request request) {
     String userId = (String) request.getRequest().get(JsonKey.USER_ID);
-    Map<String, Object> result = userCoursesService.getActiveUserCourses(userId);
+    String urlQueryString = (String) request.getContext().get(JsonKey.URL_QUERY_STRING);
+    Map<String, String> headers = (Map<String, String>) request.getRequest().get(JsonKey.HEADER);
+    ExecutionContextExecutor dispatcher = getContext().dispatcher();
+
+    Future<List<Map<String, Object>>> batchesFuture =
+        Futures.future(() -> getActiveUserBatches(userId), readExecutionContext);
+    Future<Object> response =
+        batchesFuture
+            .flatMap(
+                new Mapper<List<Map<String, Object>>, Future<Response>>() {
+                  @Override
+                  public Future<Response> apply(List<Map<String, Object>> batches) {
+                    return addCourseDetails(batches, urlQueryString, headers, dispatcher);
+                  }
+                },
+                dispatcher)
+            .recover(toProjectCommonException("getCourse"), dispatcher);
+    Patterns.pipe(response, dispatcher).to(sender());
+  }
 
-    if (MapUtils.isNotEmpty(result)) {
-      addCourseDetails(request, result);
-    } else {
+  @SuppressWarnings("unchecked")
+  private List<Map<String, Object>> getActiveUserBatches(String userId) {
+    Map<String, Object> result = userCoursesService.getActiveUserCourses(userId);
+    if (MapUtils.isEmpty(result)) {
       ProjectLogger.log(
           "LearnerStateActor:getCourse: returning batch without course details",
           LoggerEnum.INFO.name());
+      return null;
     }
-    Response response = new Response();
-    response.put(JsonKey.COURSES, result.get(JsonKey.CONTENT));
-    sender().tell(response, self());
+    return (List<Map<String, Object>>) result.get(JsonKey.CONTENT);
   }
 
-  private void addCourseDetails(Request request, Map<String, Object> userCoursesResult) {
-    List<Map<String, Object>> batches =
-        (List<Map<String, Object>>) userCoursesResult.get(JsonKey.CONTENT);
-
+  private Future<Response> addCourseDetails(
+      List<Map<String, Object>> batches,
+      String urlQueryString,
+      Map<String, String> headers,
+      ExecutionContextExecutor dispatcher) {
+    if (CollectionUtils.isEmpty(batches)) {
+      return Futures.successful(getCoursesResponse(batches, new HashMap<>()));
+    }
     ProjectLogger.log(
         "LearnerStateActor:addCourseDetails: batches size = " + batches.size(),
         LoggerEnum.INFO.name());
 
-    if (CollectionUtils.isEmpty(batches)) {
-      return;
+    Set<String> courseIds =
+        batches
+            .stream()
+            .map(batch -> (String) batch.get(JsonKey.COURSE_ID))
+            .collect(Collectors.toSet());
+    Map<String, Map<String, Object>> contentsByCourseId =
+        CourseMetadataCache.getAll(urlQueryString, courseIds);
+    courseIds.removeAll(contentsByCourseId.keySet());
+    if (courseIds.isEmpty()) {
+      return Futures.successful(getCoursesResponse(batches, contentsByCourseId));
     }
-    String requestBody = prepareCourseSearchRequest(batches);
 
+    String requestBody = prepareCourseSearchRequest(courseIds);
     ProjectLogger.log(
         MessageFormatter.format(
                 "LearnerStateActor:addCourseDetails: request body = {0}, query string = {1}",
-                requestBody, (String) request.getContext().get(JsonKey.URL_QUERY_STRING))
+                requestBody, urlQueryString)
             .getMessage(),
         LoggerEnum.INFO.name());
-
-    Map<String, Object> contents = null;
-    contents =
-        ContentSearchUtil.searchContentSync(
-            (String) request.getContext().get(JsonKey.URL_QUERY_STRING),
-            requestBody,
-            (Map<String, String>) request.getRequest().get(JsonKey.HEADER));
-
-    mergeDetailsAndSendCourses(contents, batches);
+    return ContentSearchUtil.searchContent(urlQueryString, requestBody, headers)
+        .map(
+            new Mapper<Map<String, Object>, Response>() {
+              @SuppressWarnings("unchecked")
+              @Override
+              public Response apply(Map<String, Object> coursesContents) {
+                ProjectLogger.log(
+                    "LearnerStateActor:addCourseDetails coursesContents =" + coursesContents,
+                    LoggerEnum.DEBUG.name());
+                if (MapUtils.isNotEmpty(coursesContents)) {
+                  List<Map<String, Object>> courses =
+                      (List<Map<String, Object>>) coursesContents.get(JsonKey.CONTENTS);
+                  if (CollectionUtils.isNotEmpty(courses)) {
+                    CourseMetadataCache.putAll(urlQueryString, courses);
+                    for (Map<String, Object> course : courses) {
+                      contentsByCourseId.put((String) course.get(JsonKey.IDENTIFIER), course);
+                    }
+                  }
+                }
+                return getCoursesResponse(batches, contentsByCourseId);
+              }
+            },
+            dispatcher)
+        .recover(
+            new Recover<Response>() {
+              @Override
+              public Response recover(Throwable failure) {
+                ProjectLogger.log(
+                    "LearnerStateActor:addCourseDetails: content search failed, returning batches"
+                        + " without uncached course details: "
+                        + failure.getMessage(),
+                    LoggerEnum.ERROR.name());
+                return getCoursesResponse(batches, contentsByCourseId);
+              }
+            },
+            dispatcher);
   }
 
-  public void mergeDetailsAndSendCourses(
-      Map<String, Object> coursesContents, List<Map<String, Object>> batches) {
-
-    ProjectLogger.log(
-        "LearnerStateActor:prepareCourseBatchResponse coursesContents =" + coursesContents,
-        LoggerEnum.DEBUG.name());
-
-    Map<String, Object> contentsByCourseId = new HashMap<>();
-    if (MapUtils.isNotEmpty(coursesContents)) {
-      List<Map<String, Object>> courses =
-          (List<Map<String, Object>>) coursesContents.get(JsonKey.CONTENTS);
-      if (CollectionUtils.isNotEmpty(courses)) {
-        courses.forEach(
-            course -> contentsByCourseId.put((String) course.get(JsonKey.IDENTIFIER), course));
+  private Response getCoursesResponse(
+      List<Map<String, Object>> batches, Map<String, Map<String, Object>> contentsByCourseId) {
+    if (batches != null && MapUtils.isNotEmpty(contentsByCourseId)) {
+      for (Map<String, Object> batch : batches) {
+        Map<String, Object> course = contentsByCourseId.get((String) batch.get(JsonKey.COURSE_ID));
+        if (course != null) {
+          // cached course details are shared, so each response gets its own copy
+          batch.put(JsonKey.CONTENT, new HashMap<>(course));
+        }
       }
     }
-    List<Map<String, Object>> batchesWithCourseDetails = batches;
-    if (MapUtils.isNotEmpty(contentsByCourseId)) {
-      batchesWithCourseDetails =
-          batches
-              .stream()
-              .map(
-                  batch -> {
-                    if (contentsByCourseId.containsKey((String) batch.get(JsonKey.COURSE_ID))) {
-                      batch.put(
-                          JsonKey.CONTENT,
-                          contentsByCourseId.get((String) batch.get(JsonKey.COURSE_ID)));
-                    }
-                    return batch;
-                  })
-              .collect(Collectors.toList());
-      ProjectLogger.log(
-          "LearnerStateActor:prepareCourseBatchResponse batchesWithCourseDetails =",
-          LoggerEnum.INFO.name());
-    }
     Response response = new Response();
-    response.put(JsonKey.COURSES, batchesWithCourseDetails);
-    sender().tell(response, self());
+    response.put(JsonKey.COURSES, batches);
+    return response;
   }
 
-  private String prepareCourseSearchRequest(List<Map<String, Object>> batches) {
-    Set<String> courseIds =
-        batches
-            .stream()
-            .map(batch -> (String) batch.get(JsonKey.COURSE_ID))
-            .collect(Collectors.toSet());
-
+  private String prepareCourseSearchRequest(Set<String> courseIds) {
     Map<String, Object> filters = new HashMap<String, Object>();
     filters.put(JsonKey.CONTENT_TYPE, new String[] {JsonKey.COURSE});
     filters.put(JsonKey.IDENTIFIER, courseIds);
     ProjectLogger.log(
         "LearnerStateActor:prepareCourseSearchRequest: courseIds = " + courseIds,
         LoggerEnum.INFO.name());
-    Map<String, Map<String, Object>> requestMap = new HashMap<>();
+    Map<String, Object> requestMap = new HashMap<>();
     requestMap.put(JsonKey.FILTERS, filters);
+    requestMap.put(JsonKey.LIMIT, courseIds.size());
 
-    Map<String, Map<String, Map<String, Object>>> request = new HashMap<>();
+    Map<String, Map<String, Object>> request = new HashMap<>();
     request.put(JsonKey.REQUEST, requestMap);
 
     String requestJson = null;
     try {
-      requestJson = new ObjectMapper().writeValueAsString(request);
+      requestJson = mapper.writeValueAsString(request);
     } catch (JsonProcessingException e) {
       ProjectLogger.log(
           "LearnerStateActor:prepareCourseSearchRequest: Exception occurred with error message = "
@@ -187,6 +287,205 @@ public class LearnerStateActor extends BaseActor {
     return requestJson;
   }
 
+  /**
+   * Get content state of all participants of a batch, one page of participants at a time.
+   * Participants are ordered by user id and paged using optional OFFSET and LIMIT request fields;
+   * total number of participants is returned as COUNT. Optional CONTENT_IDS restricts the state to
+   * given contents, otherwise state of all leaf contents of the course is returned.
+   *
+   * <p>Content state of a page is read with a few multi-key queries on the primary key, which run
+   * in parallel on a bounded executor, instead of queries per participant. Without CONTENT_IDS the
+   * keys are built from the leaf contents of the course hierarchy, which are kept in memory for
+   * sunbird_learner_state_course_leaf_nodes_ttl seconds. The response is piped to sender, so actor
+   * thread never waits on the reads.
+   *
+   * @param request Request containing batch id
+   */
+  @SuppressWarnings("unchecked")
+  private void getBatchContentState(Request request) {
+    Map<String, Object> requestMap = request.getRequest();
+    String batchId = (String) requestMap.get(JsonKey.BATCH_ID);
+    if (StringUtils.isBlank(batchId)) {
+      throw new ProjectCommonException(
+          ResponseCode.mandatoryParamsMissing.getErrorCode(),
+          ProjectUtil.formatMessage(
+              ResponseCode.mandatoryParamsMissing.getErrorMessage(), JsonKey.BATCH_ID),
+          ResponseCode.CLIENT_ERROR.getResponseCode());
+    }
+    CourseBatch courseBatch = CourseBatchCache.get(batchId, courseBatchDao);
+    if (courseBatch == null) {
+      ProjectCommonException.throwClientErrorException(
+          ResponseCode.invalidCourseBatchId, ResponseCode.invalidCourseBatchId.getErrorMessage());
+    }
+    List<String> userIds = new ArrayList<>();
+    if (MapUtils.isNotEmpty(courseBatch.getParticipant())) {
+      courseBatch
+          .getParticipant()
+          .forEach(
+              (userId, active) -> {
+                if (Boolean.TRUE.equals(active)) {
+                  userIds.add(userId);
+                }
+              });
+    }
+    Collections.sort(userIds);
+    int offset =
+        Math.min(Math.max(Util.getIntValue(requestMap.get(JsonKey.OFFSET), 0), 0), userIds.size());
+    int limit = Util.getIntValue(requestMap.get(JsonKey.LIMIT), BULK_READ_MAX_PAGE_SIZE);
+    if (limit <= 0 || limit > BULK_READ_MAX_PAGE_SIZE) {
+      limit = BULK_READ_MAX_PAGE_SIZE;
+    }
+    List<String> pageUserIds = userIds.subList(offset, Math.min(offset + limit, userIds.size()));
+
+    String courseId = courseBatch.getCourseId();
+    List<String> requestedContentIds = (List<String>) requestMap.get(JsonKey.CONTENT_IDS);
+    ExecutionContextExecutor dispatcher = getContext().dispatcher();
+    Future<List<String>> contentIdsFuture =
+        CollectionUtils.isNotEmpty(requestedContentIds)
+            ? Futures.successful(requestedContentIds)
+            : Futures.future(() -> getCourseLeafNodeIds(courseId), readExecutionContext);
+    Future<Object> response =
+        contentIdsFuture
+            .flatMap(
+                new Mapper<List<String>, Future<Iterable<List<Map<String, Object>>>>>() {
+                  @Override
+                  public Future<Iterable<List<Map<String, Object>>>> apply(
+                      List<String> contentIds) {
+                    return getContentState(pageUserIds, batchId, courseId, contentIds, dispatcher);
+                  }
+                },
+                dispatcher)
+            .map(
+                new Mapper<Iterable<List<Map<String, Object>>>, Object>() {
+                  @Override
+                  public Object apply(Iterable<List<Map<String, Object>>> contentLists) {
+                    return getBatchContentStateResponse(
+                        pageUserIds, contentLists, userIds.size(), offset);
+                  }
+                },
+                dispatcher)
+            .recover(toProjectCommonException("getBatchContentState"), dispatcher);
+    Patterns.pipe(response, dispatcher).to(sender());
+  }
+
+  private Future<Iterable<List<Map<String, Object>>>> getContentState(
+      List<String> userIds,
+      String batchId,
+      String courseId,
+      List<String> contentIds,
+      ExecutionContext executionContext) {
+    List<Object> primaryKeys = new ArrayList<>();
+    for (String userId : userIds) {
+      for (String contentId : contentIds) {
+        primaryKeys.add(generatePrimaryKeyForContent(userId, batchId, courseId, contentId));
+      }
+    }
+    List<Future<List<Map<String, Object>>>> futures = new ArrayList<>();
+    for (List<Object> keys : Lists.partition(primaryKeys, BULK_READ_KEYS_PER_QUERY)) {
+      List<Object> queryKeys = new ArrayList<>(keys);
+      futures.add(Futures.future(() -> getContentByPrimaryKeys(queryKeys), readExecutionContext));
+    }
+    return Futures.sequence(futures, executionContext);
+  }
+
+  private Response getBatchContentStateResponse(
+      List<String> pageUserIds,
+      Iterable<List<Map<String, Object>>> contentLists,
+      int count,
+      int offset) {
+    Map<String, List<Map<String, Object>>> contentsByUserId = new LinkedHashMap<>();
+    pageUserIds.forEach(userId -> contentsByUserId.put(userId, new ArrayList<>()));
+    for (List<Map<String, Object>> contentList : contentLists) {
+      for (Map<String, Object> content : contentList) {
+        List<Map<String, Object>> userContents =
+            contentsByUserId.get((String) content.get(JsonKey.USER_ID));
+        if (userContents != null) {
+          ProjectUtil.removeUnwantedFields(
+              content,
+              JsonKey.DATE_TIME,
+              JsonKey.USER_ID,
+              JsonKey.ADDED_BY,
+              JsonKey.LAST_UPDATED_TIME);
+          userContents.add(content);
+        }
+      }
+    }
+    List<Map<String, Object>> participants = new ArrayList<>();
+    contentsByUserId.forEach(
+        (userId, contents) -> {
+          Map<String, Object> participant = new HashMap<>();
+          participant.put(JsonKey.USER_ID, userId);
+          participant.put(JsonKey.CONTENTS, contents);
+          participants.add(participant);
+        });
+
+    Response response = new Response();
+    response.getResult().put(JsonKey.COUNT, count);
+    response.getResult().put(JsonKey.OFFSET, offset);
+    response.getResult().put(JsonKey.RESPONSE, participants);
+    return response;
+  }
+
+  private static List<String> getCourseLeafNodeIds(String courseId) throws ExecutionException {
+    return courseLeafNodeIds.get(courseId, () -> readCourseLeafNodeIds(courseId));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<String> readCourseLeafNodeIds(String courseId) {
+    Map<String, Object> hierarchy =
+        (Map<String, Object>) TextBookTocUtil.readHierarchy(courseId).get(JsonKey.CONTENT);
+    if (hierarchy == null) {
+      throw new ProjectCommonException(
+          ResponseCode.invalidCourseId.getErrorCode(),
+          ResponseCode.invalidCourseId.getErrorMessage(),
+          ResponseCode.CLIENT_ERROR.getResponseCode());
+    }
+    List<String> leafNodeIds = new ArrayList<>();
+    addLeafNodeIds(hierarchy, leafNodeIds);
+    return leafNodeIds;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void addLeafNodeIds(Map<String, Object> node, List<String> leafNodeIds) {
+    List<Map<String, Object>> children = (List<Map<String, Object>>) node.get(JsonKey.CHILDREN);
+    if (CollectionUtils.isNotEmpty(children)) {
+      children.forEach(child -> addLeafNodeIds(child, leafNodeIds));
+    } else if (!JsonKey.COLLECTION_MIME_TYPE.equals(node.get(JsonKey.MIME_TYPE))) {
+      leafNodeIds.add((String) node.get(JsonKey.IDENTIFIER));
+    }
+  }
+
+  /**
+   * Map failure of a piped future to the message {@code onReceiveException} sends for an exception
+   * thrown by the actor: the {@link ProjectCommonException} itself or an internal error.
+   */
+  private static Recover<Object> toProjectCommonException(String operation) {
+    return new Recover<Object>() {
+      @Override
+      public Object recover(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof ExecutionException
+                || cause instanceof UncheckedExecutionException)
+            && cause.getCause() != null) {
+          cause = cause.getCause();
+        }
+        ProjectLogger.log(
+            "LearnerStateActor:"
+                + operation
+                + ": Exception occurred with error message = "
+                + cause.getMessage(),
+            cause);
+        if (cause instanceof ProjectCommonException) {
+          return cause;
+        }
+        return new ProjectCommonException(
+            ResponseCode.internalError.getErrorCode(),
+            ResponseCode.internalError.getErrorMessage(),
+            ResponseCode.SERVER_ERROR.getResponseCode());
+      }
+    };
+  }
+
   private Response getCourseContentState(String userId, Map<String, Object> requestMap) {
 
     Response response = new Response();
@@ -13,7 +13,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.exception.ProjectCommonException;
@@ -40,7 +39,7 @@ import org.sunbird.telemetry.util.TelemetryUtil;
   tasks = {"addContent"},
   asyncTasks = {}
 )
-public class LearnerStateUpdateActor extends BaseActor {
+public class LearnerStateUpdateActor extends InstrumentedActor {
 
   private static final String CONTENT_STATE_INFO = "contentStateInfo";
 
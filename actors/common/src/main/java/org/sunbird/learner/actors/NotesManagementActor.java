@@ -7,7 +7,6 @@ import java.util.List;
 import java.util.Map;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.ElasticSearchUtil;
@@ -23,6 +22,7 @@ import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.util.NotesCache;
 import org.sunbird.learner.util.Util;
 import org.sunbird.telemetry.util.TelemetryUtil;
 
@@ -31,7 +31,7 @@ import org.sunbird.telemetry.util.TelemetryUtil;
   tasks = {"createNote", "getNote", "searchNote", "updateNote", "deleteNote"},
   asyncTasks = {}
 )
-public class NotesManagementActor extends BaseActor {
+public class NotesManagementActor extends InstrumentedActor {
 
   private Util.DbInfo userNotesDbInfo = Util.dbInfoMap.get(JsonKey.USER_NOTES_DB);
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
@@ -101,6 +101,7 @@ public class NotesManagementActor extends BaseActor {
           cassandraOperation.insertRecord(
               userNotesDbInfo.getKeySpace(), userNotesDbInfo.getTableName(), req);
       ProjectLogger.log("Note data saved into cassandra.");
+      NotesCache.putNote((String) req.get(JsonKey.USER_ID), req);
       result.getResult().put(JsonKey.ID, uniqueId);
       result.getResult().remove(JsonKey.RESPONSE);
       sender().tell(result, self());
@@ -145,14 +146,14 @@ public class NotesManagementActor extends BaseActor {
     try {
       String noteId = (String) actorMessage.getContext().get(JsonKey.NOTE_ID);
       String userId = (String) actorMessage.getContext().get(JsonKey.REQUESTED_BY);
-      if (!validateUserForNoteUpdation(userId, noteId)) {
+      Map<String, Object> noteData = getNoteRecordById(noteId);
+      if (!validateUserForNoteUpdation(userId, noteData)) {
         throw new ProjectCommonException(
             ResponseCode.unAuthorized.getErrorCode(),
             ResponseCode.unAuthorized.getErrorMessage(),
             ResponseCode.UNAUTHORIZED.getResponseCode());
       }
-      Map<String, Object> list = getNoteRecordById(noteId);
-      if (list.isEmpty()) {
+      if (MapUtils.isEmpty(noteData)) {
         ProjectCommonException exception =
             new ProjectCommonException(
                 ResponseCode.invalidNoteId.getErrorCode(),
@@ -175,6 +176,7 @@ public class NotesManagementActor extends BaseActor {
           cassandraOperation.updateRecord(
               userNotesDbInfo.getKeySpace(), userNotesDbInfo.getTableName(), req);
       ProjectLogger.log("Note data updated");
+      NotesCache.putNote(userId, req);
       result.getResult().put(JsonKey.ID, noteId);
       result.getResult().remove(JsonKey.RESPONSE);
       sender().tell(result, self());
@@ -213,20 +215,16 @@ public class NotesManagementActor extends BaseActor {
     try {
       String noteId = (String) actorMessage.getContext().get(JsonKey.NOTE_ID);
       String userId = (String) actorMessage.getContext().get(JsonKey.REQUESTED_BY);
-      if (!validateUserForNoteUpdation(userId, noteId)) {
+      Map<String, Object> noteData = getNoteRecordById(noteId);
+      if (!validateUserForNoteUpdation(userId, noteData)) {
         throw new ProjectCommonException(
             ResponseCode.invalidParameterValue.getErrorCode(),
             ResponseCode.invalidParameterValue.getErrorMessage(),
             ResponseCode.RESOURCE_NOT_FOUND.getResponseCode());
       }
-      Map<String, Object> request = new HashMap<>();
-      Map<String, Object> filters = new HashMap<>();
-      filters.put(JsonKey.ID, noteId);
-
-      request.put(JsonKey.FILTERS, filters);
+      // note fetched for ownership check is returned as is, unless it is deleted
       Response response = new Response();
-      Map<String, Object> result = getElasticSearchData(request);
-      if (!result.isEmpty() && ((Long) result.get(JsonKey.COUNT) == 0)) {
+      if (Boolean.TRUE.equals(noteData.remove(JsonKey.IS_DELETED))) {
         ProjectCommonException exception =
             new ProjectCommonException(
                 ResponseCode.invalidNoteId.getErrorCode(),
@@ -235,7 +233,9 @@ public class NotesManagementActor extends BaseActor {
         sender().tell(exception, self());
         return;
       }
-      response.put(JsonKey.RESPONSE, result);
+      List<Map<String, Object>> notes = new ArrayList<>();
+      notes.add(noteData);
+      response.put(JsonKey.RESPONSE, getNotesResult(1L, notes));
       sender().tell(response, self());
     } catch (Exception e) {
       ProjectLogger.log("Error occurred", e);
@@ -249,14 +249,21 @@ public class NotesManagementActor extends BaseActor {
    *
    * @param actorMessage containing search parameters
    */
+  @SuppressWarnings("unchecked")
   private void searchNote(Request actorMessage) {
     ProjectLogger.log("Update Note method call start");
     try {
 
       Map<String, Object> searchQueryMap = actorMessage.getRequest();
-      searchQueryMap.put(JsonKey.REQUESTED_BY, actorMessage.getContext().get(JsonKey.REQUESTED_BY));
+      String userId = (String) actorMessage.getContext().get(JsonKey.REQUESTED_BY);
+      searchQueryMap.put(JsonKey.REQUESTED_BY, userId);
       Response response = new Response();
-      Map<String, Object> result = getElasticSearchData(searchQueryMap);
+      Map<String, Object> result;
+      if (isUserNotesQuery(searchQueryMap)) {
+        result = getUserNotes(userId, (Map<String, Object>) searchQueryMap.get(JsonKey.FILTERS));
+      } else {
+        result = getElasticSearchData(searchQueryMap);
+      }
       response.put(JsonKey.RESPONSE, result);
       sender().tell(response, self());
     } catch (Exception e) {
@@ -266,6 +273,74 @@ public class NotesManagementActor extends BaseActor {
     }
   }
 
+  /**
+   * Check whether search request asks for all notes of requested user, optionally for a course
+   * and / or content, without any other criteria. Result of such queries is cached per user.
+   *
+   * @param searchQueryMap Search request
+   * @return True if request is cacheable query of user notes
+   */
+  @SuppressWarnings("unchecked")
+  private boolean isUserNotesQuery(Map<String, Object> searchQueryMap) {
+    if (StringUtils.isBlank((String) searchQueryMap.get(JsonKey.REQUESTED_BY))) {
+      return false;
+    }
+    for (String key : searchQueryMap.keySet()) {
+      if (!JsonKey.FILTERS.equals(key) && !JsonKey.REQUESTED_BY.equals(key)) {
+        return false;
+      }
+    }
+    Object filters = searchQueryMap.get(JsonKey.FILTERS);
+    if (filters == null) {
+      return true;
+    }
+    if (!(filters instanceof Map)) {
+      return false;
+    }
+    for (Map.Entry<String, Object> filter : ((Map<String, Object>) filters).entrySet()) {
+      if (!(JsonKey.COURSE_ID.equals(filter.getKey()) || JsonKey.CONTENT_ID.equals(filter.getKey()))
+          || !(filter.getValue() instanceof String)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Method to get all notes of user for a course and / or content, from cache if available.
+   *
+   * @param userId User id
+   * @param filters Optional course and content filters
+   * @return Map<String, Object> - note data
+   */
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> getUserNotes(String userId, Map<String, Object> filters) {
+    String courseId = (filters == null) ? null : (String) filters.get(JsonKey.COURSE_ID);
+    String contentId = (filters == null) ? null : (String) filters.get(JsonKey.CONTENT_ID);
+    List<Map<String, Object>> notes = NotesCache.getNotes(userId, courseId, contentId);
+    if (notes != null) {
+      return getNotesResult((long) notes.size(), notes);
+    }
+    Map<String, Object> searchQueryMap = new HashMap<>();
+    searchQueryMap.put(JsonKey.FILTERS, (filters == null) ? new HashMap<>() : filters);
+    searchQueryMap.put(JsonKey.REQUESTED_BY, userId);
+    Map<String, Object> result = getElasticSearchData(searchQueryMap);
+    notes = (List<Map<String, Object>>) result.get(JsonKey.NOTE);
+    Object count = result.get(JsonKey.COUNT);
+    // only a complete list of notes can be kept up to date by writes
+    if (notes != null && count instanceof Number && ((Number) count).intValue() == notes.size()) {
+      NotesCache.putNotes(userId, courseId, contentId, notes);
+    }
+    return result;
+  }
+
+  private Map<String, Object> getNotesResult(Long count, List<Map<String, Object>> notes) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put(JsonKey.COUNT, count);
+    result.put(JsonKey.NOTE, notes);
+    return result;
+  }
+
   /**
    * Method to get note data from ElasticSearch
    *
@@ -318,13 +393,14 @@ public class NotesManagementActor extends BaseActor {
     try {
       String noteId = (String) actorMessage.getContext().get(JsonKey.NOTE_ID);
       String userId = (String) actorMessage.getContext().get(JsonKey.REQUESTED_BY);
-      if (!validateUserForNoteUpdation(userId, noteId)) {
+      Map<String, Object> noteData = getNoteRecordById(noteId);
+      if (!validateUserForNoteUpdation(userId, noteData)) {
         throw new ProjectCommonException(
             ResponseCode.unAuthorized.getErrorCode(),
             ResponseCode.unAuthorized.getErrorMessage(),
             ResponseCode.UNAUTHORIZED.getResponseCode());
       }
-      if (!noteIdExists(noteId)) {
+      if (MapUtils.isEmpty(noteData)) {
         ProjectCommonException exception =
             new ProjectCommonException(
                 ResponseCode.invalidNoteId.getErrorCode(),
@@ -341,6 +417,7 @@ public class NotesManagementActor extends BaseActor {
       Response result =
           cassandraOperation.updateRecord(
               userNotesDbInfo.getKeySpace(), userNotesDbInfo.getTableName(), req);
+      NotesCache.putNote(userId, req);
       result.getResult().remove(JsonKey.RESPONSE);
       sender().tell(result, self());
 
@@ -372,10 +449,14 @@ public class NotesManagementActor extends BaseActor {
     Boolean result = false;
 
     if (!StringUtils.isBlank(userId)) {
+      if (NotesCache.isValidUser(userId)) {
+        return true;
+      }
       Map<String, Object> data =
           ElasticSearchUtil.getDataByIdentifier(
               ProjectUtil.EsIndex.sunbird.getIndexName(), EsType.user.getTypeName(), userId);
       if (null != data && !data.isEmpty()) {
+        NotesCache.putValidUser(userId);
         result = true;
       }
     }
@@ -383,34 +464,28 @@ public class NotesManagementActor extends BaseActor {
   }
 
   /**
-   * Method to validate note using noteId
-   *
-   * @param noteId
-   * @return true if note exists in Cassandra else false
-   */
-  private Boolean noteIdExists(String noteId) {
-    Boolean result = false;
-    Map<String, Object> list = getNoteRecordById(noteId);
-    if (!list.isEmpty()) {
-      result = true;
-    }
-    return result;
-  }
-
-  /**
-   * Method to get Note details using note Id
+   * Method to get Note details using note Id, from cache if available
    *
    * @param noteId
-   * @return Note data as List<Map<String, Object>>
+   * @return Note data as Map<String, Object>, empty if note does not exist
    */
   private Map<String, Object> getNoteRecordById(String noteId) {
-    return ElasticSearchUtil.getDataByIdentifier(
-        ProjectUtil.EsIndex.sunbird.getIndexName(), EsType.usernotes.getTypeName(), noteId);
+    Map<String, Object> noteData = NotesCache.getNote(noteId);
+    if (noteData != null) {
+      return noteData;
+    }
+    noteData =
+        ElasticSearchUtil.getDataByIdentifier(
+            ProjectUtil.EsIndex.sunbird.getIndexName(), EsType.usernotes.getTypeName(), noteId);
+    if (MapUtils.isEmpty(noteData)) {
+      return new HashMap<>();
+    }
+    NotesCache.putNote((String) noteData.get(JsonKey.USER_ID), noteData);
+    return noteData;
   }
 
-  private Boolean validateUserForNoteUpdation(String userId, String noteId) {
+  private Boolean validateUserForNoteUpdation(String userId, Map<String, Object> noteData) {
     Boolean result = false;
-    Map<String, Object> noteData = getNoteRecordById(noteId);
     if (MapUtils.isEmpty(noteData)) return result;
     if (!StringUtils.isBlank(userId)) {
       result = true;
@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.math.BigInteger;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,7 +16,6 @@ import java.util.TreeMap;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.ElasticSearchUtil;
@@ -38,7 +38,9 @@ import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.common.responsecode.ResponseMessage;
 import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.util.ChannelRootOrgResolver;
 import org.sunbird.learner.util.DataCacheHandler;
+import org.sunbird.learner.util.OrgTopologyCache;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.organisation.Organisation;
 import org.sunbird.telemetry.util.TelemetryUtil;
@@ -64,7 +66,7 @@ import org.sunbird.validator.location.LocationRequestValidator;
   },
   asyncTasks = {}
 )
-public class OrganisationManagementActor extends BaseActor {
+public class OrganisationManagementActor extends InstrumentedActor {
   private ObjectMapper mapper = new ObjectMapper();
   private final CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private static final LocationRequestValidator validator = new LocationRequestValidator();
@@ -428,6 +430,10 @@ public class OrganisationManagementActor extends BaseActor {
           cassandraOperation.insertRecord(
               orgDbInfo.getKeySpace(), orgDbInfo.getTableName(), request);
 
+      OrgTopologyCache.putOrg(request);
+      if (null != isRootOrg && isRootOrg) {
+        ChannelRootOrgResolver.invalidate((String) request.get(JsonKey.CHANNEL));
+      }
       if (StringUtils.isNotBlank(passedExternalId)) {
         String channel = (String) request.get(JsonKey.CHANNEL);
         createOrgExternalIdRecord(channel, passedExternalId, uniqueId);
@@ -483,6 +489,7 @@ public class OrganisationManagementActor extends BaseActor {
     orgExtIdRequest.put(JsonKey.ORG_ID, orgId);
 
     cassandraOperation.insertRecord(JsonKey.SUNBIRD, JsonKey.ORG_EXT_ID_DB, orgExtIdRequest);
+    OrgTopologyCache.putExternalId(channel, externalId, orgId);
   }
 
   private void deleteOrgExternalIdRecord(String channel, String externalId) {
@@ -491,6 +498,7 @@ public class OrganisationManagementActor extends BaseActor {
     orgExtIdRequest.put(JsonKey.EXTERNAL_ID, externalId);
 
     cassandraOperation.deleteRecord(JsonKey.SUNBIRD, JsonKey.ORG_EXT_ID_DB, orgExtIdRequest);
+    OrgTopologyCache.removeExternalId(channel, externalId);
   }
 
   private void validateCodeAndAddLocationIds(Map<String, Object> req) {
@@ -640,6 +648,8 @@ public class OrganisationManagementActor extends BaseActor {
       Response response =
           cassandraOperation.updateRecord(
               orgDbInfo.getKeySpace(), orgDbInfo.getTableName(), updateOrgDao);
+      OrgTopologyCache.updateStatus(orgId, nextStatus);
+      ChannelRootOrgResolver.invalidate((String) orgDao.get(JsonKey.CHANNEL));
       response.getResult().put(JsonKey.ORGANISATION_ID, orgDao.get(JsonKey.ID));
       sender().tell(response, self());
 
@@ -941,6 +951,10 @@ public class OrganisationManagementActor extends BaseActor {
       Response response =
           cassandraOperation.updateRecord(
               orgDbInfo.getKeySpace(), orgDbInfo.getTableName(), updateOrgDao);
+      OrgTopologyCache.putOrg(orgDao);
+      OrgTopologyCache.putOrg(updateOrgDao);
+      ChannelRootOrgResolver.invalidate((String) orgDao.get(JsonKey.CHANNEL));
+      ChannelRootOrgResolver.invalidate((String) updateOrgDao.get(JsonKey.CHANNEL));
       response.getResult().put(JsonKey.ORGANISATION_ID, orgDao.get(JsonKey.ID));
 
       if (StringUtils.isNotBlank(passedExternalId)) {
@@ -1340,17 +1354,13 @@ public class OrganisationManagementActor extends BaseActor {
     orgMap.put(JsonKey.ROOT_ORG_ID, rootOrgId);
     cassandraOperation.insertRecord(
         orgMapDbInfo.getKeySpace(), orgMapDbInfo.getTableName(), orgMap);
+    OrgTopologyCache.addRelation(parentOrgId, orgId);
   }
 
   /** Checks whether the parent Organisation exists */
   @SuppressWarnings("unchecked")
   public Boolean isValidParent(String parentId) {
-    Util.DbInfo userdbInfo = Util.dbInfoMap.get(JsonKey.ORG_DB);
-    Response result =
-        cassandraOperation.getRecordById(
-            userdbInfo.getKeySpace(), userdbInfo.getTableName(), parentId);
-    List<Map<String, Object>> list = (List<Map<String, Object>>) result.get(JsonKey.RESPONSE);
-    if (!(list.isEmpty())) {
+    if (getOrgById(parentId) != null) {
       return true;
     }
     throw new ProjectCommonException(
@@ -1362,6 +1372,9 @@ public class OrganisationManagementActor extends BaseActor {
   /** Checks whether parentId has a parent relation with the childId */
   @SuppressWarnings("unchecked")
   public Boolean isChildOf(String parentId, String childId) {
+    if (OrgTopologyCache.isChildOf(parentId, childId)) {
+      return true;
+    }
     Util.DbInfo userdbInfo = Util.dbInfoMap.get(JsonKey.ORG_MAP_DB);
     Map<String, Object> properties = new HashMap<>();
     properties.put(JsonKey.ORG_ID_ONE, parentId);
@@ -1370,7 +1383,35 @@ public class OrganisationManagementActor extends BaseActor {
         cassandraOperation.getRecordsByProperties(
             userdbInfo.getKeySpace(), userdbInfo.getTableName(), properties);
     List<Map<String, Object>> list = (List<Map<String, Object>>) result.get(JsonKey.RESPONSE);
-    return (!(list.isEmpty()));
+    if (list.isEmpty()) {
+      return false;
+    }
+    OrgTopologyCache.addRelation(parentId, childId);
+    return true;
+  }
+
+  /**
+   * Get organisation details from topology cache, reading organisation from Cassandra on a cache
+   * miss.
+   *
+   * @param orgId Organisation id
+   * @return Indexed organisation details or null if organisation does not exist
+   */
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> getOrgById(String orgId) {
+    Map<String, Object> org = OrgTopologyCache.getOrg(orgId);
+    if (org == null) {
+      Util.DbInfo orgDbInfo = Util.dbInfoMap.get(JsonKey.ORG_DB);
+      Response result =
+          cassandraOperation.getRecordById(
+              orgDbInfo.getKeySpace(), orgDbInfo.getTableName(), orgId);
+      List<Map<String, Object>> list = (List<Map<String, Object>>) result.get(JsonKey.RESPONSE);
+      if (!(list.isEmpty())) {
+        OrgTopologyCache.putOrg(list.get(0));
+        org = OrgTopologyCache.getOrg(orgId);
+      }
+    }
+    return org;
   }
 
   /**
@@ -1380,17 +1421,10 @@ public class OrganisationManagementActor extends BaseActor {
   @SuppressWarnings("unchecked")
   public void validateRootOrg(Map<String, Object> request) {
     ProjectLogger.log("Validating Root org started---");
-    Util.DbInfo orgDbInfo = Util.dbInfoMap.get(JsonKey.ORG_DB);
     if (!StringUtils.isBlank((String) request.get(JsonKey.PARENT_ORG_ID))) {
-      Response result =
-          cassandraOperation.getRecordById(
-              orgDbInfo.getKeySpace(),
-              orgDbInfo.getTableName(),
-              (String) request.get(JsonKey.PARENT_ORG_ID));
-      List<Map<String, Object>> list = (List<Map<String, Object>>) result.get(JsonKey.RESPONSE);
-      Map<String, Object> parentOrgDao = new HashMap<>();
-      if (!(list.isEmpty())) {
-        parentOrgDao = list.get(0);
+      Map<String, Object> parentOrgDao = getOrgById((String) request.get(JsonKey.PARENT_ORG_ID));
+      if (parentOrgDao == null) {
+        parentOrgDao = new HashMap<>();
       }
       if (!StringUtils.isBlank((String) parentOrgDao.get(JsonKey.ROOT_ORG_ID))) {
         String parentRootOrg = (String) parentOrgDao.get(JsonKey.ROOT_ORG_ID);
@@ -1634,21 +1668,11 @@ public class OrganisationManagementActor extends BaseActor {
   private List<Map<String, Object>> getOrg(String channel) {
     ProjectLogger.log(
         "OrganisationManagementActor:getOrg: channel = " + channel, LoggerEnum.INFO.name());
-    Util.DbInfo orgDbInfo = Util.dbInfoMap.get(JsonKey.ORG_DB);
-    Map<String, Object> requestData = new HashMap<>();
-    requestData.put(JsonKey.CHANNEL, channel);
-    requestData.put(JsonKey.IS_ROOT_ORG, true);
-    Response result =
-        cassandraOperation.getRecordsByProperties(
-            orgDbInfo.getKeySpace(), orgDbInfo.getTableName(), requestData);
-    ProjectLogger.log(
-        "OrganisationManagementActor:getOrg: result = " + result.toString(),
-        LoggerEnum.INFO.name());
-    ProjectLogger.log(
-        "OrganisationManagementActor:getOrg: result.response = "
-            + result.get(JsonKey.RESPONSE).toString(),
-        LoggerEnum.INFO.name());
-    return (List<Map<String, Object>>) result.get(JsonKey.RESPONSE);
+    Map<String, Object> rootOrg = ChannelRootOrgResolver.getRootOrg(channel);
+    if (rootOrg == null) {
+      return Collections.emptyList();
+    }
+    return Collections.singletonList(rootOrg);
   }
 
   private String getRootOrgIdFromChannel(String channel) {
@@ -1669,9 +1693,9 @@ public class OrganisationManagementActor extends BaseActor {
         LoggerEnum.INFO.name());
     int status = 0;
     if (!StringUtils.isBlank(channel)) {
-      List<Map<String, Object>> list = getOrg(channel);
-      if (!list.isEmpty()) {
-        Object statusObj = list.get(0).getOrDefault(JsonKey.STATUS, 0);
+      Map<String, Object> rootOrg = ChannelRootOrgResolver.getRootOrg(channel);
+      if (rootOrg != null) {
+        Object statusObj = rootOrg.getOrDefault(JsonKey.STATUS, 0);
         if (null != statusObj) {
           status = (int) statusObj;
         }
@@ -1683,6 +1707,10 @@ public class OrganisationManagementActor extends BaseActor {
 
   private String getRootOrgIdFromSlug(String slug) {
     if (!StringUtils.isBlank(slug)) {
+      String rootOrgId = OrgTopologyCache.getRootOrgIdBySlug(slug);
+      if (StringUtils.isNotBlank(rootOrgId)) {
+        return rootOrgId;
+      }
       Map<String, Object> filters = new HashMap<>();
       filters.put(JsonKey.SLUG, slug);
       filters.put(JsonKey.IS_ROOT_ORG, true);
@@ -1695,6 +1723,7 @@ public class OrganisationManagementActor extends BaseActor {
           && (!((List) esResult.get(JsonKey.CONTENT)).isEmpty())) {
         Map<String, Object> esContent =
             ((List<Map<String, Object>>) esResult.get(JsonKey.CONTENT)).get(0);
+        OrgTopologyCache.putSlug(slug, (String) esContent.get(JsonKey.ID));
         return (String) esContent.getOrDefault(JsonKey.ID, "");
       }
     }
@@ -1703,6 +1732,9 @@ public class OrganisationManagementActor extends BaseActor {
 
   private boolean isSlugUnique(String slug) {
     if (!StringUtils.isBlank(slug)) {
+      if (StringUtils.isNotBlank(OrgTopologyCache.getRootOrgIdBySlug(slug))) {
+        return false;
+      }
       Map<String, Object> filters = new HashMap<>();
       filters.put(JsonKey.SLUG, slug);
       filters.put(JsonKey.IS_ROOT_ORG, true);
@@ -1736,6 +1768,10 @@ public class OrganisationManagementActor extends BaseActor {
   @SuppressWarnings("unchecked")
   private boolean validateChannelUniqueness(String channel, String orgId) {
     if (!StringUtils.isBlank(channel)) {
+      Map<String, Object> rootOrg = ChannelRootOrgResolver.getRootOrg(channel);
+      if (rootOrg != null) {
+        return (orgId != null) && orgId.equalsIgnoreCase((String) rootOrg.get(JsonKey.ID));
+      }
       return validateFieldUniqueness(JsonKey.CHANNEL, channel, orgId);
     }
     return (orgId == null);
@@ -1743,6 +1779,10 @@ public class OrganisationManagementActor extends BaseActor {
 
   private boolean validateChannelExternalIdUniqueness(
       String channel, String externalId, String orgId) {
+    String existingOrgId = OrgTopologyCache.getOrgIdByExternalId(channel, externalId);
+    if (StringUtils.isNotBlank(existingOrgId)) {
+      return (orgId != null) && existingOrgId.equalsIgnoreCase(orgId);
+    }
     Map<String, Object> compositeKeyMap = new HashMap<String, Object>();
     compositeKeyMap.put(JsonKey.PROVIDER, channel);
     compositeKeyMap.put(JsonKey.EXTERNAL_ID, externalId);
@@ -1789,6 +1829,10 @@ public class OrganisationManagementActor extends BaseActor {
         }
         Map<String, Object> data = list.get(0);
         String id = (String) data.get(JsonKey.ORG_ID);
+        OrgTopologyCache.putExternalId(
+            (String) compositeKeyMap.get(JsonKey.PROVIDER),
+            (String) compositeKeyMap.get(JsonKey.EXTERNAL_ID),
+            id);
         if (id.equalsIgnoreCase(orgId)) {
           return true;
         } else {
@@ -16,7 +16,6 @@ import java.util.Set;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.exception.ProjectCommonException;
@@ -55,7 +54,7 @@ import scala.concurrent.Future;
   },
   asyncTasks = {}
 )
-public class PageManagementActor extends BaseActor {
+public class PageManagementActor extends InstrumentedActor {
 
   private Util.DbInfo pageDbInfo = Util.dbInfoMap.get(JsonKey.PAGE_MGMT_DB);
   private Util.DbInfo sectionDbInfo = Util.dbInfoMap.get(JsonKey.SECTION_MGMT_DB);
@@ -582,7 +581,7 @@ public class PageManagementActor extends BaseActor {
    * @param filters
    * @param reqFilters
    */
-  private void applyFilters(Map<String, Object> filters, Map<String, Object> reqFilters) {
+  static void applyFilters(Map<String, Object> filters, Map<String, Object> reqFilters) {
     if (null != reqFilters) {
       Set<Entry<String, Object>> entrySet = reqFilters.entrySet();
       for (Entry<String, Object> entry : entrySet) {
@@ -1,9 +1,9 @@
 package org.sunbird.learner.actors;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.models.util.ActorOperations;
@@ -14,6 +14,7 @@ import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.Request;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.bulkupload.BulkUploadLeaseManager;
 import org.sunbird.learner.util.UserUtility;
 import org.sunbird.learner.util.Util;
 
@@ -22,7 +23,7 @@ import org.sunbird.learner.util.Util;
   tasks = {},
   asyncTasks = {"scheduleBulkUpload"}
 )
-public class SchedularActor extends BaseActor {
+public class SchedularActor extends InstrumentedActor {
 
   @Override
   public void onReceive(Request actorMessage) throws Throwable {
@@ -41,6 +42,10 @@ public class SchedularActor extends BaseActor {
     Util.DbInfo bulkDb = Util.dbInfoMap.get(JsonKey.BULK_OP_DB);
     CassandraOperation cassandraOperation = ServiceFactory.getInstance();
     for (Map<String, Object> map : result) {
+      if (JsonKey.TEXTBOOK.equalsIgnoreCase((String) map.get(JsonKey.OBJECT_TYPE))) {
+        failAbandonedTextbookUpload((String) map.get(JsonKey.ID), bulkDb, cassandraOperation);
+        continue;
+      }
       int retryCount = 0;
       if (null != map.get(JsonKey.RETRY_COUNT)) {
         retryCount = (int) map.get(JsonKey.RETRY_COUNT);
@@ -58,7 +63,7 @@ public class SchedularActor extends BaseActor {
               "Exception occurred while encrypting data while running scheduler for bulk upload process : ",
               e);
         }
-      } else {
+      } else if (BulkUploadLeaseManager.reserve((String) map.get(JsonKey.ID))) {
         Map<String, Object> bulkMap = new HashMap<>();
         bulkMap.put(JsonKey.RETRY_COUNT, retryCount + 1);
         bulkMap.put(JsonKey.ID, map.get(JsonKey.ID));
@@ -85,4 +90,29 @@ public class SchedularActor extends BaseActor {
       }
     }
   }
+
+  /**
+   * TOC data of a textbook upload is passed to the processing actor and not stored, so an upload
+   * whose processing was abandoned cannot be processed again and is marked failed. The process is
+   * reserved first, so it is not marked failed while being processed.
+   */
+  private void failAbandonedTextbookUpload(
+      String processId, Util.DbInfo bulkDb, CassandraOperation cassandraOperation) {
+    if (!BulkUploadLeaseManager.reserve(processId)) {
+      return;
+    }
+    ProjectLogger.log(
+        "SchedularActor:failAbandonedTextbookUpload: Textbook upload abandoned | Id: " + processId,
+        LoggerEnum.ERROR.name());
+    Map<String, Object> failure = new HashMap<>();
+    failure.put(JsonKey.ERROR_MSG, "Textbook TOC upload was abandoned. Please upload again.");
+    Map<String, Object> bulkMap = new HashMap<>();
+    bulkMap.put(JsonKey.ID, processId);
+    bulkMap.put(JsonKey.STATUS, ProjectUtil.BulkProcessStatus.FAILED.getValue());
+    bulkMap.put(
+        JsonKey.FAILURE_RESULT,
+        ProjectUtil.convertMapToJsonString(Collections.singletonList(failure)));
+    bulkMap.put(JsonKey.PROCESS_END_TIME, ProjectUtil.getFormattedDate());
+    cassandraOperation.updateRecord(bulkDb.getKeySpace(), bulkDb.getTableName(), bulkMap);
+  }
 }
@@ -71,6 +71,19 @@ public abstract class BaseBulkUploadBackgroundJobActor extends BaseBulkUploadAct
 
     ProjectLogger.log(logMessagePrefix + "called", LoggerEnum.INFO);
 
+    if (!BulkUploadLeaseManager.claim(processId)) {
+      ProjectLogger.log(logMessagePrefix + "Process is already claimed.", LoggerEnum.INFO);
+      return;
+    }
+    try {
+      processBulkUploadBackground(processId, function, logMessagePrefix);
+    } finally {
+      BulkUploadLeaseManager.release(processId);
+    }
+  }
+
+  private void processBulkUploadBackground(
+      String processId, Function function, String logMessagePrefix) {
     BulkUploadProcess bulkUploadProcess = bulkUploadDao.read(processId);
     if (null == bulkUploadProcess) {
       ProjectLogger.log(logMessagePrefix + "Invalid process ID.", LoggerEnum.ERROR);
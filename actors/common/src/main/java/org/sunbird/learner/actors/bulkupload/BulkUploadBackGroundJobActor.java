@@ -18,7 +18,6 @@ import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.ElasticSearchUtil;
@@ -46,6 +45,7 @@ import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.common.responsecode.ResponseMessage;
 import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.AuditOperation;
 import org.sunbird.learner.util.DataCacheHandler;
 import org.sunbird.learner.util.UserUtility;
@@ -66,7 +66,7 @@ import org.sunbird.validator.location.LocationRequestValidator;
   tasks = {},
   asyncTasks = {"processBulkUpload"}
 )
-public class BulkUploadBackGroundJobActor extends BaseActor {
+public class BulkUploadBackGroundJobActor extends InstrumentedActor {
 
   private String processId = "";
   private final Util.DbInfo bulkDb = Util.dbInfoMap.get(JsonKey.BULK_OP_DB);
@@ -96,6 +96,20 @@ public class BulkUploadBackGroundJobActor extends BaseActor {
 
   private void process(Request actorMessage) {
     processId = (String) actorMessage.get(JsonKey.PROCESS_ID);
+    if (!BulkUploadLeaseManager.claim(processId)) {
+      ProjectLogger.log(
+          "BulkUploadBackGroundJobActor:process: Process " + processId + " is already claimed",
+          LoggerEnum.INFO.name());
+      return;
+    }
+    try {
+      processBulkData();
+    } finally {
+      BulkUploadLeaseManager.release(processId);
+    }
+  }
+
+  private void processBulkData() {
     Map<String, Object> dataMap = getBulkData(processId);
     int status = (int) dataMap.get(JsonKey.STATUS);
     if (!(status == (ProjectUtil.BulkProcessStatus.COMPLETED.getValue())
@@ -0,0 +1,226 @@
+package org.sunbird.learner.actors.bulkupload;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.learner.actors.bulkupload.dao.BulkUploadProcessLeaseDao;
+import org.sunbird.learner.actors.bulkupload.dao.impl.BulkUploadProcessLeaseDaoImpl;
+import org.sunbird.learner.util.Util;
+
+/**
+ * Claims bulk upload processes for the current node. A claimed process carries a lease (owner node
+ * and heartbeat time) which is renewed in background until the process is released, so a process
+ * whose node died is found through its expired lease and is never picked up while the lease is
+ * alive.
+ *
+ * <p>Leases are written with conditional writes: a claim creates the lease only if there is none,
+ * or takes over an expired (or reserved) lease only if it is unchanged since it was read, so of the
+ * nodes racing for the same process exactly one proceeds.
+ *
+ * <p>A process dispatched by the upload scheduler is reserved first (lease owned by no node), so
+ * that it is not dispatched again while it waits to be picked up. Any node can claim a reserved
+ * process.
+ *
+ * <p>Heartbeats are indexed by time bucket, so expired leases are looked up by reading only the
+ * buckets older than the lease timeout, within sunbird_bulk_upload_lease_lookback_hours.
+ */
+public final class BulkUploadLeaseManager {
+
+  private static final long LEASE_TIMEOUT_MS =
+      Util.getIntConfigValue("sunbird_bulk_upload_lease_timeout_seconds", 300) * 1000L;
+  private static final long LOOKBACK_MS =
+      Util.getIntConfigValue("sunbird_bulk_upload_lease_lookback_hours", 24) * 3600 * 1000L;
+  private static final int BUCKETS_PER_QUERY = 100;
+  private static final String NODE_ID =
+      ManagementFactory.getRuntimeMXBean().getName() + ":" + UUID.randomUUID().toString();
+  private static final String RESERVED = "reserved";
+
+  /** Map of process id and last heartbeat time of the leases held by this node. */
+  private static final Map<String, Long> heldLeases = new ConcurrentHashMap<>();
+
+  private static BulkUploadProcessLeaseDao leaseDao = new BulkUploadProcessLeaseDaoImpl();
+
+  static {
+    ScheduledExecutorService heartbeatExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "bulk-upload-lease-heartbeat");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long heartbeatInterval = LEASE_TIMEOUT_MS / 3;
+    heartbeatExecutor.scheduleWithFixedDelay(
+        BulkUploadLeaseManager::renewLeases,
+        heartbeatInterval,
+        heartbeatInterval,
+        TimeUnit.MILLISECONDS);
+  }
+
+  private BulkUploadLeaseManager() {}
+
+  /**
+   * Claim given bulk upload process for this node.
+   *
+   * @param processId Bulk upload process id
+   * @return True if lease is acquired, false if process is being processed by another node
+   */
+  public static boolean claim(String processId) {
+    long now = System.currentTimeMillis();
+    if (!acquire(processId, NODE_ID, now, true)) {
+      return false;
+    }
+    heldLeases.put(processId, now);
+    return true;
+  }
+
+  /**
+   * Reserve given bulk upload process before dispatching it for processing. Reservation expires
+   * like a lease, so a dispatched process which is never picked up is dispatched again.
+   *
+   * @param processId Bulk upload process id
+   * @return True if process is reserved, false if it is reserved or processed already
+   */
+  public static boolean reserve(String processId) {
+    return acquire(processId, RESERVED, System.currentTimeMillis(), false);
+  }
+
+  /**
+   * Release lease of given bulk upload process once its processing is over.
+   *
+   * @param processId Bulk upload process id
+   */
+  public static void release(String processId) {
+    if (heldLeases.remove(processId) != null) {
+      try {
+        leaseDao.delete(processId, NODE_ID);
+      } catch (Exception e) {
+        ProjectLogger.log(
+            "BulkUploadLeaseManager:release: Failed to release lease of process " + processId, e);
+      }
+    }
+  }
+
+  /**
+   * Get ids of bulk upload processes whose lease expired or was released within the lookback
+   * window. Only heartbeat buckets which are entirely older than lease timeout are read.
+   *
+   * @return List of bulk upload process ids
+   */
+  public static List<String> getExpiredProcessIds() {
+    long now = System.currentTimeMillis();
+    long lastBucket = leaseDao.getBucket(now - LEASE_TIMEOUT_MS) - 1;
+    long firstBucket = leaseDao.getBucket(now - LOOKBACK_MS);
+    List<String> processIds = new ArrayList<>();
+    List<Long> buckets = new ArrayList<>();
+    for (long bucket = firstBucket; bucket <= lastBucket; bucket++) {
+      buckets.add(bucket);
+      if (buckets.size() == BUCKETS_PER_QUERY || bucket == lastBucket) {
+        processIds.addAll(leaseDao.readByBuckets(buckets));
+        buckets.clear();
+      }
+    }
+    // Confirm with the lease itself as a renewed lease may still be present in its old bucket. A
+    // released lease has no heartbeat, its process is returned as it may have been left unfinished.
+    List<String> expiredProcessIds = new ArrayList<>();
+    Map<String, Map<String, Object>> leases = leaseDao.read(processIds);
+    for (String processId : processIds) {
+      Long heartbeat = getHeartbeat(leases.get(processId));
+      if (heartbeat == null || isExpired(heartbeat, now)) {
+        expiredProcessIds.add(processId);
+      }
+    }
+    return expiredProcessIds;
+  }
+
+  /**
+   * Check whether given bulk upload processes are leased (or reserved) and the lease is alive.
+   * Processes having no lease or an expired lease are not being processed by any node.
+   *
+   * @param processIds List of bulk upload process ids
+   * @return Map of process id and true if it has a live lease
+   */
+  public static Map<String, Boolean> getLeaseStatus(List<String> processIds) {
+    Map<String, Boolean> leaseStatus = new HashMap<>();
+    long now = System.currentTimeMillis();
+    Map<String, Map<String, Object>> leases = leaseDao.read(processIds);
+    for (String processId : processIds) {
+      Long heartbeat = getHeartbeat(leases.get(processId));
+      leaseStatus.put(processId, heartbeat != null && !isExpired(heartbeat, now));
+    }
+    return leaseStatus;
+  }
+
+  private static boolean acquire(
+      String processId, String owner, long now, boolean takeOverReservation) {
+    Map<String, Object> lease = leaseDao.read(Collections.singletonList(processId)).get(processId);
+    Long previousHeartbeat = getHeartbeat(lease);
+    if (previousHeartbeat == null) {
+      if (leaseDao.insert(processId, owner, now)) {
+        return true;
+      }
+    } else {
+      String previousOwner = (String) lease.get(BulkUploadProcessLeaseDaoImpl.OWNER);
+      boolean available =
+          isExpired(previousHeartbeat, now)
+              || (takeOverReservation && RESERVED.equals(previousOwner));
+      if (available
+          && leaseDao.update(processId, owner, now, previousOwner, previousHeartbeat)) {
+        return true;
+      }
+    }
+    ProjectLogger.log(
+        "BulkUploadLeaseManager:acquire: Process " + processId + " is leased by another node",
+        LoggerEnum.INFO.name());
+    return false;
+  }
+
+  private static void renewLeases() {
+    for (Map.Entry<String, Long> heldLease : heldLeases.entrySet()) {
+      String processId = heldLease.getKey();
+      long now = System.currentTimeMillis();
+      try {
+        if (leaseDao.update(processId, NODE_ID, now, NODE_ID, heldLease.getValue())) {
+          heldLeases.replace(processId, heldLease.getValue(), now);
+          continue;
+        }
+        // Heartbeat may differ if an earlier renewal timed out after being applied.
+        Map<String, Object> lease =
+            leaseDao.read(Collections.singletonList(processId)).get(processId);
+        Long heartbeat = getHeartbeat(lease);
+        if (heartbeat != null && NODE_ID.equals(lease.get(BulkUploadProcessLeaseDaoImpl.OWNER))) {
+          heldLeases.replace(processId, heldLease.getValue(), heartbeat);
+        } else {
+          heldLeases.remove(processId);
+          ProjectLogger.log(
+              "BulkUploadLeaseManager:renewLeases: Lost lease of process " + processId,
+              LoggerEnum.ERROR.name());
+        }
+      } catch (Exception e) {
+        ProjectLogger.log(
+            "BulkUploadLeaseManager:renewLeases: Failed to renew lease of process " + processId,
+            e);
+      }
+    }
+  }
+
+  private static Long getHeartbeat(Map<String, Object> lease) {
+    if (lease == null || lease.get(BulkUploadProcessLeaseDaoImpl.HEARTBEAT) == null) {
+      return null;
+    }
+    return ((Number) lease.get(BulkUploadProcessLeaseDaoImpl.HEARTBEAT)).longValue();
+  }
+
+  private static boolean isExpired(long heartbeat, long now) {
+    return now - heartbeat > LEASE_TIMEOUT_MS;
+  }
+}
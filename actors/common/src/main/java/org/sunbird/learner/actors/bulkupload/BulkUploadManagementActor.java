@@ -178,7 +178,8 @@ public class BulkUploadManagementActor extends BaseBulkUploadActor {
     if (!resList.isEmpty()) {
       Map<String, Object> resMap = resList.get(0);
       String objectType = (String) resMap.get(JsonKey.OBJECT_TYPE);
-      if ((int) resMap.get(JsonKey.STATUS) == ProjectUtil.BulkProcessStatus.COMPLETED.getValue()) {
+      int status = (int) resMap.get(JsonKey.STATUS);
+      if (status == ProjectUtil.BulkProcessStatus.COMPLETED.getValue()) {
         resMap.put(JsonKey.PROCESS_ID, resMap.get(JsonKey.ID));
         updateResponseStatus(resMap);
         ProjectUtil.removeUnwantedFields(resMap, JsonKey.ID);
@@ -188,9 +189,8 @@ public class BulkUploadManagementActor extends BaseBulkUploadActor {
           try {
             if (null != resMap.get(JsonKey.SUCCESS_RESULT)) {
               successMap =
-                  mapper.readValue(
-                      decryptionService.decryptData((String) resMap.get(JsonKey.SUCCESS_RESULT)),
-                      Object[].class);
+                  readResult(
+                      (String) resMap.get(JsonKey.SUCCESS_RESULT), objectType, decryptionService);
               if (JsonKey.USER.equalsIgnoreCase(objectType)) {
                 Arrays.stream(successMap)
                     .forEach(
@@ -203,9 +203,8 @@ public class BulkUploadManagementActor extends BaseBulkUploadActor {
             }
             if (null != resMap.get(JsonKey.FAILURE_RESULT)) {
               failureMap =
-                  mapper.readValue(
-                      decryptionService.decryptData((String) resMap.get(JsonKey.FAILURE_RESULT)),
-                      Object[].class);
+                  readResult(
+                      (String) resMap.get(JsonKey.FAILURE_RESULT), objectType, decryptionService);
               if (JsonKey.USER.equalsIgnoreCase(objectType)) {
                 Arrays.stream(successMap)
                     .forEach(
@@ -240,6 +239,23 @@ public class BulkUploadManagementActor extends BaseBulkUploadActor {
           resMap.put(JsonKey.FAILURE_RESULT, failureList);
         }
         sender().tell(response, self());
+      } else if (status == ProjectUtil.BulkProcessStatus.FAILED.getValue()) {
+        resMap.put(JsonKey.PROCESS_ID, resMap.get(JsonKey.ID));
+        updateResponseStatus(resMap);
+        if (JsonKey.TEXTBOOK.equalsIgnoreCase(objectType)
+            && null != resMap.get(JsonKey.FAILURE_RESULT)) {
+          try {
+            resMap.put(
+                JsonKey.FAILURE_RESULT,
+                readResult(
+                    (String) resMap.get(JsonKey.FAILURE_RESULT), objectType, decryptionService));
+          } catch (IOException e) {
+            ProjectLogger.log(e.getMessage(), e);
+          }
+        }
+        ProjectUtil.removeUnwantedFields(
+            resMap, JsonKey.ID, JsonKey.OBJECT_TYPE, JsonKey.SUCCESS_RESULT);
+        sender().tell(response, self());
       } else {
         resMap.put(JsonKey.PROCESS_ID, resMap.get(JsonKey.ID));
         updateResponseStatus(resMap);
@@ -263,6 +279,8 @@ public class BulkUploadManagementActor extends BaseBulkUploadActor {
       status = BulkUploadJsonKey.COMPLETED;
     } else if (progressStatus == ProjectUtil.BulkProcessStatus.IN_PROGRESS.getValue()) {
       status = BulkUploadJsonKey.IN_PROGRESS;
+    } else if (progressStatus == ProjectUtil.BulkProcessStatus.FAILED.getValue()) {
+      status = JsonKey.FAILED;
     } else {
       status = BulkUploadJsonKey.NOT_STARTED;
     }
@@ -272,6 +290,19 @@ public class BulkUploadManagementActor extends BaseBulkUploadActor {
         MessageFormat.format(BulkUploadJsonKey.OPERATION_STATUS_MSG, status.toLowerCase()));
   }
 
+  /**
+   * Read success or failure result of a bulk upload process. Textbook upload results are stored
+   * as plain JSON, results of other uploads are stored encrypted.
+   */
+  private Object[] readResult(
+      String result, String objectType, DecryptionService decryptionService) throws IOException {
+    String json =
+        JsonKey.TEXTBOOK.equalsIgnoreCase(objectType)
+            ? result
+            : decryptionService.decryptData(result);
+    return mapper.readValue(json, Object[].class);
+  }
+
   private void addTaskDataToList(List<Map> list, String data) {
     try {
       list.add(mapper.readValue(data, Map.class));
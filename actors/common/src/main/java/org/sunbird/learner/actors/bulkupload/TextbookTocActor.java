@@ -5,8 +5,10 @@ import com.mashape.unirest.http.HttpResponse;
 import com.mashape.unirest.http.Unirest;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -21,11 +23,15 @@ import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.common.models.util.ProjectUtil.BulkProcessStatus;
 import org.sunbird.common.models.util.TextbookActorOperation;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.content.textbook.FileExtension;
 import org.sunbird.content.textbook.TextBookTocUploader;
+import org.sunbird.learner.actors.bulkupload.model.BulkUploadProcess;
+import org.sunbird.learner.util.Util;
 
 import static java.io.File.separator;
 import static java.util.Arrays.asList;
@@ -51,10 +57,17 @@ import static org.sunbird.content.util.TextBookTocUtil.serialize;
 
 @ActorConfig(
   tasks = {"textbookTocUpload", "textbookTocUrl", "textbookTocUpdate"},
-  asyncTasks = {}
+  asyncTasks = {"textbookTocUploadProcess"}
 )
 public class TextbookTocActor extends BaseBulkUploadActor {
 
+  private static final String TEXTBOOK_TOC_UPLOAD_PROCESS = "textbookTocUploadProcess";
+  private static final int UPDATE_CHUNK_SIZE =
+      Util.getIntConfigValue("sunbird_textbook_toc_update_chunk_size", 200);
+  private static final String APPLIED_CHUNKS = "appliedChunks";
+  private static final String CHUNK_COUNT = "chunkCount";
+  private static final String UPDATED_NODES = "updatedNodes";
+
   @Override
   public void onReceive(Request request) throws Throwable {
     if (request
@@ -65,23 +78,115 @@ public class TextbookTocActor extends BaseBulkUploadActor {
         .getOperation()
         .equalsIgnoreCase(TextbookActorOperation.TEXTBOOK_TOC_URL.getValue())) {
       getTocUrl(request);
+    } else if (request.getOperation().equalsIgnoreCase(TEXTBOOK_TOC_UPLOAD_PROCESS)) {
+      processUpload(request);
     } else {
       onReceiveUnsupportedOperation(request.getOperation());
     }
   }
 
+  /**
+   * Validate the TOC upload request and start processing it in background. Sender gets the
+   * process id right away, status and result of the upload are read using bulk upload status API.
+   *
+   * <p>The process is recorded as in progress and reserved before it is dispatched, so the upload
+   * scheduler never picks it up while it waits to be processed. TOC data is passed to the
+   * processing actor and not stored, so an upload whose processing is abandoned is marked failed
+   * by the scheduler instead of being processed again.
+   */
   private void upload(Request request) throws Exception {
-    String mode = ((Map<String, Object>) request.get(JsonKey.DATA)).get(JsonKey.MODE).toString();
+    Map<String, Object> data = (Map<String, Object>) request.get(JsonKey.DATA);
+    String mode = data.get(JsonKey.MODE).toString();
     validateRequest(request, mode);
-    Response response = new Response();
-    if (StringUtils.equalsIgnoreCase(mode, "create")) {
-      response = createTextbook(request);
-    } else if (StringUtils.equalsIgnoreCase(mode, "update")) {
-      response = updateTextbook(request);
-    } else {
+    if (!StringUtils.equalsIgnoreCase(mode, "create")
+        && !StringUtils.equalsIgnoreCase(mode, "update")) {
       unSupportedMessage();
     }
-    sender().tell(response, sender());
+    String processId = ProjectUtil.getUniqueIdFromTimestamp(1);
+    if (!BulkUploadLeaseManager.reserve(processId)) {
+      throwServerErrorException(SERVER_ERROR, SERVER_ERROR.getErrorMessage());
+    }
+    BulkUploadProcess bulkUploadProcess =
+        getBulkUploadProcess(
+            processId,
+            JsonKey.TEXTBOOK,
+            (String) request.getContext().get(JsonKey.USER_ID),
+            ((List<Object>) data.get(JsonKey.FILE_DATA)).size());
+    bulkUploadProcess.setStatus(BulkProcessStatus.IN_PROGRESS.getValue());
+    Response createResponse = bulkUploadDao.create(bulkUploadProcess);
+    if (!JsonKey.SUCCESS.equalsIgnoreCase((String) createResponse.get(JsonKey.RESPONSE))) {
+      log(
+          "TextbookTocActor:upload: Error creating record in bulk_upload_process | Id: "
+              + processId,
+          ERROR.name());
+      throwServerErrorException(SERVER_ERROR, SERVER_ERROR.getErrorMessage());
+    }
+    Response response = new Response();
+    response.getResult().put(JsonKey.PROCESS_ID, processId);
+    sender().tell(response, self());
+
+    Request processRequest = new Request();
+    processRequest.setOperation(TEXTBOOK_TOC_UPLOAD_PROCESS);
+    processRequest.put(JsonKey.PROCESS_ID, processId);
+    processRequest.put(TEXTBOOK_ID, request.get(TEXTBOOK_ID));
+    processRequest.put(JsonKey.DATA, data);
+    tellToAnother(processRequest);
+  }
+
+  private void processUpload(Request request) {
+    String processId = (String) request.get(JsonKey.PROCESS_ID);
+    if (!BulkUploadLeaseManager.claim(processId)) {
+      log(
+          "TextbookTocActor:processUpload: Process is already claimed | Id: " + processId,
+          INFO.name());
+      return;
+    }
+    try {
+      processUpload(processId, request);
+    } finally {
+      BulkUploadLeaseManager.release(processId);
+    }
+  }
+
+  private void processUpload(String processId, Request request) {
+    BulkUploadProcess bulkUploadProcess = bulkUploadDao.read(processId);
+    if (null == bulkUploadProcess
+        || null == bulkUploadProcess.getStatus()
+        || BulkProcessStatus.IN_PROGRESS.getValue() != bulkUploadProcess.getStatus()) {
+      log(
+          "TextbookTocActor:processUpload: Process not found or not in progress | Id: "
+              + processId,
+          ERROR.name());
+      return;
+    }
+    String mode = ((Map<String, Object>) request.get(JsonKey.DATA)).get(JsonKey.MODE).toString();
+    try {
+      Response response =
+          StringUtils.equalsIgnoreCase(mode, "create")
+              ? createTextbook(request)
+              : updateTextbook(request);
+      bulkUploadProcess.setSuccessResult(
+          ProjectUtil.convertMapToJsonString(Collections.singletonList(response.getResult())));
+      bulkUploadProcess.setStatus(BulkProcessStatus.COMPLETED.getValue());
+    } catch (Exception e) {
+      log(
+          "TextbookTocActor:processUpload: Upload failed | Process Id: "
+              + processId
+              + " with error "
+              + e.getMessage(),
+          e);
+      Map<String, Object> failure = new HashMap<>();
+      failure.put(TEXTBOOK_ID, request.get(TEXTBOOK_ID));
+      failure.put(JsonKey.ERROR_MSG, e.getMessage());
+      if (e instanceof HierarchyUpdateException) {
+        ((HierarchyUpdateException) e).addAppliedChunks(failure);
+      }
+      bulkUploadProcess.setFailureResult(
+          ProjectUtil.convertMapToJsonString(Collections.singletonList(failure)));
+      bulkUploadProcess.setStatus(BulkProcessStatus.FAILED.getValue());
+    }
+    bulkUploadProcess.setProcessEndTime(ProjectUtil.getFormattedDate());
+    bulkUploadDao.update(bulkUploadProcess);
   }
 
   private void getTocUrl(Request request) {
@@ -217,7 +322,7 @@ public class TextbookTocActor extends BaseBulkUploadActor {
             {
               put(JsonKey.NAME, tbMetadata.get(JsonKey.NAME));
               put(CONTENT_TYPE, tbMetadata.get(CONTENT_TYPE));
-              put(CHILDREN, new ArrayList<>());
+              put(CHILDREN, new LinkedHashSet<String>());
               put(JsonKey.TB_ROOT, true);
             }
           });
@@ -365,29 +470,45 @@ public class TextbookTocActor extends BaseBulkUploadActor {
             nodesModified,
             false);
       }
-      Map<String, Object> updateRequest =
-          new HashMap<String, Object>() {
-            {
-              put(
-                  JsonKey.REQUEST,
-                  new HashMap<String, Object>() {
-                    {
-                      put(
-                          JsonKey.DATA,
-                          new HashMap<String, Object>() {
-                            {
-                              put(JsonKey.NODES_MODIFIED, nodesModified);
-                            }
-                          });
-                    }
-                  });
-            }
-          };
+      return updateHierarchyInChunks(tbId, nodesModified);
+    }
+  }
+
+  /**
+   * Update metadata of existing nodes, at most sunbird_textbook_toc_update_chunk_size nodes per
+   * update hierarchy request, so a textbook with many units is not sent in one large request.
+   * Every chunk carries the root node. Chunks applied before a failed one are not rolled back, so
+   * the failure tells which chunks and nodes were updated.
+   */
+  private Response updateHierarchyInChunks(String tbId, Map<String, Object> nodesModified)
+      throws Exception {
+    Object rootNode = nodesModified.remove(tbId);
+    List<String> nodeIds = new ArrayList<>(nodesModified.keySet());
+    int chunkCount = Math.max(1, (nodeIds.size() + UPDATE_CHUNK_SIZE - 1) / UPDATE_CHUNK_SIZE);
+    Response response = null;
+    for (int chunkIndex = 0; chunkIndex < chunkCount; chunkIndex++) {
+      int from = chunkIndex * UPDATE_CHUNK_SIZE;
+      int to = Math.min(from + UPDATE_CHUNK_SIZE, nodeIds.size());
+      Map<String, Object> chunk = new HashMap<>();
+      chunk.put(tbId, rootNode);
+      for (String nodeId : nodeIds.subList(from, to)) {
+        chunk.put(nodeId, nodesModified.get(nodeId));
+      }
+      Map<String, Object> data = new HashMap<>();
+      data.put(JsonKey.NODES_MODIFIED, chunk);
+      Map<String, Object> updateRequest = new HashMap<>();
+      updateRequest.put(JsonKey.REQUEST, Collections.singletonMap(JsonKey.DATA, data));
       log(
           "Update Textbook - UpdateHierarchy Request : " + mapper.writeValueAsString(updateRequest),
           INFO.name());
-      return updateHierarchy((String) request.get(TEXTBOOK_ID), updateRequest);
+      try {
+        response = updateHierarchy(tbId, updateRequest);
+      } catch (Exception e) {
+        throw new HierarchyUpdateException(
+            e, chunkIndex, chunkCount, new ArrayList<>(nodeIds.subList(0, from)));
+      }
     }
+    return response;
   }
 
   private Response updateHierarchy(String tbId, Map<String, Object> updateRequest)
@@ -526,35 +647,50 @@ public class TextbookTocActor extends BaseBulkUploadActor {
           new HashMap<String, Object>() {
             {
               put(JsonKey.NAME, name);
-              put(CHILDREN, new ArrayList<>());
+              put(CHILDREN, new LinkedHashSet<String>());
               put(JsonKey.TB_ROOT, false);
             }
           });
     }
 
     if (null != hierarchyData.get(parentCode)) {
-      List<String> children =
-          ((List) ((Map<String, Object>) hierarchyData.get(parentCode)).get(CHILDREN));
-      if (!children.contains(code)) {
-        children.add(code);
-      }
+      // children are kept in an insertion ordered set, so adding a known child is a lookup
+      ((Set<String>) ((Map<String, Object>) hierarchyData.get(parentCode)).get(CHILDREN))
+          .add(code);
     } else {
-      String finalCode = code;
+      Set<String> children = new LinkedHashSet<>();
+      children.add(code);
       hierarchyData.put(
           parentCode,
           new HashMap<String, Object>() {
             {
               put(JsonKey.NAME, "");
-              put(
-                  CHILDREN,
-                  new ArrayList<String>() {
-                    {
-                      add(finalCode);
-                    }
-                  });
+              put(CHILDREN, children);
               put(JsonKey.TB_ROOT, false);
             }
           });
     }
   }
+
+  /** Failure of a chunked hierarchy update, along with the chunks applied before it. */
+  private static class HierarchyUpdateException extends Exception {
+
+    private final int appliedChunks;
+    private final int chunkCount;
+    private final List<String> updatedNodeIds;
+
+    private HierarchyUpdateException(
+        Exception cause, int appliedChunks, int chunkCount, List<String> updatedNodeIds) {
+      super(cause.getMessage(), cause);
+      this.appliedChunks = appliedChunks;
+      this.chunkCount = chunkCount;
+      this.updatedNodeIds = updatedNodeIds;
+    }
+
+    private void addAppliedChunks(Map<String, Object> failure) {
+      failure.put(APPLIED_CHUNKS, appliedChunks);
+      failure.put(CHUNK_COUNT, chunkCount);
+      failure.put(UPDATED_NODES, updatedNodeIds);
+    }
+  }
 }
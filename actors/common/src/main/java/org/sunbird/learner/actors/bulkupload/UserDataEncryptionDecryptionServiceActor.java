@@ -2,7 +2,6 @@ package org.sunbird.learner.actors.bulkupload;
 
 import java.util.List;
 import java.util.Map;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.models.response.Response;
@@ -12,6 +11,7 @@ import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.Request;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.UserUtility;
 import org.sunbird.learner.util.Util;
 
@@ -19,7 +19,7 @@ import org.sunbird.learner.util.Util;
   tasks = {"encryptUserData", "decryptUserData"},
   asyncTasks = {}
 )
-public class UserDataEncryptionDecryptionServiceActor extends BaseActor {
+public class UserDataEncryptionDecryptionServiceActor extends InstrumentedActor {
 
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private Util.DbInfo usrDbInfo = Util.dbInfoMap.get(JsonKey.USER_DB);
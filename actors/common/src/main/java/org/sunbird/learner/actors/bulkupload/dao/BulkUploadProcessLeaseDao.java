@@ -0,0 +1,71 @@
+package org.sunbird.learner.actors.bulkupload.dao;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class to provide Data access operation for the bulk_upload_process_lease table. All the writes
+ * are conditional (lightweight transactions), so of the nodes racing for the same lease only one
+ * write is applied. Heartbeats of applied writes are also indexed by time bucket in the
+ * bulk_upload_process_lease_expiry table, so expired leases are found without a table scan.
+ */
+public interface BulkUploadProcessLeaseDao {
+
+  /**
+   * Method to create lease of a bulk upload process if the process has no lease.
+   *
+   * @param processId Bulk upload process id
+   * @param owner Node holding the lease
+   * @param heartbeat Heartbeat time in milliseconds
+   * @return True if lease is created, false if the process already has a lease
+   */
+  boolean insert(String processId, String owner, long heartbeat);
+
+  /**
+   * Method to update lease of a bulk upload process if it is still held by given previous owner
+   * with given previous heartbeat.
+   *
+   * @param processId Bulk upload process id
+   * @param owner Node holding the lease
+   * @param heartbeat Heartbeat time in milliseconds
+   * @param previousOwner Owner read from the lease
+   * @param previousHeartbeat Heartbeat time read from the lease
+   * @return True if lease is updated, false if lease was changed or removed meanwhile
+   */
+  boolean update(
+      String processId, String owner, long heartbeat, String previousOwner, long previousHeartbeat);
+
+  /**
+   * Method to read leases (id, owner and heartbeat) of given bulk upload processes.
+   *
+   * @param processIds List of bulk upload process ids
+   * @return Map of process id and its lease
+   */
+  Map<String, Map<String, Object>> read(List<String> processIds);
+
+  /**
+   * Method to read ids of bulk upload processes having their last heartbeat in given buckets.
+   *
+   * @param buckets List of heartbeat buckets
+   * @return List of bulk upload process ids
+   */
+  List<String> readByBuckets(List<Long> buckets);
+
+  /**
+   * Method to remove lease of a bulk upload process if it is held by given owner. Its entry in the
+   * expiry index is kept, so a process released without being completed is found again.
+   *
+   * @param processId Bulk upload process id
+   * @param owner Node holding the lease
+   * @return True if lease is removed
+   */
+  boolean delete(String processId, String owner);
+
+  /**
+   * Method to get the bucket of a heartbeat time.
+   *
+   * @param heartbeat Heartbeat time in milliseconds
+   * @return Bucket number
+   */
+  long getBucket(long heartbeat);
+}
@@ -0,0 +1,166 @@
+package org.sunbird.learner.actors.bulkupload.dao.impl;
+
+import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.set;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.ttl;
+
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.collections.CollectionUtils;
+import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.PropertiesCache;
+import org.sunbird.helper.CassandraConnectionMngrFactory;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.bulkupload.dao.BulkUploadProcessLeaseDao;
+import org.sunbird.learner.util.Util;
+
+/**
+ * Data access implementation for bulk upload process leases. CassandraOperation has no conditional
+ * writes, so writes are done as lightweight transactions through the Cassandra session. The expiry
+ * index is written once a lease write is applied, and only when the heartbeat moves to another
+ * bucket, so a renewal within the same bucket costs a single write. Index entries expire after the
+ * lookback window of the upload scheduler.
+ */
+public class BulkUploadProcessLeaseDaoImpl implements BulkUploadProcessLeaseDao {
+
+  public static final String OWNER = "owner";
+  public static final String HEARTBEAT = "heartbeat";
+  private static final String KEYSPACE_NAME = "sunbird";
+  private static final String TABLE_NAME = "bulk_upload_process_lease";
+  private static final String EXPIRY_TABLE_NAME = "bulk_upload_process_lease_expiry";
+  private static final String BUCKET = "bucket";
+  private static final long BUCKET_SIZE_MS =
+      Util.getIntConfigValue("sunbird_bulk_upload_lease_bucket_size_seconds", 300) * 1000L;
+  private static final int EXPIRY_TTL_SECONDS =
+      Util.getIntConfigValue("sunbird_bulk_upload_lease_lookback_hours", 24) * 3600;
+
+  private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+
+  @Override
+  public boolean insert(String processId, String owner, long heartbeat) {
+    boolean applied =
+        execute(
+            QueryBuilder.insertInto(KEYSPACE_NAME, TABLE_NAME)
+                .value(JsonKey.ID, processId)
+                .value(OWNER, owner)
+                .value(HEARTBEAT, heartbeat)
+                .ifNotExists());
+    if (applied) {
+      addToBucket(processId, heartbeat);
+    }
+    return applied;
+  }
+
+  @Override
+  public boolean update(
+      String processId,
+      String owner,
+      long heartbeat,
+      String previousOwner,
+      long previousHeartbeat) {
+    boolean applied =
+        execute(
+            QueryBuilder.update(KEYSPACE_NAME, TABLE_NAME)
+                .with(set(OWNER, owner))
+                .and(set(HEARTBEAT, heartbeat))
+                .where(eq(JsonKey.ID, processId))
+                .onlyIf(eq(OWNER, previousOwner))
+                .and(eq(HEARTBEAT, previousHeartbeat)));
+    if (applied && getBucket(heartbeat) != getBucket(previousHeartbeat)) {
+      addToBucket(processId, heartbeat);
+      removeFromBucket(processId, previousHeartbeat);
+    }
+    return applied;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Map<String, Map<String, Object>> read(List<String> processIds) {
+    Map<String, Map<String, Object>> leases = new HashMap<>();
+    if (CollectionUtils.isEmpty(processIds)) {
+      return leases;
+    }
+    Response response =
+        cassandraOperation.getRecordsByProperty(
+            KEYSPACE_NAME, TABLE_NAME, JsonKey.ID, new ArrayList<>(processIds));
+    List<Map<String, Object>> list = (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    if (list != null) {
+      for (Map<String, Object> lease : list) {
+        leases.put((String) lease.get(JsonKey.ID), lease);
+      }
+    }
+    return leases;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<String> readByBuckets(List<Long> buckets) {
+    List<String> processIds = new ArrayList<>();
+    if (CollectionUtils.isEmpty(buckets)) {
+      return processIds;
+    }
+    List<Object> bucketKeys = new ArrayList<>();
+    for (Long bucket : buckets) {
+      bucketKeys.add(String.valueOf(bucket));
+    }
+    Response response =
+        cassandraOperation.getRecordsByProperty(
+            KEYSPACE_NAME, EXPIRY_TABLE_NAME, BUCKET, bucketKeys);
+    List<Map<String, Object>> list = (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    if (list != null) {
+      for (Map<String, Object> expiry : list) {
+        processIds.add((String) expiry.get(JsonKey.ID));
+      }
+    }
+    return processIds;
+  }
+
+  @Override
+  public boolean delete(String processId, String owner) {
+    return execute(
+        QueryBuilder.delete()
+            .from(KEYSPACE_NAME, TABLE_NAME)
+            .where(eq(JsonKey.ID, processId))
+            .onlyIf(eq(OWNER, owner)));
+  }
+
+  @Override
+  public long getBucket(long heartbeat) {
+    return heartbeat / BUCKET_SIZE_MS;
+  }
+
+  private void addToBucket(String processId, long heartbeat) {
+    getSession()
+        .execute(
+            QueryBuilder.insertInto(KEYSPACE_NAME, EXPIRY_TABLE_NAME)
+                .value(BUCKET, String.valueOf(getBucket(heartbeat)))
+                .value(JsonKey.ID, processId)
+                .using(ttl(EXPIRY_TTL_SECONDS)));
+  }
+
+  private void removeFromBucket(String processId, long heartbeat) {
+    getSession()
+        .execute(
+            QueryBuilder.delete()
+                .from(KEYSPACE_NAME, EXPIRY_TABLE_NAME)
+                .where(eq(BUCKET, String.valueOf(getBucket(heartbeat))))
+                .and(eq(JsonKey.ID, processId)));
+  }
+
+  private boolean execute(Statement statement) {
+    return getSession().execute(statement).wasApplied();
+  }
+
+  private static Session getSession() {
+    return CassandraConnectionMngrFactory.getObject(
+            PropertiesCache.getInstance().getProperty(JsonKey.SUNBIRD_CASSANDRA_MODE))
+        .getSession(KEYSPACE_NAME);
+  }
+}
@@ -5,7 +5,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.exception.ProjectCommonException;
@@ -18,6 +17,7 @@ import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.Util;
 import org.sunbird.telemetry.util.TelemetryUtil;
 
@@ -25,7 +25,7 @@ import org.sunbird.telemetry.util.TelemetryUtil;
   tasks = {"registerClient", "updateClientKey", "getClientKey"},
   asyncTasks = {}
 )
-public class ClientManagementActor extends BaseActor {
+public class ClientManagementActor extends InstrumentedActor {
 
   private Util.DbInfo clientDbInfo = Util.dbInfoMap.get(JsonKey.CLIENT_INFO_DB);
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
@@ -11,7 +11,6 @@ import java.util.Map;
 import java.util.Set;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.common.ElasticSearchUtil;
 import org.sunbird.common.exception.ProjectCommonException;
@@ -30,8 +29,10 @@ import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.dto.SearchDTO;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.actors.coursebatch.dao.CourseBatchDao;
 import org.sunbird.learner.actors.coursebatch.dao.impl.CourseBatchDaoImpl;
+import org.sunbird.learner.actors.coursebatch.service.CourseBatchCache;
 import org.sunbird.learner.actors.coursebatch.service.UserCoursesService;
 import org.sunbird.learner.util.CourseBatchSchedulerUtil;
 import org.sunbird.learner.util.CourseBatchUtil;
@@ -50,7 +51,7 @@ import org.sunbird.telemetry.util.TelemetryUtil;
   },
   asyncTasks = {}
 )
-public class CourseBatchManagementActor extends BaseActor {
+public class CourseBatchManagementActor extends InstrumentedActor {
 
   private CourseBatchDao courseBatchDao = new CourseBatchDaoImpl();
   private UserCoursesService userCoursesService = new UserCoursesService();
@@ -211,6 +212,7 @@ public class CourseBatchManagementActor extends BaseActor {
     participantsMap = getMentorLists(participantsMap, oldBatch, courseBatch);
     Map<String, Object> courseBatchMap = new ObjectMapper().convertValue(courseBatch, Map.class);
     Response result = courseBatchDao.update(courseBatchMap);
+    CourseBatchCache.invalidate(courseBatch.getId());
     sender().tell(result, self());
 
     if (((String) result.get(JsonKey.RESPONSE)).equalsIgnoreCase(JsonKey.SUCCESS)) {
@@ -383,6 +385,7 @@ public class CourseBatchManagementActor extends BaseActor {
     }
     courseBatchObject.put(JsonKey.PARTICIPANT, participants);
     courseBatchDao.update(courseBatchObject);
+    CourseBatchCache.invalidate(batchId);
     sender().tell(response, self());
     Request request = new Request();
     request.setOperation(ActorOperations.UPDATE_COURSE_BATCH_ES.getValue());
@@ -844,7 +847,7 @@ public class CourseBatchManagementActor extends BaseActor {
 
   private Map<String, Object> getContentDetails(String courseId, Map<String, String> headers) {
     Map<String, Object> ekStepContent =
-        CourseEnrollmentActor.getCourseObjectFromEkStep(courseId, headers);
+        CourseEnrollmentActor.getCachedCourseObjectFromEkStep(courseId, headers);
     if (null == ekStepContent || ekStepContent.size() == 0) {
       ProjectLogger.log(
           "CourseBatchManagementActor:getEkStepContent: Not found course for ID = " + courseId,
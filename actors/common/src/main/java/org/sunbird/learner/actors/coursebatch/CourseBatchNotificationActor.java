@@ -1,14 +1,15 @@
 package org.sunbird.learner.actors.coursebatch;
 
 import akka.actor.ActorRef;
-import akka.actor.ActorSystem;
-import akka.actor.Props;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
 import org.sunbird.actor.background.BackgroundOperations;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.actorutil.email.EmailServiceClient;
 import org.sunbird.actorutil.email.EmailServiceFactory;
@@ -18,12 +19,13 @@ import org.sunbird.common.models.util.ActorOperations;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.models.util.PropertiesCache;
 import org.sunbird.common.models.util.datasecurity.DecryptionService;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
-import org.sunbird.learner.actors.notificationservice.EmailServiceActor;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.course.batch.CourseBatch;
 
@@ -35,12 +37,23 @@ import org.sunbird.models.course.batch.CourseBatch;
   tasks = {"courseBatchNotification"},
   asyncTasks = {"courseBatchNotification"}
 )
-public class CourseBatchNotificationActor extends BaseActor {
+public class CourseBatchNotificationActor extends InstrumentedActor {
   private static CassandraOperation cassandraOperation = ServiceFactory.getInstance();
 
   private static EmailServiceClient emailServiceClient = EmailServiceFactory.getInstance();
-  private static final Props props = Props.create(EmailServiceActor.class);
-  private static ActorSystem system = ActorSystem.create("system");
+  private static final int EMAIL_RECIPIENTS_PAGE_SIZE =
+      Util.getIntConfigValue("sunbird_course_batch_notification_page_size", 100);
+  private static final int EMAIL_MAX_PARALLEL_REQUESTS =
+      Util.getIntConfigValue("sunbird_course_batch_notification_parallelism", 4);
+  private static final int EMAIL_REQUEST_TIMEOUT_SECONDS = 60;
+  private static final ExecutorService emailExecutor =
+      Executors.newFixedThreadPool(
+          EMAIL_MAX_PARALLEL_REQUESTS,
+          runnable -> {
+            Thread thread = new Thread(runnable, "course-batch-notification");
+            thread.setDaemon(true);
+            return thread;
+          });
   private DecryptionService decryptionService =
       org.sunbird.common.models.util.datasecurity.impl.ServiceFactory.getDecryptionServiceInstance(
           null);
@@ -93,7 +106,8 @@ public class CourseBatchNotificationActor extends BaseActor {
         subject = JsonKey.COURSE_INVITATION;
       }
 
-      triggerEmailNotification(Arrays.asList(userId), courseBatch, subject, template);
+      sendConsolidatedResponse(
+          triggerEmailNotification(Arrays.asList(userId), courseBatch, subject, template));
 
     } else {
       ProjectLogger.log(
@@ -103,29 +117,43 @@ public class CourseBatchNotificationActor extends BaseActor {
       List<String> addedMentors = (List<String>) requestMap.get(JsonKey.ADDED_MENTORS);
       List<String> removedMentors = (List<String>) requestMap.get(JsonKey.REMOVED_MENTORS);
 
-      triggerEmailNotification(
-          addedMentors, courseBatch, JsonKey.COURSE_INVITATION, JsonKey.BATCH_MENTOR_ENROL);
-      triggerEmailNotification(
-          removedMentors,
-          courseBatch,
-          JsonKey.UNENROLL_FROM_COURSE_BATCH,
-          JsonKey.BATCH_MENTOR_UNENROL);
+      List<Future<Response>> futures = new ArrayList<>();
+      futures.addAll(
+          triggerEmailNotification(
+              addedMentors, courseBatch, JsonKey.COURSE_INVITATION, JsonKey.BATCH_MENTOR_ENROL));
+      futures.addAll(
+          triggerEmailNotification(
+              removedMentors,
+              courseBatch,
+              JsonKey.UNENROLL_FROM_COURSE_BATCH,
+              JsonKey.BATCH_MENTOR_UNENROL));
 
       List<String> addedParticipants = (List<String>) requestMap.get(JsonKey.ADDED_PARTICIPANTS);
       List<String> removedParticipants =
           (List<String>) requestMap.get(JsonKey.REMOVED_PARTICIPANTS);
 
-      triggerEmailNotification(
-          addedParticipants, courseBatch, JsonKey.COURSE_INVITATION, JsonKey.BATCH_LEARNER_ENROL);
-      triggerEmailNotification(
-          removedParticipants,
-          courseBatch,
-          JsonKey.UNENROLL_FROM_COURSE_BATCH,
-          JsonKey.BATCH_LEARNER_UNENROL);
+      futures.addAll(
+          triggerEmailNotification(
+              addedParticipants,
+              courseBatch,
+              JsonKey.COURSE_INVITATION,
+              JsonKey.BATCH_LEARNER_ENROL));
+      futures.addAll(
+          triggerEmailNotification(
+              removedParticipants,
+              courseBatch,
+              JsonKey.UNENROLL_FROM_COURSE_BATCH,
+              JsonKey.BATCH_LEARNER_UNENROL));
+      sendConsolidatedResponse(futures);
     }
   }
 
-  private void triggerEmailNotification(
+  /**
+   * Sends given email template to given users, one personalised email per user. Recipients are
+   * fetched and decrypted page wise (at most the configured email recipient limit per page) and
+   * emails are submitted in parallel with bounded concurrency.
+   */
+  private List<Future<Response>> triggerEmailNotification(
       List<String> userIdList, CourseBatch courseBatch, String subject, String template) {
 
     ProjectLogger.log(
@@ -133,25 +161,64 @@ public class CourseBatchNotificationActor extends BaseActor {
             + CollectionUtils.isEmpty(userIdList),
         LoggerEnum.INFO);
 
-    if (CollectionUtils.isEmpty(userIdList)) return;
+    List<Future<Response>> futures = new ArrayList<>();
+    if (CollectionUtils.isEmpty(userIdList)) return futures;
 
-    List<Map<String, Object>> userMapList = getUsersFromDB(userIdList);
+    Map<String, Object> emailRequestTemplate = createEmailRequest(courseBatch);
+    emailRequestTemplate.put(JsonKey.SUBJECT, subject);
+    emailRequestTemplate.put(JsonKey.EMAIL_TEMPLATE_TYPE, template);
+    ActorRef emailServiceActorRef = getActorRef(BackgroundOperations.emailService.name());
 
-    for (Map<String, Object> user : userMapList) {
-      Map<String, Object> requestMap = this.createEmailRequest(user, courseBatch);
+    for (List<String> userIdPage : getPages(userIdList)) {
+      List<Map<String, Object>> userMapList = getUsersFromDB(userIdPage);
+      if (CollectionUtils.isEmpty(userMapList)) {
+        continue;
+      }
+      ProjectLogger.log(
+          "CourseBatchNotificationActor:triggerEmailNotification: recipients count = "
+              + userMapList.size(),
+          LoggerEnum.INFO);
+      for (Map<String, Object> user : userMapList) {
+        String encryptedEmail = (String) user.get(JsonKey.EMAIL);
+        if (StringUtils.isBlank(encryptedEmail)) {
+          continue;
+        }
+        Map<String, Object> requestMap = new HashMap<>(emailRequestTemplate);
+        requestMap.put(JsonKey.FIRST_NAME, user.get(JsonKey.FIRST_NAME));
+        requestMap.put(
+            JsonKey.RECIPIENT_EMAILS,
+            new ArrayList<>(Arrays.asList(decryptionService.decryptData(encryptedEmail))));
+        futures.add(emailExecutor.submit(() -> sendMail(emailServiceActorRef, requestMap)));
+      }
+    }
+    return futures;
+  }
 
-      requestMap.put(JsonKey.SUBJECT, subject);
-      requestMap.put(JsonKey.EMAIL_TEMPLATE_TYPE, template);
-      String email = decryptionService.decryptData((String) user.get(JsonKey.EMAIL));
-      requestMap.put(JsonKey.RECIPIENT_EMAILS, new ArrayList<>(Arrays.asList(email)));
+  private List<List<String>> getPages(List<String> userIdList) {
+    int pageSize = getPageSize();
+    List<List<String>> pages = new ArrayList<>();
+    for (int i = 0; i < userIdList.size(); i += pageSize) {
+      pages.add(new ArrayList<>(userIdList.subList(i, Math.min(i + pageSize, userIdList.size()))));
+    }
+    return pages;
+  }
 
+  /** @return Configured page size, capped at the configured email recipient limit. */
+  private int getPageSize() {
+    int pageSize = EMAIL_RECIPIENTS_PAGE_SIZE;
+    try {
+      pageSize =
+          Math.min(
+              pageSize,
+              Integer.parseInt(
+                  ProjectUtil.getConfigValue(JsonKey.SUNBIRD_EMAIL_MAX_RECEPIENT_LIMIT)));
+    } catch (Exception e) {
       ProjectLogger.log(
-          "CourseBatchNotificationActor:triggerEmailNotification: emailid = "
-              + (String) user.get(JsonKey.EMAIL),
+          "CourseBatchNotificationActor:getPageSize: Invalid email recipient limit, error = "
+              + e.getMessage(),
           LoggerEnum.INFO);
-
-      sendMail(requestMap);
     }
+    return Math.max(pageSize, 1);
   }
 
   @SuppressWarnings("unchecked")
@@ -177,8 +244,7 @@ public class CourseBatchNotificationActor extends BaseActor {
   }
 
   @SuppressWarnings("unchecked")
-  private Map<String, Object> createEmailRequest(
-      Map<String, Object> userMap, CourseBatch courseBatch) {
+  private Map<String, Object> createEmailRequest(CourseBatch courseBatch) {
     ProjectLogger.log("CourseBatchNotificationActor: createEmailRequest:  ", LoggerEnum.INFO);
     Map<String, Object> courseBatchObject = new ObjectMapper().convertValue(courseBatch, Map.class);
     Map<String, String> additionalCourseInfo =
@@ -199,12 +265,6 @@ public class CourseBatchNotificationActor extends BaseActor {
         JsonKey.COURSE_BATCH_URL,
         getCourseBatchUrl(courseBatch.getCourseId(), courseBatch.getId()));
     requestMap.put(JsonKey.SIGNATURE, courseBatchNotificationSignature);
-    String userId = (String) userMap.get(JsonKey.USER_ID);
-
-    if (StringUtils.isNotBlank(userId)) {
-      requestMap.put(JsonKey.RECIPIENT_USERIDS, userId);
-    }
-    requestMap.put(JsonKey.FIRST_NAME, userMap.get(JsonKey.FIRST_NAME));
     ProjectLogger.log(
         "CourseBatchNotificationActor:createEmailRequest: success  ", LoggerEnum.INFO);
 
@@ -217,22 +277,52 @@ public class CourseBatchNotificationActor extends BaseActor {
     return url;
   }
 
-  private void sendMail(Map<String, Object> requestMap) {
-    ActorRef ref = system.actorOf(props);
+  private Response sendMail(ActorRef emailServiceActorRef, Map<String, Object> requestMap) {
     ProjectLogger.log("CourseBatchNotificationActor:sendMail: email ready  ", LoggerEnum.INFO);
     try {
-      Response response = emailServiceClient.sendMail(ref, requestMap);
-      sender().tell(response, self());
-      Response res = new Response();
-      res.setResponseCode(ResponseCode.OK);
-      sender().tell(res, self());
+      Response response = emailServiceClient.sendMail(emailServiceActorRef, requestMap);
       ProjectLogger.log(
           "CourseBatchNotificationActor:sendMail: Email sent successfully", LoggerEnum.INFO);
+      return response;
     } catch (Exception e) {
       ProjectLogger.log(
           "CourseBatchNotificationActor:sendMail: Exception occurred with error message = "
               + e.getMessage(),
           LoggerEnum.ERROR);
     }
+    return null;
+  }
+
+  /**
+   * Waits for all submitted email requests and sends one consolidated response to the sender, the
+   * first unsuccessful email response if any request failed and OK otherwise.
+   */
+  private void sendConsolidatedResponse(List<Future<Response>> futures) {
+    if (futures.isEmpty()) {
+      return;
+    }
+    Response failedResponse = null;
+    for (Future<Response> future : futures) {
+      try {
+        Response response = future.get(EMAIL_REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (failedResponse == null
+            && response != null
+            && response.getResponseCode() != ResponseCode.OK) {
+          failedResponse = response;
+        }
+      } catch (Exception e) {
+        ProjectLogger.log(
+            "CourseBatchNotificationActor:sendConsolidatedResponse: Exception occurred with error message = "
+                + e.getMessage(),
+            LoggerEnum.ERROR);
+      }
+    }
+    if (failedResponse != null) {
+      sender().tell(failedResponse, self());
+    } else {
+      Response res = new Response();
+      res.setResponseCode(ResponseCode.OK);
+      sender().tell(res, self());
+    }
   }
 }
@@ -1,6 +1,7 @@
 package org.sunbird.learner.actors.coursebatch;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.sql.Timestamp;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -9,8 +10,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
@@ -26,12 +27,14 @@ import org.sunbird.common.models.util.TelemetryEnvKey;
 import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.actors.coursebatch.dao.CourseBatchDao;
 import org.sunbird.learner.actors.coursebatch.dao.UserCoursesDao;
 import org.sunbird.learner.actors.coursebatch.dao.impl.CourseBatchDaoImpl;
 import org.sunbird.learner.actors.coursebatch.dao.impl.UserCoursesDaoImpl;
+import org.sunbird.learner.actors.coursebatch.service.CourseBatchCache;
+import org.sunbird.learner.actors.coursebatch.service.CourseBatchParticipantUpdater;
 import org.sunbird.learner.actors.coursebatch.service.UserCoursesService;
-import org.sunbird.learner.util.CourseBatchUtil;
 import org.sunbird.learner.util.EkStepRequestUtil;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.course.batch.CourseBatch;
@@ -42,14 +45,20 @@ import org.sunbird.telemetry.util.TelemetryUtil;
   tasks = {"enrollCourse", "unenrollCourse"},
   asyncTasks = {}
 )
-public class CourseEnrollmentActor extends BaseActor {
+public class CourseEnrollmentActor extends InstrumentedActor {
 
   private static String EKSTEP_COURSE_SEARCH_QUERY =
       "{\"request\": {\"filters\":{\"contentType\": [\"Course\"], \"objectType\": [\"Content\"], \"identifier\": \"COURSE_ID_PLACEHOLDER\", \"status\": \"Live\"},\"limit\": 1}}";
 
+  private static final Cache<String, Map<String, Object>> courseMetadataCache =
+      CacheBuilder.newBuilder()
+          .maximumSize(Util.getIntConfigValue("sunbird_course_metadata_cache_size", 1000))
+          .expireAfterWrite(
+              Util.getIntConfigValue("sunbird_course_metadata_cache_ttl", 300), TimeUnit.SECONDS)
+          .build();
+
   private CourseBatchDao courseBatchDao = new CourseBatchDaoImpl();
   private UserCoursesDao userCourseDao = UserCoursesDaoImpl.getInstance();
-  private ObjectMapper mapper = new ObjectMapper();
 
   @Override
   public void onReceive(Request request) throws Throwable {
@@ -75,7 +84,8 @@ public class CourseEnrollmentActor extends BaseActor {
   private void enrollCourseBatch(Request actorMessage) {
     ProjectLogger.log("enrollCourseClass called");
     Map<String, Object> courseMap = (Map<String, Object>) actorMessage.getRequest();
-    CourseBatch courseBatch = courseBatchDao.readById((String) courseMap.get(JsonKey.BATCH_ID));
+    CourseBatch courseBatch =
+        CourseBatchCache.get((String) courseMap.get(JsonKey.BATCH_ID), courseBatchDao);
     validateCourseBatch(
         courseBatch, courseMap, (String) actorMessage.getContext().get(JsonKey.REQUESTED_BY));
 
@@ -87,8 +97,6 @@ public class CourseEnrollmentActor extends BaseActor {
           ResponseCode.userAlreadyEnrolledCourse,
           ResponseCode.userAlreadyEnrolledCourse.getErrorMessage());
     }
-    courseBatch.setParticipant(
-        addUserToParticipant(courseBatch, (String) actorMessage.getRequest().get(JsonKey.USER_ID)));
     courseMap = createUserCourseMap(courseMap, courseBatch, userCourseResult);
     Response result = null;
     if (userCourseResult == null) {
@@ -111,7 +119,8 @@ public class CourseEnrollmentActor extends BaseActor {
     if (courseNotificationActive()) {
       batchOperationNotifier(courseMap, courseBatch, JsonKey.ADD);
     }
-    updateCourseBatch(courseBatch);
+    CourseBatchParticipantUpdater.addParticipant(
+        courseBatch.getId(), (String) courseMap.get(JsonKey.USER_ID));
     generateAndProcessTelemetryEvent(courseMap, "user.batch.course");
   }
 
@@ -173,9 +182,8 @@ public class CourseEnrollmentActor extends BaseActor {
     UserCoursesService.validateUserUnenroll(userCourseResult);
     Response result = updateUserCourses(userCourseResult);
     sender().tell(result, self());
-    courseBatch.setParticipant(
-        removeUserFromParticipant(courseBatch, (String) request.get(JsonKey.USER_ID)));
-    updateCourseBatch(courseBatch);
+    CourseBatchParticipantUpdater.removeParticipant(
+        courseBatch.getId(), (String) request.get(JsonKey.USER_ID));
     generateAndProcessTelemetryEvent(request, "user.batch.course.unenroll");
 
     if (courseNotificationActive()) {
@@ -245,6 +253,31 @@ public class CourseEnrollmentActor extends BaseActor {
     return null;
   }
 
+  /**
+   * Same as {@link #getCourseObjectFromEkStep(String, Map)} but serves the course metadata from a
+   * bounded TTL cache. Only to be used for read only checks, callers which update course counts
+   * need the latest metadata and should call {@link #getCourseObjectFromEkStep(String, Map)}.
+   *
+   * @param courseId Course identifier
+   * @param headers Headers for the content search call on a cache miss
+   * @return Copy of the course metadata, null if the course is not found
+   */
+  public static Map<String, Object> getCachedCourseObjectFromEkStep(
+      String courseId, Map<String, String> headers) {
+    if (StringUtils.isBlank(courseId)) {
+      return null;
+    }
+    Map<String, Object> courseObject = courseMetadataCache.getIfPresent(courseId);
+    if (courseObject == null) {
+      courseObject = getCourseObjectFromEkStep(courseId, headers);
+      if (courseObject == null) {
+        return null;
+      }
+      courseMetadataCache.put(courseId, courseObject);
+    }
+    return new HashMap<>(courseObject);
+  }
+
   /*
    * This method will validate courseBatch details before enrolling and
    * unenrolling
@@ -313,32 +346,4 @@ public class CourseEnrollmentActor extends BaseActor {
     }
     return result;
   }
-
-  @SuppressWarnings("unchecked")
-  private void updateCourseBatch(CourseBatch courseBatch) {
-    Map<String, Object> CourseBatchUpdatedAttributes = new HashMap<>();
-    CourseBatchUpdatedAttributes.put(JsonKey.PARTICIPANT, courseBatch.getParticipant());
-    CourseBatchUpdatedAttributes.put(JsonKey.ID, (String) courseBatch.getId());
-    Response response = courseBatchDao.update(CourseBatchUpdatedAttributes);
-    Map<String, Object> courseBatchMap = mapper.convertValue(courseBatch, Map.class);
-    if (((String) response.get(JsonKey.RESPONSE)).equalsIgnoreCase(JsonKey.SUCCESS)) {
-      CourseBatchUtil.syncCourseBatchForeground((String) courseBatch.getId(), courseBatchMap);
-    } else {
-      ProjectLogger.log(
-          "CourseBatchManagementActor:updateCourseBatch: Course batch not synced to ES as response is not successful",
-          LoggerEnum.INFO.name());
-    }
-  }
-
-  private Map<String, Boolean> removeUserFromParticipant(CourseBatch courseBatch, String userId) {
-    Map<String, Boolean> participantMap = courseBatch.getParticipant();
-    participantMap.remove(userId);
-    return participantMap;
-  }
-
-  private Map<String, Boolean> addUserToParticipant(CourseBatch courseBatch, String userId) {
-    Map<String, Boolean> participantMap = courseBatch.getParticipant();
-    participantMap.put(userId, true);
-    return participantMap;
-  }
 }
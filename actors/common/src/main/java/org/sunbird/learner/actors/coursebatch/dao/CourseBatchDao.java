@@ -30,6 +30,15 @@ public interface CourseBatchDao {
    */
   CourseBatch readById(String courseBatchId);
 
+  /**
+   * Add or remove participants of course batch. Only given entries of the participant map are
+   * written, so changes done concurrently for other participants are not overwritten.
+   *
+   * @param courseBatchId Course batch identifier
+   * @param changes Map of user id and true to add or false to remove the participant
+   */
+  void updateParticipants(String courseBatchId, Map<String, Boolean> changes);
+
   /**
    * Delete specified course batch.
    *
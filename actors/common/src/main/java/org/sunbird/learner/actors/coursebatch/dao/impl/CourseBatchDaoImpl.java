@@ -1,5 +1,10 @@
 package org.sunbird.learner.actors.coursebatch.dao.impl;
 
+import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.put;
+
+import com.datastax.driver.core.querybuilder.Batch;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.List;
 import java.util.Map;
@@ -7,7 +12,9 @@ import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.PropertiesCache;
 import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.helper.CassandraConnectionMngrFactory;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.actors.coursebatch.dao.CourseBatchDao;
 import org.sunbird.learner.util.Util;
@@ -49,6 +56,33 @@ public class CourseBatchDaoImpl implements CourseBatchDao {
     }
   }
 
+  /**
+   * CassandraOperation can only write whole columns, so the map entries are written through the
+   * Cassandra session, as one unlogged batch on the partition of the course batch.
+   */
+  @Override
+  public void updateParticipants(String id, Map<String, Boolean> changes) {
+    Batch batch = QueryBuilder.unloggedBatch();
+    for (Map.Entry<String, Boolean> change : changes.entrySet()) {
+      if (change.getValue()) {
+        batch.add(
+            QueryBuilder.update(courseBatchDb.getKeySpace(), courseBatchDb.getTableName())
+                .with(put(JsonKey.PARTICIPANT, change.getKey(), true))
+                .where(eq(JsonKey.ID, id)));
+      } else {
+        batch.add(
+            QueryBuilder.delete()
+                .mapElt(JsonKey.PARTICIPANT, change.getKey())
+                .from(courseBatchDb.getKeySpace(), courseBatchDb.getTableName())
+                .where(eq(JsonKey.ID, id)));
+      }
+    }
+    CassandraConnectionMngrFactory.getObject(
+            PropertiesCache.getInstance().getProperty(JsonKey.SUNBIRD_CASSANDRA_MODE))
+        .getSession(courseBatchDb.getKeySpace())
+        .execute(batch);
+  }
+
   @Override
   public Response delete(String id) {
     return cassandraOperation.deleteRecord(
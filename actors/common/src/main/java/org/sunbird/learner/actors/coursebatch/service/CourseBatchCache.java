@@ -0,0 +1,60 @@
+package org.sunbird.learner.actors.coursebatch.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.TimeUnit;
+import org.sunbird.learner.actors.coursebatch.dao.CourseBatchDao;
+import org.sunbird.learner.util.Util;
+import org.sunbird.models.course.batch.CourseBatch;
+
+/**
+ * Short lived, bounded cache of course batch records used by the enrollment flow. Popular batches
+ * receive thousands of enrollments per minute and the batch record itself (dates, status,
+ * enrollment type) changes rarely, so it is memoized per batch for a few seconds.
+ *
+ * <p>Cached instances are shared between actors and must be treated as read only.
+ */
+public final class CourseBatchCache {
+
+  private static final int CACHE_TTL_SECONDS =
+      Util.getIntConfigValue("sunbird_course_batch_cache_ttl", 30);
+  private static final int CACHE_MAX_SIZE =
+      Util.getIntConfigValue("sunbird_course_batch_cache_size", 10000);
+
+  private static final Cache<String, CourseBatch> courseBatchCache =
+      CacheBuilder.newBuilder()
+          .maximumSize(CACHE_MAX_SIZE)
+          .expireAfterWrite(CACHE_TTL_SECONDS, TimeUnit.SECONDS)
+          .build();
+
+  private CourseBatchCache() {}
+
+  /**
+   * Get course batch for given identifier, reading it from Cassandra only on a cache miss.
+   *
+   * @param batchId Course batch identifier
+   * @param courseBatchDao DAO used to read the batch on a cache miss
+   * @return Course batch information
+   */
+  public static CourseBatch get(String batchId, CourseBatchDao courseBatchDao) {
+    CourseBatch courseBatch = courseBatchCache.getIfPresent(batchId);
+    if (courseBatch == null) {
+      courseBatch = courseBatchDao.readById(batchId);
+      if (courseBatch != null) {
+        courseBatchCache.put(batchId, courseBatch);
+      }
+    }
+    return courseBatch;
+  }
+
+  /**
+   * Remove given course batch from cache. Needs to be called whenever batch is updated.
+   *
+   * @param batchId Course batch identifier
+   */
+  public static void invalidate(String batchId) {
+    if (batchId != null) {
+      courseBatchCache.invalidate(batchId);
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package org.sunbird.learner.actors.coursebatch.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.learner.actors.coursebatch.dao.CourseBatchDao;
+import org.sunbird.learner.actors.coursebatch.dao.impl.CourseBatchDaoImpl;
+import org.sunbird.learner.util.CourseBatchUtil;
+import org.sunbird.learner.util.Util;
+import org.sunbird.models.course.batch.CourseBatch;
+
+/**
+ * Writes participant map changes of course batches done by self enrollment and unenrollment, off
+ * the enrollment path. Changes are written right away in background as updates of their own
+ * participant map entries, so no read of the batch is needed and enrollments done on different
+ * nodes never overwrite each other. Changes arriving while a write is in progress are written
+ * together, one batch statement per course batch.
+ *
+ * <p>Re-indexing of batches in ES is coalesced: batches having changes are synced periodically,
+ * once per batch. A sync indexes the batch as read from Cassandra, so a sync lost on restart is
+ * caught up by the next sync of the same batch. Changes of a batch which no longer exists are
+ * dropped.
+ */
+public final class CourseBatchParticipantUpdater {
+
+  private static final int SYNC_INTERVAL_SECONDS =
+      Util.getIntConfigValue("sunbird_course_batch_participant_flush_interval", 5);
+
+  /** Map of batch id and changes to write (user id and true for added, false for removed). */
+  private static final Map<String, Map<String, Boolean>> pendingChanges =
+      new ConcurrentHashMap<>();
+
+  /** Ids of batches whose participants changed since their last ES sync. */
+  private static final Set<String> pendingSyncs = ConcurrentHashMap.newKeySet();
+
+  private static final AtomicBoolean writeScheduled = new AtomicBoolean();
+
+  private static final ScheduledExecutorService writer =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "course-batch-participant-writer");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private static CourseBatchDao courseBatchDao = new CourseBatchDaoImpl();
+  private static ObjectMapper mapper = new ObjectMapper();
+
+  static {
+    writer.scheduleWithFixedDelay(
+        CourseBatchParticipantUpdater::flush,
+        SYNC_INTERVAL_SECONDS,
+        SYNC_INTERVAL_SECONDS,
+        TimeUnit.SECONDS);
+    Runtime.getRuntime().addShutdownHook(new Thread(CourseBatchParticipantUpdater::flush));
+  }
+
+  private CourseBatchParticipantUpdater() {}
+
+  public static void addParticipant(String batchId, String userId) {
+    recordChange(batchId, userId, true);
+  }
+
+  public static void removeParticipant(String batchId, String userId) {
+    recordChange(batchId, userId, false);
+  }
+
+  private static void recordChange(String batchId, String userId, boolean added) {
+    pendingChanges.compute(
+        batchId,
+        (key, changes) -> {
+          Map<String, Boolean> batchChanges = (changes == null) ? new HashMap<>() : changes;
+          batchChanges.put(userId, added);
+          return batchChanges;
+        });
+    if (writeScheduled.compareAndSet(false, true)) {
+      writer.execute(CourseBatchParticipantUpdater::writeChanges);
+    }
+  }
+
+  /** Write all pending participant changes and sync changed batches to ES. */
+  public static void flush() {
+    writeChanges();
+    for (String batchId : pendingSyncs) {
+      pendingSyncs.remove(batchId);
+      syncBatch(batchId);
+    }
+  }
+
+  private static void writeChanges() {
+    writeScheduled.set(false);
+    for (String batchId : pendingChanges.keySet()) {
+      Map<String, Boolean> changes = pendingChanges.remove(batchId);
+      if (changes == null || changes.isEmpty()) {
+        continue;
+      }
+      try {
+        courseBatchDao.updateParticipants(batchId, changes);
+        pendingSyncs.add(batchId);
+      } catch (Exception e) {
+        ProjectLogger.log(
+            "CourseBatchParticipantUpdater:writeChanges: Failed to update participants for batch "
+                + batchId
+                + ", will retry in next flush.",
+            e);
+        requeue(batchId, changes);
+      }
+    }
+  }
+
+  private static void requeue(String batchId, Map<String, Boolean> changes) {
+    try {
+      if (readCourseBatch(batchId) == null) {
+        ProjectLogger.log(
+            "CourseBatchParticipantUpdater:requeue: Dropping changes of missing batch " + batchId,
+            LoggerEnum.ERROR.name());
+        return;
+      }
+    } catch (Exception e) {
+      ProjectLogger.log(
+          "CourseBatchParticipantUpdater:requeue: Failed to read batch " + batchId, e);
+    }
+    pendingChanges.compute(
+        batchId,
+        (key, newerChanges) -> {
+          Map<String, Boolean> batchChanges = new HashMap<>(changes);
+          if (newerChanges != null) {
+            batchChanges.putAll(newerChanges);
+          }
+          return batchChanges;
+        });
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void syncBatch(String batchId) {
+    try {
+      CourseBatch courseBatch = readCourseBatch(batchId);
+      if (courseBatch == null) {
+        ProjectLogger.log(
+            "CourseBatchParticipantUpdater:syncBatch: Dropping changes of missing batch "
+                + batchId,
+            LoggerEnum.ERROR.name());
+        return;
+      }
+      CourseBatchCache.invalidate(batchId);
+      CourseBatchUtil.syncCourseBatchForeground(
+          batchId, mapper.convertValue(courseBatch, Map.class));
+    } catch (Exception e) {
+      ProjectLogger.log(
+          "CourseBatchParticipantUpdater:syncBatch: Failed to sync batch "
+              + batchId
+              + ", will retry in next flush.",
+          e);
+      pendingSyncs.add(batchId);
+    }
+  }
+
+  private static CourseBatch readCourseBatch(String batchId) {
+    try {
+      return courseBatchDao.readById(batchId);
+    } catch (ProjectCommonException e) {
+      if (ResponseCode.invalidCourseBatchId.getErrorCode().equals(e.getCode())) {
+        return null;
+      }
+      throw e;
+    }
+  }
+}
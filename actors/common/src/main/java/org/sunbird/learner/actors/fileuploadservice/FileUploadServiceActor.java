@@ -5,7 +5,6 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
@@ -17,13 +16,14 @@ import org.sunbird.common.models.util.azure.CloudService;
 import org.sunbird.common.models.util.azure.CloudServiceFactory;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.learner.actors.InstrumentedActor;
 
 /** Class to upload the file on cloud storage. Created by arvind on 28/8/17. */
 @ActorConfig(
   tasks = {"fileStorageService"},
   asyncTasks = {}
 )
-public class FileUploadServiceActor extends BaseActor {
+public class FileUploadServiceActor extends InstrumentedActor {
 
   @Override
   public void onReceive(Request request) throws Throwable {
@@ -6,7 +6,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.ElasticSearchUtil;
@@ -22,6 +21,8 @@ import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.InstrumentedActor;
+import org.sunbird.learner.util.StartupManager;
 import org.sunbird.learner.util.Util;
 
 /** @author Manzarul */
@@ -29,7 +30,9 @@ import org.sunbird.learner.util.Util;
   tasks = {"healthCheck", "actor", "es", "cassandra"},
   asyncTasks = {}
 )
-public class HealthActor extends BaseActor {
+public class HealthActor extends InstrumentedActor {
+
+  private static final String STARTUP = "startup";
 
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private Util.DbInfo badgesDbInfo = Util.dbInfoMap.get(JsonKey.BADGES_DB);
@@ -197,6 +200,10 @@ public class HealthActor extends BaseActor {
       responseList.add(ProjectUtil.createCheckResponse(JsonKey.EKSTEP_SERVICE, true, null));
       isallHealthy = false;
     }
+    // check startup phases, service is not healthy until they are completed.
+    boolean startupReady = StartupManager.isReady();
+    responseList.add(ProjectUtil.createCheckResponse(STARTUP, !startupReady, null));
+    isallHealthy = isallHealthy && startupReady;
 
     finalResponseMap.put(JsonKey.CHECKS, responseList);
     finalResponseMap.put(JsonKey.NAME, "Complete health check api");
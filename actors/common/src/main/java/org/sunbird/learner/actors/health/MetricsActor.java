@@ -0,0 +1,47 @@
+package org.sunbird.learner.actors.health;
+
+import org.sunbird.actor.router.ActorConfig;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.request.Request;
+import org.sunbird.learner.actors.InstrumentedActor;
+import org.sunbird.learner.util.ActorMetrics;
+
+/**
+ * Actor to read actor metrics (see {@link ActorMetrics}) along with metrics of background
+ * components which registered themselves, either as a map (getActorMetrics) or in Prometheus text
+ * exposition format (getActorMetricsPrometheus).
+ */
+@ActorConfig(
+  tasks = {"getActorMetrics", "getActorMetricsPrometheus"},
+  asyncTasks = {}
+)
+public class MetricsActor extends InstrumentedActor {
+
+  @Override
+  public void onReceive(Request request) throws Throwable {
+    switch (request.getOperation()) {
+      case "getActorMetrics":
+        getMetrics();
+        break;
+      case "getActorMetricsPrometheus":
+        getPrometheusMetrics();
+        break;
+      default:
+        onReceiveUnsupportedOperation(request.getOperation());
+        break;
+    }
+  }
+
+  private void getMetrics() {
+    Response response = new Response();
+    response.put(JsonKey.RESPONSE, ActorMetrics.getMetrics());
+    sender().tell(response, self());
+  }
+
+  private void getPrometheusMetrics() {
+    Response response = new Response();
+    response.put(JsonKey.RESPONSE, ActorMetrics.toPrometheusText());
+    sender().tell(response, self());
+  }
+}
@@ -3,7 +3,6 @@ package org.sunbird.learner.actors.otp;
 import java.util.Map;
 
 import org.apache.commons.collections.MapUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
@@ -13,6 +12,7 @@ import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.actors.otp.service.OTPService;
 import org.sunbird.learner.util.OTPUtil;
 import org.sunbird.ratelimit.limiter.OtpRateLimiter;
@@ -24,7 +24,7 @@ import org.sunbird.ratelimit.service.RateLimitServiceImpl;
   tasks = {"generateOTP", "verifyOTP"},
   asyncTasks = {}
 )
-public class OTPActor extends BaseActor {
+public class OTPActor extends InstrumentedActor {
 
   private OTPService otpService = new OTPService();
   private RateLimitService rateLimitService = new RateLimitServiceImpl();
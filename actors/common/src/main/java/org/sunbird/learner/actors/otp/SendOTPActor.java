@@ -2,18 +2,18 @@ package org.sunbird.learner.actors.otp;
 
 import java.util.HashMap;
 import java.util.Map;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.common.models.util.ActorOperations;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.request.Request;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.OTPUtil;
 
 @ActorConfig(
   tasks = {},
   asyncTasks = {"sendOTP"}
 )
-public class SendOTPActor extends BaseActor {
+public class SendOTPActor extends InstrumentedActor {
 
   @Override
   public void onReceive(Request request) throws Throwable {
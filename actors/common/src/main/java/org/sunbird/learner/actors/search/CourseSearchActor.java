@@ -4,7 +4,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.HashMap;
 import java.util.Map;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.common.ElasticSearchUtil;
 import org.sunbird.common.exception.ProjectCommonException;
@@ -14,6 +13,7 @@ import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.Util;
 
 /**
@@ -25,7 +25,7 @@ import org.sunbird.learner.util.Util;
   tasks = {"searchCourse", "getCourseById"},
   asyncTasks = {}
 )
-public class CourseSearchActor extends BaseActor {
+public class CourseSearchActor extends InstrumentedActor {
 
   @Override
   public void onReceive(Request request) throws Throwable {
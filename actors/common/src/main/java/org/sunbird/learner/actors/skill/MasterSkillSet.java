@@ -0,0 +1,197 @@
+package org.sunbird.learner.actors.skill;
+
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.PropertiesCache;
+import org.sunbird.helper.CassandraConnectionMngrFactory;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.util.ExecutorManager;
+import org.sunbird.learner.util.Util;
+
+/**
+ * In memory copy of the master skills list (reference skills row of skills table). New skills are
+ * added to the in memory set and appended to the stored list every
+ * sunbird_master_skills_flush_interval seconds, so no skill added by another node is lost. When
+ * there is nothing to write the stored row is read to pick up skills added by other nodes.
+ *
+ * <p>Lookups are served from a sorted array snapshot of the set, so the full list and prefix
+ * queries never reach Cassandra and a page of a prefix query is found with binary search.
+ */
+public final class MasterSkillSet {
+
+  private static final String REF_SKILLS_DB_ID = "001";
+  private static final int FLUSH_INTERVAL_SECONDS =
+      Util.getIntConfigValue("sunbird_master_skills_flush_interval", 30);
+
+  private static final NavigableSet<String> skills = new ConcurrentSkipListSet<>();
+  private static final AtomicBoolean loaded = new AtomicBoolean();
+  /** Skills added on this node which are not written yet. */
+  private static final NavigableSet<String> addedSkills = new ConcurrentSkipListSet<>();
+  private static volatile String[] sortedSkills;
+
+  private static CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+  private static Util.DbInfo skillsListDbInfo = Util.dbInfoMap.get(JsonKey.SKILLS_LIST_DB);
+
+  static {
+    ExecutorManager.getExecutorService()
+        .scheduleWithFixedDelay(
+            MasterSkillSet::sync,
+            FLUSH_INTERVAL_SECONDS,
+            FLUSH_INTERVAL_SECONDS,
+            TimeUnit.SECONDS);
+    Runtime.getRuntime().addShutdownHook(new Thread(MasterSkillSet::flush));
+  }
+
+  private MasterSkillSet() {}
+
+  /**
+   * Add skills (in lower case) to the master skills list.
+   *
+   * @param skillNames Skill names
+   */
+  public static void add(Collection<String> skillNames) {
+    load();
+    for (String skillName : skillNames) {
+      if (StringUtils.isNotBlank(skillName) && skills.add(skillName.toLowerCase())) {
+        addedSkills.add(skillName.toLowerCase());
+        sortedSkills = null;
+      }
+    }
+  }
+
+  /** @return Sorted view of all master skills. */
+  public static NavigableSet<String> getSkills() {
+    load();
+    return skills;
+  }
+
+  /**
+   * Get a page of master skills starting with given prefix, in sorted order.
+   *
+   * @param prefix Skill name prefix (case insensitive), blank for all skills
+   * @param offset Index of first skill of the page
+   * @param limit Maximum number of skills in the page, non positive for all matching skills
+   * @return Map with total count of matching skills (COUNT) and skills of the page (SKILLS)
+   */
+  public static Map<String, Object> search(String prefix, int offset, int limit) {
+    String[] snapshot = getSnapshot();
+    int from = 0;
+    int to = snapshot.length;
+    if (StringUtils.isNotBlank(prefix)) {
+      String lowerCasePrefix = prefix.toLowerCase();
+      from = lowerBound(snapshot, lowerCasePrefix);
+      to = lowerBound(snapshot, lowerCasePrefix + Character.MAX_VALUE);
+    }
+    int start = Math.min(from + Math.max(offset, 0), to);
+    int end = (limit > 0) ? (int) Math.min((long) start + limit, to) : to;
+    Map<String, Object> result = new HashMap<>();
+    result.put(JsonKey.COUNT, to - from);
+    result.put(JsonKey.SKILLS, Arrays.asList(Arrays.copyOfRange(snapshot, start, end)));
+    return result;
+  }
+
+  /** Load master skills list, if not loaded already. */
+  public static void load() {
+    if (!loaded.get()) {
+      synchronized (MasterSkillSet.class) {
+        if (!loaded.get()) {
+          skills.addAll(readStoredSkills());
+          sortedSkills = null;
+          loaded.set(true);
+        }
+      }
+    }
+  }
+
+  /**
+   * Append skills added since last flush to the stored list. Append is applied by Cassandra, so
+   * skills appended concurrently by other nodes are kept without reading the row first. A skill
+   * appended by more than one node is stored twice and deduplicated when read into the set.
+   */
+  public static synchronized void flush() {
+    if (addedSkills.isEmpty()) {
+      return;
+    }
+    List<String> newSkills = new ArrayList<>();
+    String skill;
+    while ((skill = addedSkills.pollFirst()) != null) {
+      newSkills.add(skill);
+    }
+    try {
+      getSession()
+          .execute(
+              QueryBuilder.update(skillsListDbInfo.getKeySpace(), skillsListDbInfo.getTableName())
+                  .with(QueryBuilder.appendAll(JsonKey.SKILLS, newSkills))
+                  .where(QueryBuilder.eq(JsonKey.ID, REF_SKILLS_DB_ID)));
+    } catch (Exception e) {
+      addedSkills.addAll(newSkills);
+      ProjectLogger.log("MasterSkillSet:flush: Failed to write master skills list", e);
+    }
+  }
+
+  private static synchronized void sync() {
+    if (!addedSkills.isEmpty()) {
+      flush();
+    } else if (loaded.get()) {
+      try {
+        addStoredSkills();
+      } catch (Exception e) {
+        ProjectLogger.log("MasterSkillSet:sync: Failed to read master skills list", e);
+      }
+    }
+  }
+
+  private static void addStoredSkills() {
+    if (skills.addAll(readStoredSkills())) {
+      sortedSkills = null;
+    }
+  }
+
+  private static Session getSession() {
+    return CassandraConnectionMngrFactory.getObject(
+            PropertiesCache.getInstance().getProperty(JsonKey.SUNBIRD_CASSANDRA_MODE))
+        .getSession(skillsListDbInfo.getKeySpace());
+  }
+
+  private static String[] getSnapshot() {
+    load();
+    String[] snapshot = sortedSkills;
+    if (snapshot == null) {
+      snapshot = skills.toArray(new String[0]);
+      sortedSkills = snapshot;
+    }
+    return snapshot;
+  }
+
+  private static int lowerBound(String[] sortedArray, String key) {
+    int index = Arrays.binarySearch(sortedArray, key);
+    return (index >= 0) ? index : -(index + 1);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<String> readStoredSkills() {
+    Response response =
+        cassandraOperation.getRecordById(
+            skillsListDbInfo.getKeySpace(), skillsListDbInfo.getTableName(), REF_SKILLS_DB_ID);
+    List<Map<String, Object>> list = (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    if (list == null || list.isEmpty() || list.get(0).get(JsonKey.SKILLS) == null) {
+      return new ArrayList<>();
+    }
+    return (List<String>) list.get(0).get(JsonKey.SKILLS);
+  }
+}
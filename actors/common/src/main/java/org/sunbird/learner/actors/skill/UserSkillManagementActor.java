@@ -3,24 +3,25 @@ package org.sunbird.learner.actors.skill;
 import static org.sunbird.learner.util.Util.isNotNull;
 import static org.sunbird.learner.util.Util.isNull;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.ElasticSearchUtil;
@@ -39,8 +40,10 @@ import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.actors.skill.dao.UserSkillDao;
 import org.sunbird.learner.actors.skill.dao.impl.UserSkillDaoImpl;
+import org.sunbird.learner.util.EsWriteBehindQueue;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.user.skill.Skill;
 import org.sunbird.telemetry.util.TelemetryUtil;
@@ -53,13 +56,11 @@ import org.sunbird.telemetry.util.TelemetryUtil;
   tasks = {"addSkill", "getSkill", "getSkillsList", "updateSkill", "addUserSkillEndorsement"},
   asyncTasks = {}
 )
-public class UserSkillManagementActor extends BaseActor {
+public class UserSkillManagementActor extends InstrumentedActor {
 
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private Util.DbInfo userSkillDbInfo = Util.dbInfoMap.get(JsonKey.USER_SKILL_DB);
-  private Util.DbInfo skillsListDbInfo = Util.dbInfoMap.get(JsonKey.SKILLS_LIST_DB);
   private Util.DbInfo userDbInfo = Util.dbInfoMap.get(JsonKey.USER_DB);
-  private static final String REF_SKILLS_DB_ID = "001";
   private UserSkillDao userSkillDao = UserSkillDaoImpl.getInstance();
 
   @Override
@@ -77,7 +78,7 @@ public class UserSkillManagementActor extends BaseActor {
         getSkill(request);
         break;
       case "getSkillsList":
-        getSkillsList();
+        getSkillsList(request);
         break;
       case "updateSkill":
         updateSkill(request);
@@ -178,7 +179,7 @@ public class UserSkillManagementActor extends BaseActor {
     sender().tell(response, self());
 
     addTelemetry(userId, actorMessage);
-    updateMasterSkillsList(newUserSkillsSet);
+    MasterSkillSet.add(newUserSkillsSet);
   }
 
   private void saveUserSkill(List<String> skillSet, String userId) {
@@ -218,22 +219,23 @@ public class UserSkillManagementActor extends BaseActor {
         EsType.user.getTypeName());
   }
 
-  /** Method will return all the list of skills , it is type of reference data ... */
-  private void getSkillsList() {
+  /**
+   * Get master skills list from memory. Optional QUERY (skill name prefix), OFFSET and LIMIT
+   * request fields select a page of the matching skills; total matching skills are returned as
+   * COUNT.
+   *
+   * @param actorMessage
+   */
+  private void getSkillsList(Request actorMessage) {
 
     ProjectLogger.log("UserSkillManagementActor:getSkillsList called");
-    Map<String, Object> skills = new HashMap<>();
-    Response skilldbresponse =
-        cassandraOperation.getRecordById(
-            skillsListDbInfo.getKeySpace(), skillsListDbInfo.getTableName(), REF_SKILLS_DB_ID);
-    List<Map<String, Object>> skillList =
-        (List<Map<String, Object>>) skilldbresponse.get(JsonKey.RESPONSE);
-
-    if (!skillList.isEmpty()) {
-      skills = skillList.get(0);
-    }
+    String prefix = (String) actorMessage.getRequest().get(JsonKey.QUERY);
+    int offset = Util.getIntValue(actorMessage.getRequest().get(JsonKey.OFFSET), 0);
+    int limit = Util.getIntValue(actorMessage.getRequest().get(JsonKey.LIMIT), 0);
+    Map<String, Object> skills = MasterSkillSet.search(prefix, offset, limit);
     Response response = new Response();
     response.getResult().put(JsonKey.SKILLS, skills.get(JsonKey.SKILLS));
+    response.getResult().put(JsonKey.COUNT, skills.get(JsonKey.COUNT));
     sender().tell(response, self());
   }
 
@@ -272,22 +274,28 @@ public class UserSkillManagementActor extends BaseActor {
   }
 
   /**
-   * Method to add or endorse the user skill ...
+   * Method to add or endorse the user skill ... Both users and all requested skills are read with
+   * one query each, new and endorsed skills are written in one batch and only the changed skills
+   * are patched into the user document in ES.
    *
    * @param actorMessage
    */
+  @SuppressWarnings("unchecked")
   private void addOrEndorseSkill(Request actorMessage) {
 
     ProjectLogger.log("UserSkillManagementActor:endorseSkill called");
     SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
-    // object of telemetry event...
-    Map<String, Object> targetObject = null;
     List<Map<String, Object>> correlatedObject = new ArrayList<>();
 
     String endoresedUserId = (String) actorMessage.getRequest().get(JsonKey.ENDORSED_USER_ID);
 
     List<String> list = (List<String>) actorMessage.getRequest().get(JsonKey.SKILL_NAME);
-    CopyOnWriteArraySet<String> skillset = new CopyOnWriteArraySet<>(list);
+    Set<String> skillset = new LinkedHashSet<>();
+    for (String skillName : list) {
+      if (!StringUtils.isBlank(skillName)) {
+        skillset.add(skillName);
+      }
+    }
     String requestedByUserId = (String) actorMessage.getRequest().get(JsonKey.USER_ID);
     if (StringUtils.isBlank(requestedByUserId)) {
       requestedByUserId = (String) actorMessage.getContext().get(JsonKey.REQUESTED_BY);
@@ -300,21 +308,13 @@ public class UserSkillManagementActor extends BaseActor {
     ProjectLogger.log(
         "UserSkillManagementActor:endorseSkill: context endorsedUserId " + endoresedUserId,
         LoggerEnum.INFO.name());
-    Response response1 =
-        cassandraOperation.getRecordById(
-            userDbInfo.getKeySpace(), userDbInfo.getTableName(), endoresedUserId);
-    Response response2 =
-        cassandraOperation.getRecordById(
-            userDbInfo.getKeySpace(), userDbInfo.getTableName(), requestedByUserId);
-    List<Map<String, Object>> endoresedList =
-        (List<Map<String, Object>>) response1.get(JsonKey.RESPONSE);
-    List<Map<String, Object>> requestedUserList =
-        (List<Map<String, Object>>) response2.get(JsonKey.RESPONSE);
+    Map<String, Map<String, Object>> users =
+        getRecordsById(userDbInfo, Arrays.asList(endoresedUserId, requestedByUserId));
+    Map<String, Object> endoresedMap = users.get(endoresedUserId);
+    Map<String, Object> requestedUserMap = users.get(requestedByUserId);
 
     // check whether both userid exist or not if not throw exception
-    if (endoresedList.isEmpty() || requestedUserList.isEmpty()) {
-      // generate context and params here ...
-
+    if (endoresedMap == null || requestedUserMap == null) {
       ProjectLogger.log(
           "UserSkillManagementActor:endorseSkill: context Valid User", LoggerEnum.INFO.name());
       throw new ProjectCommonException(
@@ -323,9 +323,6 @@ public class UserSkillManagementActor extends BaseActor {
           ResponseCode.CLIENT_ERROR.getResponseCode());
     }
 
-    Map<String, Object> endoresedMap = endoresedList.get(0);
-    Map<String, Object> requestedUserMap = requestedUserList.get(0);
-
     // check whether both belongs to same org or not(check root or id of both users)
     // , if not then
     // throw exception ---
@@ -340,126 +337,118 @@ public class UserSkillManagementActor extends BaseActor {
           ResponseCode.CLIENT_ERROR.getResponseCode());
     }
 
+    Map<String, String> skillIds = new LinkedHashMap<>();
     for (String skillName : skillset) {
-
-      if (!StringUtils.isBlank(skillName)) {
-
-        // check whether user have already this skill or not -
-        String id =
-            OneWayHashing.encryptVal(
-                endoresedUserId + JsonKey.PRIMARY_KEY_DELIMETER + skillName.toLowerCase());
-        Response response =
-            cassandraOperation.getRecordById(
-                userSkillDbInfo.getKeySpace(), userSkillDbInfo.getTableName(), id);
-        List<Map<String, Object>> responseList =
-            (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
-
-        // prepare correlted object ...
-        TelemetryUtil.generateCorrelatedObject(id, "skill", null, correlatedObject);
-
-        if (responseList.isEmpty()) {
-          // means this is first time skill coming so add this one
-          Map<String, Object> skillMap = new HashMap<>();
-          skillMap.put(JsonKey.ID, id);
-          skillMap.put(JsonKey.USER_ID, endoresedUserId);
-          skillMap.put(JsonKey.SKILL_NAME, skillName);
+      skillIds.put(
+          OneWayHashing.encryptVal(
+              endoresedUserId + JsonKey.PRIMARY_KEY_DELIMETER + skillName.toLowerCase()),
+          skillName);
+    }
+    // read all the requested skills of user at once
+    Map<String, Map<String, Object>> existingSkills =
+        getRecordsById(userSkillDbInfo, new ArrayList<>(skillIds.keySet()));
+
+    List<Map<String, Object>> changedSkills = new ArrayList<>();
+    for (Map.Entry<String, String> skillId : skillIds.entrySet()) {
+      String id = skillId.getKey();
+      String skillName = skillId.getValue();
+      // prepare correlted object ...
+      TelemetryUtil.generateCorrelatedObject(id, "skill", null, correlatedObject);
+
+      Map<String, String> endorser = new HashMap<>();
+      endorser.put(JsonKey.USER_ID, requestedByUserId);
+      endorser.put(JsonKey.ENDORSE_DATE, format.format(new Date()));
+      Map<String, Object> responseMap = existingSkills.get(id);
+      if (responseMap == null) {
+        // means this is first time skill coming so add this one
+        ProjectLogger.log(
+            "UserSkillManagementActor:endorseSkill: context skillName " + skillName,
+            LoggerEnum.INFO.name());
+        Map<String, Object> skillMap = new HashMap<>();
+        skillMap.put(JsonKey.ID, id);
+        skillMap.put(JsonKey.USER_ID, endoresedUserId);
+        skillMap.put(JsonKey.SKILL_NAME, skillName);
+        skillMap.put(JsonKey.SKILL_NAME_TO_LOWERCASE, skillName.toLowerCase());
+        List<Map<String, String>> endorsersList = new ArrayList<>();
+        endorsersList.add(endorser);
+        skillMap.put(JsonKey.ENDORSERS_LIST, endorsersList);
+        skillMap.put(JsonKey.ENDORSEMENT_COUNT, 0);
+        changedSkills.add(skillMap);
+      } else {
+        // skill already exist for user, add endorsement unless requested user has already
+        // endorsed it
+        List<Map<String, String>> endoresersList =
+            (List<Map<String, String>>) responseMap.get(JsonKey.ENDORSERS_LIST);
+        if (endoresersList == null) {
+          endoresersList = new ArrayList<>();
+        }
+        boolean flag = false;
+        for (Map<String, String> map : endoresersList) {
+          if (map.get(JsonKey.USER_ID).equalsIgnoreCase(requestedByUserId)) {
+            flag = true;
+            break;
+          }
+        }
+        if (flag) {
+          // donot do anything..
+          ProjectLogger.log(requestedByUserId + " has already endorsed the " + endoresedUserId);
+        } else {
           ProjectLogger.log(
               "UserSkillManagementActor:endorseSkill: context skillName " + skillName,
               LoggerEnum.INFO.name());
-          skillMap.put(JsonKey.SKILL_NAME_TO_LOWERCASE, skillName.toLowerCase());
-          //          skillMap.put(JsonKey.ADDED_BY, requestedByUserId);
-          //          skillMap.put(JsonKey.ADDED_AT, format.format(new Date()));
-          Map<String, String> endoresers = new HashMap<>();
-
-          List<Map<String, String>> endorsersList = new ArrayList<>();
-          endoresers.put(JsonKey.USER_ID, requestedByUserId);
-          endoresers.put(JsonKey.ENDORSE_DATE, format.format(new Date()));
-          endorsersList.add(endoresers);
-
-          skillMap.put(JsonKey.ENDORSERS_LIST, endorsersList);
-          skillMap.put(JsonKey.ENDORSEMENT_COUNT, 0);
-          ObjectMapper objectMapper = new ObjectMapper();
-          try {
-            String responseObj = (String) objectMapper.writeValueAsString(skillMap);
-            ProjectLogger.log(
-                "UserSkillManagementActor:endorseSkill: responseMap while insert" + responseObj,
-                LoggerEnum.INFO.name());
-
-          } catch (JsonProcessingException e) {
-            ProjectLogger.log("Exception while converting", LoggerEnum.INFO);
-          }
-          cassandraOperation.insertRecord(
-              userSkillDbInfo.getKeySpace(), userSkillDbInfo.getTableName(), skillMap);
-
-          updateES(endoresedUserId);
-        } else {
-          // skill already exist for user simply update the then check if it is already
-          // added by
-          // same user then dont do anything
-          // otherwise update the existing one ...
-
-          Map<String, Object> responseMap = responseList.get(0);
-          // check whether requested user has already endoresed to that user or not
-          List<Map<String, String>> endoresersList =
-              (List<Map<String, String>>) responseMap.get(JsonKey.ENDORSERS_LIST);
-          boolean flag = false;
-          for (Map<String, String> map : endoresersList) {
-            if (map.get(JsonKey.USER_ID).equalsIgnoreCase(requestedByUserId)) {
-              flag = true;
-              break;
-            }
-          }
-          if (flag) {
-            // donot do anything..
-            ProjectLogger.log(requestedByUserId + " has already endorsed the " + endoresedUserId);
-          } else {
-            ProjectLogger.log(
-                "UserSkillManagementActor:endorseSkill: context skillName " + skillName,
-                LoggerEnum.INFO.name());
-            Integer endoresementCount = (Integer) responseMap.get(JsonKey.ENDORSEMENT_COUNT) + 1;
-            Map<String, String> endorsersMap = new HashMap<>();
-            endorsersMap.put(JsonKey.USER_ID, requestedByUserId);
-
-            ProjectLogger.log(
-                "UserSkillManagementActor:endorseSkill: context requestedByUserId "
-                    + requestedByUserId,
-                LoggerEnum.INFO.name());
-            endorsersMap.put(JsonKey.ENDORSE_DATE, format.format(new Date()));
-            endoresersList.add(endorsersMap);
-
-            responseMap.put(JsonKey.ENDORSERS_LIST, endoresersList);
-            responseMap.put(JsonKey.ENDORSEMENT_COUNT, endoresementCount);
-            /*
-             *Logs
-             * */
-            ObjectMapper objectMapper = new ObjectMapper();
-            try {
-              String responseObj = (String) objectMapper.writeValueAsString(responseMap);
-              ProjectLogger.log(
-                  "UserSkillManagementActor:endorseSkill:  responseMap while update" + responseObj,
-                  LoggerEnum.INFO.name());
-
-            } catch (JsonProcessingException e) {
-              ProjectLogger.log("Exception while converting", LoggerEnum.INFO);
-            }
-
-            cassandraOperation.updateRecord(
-                userSkillDbInfo.getKeySpace(), userSkillDbInfo.getTableName(), responseMap);
-            updateES(endoresedUserId);
-          }
+          List<Map<String, String>> updatedEndorsersList = new ArrayList<>(endoresersList);
+          updatedEndorsersList.add(endorser);
+          Map<String, Object> skillMap = new HashMap<>();
+          responseMap.forEach(
+              (key, value) -> {
+                if (value != null) {
+                  skillMap.put(key, value);
+                }
+              });
+          skillMap.put(JsonKey.ENDORSERS_LIST, updatedEndorsersList);
+          skillMap.put(
+              JsonKey.ENDORSEMENT_COUNT, (Integer) responseMap.get(JsonKey.ENDORSEMENT_COUNT) + 1);
+          changedSkills.add(skillMap);
         }
-      } else {
-        skillset.remove(skillName);
       }
     }
 
+    if (!changedSkills.isEmpty()) {
+      // insert of complete row works for both new and endorsed skills
+      cassandraOperation.batchInsert(
+          userSkillDbInfo.getKeySpace(), userSkillDbInfo.getTableName(), changedSkills);
+      patchSkillsInES(
+          endoresedUserId,
+          (Map<String, String>) endoresedMap.get(JsonKey.PROFILE_VISIBILITY),
+          changedSkills);
+    }
+
     Response response3 = new Response();
     response3.getResult().put(JsonKey.RESULT, "SUCCESS");
     sender().tell(response3, self());
 
     addTelemetry(endoresedUserId, actorMessage);
 
-    updateMasterSkillsList(new ArrayList<>(skillset));
+    MasterSkillSet.add(skillset);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Map<String, Object>> getRecordsById(Util.DbInfo dbInfo, List<String> ids) {
+    Map<String, Map<String, Object>> records = new HashMap<>();
+    if (ids.isEmpty()) {
+      return records;
+    }
+    Response response =
+        cassandraOperation.getRecordsByProperty(
+            dbInfo.getKeySpace(), dbInfo.getTableName(), JsonKey.ID, new ArrayList<>(ids));
+    List<Map<String, Object>> responseList =
+        (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    if (responseList != null) {
+      for (Map<String, Object> record : responseList) {
+        records.put((String) record.get(JsonKey.ID), record);
+      }
+    }
+    return records;
   }
 
   private void addUserSkillEndorsement(Request request) {
@@ -532,37 +521,6 @@ public class UserSkillManagementActor extends BaseActor {
     return skill;
   }
 
-  private void updateMasterSkillsList(List<String> skillset) {
-
-    Map<String, Object> skills = new HashMap<>();
-    List<String> skillsList = null;
-    Response skilldbresponse =
-        cassandraOperation.getRecordById(
-            skillsListDbInfo.getKeySpace(), skillsListDbInfo.getTableName(), REF_SKILLS_DB_ID);
-    List<Map<String, Object>> list =
-        (List<Map<String, Object>>) skilldbresponse.get(JsonKey.RESPONSE);
-
-    if (!list.isEmpty()) {
-      skills = list.get(0);
-      skillsList = (List<String>) skills.get(JsonKey.SKILLS);
-
-    } else {
-      // craete new Entry into the
-      skillsList = new ArrayList<>();
-    }
-
-    for (String skillName : skillset) {
-      if (!skillsList.contains(skillName.toLowerCase())) {
-        skillsList.add(skillName.toLowerCase());
-      }
-    }
-
-    skills.put(JsonKey.ID, REF_SKILLS_DB_ID);
-    skills.put(JsonKey.SKILLS, skillsList);
-    cassandraOperation.upsertRecord(
-        skillsListDbInfo.getKeySpace(), skillsListDbInfo.getTableName(), skills);
-  }
-
   @SuppressWarnings("unchecked")
   private void updateES(String userId) {
 
@@ -607,6 +565,44 @@ public class UserSkillManagementActor extends BaseActor {
     }
   }
 
+  /**
+   * Patch changed skills of user into ES. Skills are merged by id into the user document (or into
+   * profile visibility document if skills are private) through the write behind queue, so the
+   * stored skills of user are not read again. Visibility is taken from the user record already read
+   * from Cassandra, so nothing is read from ES in the request.
+   */
+  @SuppressWarnings("unchecked")
+  private void patchSkillsInES(
+      String userId, Map<String, String> visibility, List<Map<String, Object>> changedSkills) {
+    // Fetching complete private map including global settings
+    Map<String, String> privateVisibilityMap =
+        Util.getCompleteProfileVisibilityPrivateMap(
+            visibility, getActorRef(ActorOperations.GET_SYSTEM_SETTING.getValue()));
+    String type =
+        (MapUtils.isNotEmpty(privateVisibilityMap)
+                && privateVisibilityMap.containsKey(JsonKey.SKILLS))
+            ? EsType.userprofilevisibility.getTypeName()
+            : EsType.user.getTypeName();
+    EsWriteBehindQueue.modify(
+        ProjectUtil.EsIndex.sunbird.getIndexName(),
+        type,
+        userId,
+        document -> {
+          Map<String, Map<String, Object>> skills = new LinkedHashMap<>();
+          List<Map<String, Object>> currentSkills =
+              (List<Map<String, Object>>) document.get(JsonKey.SKILLS);
+          if (currentSkills != null) {
+            for (Map<String, Object> skill : currentSkills) {
+              skills.put((String) skill.get(JsonKey.ID), skill);
+            }
+          }
+          for (Map<String, Object> skill : changedSkills) {
+            skills.put((String) skill.get(JsonKey.ID), skill);
+          }
+          document.put(JsonKey.SKILLS, new ArrayList<>(skills.values()));
+        });
+  }
+
   // method will compare two strings and return true id both are same otherwise
   // false ...
   private boolean compareStrings(String first, String second) {
@@ -1,12 +1,12 @@
 package org.sunbird.learner.actors.syncjobmanager;
 
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.ActorOperations;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.request.Request;
+import org.sunbird.learner.actors.InstrumentedActor;
 
 /**
  * Sync data between Cassandra and Elastic Search.
@@ -15,7 +15,7 @@ import org.sunbird.common.request.Request;
   tasks = {"sync"},
   asyncTasks = {}
 )
-public class EsSyncActor extends BaseActor {
+public class EsSyncActor extends InstrumentedActor {
 
   @Override
   public void onReceive(Request request) throws Throwable {
@@ -5,7 +5,6 @@ import java.sql.Timestamp;
 import java.text.MessageFormat;
 import java.util.*;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.actorutil.systemsettings.SystemSettingClient;
 import org.sunbird.actorutil.systemsettings.impl.SystemSettingClientImpl;
@@ -21,6 +20,7 @@ import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.Util;
 import org.sunbird.telemetry.util.TelemetryUtil;
 import org.sunbird.common.models.util.LoggerEnum;
@@ -29,7 +29,7 @@ import org.sunbird.common.models.util.LoggerEnum;
   tasks = {"userTnCAccept"},
   asyncTasks = {}
 )
-public class UserTnCActor extends BaseActor {
+public class UserTnCActor extends InstrumentedActor {
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private Util.DbInfo usrDbInfo = Util.dbInfoMap.get(JsonKey.USER_DB);
 
@@ -11,7 +11,6 @@ import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 import org.joda.time.DateTime;
 import org.joda.time.Months;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.common.ElasticSearchUtil;
 import org.sunbird.common.exception.ProjectCommonException;
@@ -26,6 +25,7 @@ import org.sunbird.common.models.util.PropertiesCache;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.dto.SearchDTO;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.audit.AuditLogService;
 import org.sunbird.learner.util.AuditOperation;
 import org.sunbird.learner.util.UserUtility;
@@ -34,7 +34,7 @@ import org.sunbird.learner.util.UserUtility;
   tasks = {"searchAuditLog", "processAuditLog"},
   asyncTasks = {"searchAuditLog", "processAuditLog"}
 )
-public class ActorAuditLogServiceImpl extends BaseActor implements AuditLogService {
+public class ActorAuditLogServiceImpl extends InstrumentedActor implements AuditLogService {
 
   private PropertiesCache cache = PropertiesCache.getInstance();
 
@@ -171,11 +171,7 @@ public class ActorAuditLogServiceImpl extends BaseActor implements AuditLogServi
 
   @Override
   public void save(Map<String, Object> requestedData) {
-    ElasticSearchUtil.createData(
-        EsIndex.sunbirdDataAudit.getIndexName(),
-        EsType.history.getTypeName(),
-        ProjectUtil.getUniqueIdFromTimestamp(1),
-        requestedData);
+    AuditLogSink.add(ProjectUtil.getUniqueIdFromTimestamp(1), requestedData);
   }
 
   @SuppressWarnings("unchecked")
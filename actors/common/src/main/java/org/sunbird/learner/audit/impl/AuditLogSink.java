@@ -0,0 +1,290 @@
+package org.sunbird.learner.audit.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.rest.RestStatus;
+import org.sunbird.common.ConnectionManager;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.common.models.util.ProjectUtil.EsIndex;
+import org.sunbird.common.models.util.ProjectUtil.EsType;
+import org.sunbird.learner.util.ActorMetrics;
+import org.sunbird.learner.util.Util;
+
+/**
+ * Buffered writer of audit logs. Audit records are kept in a bounded buffer and written to ES as
+ * bulk requests once sunbird_audit_log_bulk_size records are buffered or every
+ * sunbird_audit_log_flush_interval_ms milliseconds, so callers never wait on ES.
+ *
+ * <p>When buffer is full the oldest record is dropped. Every item of a bulk response is checked:
+ * records which could not be written because ES is unavailable or overloaded are spilled to a file
+ * in sunbird_audit_log_spill_dir and written again after the next successful flush, while records
+ * rejected by ES (and records which could not be spilled either) are dropped. Drops, spills and
+ * flush latency are counted in {@link #getMetrics()}.
+ */
+public final class AuditLogSink {
+
+  private static final int BUFFER_SIZE =
+      Util.getIntConfigValue("sunbird_audit_log_buffer_size", 10000);
+  private static final int BULK_SIZE = Util.getIntConfigValue("sunbird_audit_log_bulk_size", 500);
+  private static final int FLUSH_INTERVAL_MS =
+      Util.getIntConfigValue("sunbird_audit_log_flush_interval_ms", 2000);
+  private static final File SPILL_FILE = new File(getSpillDir(), "sunbird-audit-log-spill.jsonl");
+  private static final TypeReference<Map<String, Object>> RECORD_TYPE =
+      new TypeReference<Map<String, Object>>() {};
+
+  private static final BlockingQueue<Map<String, Object>> buffer =
+      new ArrayBlockingQueue<>(BUFFER_SIZE);
+  private static final AtomicBoolean flushRequested = new AtomicBoolean();
+  private static final ObjectMapper mapper = new ObjectMapper();
+  private static final ScheduledExecutorService flushExecutor =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "audit-log-sink");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private static final AtomicLong queuedCount = new AtomicLong();
+  private static final AtomicLong writtenCount = new AtomicLong();
+  private static final AtomicLong spilledCount = new AtomicLong();
+  private static final AtomicLong droppedCount = new AtomicLong();
+  private static final AtomicLong bulkRequestCount = new AtomicLong();
+  private static final AtomicLong failedBulkRequestCount = new AtomicLong();
+  private static final AtomicLong lastFlushLatencyMs = new AtomicLong();
+  private static final AtomicLong maxFlushLatencyMs = new AtomicLong();
+
+  static {
+    ActorMetrics.registerComponent("auditLogSink", AuditLogSink::getMetrics);
+    flushExecutor.scheduleWithFixedDelay(
+        AuditLogSink::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    Runtime.getRuntime().addShutdownHook(new Thread(AuditLogSink::flush));
+  }
+
+  private AuditLogSink() {}
+
+  private static String getSpillDir() {
+    String spillDir = ProjectUtil.getConfigValue("sunbird_audit_log_spill_dir");
+    return StringUtils.isBlank(spillDir) ? System.getProperty("java.io.tmpdir") : spillDir;
+  }
+
+  /**
+   * Add audit record to the buffer.
+   *
+   * @param id Audit record identifier
+   * @param auditLog Audit record
+   */
+  public static void add(String id, Map<String, Object> auditLog) {
+    auditLog.put(JsonKey.ID, id);
+    queuedCount.incrementAndGet();
+    while (!buffer.offer(auditLog)) {
+      if (buffer.poll() != null) {
+        droppedCount.incrementAndGet();
+      }
+    }
+    if (buffer.size() >= BULK_SIZE && flushRequested.compareAndSet(false, true)) {
+      flushExecutor.execute(AuditLogSink::flush);
+    }
+  }
+
+  /**
+   * Get sink metrics: buffer depth, counts of queued, written, spilled and dropped records, bulk
+   * requests made (and failed) and flush latency in milliseconds.
+   *
+   * @return Map of metric name and value
+   */
+  public static Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new LinkedHashMap<>();
+    metrics.put("bufferDepth", buffer.size());
+    metrics.put("bufferCapacity", BUFFER_SIZE);
+    metrics.put("queued", queuedCount.get());
+    metrics.put("written", writtenCount.get());
+    metrics.put("spilled", spilledCount.get());
+    metrics.put("dropped", droppedCount.get());
+    metrics.put("bulkRequests", bulkRequestCount.get());
+    metrics.put("failedBulkRequests", failedBulkRequestCount.get());
+    metrics.put("lastFlushLatencyMs", lastFlushLatencyMs.get());
+    metrics.put("maxFlushLatencyMs", maxFlushLatencyMs.get());
+    return metrics;
+  }
+
+  /** Write all buffered records. */
+  public static synchronized void flush() {
+    flushRequested.set(false);
+    if (buffer.isEmpty()) {
+      return;
+    }
+    long startTime = System.currentTimeMillis();
+    boolean success = true;
+    List<Map<String, Object>> records = new ArrayList<>(BULK_SIZE);
+    while (buffer.drainTo(records, BULK_SIZE) > 0) {
+      success = write(records, success);
+    }
+    long latency = System.currentTimeMillis() - startTime;
+    lastFlushLatencyMs.set(latency);
+    maxFlushLatencyMs.accumulateAndGet(latency, Math::max);
+    if (success) {
+      replaySpilled();
+    }
+  }
+
+  /**
+   * Write given records if previous write was successful, spilling records which could not be
+   * written. Given list is cleared.
+   *
+   * @return True if all the records are written
+   */
+  private static boolean write(List<Map<String, Object>> records, boolean success) {
+    List<Map<String, Object>> failedRecords = success ? writeBulk(records) : records;
+    boolean written = failedRecords.isEmpty();
+    if (!written) {
+      spill(failedRecords);
+    }
+    records.clear();
+    return written;
+  }
+
+  /**
+   * Index records through a bulk request and check every item of the response. Records rejected
+   * with a non retryable error (for example a mapping error) are dropped, as writing them again
+   * would fail the same way.
+   *
+   * @return Records which have to be written again
+   */
+  private static List<Map<String, Object>> writeBulk(List<Map<String, Object>> records) {
+    bulkRequestCount.incrementAndGet();
+    BulkResponse response;
+    try {
+      Client client = ConnectionManager.getClient();
+      BulkRequestBuilder bulkRequest = client.prepareBulk();
+      for (Map<String, Object> record : records) {
+        bulkRequest.add(
+            client
+                .prepareIndex(
+                    EsIndex.sunbirdDataAudit.getIndexName(),
+                    EsType.history.getTypeName(),
+                    (String) record.get(JsonKey.ID))
+                .setSource(record));
+      }
+      response = bulkRequest.get();
+    } catch (Exception e) {
+      ProjectLogger.log("AuditLogSink:writeBulk: Bulk request failed", e);
+      failedBulkRequestCount.incrementAndGet();
+      return records;
+    }
+    if (!response.hasFailures()) {
+      writtenCount.addAndGet(records.size());
+      return Collections.emptyList();
+    }
+    List<Map<String, Object>> failedRecords = new ArrayList<>();
+    for (BulkItemResponse item : response.getItems()) {
+      if (!item.isFailed()) {
+        writtenCount.incrementAndGet();
+      } else if (isRetryable(item.getFailure().getStatus())) {
+        failedRecords.add(records.get(item.getItemId()));
+      } else {
+        droppedCount.incrementAndGet();
+        ProjectLogger.log(
+            "AuditLogSink:writeBulk: Dropped audit record with id "
+                + item.getId()
+                + " : "
+                + item.getFailureMessage(),
+            LoggerEnum.ERROR.name());
+      }
+    }
+    if (!failedRecords.isEmpty()) {
+      failedBulkRequestCount.incrementAndGet();
+    }
+    return failedRecords;
+  }
+
+  private static boolean isRetryable(RestStatus status) {
+    return status == RestStatus.TOO_MANY_REQUESTS || status.getStatus() >= 500;
+  }
+
+  private static void spill(List<Map<String, Object>> records) {
+    try (BufferedWriter writer =
+        Files.newBufferedWriter(
+            SPILL_FILE.toPath(),
+            StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND)) {
+      for (Map<String, Object> record : records) {
+        writer.write(mapper.writeValueAsString(record));
+        writer.newLine();
+      }
+      spilledCount.addAndGet(records.size());
+    } catch (IOException e) {
+      droppedCount.addAndGet(records.size());
+      ProjectLogger.log("AuditLogSink:spill: Dropped " + records.size() + " audit records", e);
+    }
+  }
+
+  private static void replaySpilled() {
+    if (!SPILL_FILE.exists()) {
+      return;
+    }
+    File replayFile = new File(SPILL_FILE.getPath() + ".replay");
+    try {
+      Files.move(SPILL_FILE.toPath(), replayFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      ProjectLogger.log("AuditLogSink:replaySpilled: Unable to read spilled audit records", e);
+      return;
+    }
+    int replayed = 0;
+    boolean success = true;
+    List<Map<String, Object>> records = new ArrayList<>(BULK_SIZE);
+    try (BufferedReader reader = Files.newBufferedReader(replayFile.toPath())) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        records.add(mapper.readValue(line, RECORD_TYPE));
+        if (records.size() == BULK_SIZE) {
+          success = write(records, success);
+          replayed += BULK_SIZE;
+        }
+      }
+      if (!records.isEmpty()) {
+        replayed += records.size();
+        write(records, success);
+      }
+      Files.delete(replayFile.toPath());
+    } catch (IOException e) {
+      ProjectLogger.log(
+          "AuditLogSink:replaySpilled: Unable to read spilled audit records after "
+              + replayed
+              + " records",
+          e);
+      return;
+    }
+    ProjectLogger.log(
+        "AuditLogSink:replaySpilled: Replayed " + replayed + " spilled audit records",
+        LoggerEnum.INFO.name());
+  }
+}
@@ -0,0 +1,247 @@
+package org.sunbird.learner.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Registry of actor metrics: per operation latency histogram, request, error and in flight counts,
+ * mailbox depth per router and metrics of background components (e.g. write behind queues).
+ * Recording is lock free (counters and fixed histogram buckets), so it can be done for every
+ * message.
+ *
+ * <p>Metrics are read as a map ({@link #getMetrics()}) or in Prometheus text exposition format
+ * ({@link #toPrometheusText()}).
+ */
+public final class ActorMetrics {
+
+  /** Upper bounds (in milliseconds) of latency histogram buckets. */
+  private static final long[] LATENCY_BUCKETS_MS = {
+    1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000
+  };
+  private static final String METRIC_PREFIX = "sunbird_";
+
+  private static final ConcurrentMap<String, OperationMetrics> operations =
+      new ConcurrentHashMap<>();
+  private static final ConcurrentMap<String, AtomicLong> mailboxDepths = new ConcurrentHashMap<>();
+  private static final Map<String, Supplier<Map<String, Object>>> components =
+      new ConcurrentHashMap<>();
+
+  private ActorMetrics() {}
+
+  /**
+   * Start timing of an operation.
+   *
+   * @param operation Actor operation
+   * @return Timer to be stopped once operation is processed
+   */
+  public static OperationTimer start(String operation) {
+    OperationMetrics metrics =
+        operations.computeIfAbsent(String.valueOf(operation), key -> new OperationMetrics());
+    metrics.inFlight.increment();
+    return new OperationTimer(metrics);
+  }
+
+  /**
+   * Get mailbox depth counter of a router, shared by mailboxes of all its routees.
+   *
+   * @param router Router name
+   * @return Mailbox depth counter
+   */
+  public static AtomicLong getMailboxDepth(String router) {
+    return mailboxDepths.computeIfAbsent(router, key -> new AtomicLong());
+  }
+
+  /**
+   * Register metrics of a background component to be reported along with actor metrics.
+   *
+   * @param name Component name
+   * @param metrics Supplier of component metrics (metric name and value)
+   */
+  public static void registerComponent(String name, Supplier<Map<String, Object>> metrics) {
+    components.put(name, metrics);
+  }
+
+  /** @return Map of operation, mailbox and component metrics. */
+  public static Map<String, Object> getMetrics() {
+    Map<String, Object> operationMetrics = new TreeMap<>();
+    operations.forEach((operation, metrics) -> operationMetrics.put(operation, metrics.toMap()));
+    Map<String, Object> mailboxMetrics = new TreeMap<>();
+    mailboxDepths.forEach((router, depth) -> mailboxMetrics.put(router, depth.get()));
+    Map<String, Object> metrics = new LinkedHashMap<>();
+    metrics.put("operations", operationMetrics);
+    metrics.put("mailboxDepth", mailboxMetrics);
+    new TreeMap<>(components).forEach((name, supplier) -> metrics.put(name, supplier.get()));
+    return metrics;
+  }
+
+  /** @return Metrics in Prometheus text exposition format. */
+  public static String toPrometheusText() {
+    StringBuilder text = new StringBuilder();
+    String duration = METRIC_PREFIX + "actor_operation_duration_seconds";
+    text.append("# TYPE ").append(duration).append(" histogram\n");
+    new TreeMap<>(operations)
+        .forEach(
+            (operation, metrics) -> {
+              String label = "operation=\"" + escape(operation) + "\"";
+              long cumulative = 0;
+              for (int i = 0; i < LATENCY_BUCKETS_MS.length; i++) {
+                cumulative += metrics.buckets[i].sum();
+                appendSample(
+                    text,
+                    duration + "_bucket",
+                    label + ",le=\"" + LATENCY_BUCKETS_MS[i] / 1000.0 + "\"",
+                    cumulative);
+              }
+              appendSample(text, duration + "_bucket", label + ",le=\"+Inf\"", metrics.count.sum());
+              appendSample(text, duration + "_sum", label, metrics.totalNanos.sum() / 1e9);
+              appendSample(text, duration + "_count", label, metrics.count.sum());
+            });
+    appendOperationSamples(text, "actor_operation_errors_total", "counter", true);
+    appendOperationSamples(text, "actor_operation_in_flight", "gauge", false);
+
+    String mailboxDepth = METRIC_PREFIX + "actor_mailbox_depth";
+    text.append("# TYPE ").append(mailboxDepth).append(" gauge\n");
+    new TreeMap<>(mailboxDepths)
+        .forEach(
+            (router, depth) ->
+                appendSample(text, mailboxDepth, "router=\"" + escape(router) + "\"", depth.get()));
+
+    new TreeMap<>(components)
+        .forEach((name, supplier) -> appendComponentSamples(text, name, supplier.get()));
+    return text.toString();
+  }
+
+  private static void appendOperationSamples(
+      StringBuilder text, String name, String type, boolean errors) {
+    String metricName = METRIC_PREFIX + name;
+    text.append("# TYPE ").append(metricName).append(' ').append(type).append('\n');
+    new TreeMap<>(operations)
+        .forEach(
+            (operation, metrics) ->
+                appendSample(
+                    text,
+                    metricName,
+                    "operation=\"" + escape(operation) + "\"",
+                    errors ? metrics.errors.sum() : metrics.inFlight.sum()));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void appendComponentSamples(
+      StringBuilder text, String prefix, Map<String, Object> metrics) {
+    if (metrics == null) {
+      return;
+    }
+    for (Map.Entry<String, Object> metric : metrics.entrySet()) {
+      String name = prefix + "_" + metric.getKey();
+      if (metric.getValue() instanceof Number) {
+        appendSample(text, METRIC_PREFIX + toSnakeCase(name), null, metric.getValue());
+      } else if (metric.getValue() instanceof Map) {
+        appendComponentSamples(text, name, (Map<String, Object>) metric.getValue());
+      }
+    }
+  }
+
+  private static void appendSample(StringBuilder text, String name, String labels, Object value) {
+    text.append(name);
+    if (labels != null) {
+      text.append('{').append(labels).append('}');
+    }
+    text.append(' ').append(value).append('\n');
+  }
+
+  private static String toSnakeCase(String name) {
+    return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2")
+        .replaceAll("[^A-Za-z0-9_]", "_")
+        .toLowerCase();
+  }
+
+  private static String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+
+  private static final class OperationMetrics {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder[] buckets = new LongAdder[LATENCY_BUCKETS_MS.length + 1];
+
+    private OperationMetrics() {
+      for (int i = 0; i < buckets.length; i++) {
+        buckets[i] = new LongAdder();
+      }
+    }
+
+    private void record(long nanos) {
+      int bucket = 0;
+      // compared in nanoseconds, as truncated milliseconds would put e.g. 5.4 ms in the 5 ms bucket
+      while (bucket < LATENCY_BUCKETS_MS.length && nanos > LATENCY_BUCKETS_MS[bucket] * 1_000_000) {
+        bucket++;
+      }
+      buckets[bucket].increment();
+      count.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private Map<String, Object> toMap() {
+      long total = count.sum();
+      Map<String, Object> metrics = new LinkedHashMap<>();
+      metrics.put("count", total);
+      metrics.put("errors", errors.sum());
+      metrics.put("inFlight", inFlight.sum());
+      metrics.put("meanMs", (total == 0) ? 0 : totalNanos.sum() / total / 1000000.0);
+      metrics.put("p50Ms", getPercentileMs(0.5));
+      metrics.put("p99Ms", getPercentileMs(0.99));
+      metrics.put("maxMs", maxNanos.get() / 1000000.0);
+      return metrics;
+    }
+
+    /** @return Upper bound of the histogram bucket containing given percentile. */
+    private long getPercentileMs(double percentile) {
+      long[] counts = new long[buckets.length];
+      long total = 0;
+      for (int i = 0; i < buckets.length; i++) {
+        counts[i] = buckets[i].sum();
+        total += counts[i];
+      }
+      long rank = (long) Math.ceil(total * percentile);
+      long cumulative = 0;
+      for (int i = 0; i < LATENCY_BUCKETS_MS.length; i++) {
+        cumulative += counts[i];
+        if (cumulative >= rank) {
+          return (total == 0) ? 0 : LATENCY_BUCKETS_MS[i];
+        }
+      }
+      return maxNanos.get() / 1000000;
+    }
+  }
+
+  /** Timer of a single operation. */
+  public static final class OperationTimer {
+    private final OperationMetrics metrics;
+    private final long startTime = System.nanoTime();
+
+    private OperationTimer(OperationMetrics metrics) {
+      this.metrics = metrics;
+    }
+
+    /** Count the operation as failed. */
+    public void failed() {
+      metrics.errors.increment();
+    }
+
+    /** Stop timing and record time taken by the operation. */
+    public void stop() {
+      metrics.inFlight.decrement();
+      metrics.record(System.nanoTime() - startTime);
+    }
+  }
+}
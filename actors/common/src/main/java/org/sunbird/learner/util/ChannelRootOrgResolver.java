@@ -0,0 +1,139 @@
+package org.sunbird.learner.util;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.helper.ServiceFactory;
+
+/**
+ * Resolves root organisation of a channel. Set of channels is small and changes rarely, so
+ * resolved root organisations (and channels without root organisation) are kept in memory.
+ *
+ * <p>The store is read only on a cache miss. Entries expire after
+ * sunbird_channel_root_org_cache_ttl seconds, and channels without root organisation are re-checked
+ * after sunbird_channel_root_org_negative_ttl seconds. Organisation writes have to call {@link
+ * #invalidate(String)} for the affected channel, which only affects this node: changes done on
+ * other nodes (e.g. a root organisation blocked) are seen after up to the cache TTL.
+ */
+public final class ChannelRootOrgResolver {
+
+  private static final int NEGATIVE_TTL_SECONDS =
+      Util.getIntConfigValue("sunbird_channel_root_org_negative_ttl", 30);
+  private static final int CACHE_TTL_SECONDS =
+      Util.getIntConfigValue("sunbird_channel_root_org_cache_ttl", 60);
+  private static final int CACHE_MAX_SIZE =
+      Util.getIntConfigValue("sunbird_channel_root_org_cache_size", 10000);
+
+  private static final LoadingCache<String, ResolvedChannel> rootOrgByChannel =
+      CacheBuilder.newBuilder()
+          .maximumSize(CACHE_MAX_SIZE)
+          .expireAfterWrite(CACHE_TTL_SECONDS, TimeUnit.SECONDS)
+          .build(
+              new CacheLoader<String, ResolvedChannel>() {
+                @Override
+                public ResolvedChannel load(String channel) {
+                  return readRootOrg(channel);
+                }
+              });
+
+  private ChannelRootOrgResolver() {}
+
+  /**
+   * Get root organisation (id, channel and status) of given channel.
+   *
+   * @param channel Channel value
+   * @return Copy of root organisation details or null if channel has no root organisation
+   */
+  public static Map<String, Object> getRootOrg(String channel) {
+    if (StringUtils.isBlank(channel)) {
+      return null;
+    }
+    ResolvedChannel resolvedChannel = get(channel);
+    if (resolvedChannel.rootOrg == null
+        && System.currentTimeMillis() - resolvedChannel.resolvedAt
+            > TimeUnit.SECONDS.toMillis(NEGATIVE_TTL_SECONDS)) {
+      rootOrgByChannel.invalidate(channel);
+      resolvedChannel = get(channel);
+    }
+    return (resolvedChannel.rootOrg == null) ? null : new HashMap<>(resolvedChannel.rootOrg);
+  }
+
+  /**
+   * Get root organisation id of given channel.
+   *
+   * @param channel Channel value
+   * @return Root organisation id or null if channel has no root organisation
+   */
+  public static String getRootOrgId(String channel) {
+    Map<String, Object> rootOrg = getRootOrg(channel);
+    return (rootOrg == null) ? null : (String) rootOrg.get(JsonKey.ID);
+  }
+
+  /**
+   * Remove resolved root organisation of given channel. Needs to be called whenever a root
+   * organisation is created or its channel or status is updated.
+   *
+   * @param channel Channel value
+   */
+  public static void invalidate(String channel) {
+    if (StringUtils.isNotBlank(channel)) {
+      rootOrgByChannel.invalidate(channel);
+    }
+  }
+
+  private static ResolvedChannel get(String channel) {
+    try {
+      return rootOrgByChannel.getUnchecked(channel);
+    } catch (UncheckedExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ResolvedChannel readRootOrg(String channel) {
+    ProjectLogger.log(
+        "ChannelRootOrgResolver:readRootOrg: channel = " + channel, LoggerEnum.INFO.name());
+    CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+    Util.DbInfo orgDbInfo = Util.dbInfoMap.get(JsonKey.ORG_DB);
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(JsonKey.CHANNEL, channel);
+    properties.put(JsonKey.IS_ROOT_ORG, true);
+    Response result =
+        cassandraOperation.getRecordsByProperties(
+            orgDbInfo.getKeySpace(), orgDbInfo.getTableName(), properties);
+    List<Map<String, Object>> list = (List<Map<String, Object>>) result.get(JsonKey.RESPONSE);
+    Map<String, Object> rootOrg = null;
+    if (list != null && !list.isEmpty()) {
+      rootOrg = new HashMap<>();
+      rootOrg.put(JsonKey.ID, list.get(0).get(JsonKey.ID));
+      rootOrg.put(JsonKey.CHANNEL, list.get(0).get(JsonKey.CHANNEL));
+      rootOrg.put(JsonKey.STATUS, list.get(0).get(JsonKey.STATUS));
+      rootOrg = Collections.unmodifiableMap(rootOrg);
+    }
+    return new ResolvedChannel(rootOrg);
+  }
+
+  private static final class ResolvedChannel {
+    private final Map<String, Object> rootOrg;
+    private final long resolvedAt = System.currentTimeMillis();
+
+    private ResolvedChannel(Map<String, Object> rootOrg) {
+      this.rootOrg = rootOrg;
+    }
+  }
+}
@@ -1,19 +1,33 @@
 package org.sunbird.learner.util;
 
 import akka.dispatch.ExecutionContexts;
+import akka.dispatch.Futures;
 import akka.dispatch.Mapper;
-import com.mashape.unirest.http.HttpResponse;
-import com.mashape.unirest.http.JsonNode;
-import com.mashape.unirest.http.Unirest;
-import com.mashape.unirest.request.BaseRequest;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
 import javax.ws.rs.core.MediaType;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.util.EntityUtils;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -21,15 +35,48 @@ import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.PropertiesCache;
-import org.sunbird.common.models.util.RestUtil;
+import scala.concurrent.Await;
 import scala.concurrent.Future;
+import scala.concurrent.Promise;
+import scala.concurrent.duration.Duration;
+import scala.concurrent.duration.FiniteDuration;
 
 /** @author Mahesh Kumar Gangula */
 public class ContentSearchUtil {
 
+  private static final int MAX_CONNECTIONS =
+      Util.getIntConfigValue("sunbird_content_search_max_connections", 200);
+  private static final int CONNECT_TIMEOUT_MS =
+      Util.getIntConfigValue("sunbird_content_search_connect_timeout_ms", 2000);
+  private static final int SOCKET_TIMEOUT_MS =
+      Util.getIntConfigValue("sunbird_content_search_socket_timeout_ms", 10000);
+  private static final FiniteDuration SYNC_SEARCH_TIMEOUT =
+      Duration.create(2L * CONNECT_TIMEOUT_MS + SOCKET_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+  private static final TypeReference<Map<String, Object>> MAP_TYPE =
+      new TypeReference<Map<String, Object>>() {};
+
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  /**
+   * Client used only for content search, so its connection pool and timeouts can be tuned for
+   * search and no global (Unirest) defaults are shared with or changed for other callers.
+   */
+  private static final CloseableHttpAsyncClient httpClient =
+      HttpAsyncClients.custom()
+          .setMaxConnTotal(MAX_CONNECTIONS)
+          .setMaxConnPerRoute(MAX_CONNECTIONS)
+          .setDefaultRequestConfig(
+              RequestConfig.custom()
+                  .setConnectTimeout(CONNECT_TIMEOUT_MS)
+                  .setConnectionRequestTimeout(CONNECT_TIMEOUT_MS)
+                  .setSocketTimeout(SOCKET_TIMEOUT_MS)
+                  .build())
+          .build();
+
   private static String contentSearchURL = null;
 
   static {
+    httpClient.start();
     String baseUrl = System.getenv(JsonKey.SUNBIRD_API_MGR_BASE_URL);
     String searchPath = System.getenv(JsonKey.SUNBIRD_CS_SEARCH_PATH);
     if (StringUtils.isBlank(searchPath))
@@ -55,93 +102,134 @@ public class ContentSearchUtil {
   public static Future<Map<String, Object>> searchContent(
       String urlQueryString, String queryRequestBody, Map<String, String> headers) {
     String logMsgPrefix = "ContentSearchUtil:searchContent: ";
-
-    Unirest.clearDefaultHeaders();
     String urlString =
         StringUtils.isNotBlank(urlQueryString)
             ? contentSearchURL + urlQueryString
             : contentSearchURL;
     ProjectLogger.log(
         logMsgPrefix + "Making content search call to = " + urlString, LoggerEnum.INFO);
-    BaseRequest request =
-        Unirest.post(urlString).headers(getUpdatedHeaders(headers)).body(queryRequestBody);
-    Future<HttpResponse<JsonNode>> response = RestUtil.executeAsync(request);
+    HttpPost request = new HttpPost(urlString);
+    getUpdatedHeaders(headers).forEach(request::setHeader);
+    request.setEntity(new StringEntity(queryRequestBody, ContentType.APPLICATION_JSON));
 
-    return response.map(
-        new Mapper<HttpResponse<JsonNode>, Map<String, Object>>() {
+    Promise<HttpResponse> promise = Futures.promise();
+    httpClient.execute(
+        request,
+        new FutureCallback<HttpResponse>() {
           @Override
-          public Map<String, Object> apply(HttpResponse<JsonNode> response) {
-            try {
-              if (RestUtil.isSuccessful(response)) {
-                JSONObject result = response.getBody().getObject().getJSONObject("result");
-                Map<String, Object> resultMap = jsonToMap(result);
-                Object contents = resultMap.get(JsonKey.CONTENT);
-                resultMap.remove(JsonKey.CONTENT);
-                resultMap.put(JsonKey.CONTENTS, contents);
-                ProjectLogger.log(
-                    logMsgPrefix + "requestBody = " + queryRequestBody + " content = " + contents,
-                    LoggerEnum.DEBUG.name());
-                String resmsgId = RestUtil.getFromResponse(response, "params.resmsgid");
-                String apiId = RestUtil.getFromResponse(response, "id");
-                Map<String, Object> param = new HashMap<>();
-                param.put(JsonKey.RES_MSG_ID, resmsgId);
-                param.put(JsonKey.API_ID, apiId);
-                resultMap.put(JsonKey.PARAMS, param);
-                return resultMap;
-              } else {
-                ProjectLogger.log(
-                    logMsgPrefix + "Search content failed. Error response = " + response.getBody());
-                return null;
-              }
-            } catch (Exception e) {
-              ProjectLogger.log(
-                  logMsgPrefix + "Exception occurred with error message = " + e.getMessage(), e);
-              return null;
-            }
+          public void completed(HttpResponse response) {
+            promise.success(response);
           }
-        },
-        ExecutionContexts.global());
+
+          @Override
+          public void failed(Exception e) {
+            promise.failure(e);
+          }
+
+          @Override
+          public void cancelled() {
+            promise.failure(new CancellationException("Content search request cancelled"));
+          }
+        });
+
+    // response is decoded off the I/O dispatcher thread of the client
+    return promise
+        .future()
+        .map(
+            new Mapper<HttpResponse, Map<String, Object>>() {
+              @Override
+              public Map<String, Object> apply(HttpResponse response) {
+                try {
+                  int status = response.getStatusLine().getStatusCode();
+                  if (status >= 200 && status < 300) {
+                    Map<String, Object> resultMap;
+                    try (InputStream body = response.getEntity().getContent()) {
+                      resultMap = readSearchResponse(body);
+                    }
+                    ProjectLogger.log(
+                        logMsgPrefix
+                            + "requestBody = "
+                            + queryRequestBody
+                            + " content = "
+                            + (resultMap == null ? null : resultMap.get(JsonKey.CONTENTS)),
+                        LoggerEnum.DEBUG.name());
+                    return resultMap;
+                  } else {
+                    ProjectLogger.log(
+                        logMsgPrefix
+                            + "Search content failed. Error response = "
+                            + EntityUtils.toString(response.getEntity()));
+                    return null;
+                  }
+                } catch (Exception e) {
+                  ProjectLogger.log(
+                      logMsgPrefix + "Exception occurred with error message = " + e.getMessage(),
+                      e);
+                  return null;
+                }
+              }
+            },
+            ExecutionContexts.global());
   }
 
   public static Map<String, Object> searchContentSync(
       String urlQueryString, String queryRequestBody, Map<String, String> headers) {
-    Unirest.clearDefaultHeaders();
-    String urlString =
-        StringUtils.isNotBlank(urlQueryString)
-            ? contentSearchURL + urlQueryString
-            : contentSearchURL;
-    ProjectLogger.log(
-        "ContentSearchUtil:searchContentSync Making content search call to = " + urlString,
-        LoggerEnum.INFO);
-    BaseRequest request =
-        Unirest.post(urlString).headers(getUpdatedHeaders(headers)).body(queryRequestBody);
     try {
-      HttpResponse<JsonNode> response = RestUtil.execute(request);
-      if (RestUtil.isSuccessful(response)) {
-        JSONObject result = response.getBody().getObject().getJSONObject("result");
-        Map<String, Object> resultMap = jsonToMap(result);
-        Object contents = resultMap.get(JsonKey.CONTENT);
-        resultMap.remove(JsonKey.CONTENT);
-        resultMap.put(JsonKey.CONTENTS, contents);
-        ProjectLogger.log(
-            "ContentSearchUtil:searchContentSync requestBody = "
-                + queryRequestBody
-                + " content = "
-                + contents,
-            LoggerEnum.DEBUG.name());
-        String resmsgId = RestUtil.getFromResponse(response, "params.resmsgid");
-        String apiId = RestUtil.getFromResponse(response, "id");
-        Map<String, Object> param = new HashMap<>();
-        param.put(JsonKey.RES_MSG_ID, resmsgId);
-        param.put(JsonKey.API_ID, apiId);
-        resultMap.put(JsonKey.PARAMS, param);
-        return resultMap;
-      } else {
+      return Await.result(
+          searchContent(urlQueryString, queryRequestBody, headers), SYNC_SEARCH_TIMEOUT);
+    } catch (Exception e) {
+      ProjectLogger.log(
+          "ContentSearchUtil:searchContentSync: Exception occurred with error message = "
+              + e.getMessage(),
+          e);
+      return null;
+    }
+  }
+
+  /**
+   * Decode content search response in a single streaming pass. The result object is read directly
+   * into a map with content renamed to contents, and id and params.resmsgid of the response are
+   * added to it as params. Other fields of the response are skipped without being materialized.
+   *
+   * @param body Content search response body
+   * @return Result of the search, null if response has no result object
+   */
+  private static Map<String, Object> readSearchResponse(InputStream body) throws IOException {
+    Map<String, Object> resultMap = null;
+    Map<String, Object> param = new HashMap<>();
+    param.put(JsonKey.RES_MSG_ID, null);
+    param.put(JsonKey.API_ID, null);
+    try (JsonParser parser = mapper.getFactory().createParser(body)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
         return null;
       }
-    } catch (Exception e) {
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String fieldName = parser.getCurrentName();
+        JsonToken token = parser.nextToken();
+        if ("result".equals(fieldName) && token == JsonToken.START_OBJECT) {
+          resultMap = mapper.readValue(parser, MAP_TYPE);
+        } else if ("id".equals(fieldName) && token.isScalarValue()) {
+          param.put(JsonKey.API_ID, parser.getValueAsString());
+        } else if ("params".equals(fieldName) && token == JsonToken.START_OBJECT) {
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String paramName = parser.getCurrentName();
+            if (parser.nextToken().isScalarValue() && "resmsgid".equals(paramName)) {
+              param.put(JsonKey.RES_MSG_ID, parser.getValueAsString());
+            } else {
+              parser.skipChildren();
+            }
+          }
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+    if (resultMap == null) {
       return null;
     }
+    resultMap.put(JsonKey.CONTENTS, resultMap.remove(JsonKey.CONTENT));
+    resultMap.put(JsonKey.PARAMS, param);
+    return resultMap;
   }
 
   public static Map<String, Object> jsonToMap(JSONObject object) throws JSONException {
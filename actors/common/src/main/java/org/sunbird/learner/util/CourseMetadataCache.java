@@ -0,0 +1,76 @@
+package org.sunbird.learner.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.models.util.JsonKey;
+
+/**
+ * Short lived, bounded cache of course metadata (content search result of a course) used to add
+ * course details to the enrolled courses of a user. Course metadata changes only when a course is
+ * published, so it is memoized per course for sunbird_course_metadata_cache_ttl seconds and only
+ * the courses missing from the cache are searched.
+ *
+ * <p>Search result depends on URL query string of the request (e.g. requested fields), so entries
+ * are kept per query string. Cached instances are shared between actors and must be treated as
+ * read only.
+ */
+public final class CourseMetadataCache {
+
+  private static final int CACHE_TTL_SECONDS =
+      Util.getIntConfigValue("sunbird_course_metadata_cache_ttl", 60);
+  private static final int CACHE_MAX_SIZE =
+      Util.getIntConfigValue("sunbird_course_metadata_cache_size", 10000);
+  private static final String KEY_DELIMITER = "|";
+
+  private static final Cache<String, Map<String, Object>> courseCache =
+      CacheBuilder.newBuilder()
+          .maximumSize(CACHE_MAX_SIZE)
+          .expireAfterWrite(CACHE_TTL_SECONDS, TimeUnit.SECONDS)
+          .build();
+
+  private CourseMetadataCache() {}
+
+  /**
+   * Get cached metadata of given courses.
+   *
+   * @param urlQueryString URL query string of the content search request
+   * @param courseIds Course identifiers
+   * @return Map of course identifier and metadata for courses found in cache
+   */
+  public static Map<String, Map<String, Object>> getAll(
+      String urlQueryString, Collection<String> courseIds) {
+    Map<String, Map<String, Object>> courses = new HashMap<>();
+    for (String courseId : courseIds) {
+      Map<String, Object> course = courseCache.getIfPresent(getKey(urlQueryString, courseId));
+      if (course != null) {
+        courses.put(courseId, course);
+      }
+    }
+    return courses;
+  }
+
+  /**
+   * Cache metadata of courses returned by content search.
+   *
+   * @param urlQueryString URL query string of the content search request
+   * @param courses Course metadata, each containing course identifier
+   */
+  public static void putAll(String urlQueryString, List<Map<String, Object>> courses) {
+    for (Map<String, Object> course : courses) {
+      String courseId = (String) course.get(JsonKey.IDENTIFIER);
+      if (StringUtils.isNotBlank(courseId)) {
+        courseCache.put(getKey(urlQueryString, courseId), course);
+      }
+    }
+  }
+
+  private static String getKey(String urlQueryString, String courseId) {
+    return StringUtils.defaultString(urlQueryString) + KEY_DELIMITER + courseId;
+  }
+}
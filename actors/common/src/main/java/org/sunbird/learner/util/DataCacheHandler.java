@@ -1,7 +1,6 @@
 /** */
 package org.sunbird.learner.util;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -29,10 +28,8 @@ public class DataCacheHandler implements Runnable {
   private static Map<String, Object> roleMap = new ConcurrentHashMap<>();
   private static Map<String, String> orgTypeMap = new ConcurrentHashMap<>();
   private static Map<String, String> configSettings = new ConcurrentHashMap<>();
-  private static Map<String, Map<String, List<Map<String, String>>>> frameworkCategoriesMap =
-      new ConcurrentHashMap<>();
   private static Map<String, List<String>> frameworkFieldsConfig = new ConcurrentHashMap<>();
-  private static Map<String, List<String>> hashtagIdFrameworkIdMap = new HashMap<>();
+  private static Map<String, List<String>> hashtagIdFrameworkIdMap = new ConcurrentHashMap<>();
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private static final String KEY_SPACE_NAME = "sunbird";
 
@@ -183,15 +180,6 @@ public class DataCacheHandler implements Runnable {
     DataCacheHandler.configSettings = configSettings;
   }
 
-  public static Map<String, Map<String, List<Map<String, String>>>> getFrameworkCategoriesMap() {
-    return frameworkCategoriesMap;
-  }
-
-  public static void setFrameworkCategoriesMap(
-      Map<String, Map<String, List<Map<String, String>>>> frameworkCategoriesMap) {
-    DataCacheHandler.frameworkCategoriesMap = frameworkCategoriesMap;
-  }
-
   public static void setFrameworkFieldsConfig(Map<String, List<String>> frameworkFieldsConfig) {
     DataCacheHandler.frameworkFieldsConfig = frameworkFieldsConfig;
   }
@@ -200,11 +188,6 @@ public class DataCacheHandler implements Runnable {
     return frameworkFieldsConfig;
   }
 
-  public static void updateFrameworkCategoriesMap(
-      String frameworkId, Map<String, List<Map<String, String>>> frameworkCacheMap) {
-    DataCacheHandler.frameworkCategoriesMap.put(frameworkId, frameworkCacheMap);
-  }
-
   public static void setHashtagIdFrameworkIdMap(Map<String, List<String>> hashtagIdFrameworkIdMap) {
     DataCacheHandler.hashtagIdFrameworkIdMap = hashtagIdFrameworkIdMap;
   }
@@ -0,0 +1,343 @@
+package org.sunbird.learner.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.apache.commons.collections.MapUtils;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+
+/**
+ * Pending Elasticsearch writes of {@link EsWriteBehindQueue}, coalesced per document, and their
+ * flush through an {@link EsWriter}.
+ *
+ * <p>At most about maxPending documents are kept pending. A write of a document which is not
+ * pending yet is done synchronously by the calling thread once that limit is reached, waiting for
+ * a running flush to complete first, so producers are slowed down to the write rate of ES instead
+ * of growing the heap. Retries which do not fit in the limit are dropped.
+ */
+final class EsWriteBehindBuffer {
+
+  private final EsWriter writer;
+  private final int bulkSize;
+  private final int maxAttempts;
+  private final int maxPending;
+
+  private final Map<String, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+
+  private final AtomicLong queuedCount = new AtomicLong();
+  private final AtomicLong coalescedCount = new AtomicLong();
+  private final AtomicLong synchronousCount = new AtomicLong();
+  private final AtomicLong writtenCount = new AtomicLong();
+  private final AtomicLong retriedCount = new AtomicLong();
+  private final AtomicLong droppedCount = new AtomicLong();
+  private final AtomicLong bulkRequestCount = new AtomicLong();
+  private final AtomicLong lastFlushMaxLagMs = new AtomicLong();
+  private final AtomicLong maxLagMs = new AtomicLong();
+
+  EsWriteBehindBuffer(EsWriter writer, int bulkSize, int maxAttempts, int maxPending) {
+    this.writer = writer;
+    this.bulkSize = bulkSize;
+    this.maxAttempts = maxAttempts;
+    this.maxPending = maxPending;
+  }
+
+  void index(String index, String type, String id, Map<String, Object> document) {
+    enqueue(new PendingWrite(index, type, id, () -> document));
+  }
+
+  void reindex(String index, String type, String id, Supplier<Map<String, Object>> loader) {
+    enqueue(new PendingWrite(index, type, id, loader));
+  }
+
+  void update(String index, String type, String id, Map<String, Object> fields) {
+    Map<String, Object> changedFields = new HashMap<>(fields);
+    PendingWrite write = new PendingWrite(index, type, id, null);
+    write.changes.add(new DocumentChange(() -> changedFields, null));
+    enqueue(write);
+  }
+
+  void upsert(String index, String type, String id, Supplier<Map<String, Object>> fieldsLoader) {
+    PendingWrite write = new PendingWrite(index, type, id, null);
+    write.upsert = true;
+    write.changes.add(new DocumentChange(fieldsLoader, null));
+    enqueue(write);
+  }
+
+  void modify(String index, String type, String id, Consumer<Map<String, Object>> modifier) {
+    PendingWrite write = new PendingWrite(index, type, id, null);
+    write.changes.add(new DocumentChange(null, modifier));
+    enqueue(write);
+  }
+
+  int getPendingCount() {
+    return pendingWrites.size();
+  }
+
+  Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new LinkedHashMap<>();
+    metrics.put("pending", pendingWrites.size());
+    metrics.put("oldestPendingLagMs", getOldestPendingLagMs());
+    metrics.put("queued", queuedCount.get());
+    metrics.put("coalesced", coalescedCount.get());
+    metrics.put("synchronous", synchronousCount.get());
+    metrics.put("written", writtenCount.get());
+    metrics.put("retried", retriedCount.get());
+    metrics.put("dropped", droppedCount.get());
+    metrics.put("bulkRequests", bulkRequestCount.get());
+    metrics.put("lastFlushMaxLagMs", lastFlushMaxLagMs.get());
+    metrics.put("maxLagMs", maxLagMs.get());
+    return metrics;
+  }
+
+  synchronized void flush() {
+    if (pendingWrites.isEmpty()) {
+      return;
+    }
+    Map<String, PendingWrite> writes = new LinkedHashMap<>();
+    for (String key : new ArrayList<>(pendingWrites.keySet())) {
+      PendingWrite write = pendingWrites.remove(key);
+      if (write != null) {
+        writes.put(key, write);
+      }
+    }
+    lastFlushMaxLagMs.set(write(writes));
+    ProjectLogger.log(
+        "EsWriteBehindBuffer:flush: metrics = " + getMetrics(), LoggerEnum.DEBUG.name());
+  }
+
+  private void enqueue(PendingWrite write) {
+    queuedCount.incrementAndGet();
+    String key = write.getKey();
+    if (pendingWrites.size() >= maxPending && !pendingWrites.containsKey(key)) {
+      writeNow(key, write);
+      return;
+    }
+    pendingWrites.merge(
+        key,
+        write,
+        (olderWrite, newerWrite) -> {
+          coalescedCount.incrementAndGet();
+          return olderWrite.mergeWith(newerWrite);
+        });
+  }
+
+  private synchronized void writeNow(String key, PendingWrite write) {
+    synchronousCount.incrementAndGet();
+    write(Collections.singletonMap(key, write));
+  }
+
+  /** Write given documents, returns max lag (in milliseconds) of the written documents. */
+  private long write(Map<String, PendingWrite> writes) {
+    long maxLag = 0;
+    Map<String, List<PendingWrite>> documentsByIndexType = new LinkedHashMap<>();
+    for (Map.Entry<String, PendingWrite> entry : writes.entrySet()) {
+      PendingWrite write = entry.getValue();
+      maxLag = Math.max(maxLag, System.currentTimeMillis() - write.firstQueuedAt);
+      try {
+        if (write.isPartialUpdate()) {
+          write.resolvedDocument = write.buildFields();
+        } else {
+          Map<String, Object> document = write.buildDocument(writer);
+          if (MapUtils.isEmpty(document)) {
+            ProjectLogger.log(
+                "EsWriteBehindBuffer:write: Skipping write as document not found for id "
+                    + write.id,
+                LoggerEnum.INFO.name());
+            continue;
+          }
+          document.put(JsonKey.ID, write.id);
+          write.resolvedDocument = document;
+        }
+        documentsByIndexType
+            .computeIfAbsent(write.index + "/" + write.type, k -> new ArrayList<>())
+            .add(write);
+      } catch (Exception e) {
+        ProjectLogger.log(
+            "EsWriteBehindBuffer:write: Failed to write document with id " + write.id, e);
+        retry(entry.getKey(), write);
+      }
+    }
+    for (List<PendingWrite> indexTypeWrites : documentsByIndexType.values()) {
+      for (int i = 0; i < indexTypeWrites.size(); i += bulkSize) {
+        writeBulk(indexTypeWrites.subList(i, Math.min(i + bulkSize, indexTypeWrites.size())));
+      }
+    }
+    maxLagMs.accumulateAndGet(maxLag, Math::max);
+    return maxLag;
+  }
+
+  private void writeBulk(List<PendingWrite> writes) {
+    List<EsWriter.BulkWrite> bulkWrites = new ArrayList<>();
+    for (PendingWrite write : writes) {
+      boolean partial = write.isPartialUpdate();
+      bulkWrites.add(
+          new EsWriter.BulkWrite(
+              write.id, write.resolvedDocument, partial, partial && write.upsert));
+    }
+    bulkRequestCount.incrementAndGet();
+    Set<String> failedIds;
+    try {
+      failedIds = writer.bulkWrite(writes.get(0).index, writes.get(0).type, bulkWrites);
+    } catch (Exception e) {
+      ProjectLogger.log("EsWriteBehindBuffer:writeBulk: Bulk request failed", e);
+      failedIds = new HashSet<>();
+      for (PendingWrite write : writes) {
+        failedIds.add(write.id);
+      }
+    }
+    for (PendingWrite write : writes) {
+      if (!failedIds.contains(write.id)) {
+        writtenCount.incrementAndGet();
+      } else if (write.isPartialUpdate()) {
+        write.resolvedDocument = null;
+        retry(write.getKey(), write);
+      } else {
+        // Resolved document already contains all changes, so retry it as a full document.
+        PendingWrite retryWrite =
+            new PendingWrite(write.index, write.type, write.id, () -> write.resolvedDocument);
+        retryWrite.firstQueuedAt = write.firstQueuedAt;
+        retryWrite.attempts = write.attempts;
+        retry(write.getKey(), retryWrite);
+      }
+    }
+  }
+
+  private void retry(String key, PendingWrite write) {
+    write.attempts++;
+    String reason = null;
+    if (write.attempts >= maxAttempts) {
+      reason = " after " + write.attempts + " attempts";
+    } else if (pendingWrites.size() >= maxPending && !pendingWrites.containsKey(key)) {
+      reason = " as " + pendingWrites.size() + " documents are pending";
+    }
+    if (reason != null) {
+      droppedCount.incrementAndGet();
+      ProjectLogger.log(
+          "EsWriteBehindBuffer:retry: Dropping write for document " + key + reason,
+          LoggerEnum.ERROR.name());
+      return;
+    }
+    retriedCount.incrementAndGet();
+    pendingWrites.merge(key, write, (newerWrite, failedWrite) -> failedWrite.mergeWith(newerWrite));
+  }
+
+  private long getOldestPendingLagMs() {
+    long now = System.currentTimeMillis();
+    long lag = 0;
+    for (PendingWrite write : pendingWrites.values()) {
+      lag = Math.max(lag, now - write.firstQueuedAt);
+    }
+    return lag;
+  }
+
+  private static final class DocumentChange {
+    private final Supplier<Map<String, Object>> fields;
+    private final Consumer<Map<String, Object>> modifier;
+
+    private DocumentChange(
+        Supplier<Map<String, Object>> fields, Consumer<Map<String, Object>> modifier) {
+      this.fields = fields;
+      this.modifier = modifier;
+    }
+
+    private void applyTo(Map<String, Object> document) {
+      if (fields != null) {
+        document.putAll(fields.get());
+      } else {
+        modifier.accept(document);
+      }
+    }
+  }
+
+  private static final class PendingWrite {
+    private final String index;
+    private final String type;
+    private final String id;
+    /** Supplies full document, null if changes have to be applied on document present in ES. */
+    private final Supplier<Map<String, Object>> base;
+
+    private final List<DocumentChange> changes = new ArrayList<>();
+    private long firstQueuedAt = System.currentTimeMillis();
+    private int attempts;
+    /** True if partial changes have to create the document when it does not exist. */
+    private boolean upsert;
+
+    /** Full document, or fields of a partial update, resolved at flush time. */
+    private Map<String, Object> resolvedDocument;
+
+    private PendingWrite(String index, String type, String id, Supplier<Map<String, Object>> base) {
+      this.index = index;
+      this.type = type;
+      this.id = id;
+      this.base = base;
+    }
+
+    private String getKey() {
+      return index + "/" + type + "/" + id;
+    }
+
+    private boolean isPartialUpdate() {
+      if (base != null) {
+        return false;
+      }
+      for (DocumentChange change : changes) {
+        if (change.fields == null) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private Map<String, Object> buildFields() {
+      Map<String, Object> fields = new HashMap<>();
+      for (DocumentChange change : changes) {
+        fields.putAll(change.fields.get());
+      }
+      return fields;
+    }
+
+    private Map<String, Object> buildDocument(EsWriter writer) {
+      Map<String, Object> document = (base != null) ? base.get() : writer.read(index, type, id);
+      if (MapUtils.isEmpty(document)) {
+        if (base != null || !upsert) {
+          return null;
+        }
+        // Document is not indexed yet, so create it from upserted fragments and apply the
+        // modifications on them.
+        document = Collections.emptyMap();
+      }
+      document = new HashMap<>(document);
+      for (DocumentChange change : changes) {
+        change.applyTo(document);
+      }
+      return document;
+    }
+
+    /** Returns write having changes of this write followed by changes of given newer write. */
+    private PendingWrite mergeWith(PendingWrite newerWrite) {
+      PendingWrite merged =
+          (newerWrite.base != null)
+              ? new PendingWrite(index, type, id, newerWrite.base)
+              : new PendingWrite(index, type, id, base);
+      if (newerWrite.base == null) {
+        merged.changes.addAll(changes);
+      }
+      merged.changes.addAll(newerWrite.changes);
+      merged.firstQueuedAt = Math.min(firstQueuedAt, newerWrite.firstQueuedAt);
+      merged.attempts = Math.max(attempts, newerWrite.attempts);
+      merged.upsert = (newerWrite.base != null) ? newerWrite.upsert : upsert || newerWrite.upsert;
+      return merged;
+    }
+  }
+}
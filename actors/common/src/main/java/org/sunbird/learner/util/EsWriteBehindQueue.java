@@ -0,0 +1,212 @@
+package org.sunbird.learner.util;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.client.Client;
+import org.sunbird.common.ConnectionManager;
+import org.sunbird.common.ElasticSearchUtil;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+
+/**
+ * Write behind queue for Elasticsearch index updates done by background actors.
+ *
+ * <p>Writes are collected per document (index, type and id) and flushed every
+ * sunbird_es_write_behind_flush_interval_ms milliseconds. Multiple writes to the same document
+ * within a flush window are coalesced in the order they were queued: full documents are indexed
+ * and documents having only partial changes are updated (or upserted) once, so fragments of a
+ * document written by separate background operations end up in a single request. Full documents
+ * and partial updates of an index and type are written together through ES bulk requests. Failed
+ * writes are retried in next flush (up to sunbird_es_write_behind_max_attempts times) ahead of any
+ * newer change to the same document, so per document ordering is kept. Each item of a bulk
+ * response is checked, so only documents which failed are retried.
+ *
+ * <p>At most sunbird_es_write_behind_max_pending documents are kept pending. Once that limit is
+ * reached, a write of any other document is done synchronously by the calling thread (after a
+ * running flush completes), which slows producers down to the write rate of ES instead of growing
+ * the heap during an ES outage.
+ */
+public final class EsWriteBehindQueue {
+
+  private static final int FLUSH_INTERVAL_MS =
+      Util.getIntConfigValue("sunbird_es_write_behind_flush_interval_ms", 1000);
+  private static final int BULK_SIZE =
+      Util.getIntConfigValue("sunbird_es_write_behind_bulk_size", 500);
+  private static final int MAX_ATTEMPTS =
+      Util.getIntConfigValue("sunbird_es_write_behind_max_attempts", 3);
+  private static final int MAX_PENDING =
+      Util.getIntConfigValue("sunbird_es_write_behind_max_pending", 10000);
+
+  private static final EsWriteBehindBuffer buffer =
+      new EsWriteBehindBuffer(new ElasticSearchWriter(), BULK_SIZE, MAX_ATTEMPTS, MAX_PENDING);
+  private static final ScheduledExecutorService flushExecutor =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "es-write-behind");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  static {
+    ActorMetrics.registerComponent("esWriteBehindQueue", EsWriteBehindQueue::getMetrics);
+    flushExecutor.scheduleWithFixedDelay(
+        EsWriteBehindQueue::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    Runtime.getRuntime().addShutdownHook(new Thread(EsWriteBehindQueue::flush));
+  }
+
+  private EsWriteBehindQueue() {}
+
+  /**
+   * Queue full document to be indexed. Replaces all earlier queued changes of the document.
+   *
+   * @param index ES index name
+   * @param type ES type name
+   * @param id Document identifier
+   * @param document Full document
+   */
+  public static void index(String index, String type, String id, Map<String, Object> document) {
+    buffer.index(index, type, id, document);
+  }
+
+  /**
+   * Queue document to be indexed after reading it at flush time (for example from Cassandra), so
+   * that only one read is done for multiple writes of the same document.
+   *
+   * @param index ES index name
+   * @param type ES type name
+   * @param id Document identifier
+   * @param loader Reads full document, may return null or empty map if document is not found
+   */
+  public static void reindex(
+      String index, String type, String id, Supplier<Map<String, Object>> loader) {
+    buffer.reindex(index, type, id, loader);
+  }
+
+  /**
+   * Queue partial update (top level fields) of a document.
+   *
+   * @param index ES index name
+   * @param type ES type name
+   * @param id Document identifier
+   * @param fields Changed fields
+   */
+  public static void update(String index, String type, String id, Map<String, Object> fields) {
+    buffer.update(index, type, id, fields);
+  }
+
+  /**
+   * Queue partial upsert (top level fields) of a document, which creates the document if it does
+   * not exist.
+   *
+   * @param index ES index name
+   * @param type ES type name
+   * @param id Document identifier
+   * @param fields Changed fields
+   */
+  public static void upsert(String index, String type, String id, Map<String, Object> fields) {
+    Map<String, Object> changedFields = new HashMap<>(fields);
+    upsert(index, type, id, () -> changedFields);
+  }
+
+  /**
+   * Queue partial upsert of a document whose fields are read at flush time (for example from
+   * Cassandra), so that the read is done only once all the changes of the document are collected.
+   *
+   * @param index ES index name
+   * @param type ES type name
+   * @param id Document identifier
+   * @param fieldsLoader Reads changed fields
+   */
+  public static void upsert(
+      String index, String type, String id, Supplier<Map<String, Object>> fieldsLoader) {
+    buffer.upsert(index, type, id, fieldsLoader);
+  }
+
+  /**
+   * Queue change which needs current document (for example adding an entry to a list field). The
+   * document is read from ES once at flush time unless an earlier queued write provides it.
+   *
+   * @param index ES index name
+   * @param type ES type name
+   * @param id Document identifier
+   * @param modifier Modifies current document in place
+   */
+  public static void modify(
+      String index, String type, String id, Consumer<Map<String, Object>> modifier) {
+    buffer.modify(index, type, id, modifier);
+  }
+
+  /** @return Number of documents waiting to be written. */
+  public static int getPendingCount() {
+    return buffer.getPendingCount();
+  }
+
+  /**
+   * Get queue metrics: counts of queued, coalesced, synchronous, written, retried and dropped
+   * writes, bulk requests made, pending documents and write lag (time between first queued change
+   * of a document and its write) in milliseconds.
+   *
+   * @return Map of metric name and value
+   */
+  public static Map<String, Object> getMetrics() {
+    return buffer.getMetrics();
+  }
+
+  /** Write all pending documents. */
+  public static void flush() {
+    buffer.flush();
+  }
+
+  /** Writes through ES transport client (bulk) and {@link ElasticSearchUtil}. */
+  private static final class ElasticSearchWriter implements EsWriter {
+
+    @Override
+    public Set<String> bulkWrite(String index, String type, List<BulkWrite> writes) {
+      Client client = ConnectionManager.getClient();
+      BulkRequestBuilder bulkRequest = client.prepareBulk();
+      for (BulkWrite write : writes) {
+        if (write.partial) {
+          bulkRequest.add(
+              client
+                  .prepareUpdate(index, type, write.id)
+                  .setDoc(write.source)
+                  .setDocAsUpsert(write.upsert));
+        } else {
+          bulkRequest.add(client.prepareIndex(index, type, write.id).setSource(write.source));
+        }
+      }
+      BulkResponse response = bulkRequest.get();
+      Set<String> failedIds = new HashSet<>();
+      if (response.hasFailures()) {
+        for (BulkItemResponse item : response.getItems()) {
+          if (item.isFailed()) {
+            ProjectLogger.log(
+                "EsWriteBehindQueue:bulkWrite: Failed to write document with id "
+                    + item.getId()
+                    + " : "
+                    + item.getFailureMessage(),
+                LoggerEnum.ERROR.name());
+            failedIds.add(item.getId());
+          }
+        }
+      }
+      return failedIds;
+    }
+
+    @Override
+    public Map<String, Object> read(String index, String type, String id) {
+      return ElasticSearchUtil.getDataByIdentifier(index, type, id);
+    }
+  }
+}
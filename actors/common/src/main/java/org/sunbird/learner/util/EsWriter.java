@@ -0,0 +1,44 @@
+package org.sunbird.learner.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/** Elasticsearch operations used by {@link EsWriteBehindBuffer} to write pending documents. */
+interface EsWriter {
+
+  /**
+   * Write documents of an index and type through a single bulk request.
+   *
+   * @param index ES index name
+   * @param type ES type name
+   * @param writes Full documents to index and partial updates (or upserts) of documents
+   * @return Identifiers of documents which failed to be written
+   */
+  Set<String> bulkWrite(String index, String type, List<BulkWrite> writes);
+
+  /**
+   * Read a document.
+   *
+   * @return Document, null or empty map if document is not found
+   */
+  Map<String, Object> read(String index, String type, String id);
+
+  /** Write of a single document within a bulk request. */
+  final class BulkWrite {
+    final String id;
+    /** Full document, or top level fields to update if this is a partial update. */
+    final Map<String, Object> source;
+
+    final boolean partial;
+    /** True if partial update has to create the document when it does not exist. */
+    final boolean upsert;
+
+    BulkWrite(String id, Map<String, Object> source, boolean partial, boolean upsert) {
+      this.id = id;
+      this.source = source;
+      this.partial = partial;
+      this.upsert = upsert;
+    }
+  }
+}
@@ -0,0 +1,187 @@
+package org.sunbird.learner.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.models.util.JsonKey;
+
+/**
+ * In memory cache of user notes used by notes API. It holds notes by id (for existence and
+ * ownership checks), ids of users known to exist and, per user, the complete list of notes of a
+ * course and / or content as returned by search.
+ *
+ * <p>Note writes are applied to the cache as they are written to the store (write through), so a
+ * cached list of notes stays complete while note is indexed in background. A miss has to be read
+ * from the store by the caller. Entries expire after a configurable time so that changes done on
+ * other nodes are picked up.
+ */
+public final class NotesCache {
+
+  private static final int CACHE_TTL_SECONDS =
+      Util.getIntConfigValue("sunbird_notes_cache_ttl", 300);
+  private static final int CACHE_MAX_SIZE =
+      Util.getIntConfigValue("sunbird_notes_cache_size", 100000);
+  private static final String SCOPE_DELIMITER = "|";
+
+  private static final Cache<String, Map<String, Object>> noteById = newCache();
+  private static final Cache<String, Boolean> validUsers = newCache();
+  private static final Cache<String, Map<String, List<Map<String, Object>>>> notesByUser =
+      newCache();
+
+  private NotesCache() {}
+
+  private static <V> Cache<String, V> newCache() {
+    return CacheBuilder.newBuilder()
+        .maximumSize(CACHE_MAX_SIZE)
+        .expireAfterWrite(CACHE_TTL_SECONDS, TimeUnit.SECONDS)
+        .build();
+  }
+
+  /**
+   * Get note by id.
+   *
+   * @param noteId Note id
+   * @return Copy of cached note (including deleted notes) or null if note is not cached
+   */
+  public static synchronized Map<String, Object> getNote(String noteId) {
+    Map<String, Object> note = noteById.getIfPresent(noteId);
+    return (note == null) ? null : new HashMap<>(note);
+  }
+
+  /**
+   * Check whether user is known to exist.
+   *
+   * @param userId User id
+   * @return True if user was validated earlier
+   */
+  public static boolean isValidUser(String userId) {
+    return Boolean.TRUE.equals(validUsers.getIfPresent(userId));
+  }
+
+  /**
+   * Mark user as existing.
+   *
+   * @param userId User id
+   */
+  public static void putValidUser(String userId) {
+    validUsers.put(userId, true);
+  }
+
+  /**
+   * Get all (not deleted) notes of a user for given course and / or content.
+   *
+   * @param userId User id
+   * @param courseId Course id, null for notes of any course
+   * @param contentId Content id, null for notes of any content
+   * @return Copy of cached notes or null if notes are not cached
+   */
+  public static synchronized List<Map<String, Object>> getNotes(
+      String userId, String courseId, String contentId) {
+    Map<String, List<Map<String, Object>>> scopes = notesByUser.getIfPresent(userId);
+    List<Map<String, Object>> notes =
+        (scopes == null) ? null : scopes.get(getScope(courseId, contentId));
+    if (notes == null) {
+      return null;
+    }
+    List<Map<String, Object>> copy = new ArrayList<>(notes.size());
+    for (Map<String, Object> note : notes) {
+      copy.add(new HashMap<>(note));
+    }
+    return copy;
+  }
+
+  /**
+   * Cache complete list of (not deleted) notes of a user for given course and / or content as read
+   * from the store.
+   *
+   * @param userId User id
+   * @param courseId Course id, null for notes of any course
+   * @param contentId Content id, null for notes of any content
+   * @param notes All notes of the user matching course and content
+   */
+  public static synchronized void putNotes(
+      String userId, String courseId, String contentId, List<Map<String, Object>> notes) {
+    Map<String, List<Map<String, Object>>> scopes = notesByUser.getIfPresent(userId);
+    if (scopes == null) {
+      scopes = new HashMap<>();
+      notesByUser.put(userId, scopes);
+    }
+    List<Map<String, Object>> cachedNotes = new ArrayList<>(notes.size());
+    for (Map<String, Object> note : notes) {
+      cachedNotes.add(new HashMap<>(note));
+      Map<String, Object> cachedNote = noteById.getIfPresent((String) note.get(JsonKey.ID));
+      if (cachedNote == null) {
+        cachedNote = new HashMap<>(note);
+        cachedNote.put(JsonKey.IS_DELETED, false);
+        noteById.put((String) note.get(JsonKey.ID), cachedNote);
+      }
+    }
+    scopes.put(getScope(courseId, contentId), cachedNotes);
+    validUsers.put(userId, true);
+  }
+
+  /**
+   * Add or update note of a user. Only the given (non null) fields are changed, so partial update
+   * requests can be passed as is. Note is added to, replaced in or (if deleted) removed from every
+   * cached list of notes of the user it belongs to.
+   *
+   * @param userId Id of user who owns the note
+   * @param note Note details, must contain note id
+   */
+  public static synchronized void putNote(String userId, Map<String, Object> note) {
+    String noteId = (String) note.get(JsonKey.ID);
+    if (StringUtils.isBlank(noteId)) {
+      return;
+    }
+    Map<String, Object> existingNote = noteById.getIfPresent(noteId);
+    Map<String, Object> cachedNote =
+        (existingNote == null) ? new HashMap<>() : new HashMap<>(existingNote);
+    note.forEach(
+        (key, value) -> {
+          if (value != null) {
+            cachedNote.put(key, value);
+          }
+        });
+    noteById.put(noteId, cachedNote);
+
+    Map<String, List<Map<String, Object>>> scopes =
+        StringUtils.isBlank(userId) ? null : notesByUser.getIfPresent(userId);
+    if (scopes == null) {
+      return;
+    }
+    if (existingNote == null && !cachedNote.containsKey(JsonKey.USER_ID)) {
+      // course and content of note are unknown, so lists it belongs to can not be found
+      notesByUser.invalidate(userId);
+      return;
+    }
+    boolean deleted = Boolean.TRUE.equals(cachedNote.get(JsonKey.IS_DELETED));
+    Map<String, Object> listedNote = new HashMap<>(cachedNote);
+    listedNote.remove(JsonKey.IS_DELETED);
+    for (Map.Entry<String, List<Map<String, Object>>> scope : scopes.entrySet()) {
+      List<Map<String, Object>> notes = scope.getValue();
+      notes.removeIf(cached -> noteId.equals(cached.get(JsonKey.ID)));
+      if (!deleted && isInScope(scope.getKey(), listedNote)) {
+        notes.add(listedNote);
+      }
+    }
+  }
+
+  private static boolean isInScope(String scope, Map<String, Object> note) {
+    return scope.equals(getScope(null, null))
+        || scope.equals(getScope((String) note.get(JsonKey.COURSE_ID), null))
+        || scope.equals(getScope(null, (String) note.get(JsonKey.CONTENT_ID)))
+        || scope.equals(
+            getScope((String) note.get(JsonKey.COURSE_ID), (String) note.get(JsonKey.CONTENT_ID)));
+  }
+
+  private static String getScope(String courseId, String contentId) {
+    return StringUtils.defaultString(courseId)
+        + SCOPE_DELIMITER
+        + StringUtils.defaultString(contentId);
+  }
+}
@@ -0,0 +1,167 @@
+package org.sunbird.learner.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.models.util.JsonKey;
+
+/**
+ * In memory index of organisation topology used by organisation validations (parent existence,
+ * parent / child relations, slug and channel external id uniqueness). Root organisation of a
+ * channel is resolved by {@link ChannelRootOrgResolver}.
+ *
+ * <p>Index only holds facts which were read from or written to the store, so a hit can be answered
+ * from memory while a miss has to be confirmed from the store by the caller. Writes update the
+ * index of this node only, so changes done on other nodes (e.g. a slug or external id freed) are
+ * seen once entries expire, after sunbird_org_topology_cache_ttl seconds. Organisation status is
+ * not answered from the index.
+ */
+public final class OrgTopologyCache {
+
+  private static final int CACHE_TTL_SECONDS =
+      Util.getIntConfigValue("sunbird_org_topology_cache_ttl", 60);
+  private static final int CACHE_MAX_SIZE =
+      Util.getIntConfigValue("sunbird_org_topology_cache_size", 100000);
+  private static final List<String> INDEXED_FIELDS =
+      Arrays.asList(
+          JsonKey.ID,
+          JsonKey.CHANNEL,
+          JsonKey.ROOT_ORG_ID,
+          JsonKey.IS_ROOT_ORG,
+          JsonKey.SLUG,
+          JsonKey.STATUS,
+          JsonKey.EXTERNAL_ID);
+
+  private static final Cache<String, Map<String, Object>> orgById = newCache();
+  private static final Cache<String, String> rootOrgIdBySlug = newCache();
+  private static final Cache<String, String> orgIdByChannelExternalId = newCache();
+  private static final Cache<String, Boolean> parentChildRelations = newCache();
+
+  private OrgTopologyCache() {}
+
+  private static <V> Cache<String, V> newCache() {
+    return CacheBuilder.newBuilder()
+        .maximumSize(CACHE_MAX_SIZE)
+        .expireAfterWrite(CACHE_TTL_SECONDS, TimeUnit.SECONDS)
+        .build();
+  }
+
+  /**
+   * Add or update organisation in the index. Only the given (non null) fields are changed, so
+   * partial update requests can be passed as is.
+   *
+   * @param org Organisation details, must contain organisation id
+   */
+  public static synchronized void putOrg(Map<String, Object> org) {
+    String orgId = (String) org.get(JsonKey.ID);
+    if (StringUtils.isBlank(orgId)) {
+      return;
+    }
+    Map<String, Object> existingOrg = orgById.getIfPresent(orgId);
+    Map<String, Object> indexedOrg =
+        (existingOrg == null) ? new HashMap<>() : new HashMap<>(existingOrg);
+    for (String field : INDEXED_FIELDS) {
+      if (org.get(field) != null) {
+        indexedOrg.put(field, org.get(field));
+      }
+    }
+    if (existingOrg != null && isRootOrg(existingOrg)) {
+      removeIfMapped(rootOrgIdBySlug, (String) existingOrg.get(JsonKey.SLUG), orgId);
+    }
+    if (isRootOrg(indexedOrg)) {
+      putIfNotBlank(rootOrgIdBySlug, (String) indexedOrg.get(JsonKey.SLUG), orgId);
+    }
+    orgById.put(orgId, indexedOrg);
+  }
+
+  /**
+   * Get indexed details (id, channel, rootOrgId, isRootOrg, slug, status, externalId) of an
+   * organisation.
+   *
+   * @param orgId Organisation id
+   * @return Copy of indexed organisation details or null if not present in index
+   */
+  public static Map<String, Object> getOrg(String orgId) {
+    if (StringUtils.isBlank(orgId)) {
+      return null;
+    }
+    Map<String, Object> org = orgById.getIfPresent(orgId);
+    return (org == null) ? null : new HashMap<>(org);
+  }
+
+  public static void updateStatus(String orgId, Integer status) {
+    Map<String, Object> org = new HashMap<>();
+    org.put(JsonKey.ID, orgId);
+    org.put(JsonKey.STATUS, status);
+    putOrg(org);
+  }
+
+  public static String getRootOrgIdBySlug(String slug) {
+    if (StringUtils.isBlank(slug)) {
+      return null;
+    }
+    return rootOrgIdBySlug.getIfPresent(slug);
+  }
+
+  public static void putSlug(String slug, String rootOrgId) {
+    putIfNotBlank(rootOrgIdBySlug, slug, rootOrgId);
+  }
+
+  public static String getOrgIdByExternalId(String channel, String externalId) {
+    return orgIdByChannelExternalId.getIfPresent(getExternalIdKey(channel, externalId));
+  }
+
+  public static void putExternalId(String channel, String externalId, String orgId) {
+    putIfNotBlank(orgIdByChannelExternalId, getExternalIdKey(channel, externalId), orgId);
+  }
+
+  public static void removeExternalId(String channel, String externalId) {
+    orgIdByChannelExternalId.invalidate(getExternalIdKey(channel, externalId));
+  }
+
+  /**
+   * Check whether given parent / child relation is known.
+   *
+   * @param parentId Parent organisation id
+   * @param childId Child organisation id
+   * @return True if relation is present in index, false if relation is not known
+   */
+  public static boolean isChildOf(String parentId, String childId) {
+    return parentChildRelations.getIfPresent(getRelationKey(parentId, childId)) != null;
+  }
+
+  public static void addRelation(String parentId, String childId) {
+    if (StringUtils.isNotBlank(parentId) && StringUtils.isNotBlank(childId)) {
+      parentChildRelations.put(getRelationKey(parentId, childId), true);
+    }
+  }
+
+  private static boolean isRootOrg(Map<String, Object> org) {
+    return Boolean.TRUE.equals(org.get(JsonKey.IS_ROOT_ORG));
+  }
+
+  private static String getExternalIdKey(String channel, String externalId) {
+    return channel + ":" + StringUtils.lowerCase(externalId);
+  }
+
+  private static String getRelationKey(String parentId, String childId) {
+    return parentId + ":" + childId;
+  }
+
+  private static void putIfNotBlank(Cache<String, String> cache, String key, String value) {
+    if (StringUtils.isNotBlank(key) && StringUtils.isNotBlank(value)) {
+      cache.put(key, value);
+    }
+  }
+
+  private static void removeIfMapped(Cache<String, String> cache, String key, String value) {
+    if (StringUtils.isNotBlank(key) && value.equals(cache.getIfPresent(key))) {
+      cache.invalidate(key);
+    }
+  }
+}
@@ -5,6 +5,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.learner.actors.skill.MasterSkillSet;
 
 /** @author Manzarul All the scheduler job will be handle by this class. */
 public class SchedulerManager {
@@ -16,11 +17,19 @@ public class SchedulerManager {
    */
   public static ScheduledExecutorService service = ExecutorManager.getExecutorService();
 
-  /** all scheduler job will be configure here. */
-  public static void schedule() {
-    service.scheduleWithFixedDelay(new DataCacheHandler(), 0, PAGE_DATA_TTL, TimeUnit.HOURS);
+  /**
+   * Schedules the periodic cache refresh and then loads the data cache in calling thread (so that
+   * caller knows when cache is ready). Refresh is scheduled first so that a failure of the first
+   * load is recovered by the next refresh.
+   */
+  public static void warmUpAndSchedule() {
+    service.scheduleWithFixedDelay(
+        new DataCacheHandler(), PAGE_DATA_TTL, PAGE_DATA_TTL, TimeUnit.HOURS);
     ProjectLogger.log(
-        "SchedulerManager:schedule: Started scheduler job for cache refresh.",
+        "SchedulerManager:warmUpAndSchedule: Scheduled job for cache refresh.",
         LoggerEnum.INFO.name());
+    new DataCacheHandler().run();
+    MasterSkillSet.load();
+    ProjectLogger.log("SchedulerManager:warmUpAndSchedule: Cache loaded.", LoggerEnum.INFO.name());
   }
 }
@@ -0,0 +1,208 @@
+package org.sunbird.learner.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.sunbird.actor.service.SunbirdMWService;
+import org.sunbird.common.ElasticSearchUtil;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+
+/**
+ * Brings up the middleware service as explicit startup phases. Independent phases run in parallel
+ * and a phase is started as soon as the phases it depends on are completed:
+ *
+ * <pre>
+ * actors -------------+
+ *                     +--> scheduler
+ * cassandra ----------+
+ *           +--> cacheWarmUp
+ * elasticsearch
+ * </pre>
+ *
+ * Time taken by each phase is logged and readiness of the service can be checked using {@link
+ * #isReady()} (part of the complete health check) or {@link #getReadiness()}.
+ */
+public final class StartupManager {
+
+  private static final String ACTORS = "actors";
+  private static final String CASSANDRA = "cassandra";
+  private static final String ELASTICSEARCH = "elasticsearch";
+  private static final String CACHE_WARM_UP = "cacheWarmUp";
+  private static final String SCHEDULER = "scheduler";
+  private static final List<String> PHASES =
+      Arrays.asList(ACTORS, CASSANDRA, ELASTICSEARCH, CACHE_WARM_UP, SCHEDULER);
+
+  private static final Map<String, String> phaseStatus =
+      Collections.synchronizedMap(new LinkedHashMap<>());
+  private static final Map<String, Long> phaseTimeMs =
+      Collections.synchronizedMap(new LinkedHashMap<>());
+  private static volatile CompletableFuture<Void> ready;
+  private static volatile boolean startRequested;
+
+  static {
+    ActorMetrics.registerComponent("startup", StartupManager::getReadiness);
+  }
+
+  private StartupManager() {}
+
+  /**
+   * Start all the phases. Calling it more than once has no effect.
+   *
+   * @return Future which is completed once all the phases are completed
+   */
+  public static synchronized CompletableFuture<Void> start() {
+    if (ready != null) {
+      return ready;
+    }
+    startRequested = true;
+    long startTime = System.currentTimeMillis();
+    for (String phase : PHASES) {
+      phaseStatus.put(phase, "pending");
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    CompletableFuture<Void> actors = runPhase(ACTORS, SunbirdMWService::init, executor);
+    CompletableFuture<Void> cassandra =
+        runPhase(
+            CASSANDRA,
+            () -> {
+              Util.checkCassandraDbConnections(JsonKey.SUNBIRD);
+              Util.checkCassandraDbConnections(JsonKey.SUNBIRD_PLUGIN);
+            },
+            executor);
+    CompletableFuture<Void> elasticsearch =
+        runPhase(ELASTICSEARCH, StartupManager::checkElasticSearch, executor);
+    CompletableFuture<Void> cacheWarmUp =
+        cassandra.thenCompose(
+            done -> runPhase(CACHE_WARM_UP, SchedulerManager::warmUpAndSchedule, executor));
+    CompletableFuture<Void> scheduler =
+        CompletableFuture.allOf(actors, cassandra)
+            .thenCompose(
+                done ->
+                    runPhase(
+                        SCHEDULER,
+                        org.sunbird.common.quartz.scheduler.SchedulerManager::getInstance,
+                        executor));
+
+    ready = CompletableFuture.allOf(actors, cassandra, elasticsearch, cacheWarmUp, scheduler);
+    ready.whenComplete(
+        (result, error) -> {
+          executor.shutdown();
+          ProjectLogger.log(
+              "StartupManager:start: Startup "
+                  + ((error == null) ? "completed" : "failed")
+                  + " in "
+                  + (System.currentTimeMillis() - startTime)
+                  + " ms, phases = "
+                  + getReadiness(),
+              (error == null) ? LoggerEnum.INFO.name() : LoggerEnum.ERROR.name());
+        });
+    return ready;
+  }
+
+  /**
+   * Start quartz scheduler when the service is not brought up through {@link #start()}, for example
+   * when actors run in the same JVM as the API service. Quartz is started after
+   * sunbird_quartz_start_delay_ms milliseconds (default 4 minutes) so that actors and Cassandra
+   * connections are ready by then. Has no effect once {@link #start()} is called, as its scheduler
+   * phase starts quartz.
+   */
+  static void startSchedulerIfNotManaged() {
+    Thread thread =
+        new Thread(
+            () -> {
+              try {
+                Thread.sleep(Util.getIntConfigValue("sunbird_quartz_start_delay_ms", 240000));
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+              }
+              if (startRequested) {
+                return;
+              }
+              ProjectLogger.log(
+                  "StartupManager:startSchedulerIfNotManaged: Starting quartz scheduler.",
+                  LoggerEnum.INFO.name());
+              org.sunbird.common.quartz.scheduler.SchedulerManager.getInstance();
+            },
+            "quartz-scheduler-start");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * @return True if all the startup phases are completed successfully, or if the service is not
+   *     brought up through {@link #start()}
+   */
+  public static boolean isReady() {
+    if (!startRequested) {
+      return true;
+    }
+    CompletableFuture<Void> startup = ready;
+    return startup != null && startup.isDone() && !startup.isCompletedExceptionally();
+  }
+
+  /**
+   * Get status (pending, running, completed or failed) and time taken of each startup phase.
+   *
+   * @return Map of phase name and its status details
+   */
+  public static Map<String, Object> getReadiness() {
+    Map<String, Object> readiness = new LinkedHashMap<>();
+    synchronized (phaseStatus) {
+      for (Map.Entry<String, String> phase : phaseStatus.entrySet()) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put(JsonKey.STATUS, phase.getValue());
+        details.put("timeMs", phaseTimeMs.get(phase.getKey()));
+        readiness.put(phase.getKey(), details);
+      }
+    }
+    return readiness;
+  }
+
+  private static CompletableFuture<Void> runPhase(
+      String phase, Runnable task, ExecutorService executor) {
+    phaseStatus.put(phase, "running");
+    return CompletableFuture.runAsync(
+        () -> {
+          long startTime = System.currentTimeMillis();
+          try {
+            task.run();
+            phaseStatus.put(phase, "completed");
+          } catch (RuntimeException e) {
+            phaseStatus.put(phase, "failed");
+            ProjectLogger.log("StartupManager:runPhase: Phase " + phase + " failed", e);
+            throw e;
+          } finally {
+            phaseTimeMs.put(phase, System.currentTimeMillis() - startTime);
+            ProjectLogger.log(
+                "StartupManager:runPhase: Phase "
+                    + phase
+                    + " took "
+                    + phaseTimeMs.get(phase)
+                    + " ms",
+                LoggerEnum.INFO.name());
+          }
+        },
+        executor);
+  }
+
+  private static void checkElasticSearch() {
+    boolean healthy = false;
+    try {
+      healthy = ElasticSearchUtil.healthCheck();
+    } catch (Exception e) {
+      ProjectLogger.log("StartupManager:checkElasticSearch: Health check failed", e);
+    }
+    if (!healthy) {
+      throw new IllegalStateException("Elasticsearch is not healthy");
+    }
+  }
+}
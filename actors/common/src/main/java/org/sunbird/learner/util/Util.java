@@ -51,7 +51,6 @@ import org.sunbird.common.models.util.datasecurity.DecryptionService;
 import org.sunbird.common.models.util.datasecurity.EncryptionService;
 import org.sunbird.common.models.util.url.URLShortner;
 import org.sunbird.common.models.util.url.URLShortnerImpl;
-import org.sunbird.common.quartz.scheduler.SchedulerManager;
 import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
@@ -107,14 +106,9 @@ public final class Util {
     // EkStep HttpClient headers init
     headers.put("content-type", "application/json");
     headers.put("accept", "application/json");
-    new Thread(
-            new Runnable() {
-              @Override
-              public void run() {
-                SchedulerManager.getInstance();
-              }
-            })
-        .start();
+    // Util is loaded in every deployment mode, so quartz is started from here unless the service
+    // is started through StartupManager.
+    StartupManager.startSchedulerIfNotManaged();
   }
 
   private Util() {}
@@ -419,6 +413,51 @@ public final class Util {
     return prop.getProperty(key);
   }
 
+  /**
+   * This method will read an integer configuration value (environment variable first, then
+   * externalised properties) and fall back to given default value if it is missing or invalid.
+   *
+   * @param key Configuration key
+   * @param defaultValue Value to be used if configuration is not present
+   * @return Configured value or default value
+   */
+  public static int getIntConfigValue(String key, int defaultValue) {
+    String value = propertiesCache.readProperty(key);
+    if (StringUtils.isNotBlank(value)) {
+      try {
+        return Integer.parseInt(value.trim());
+      } catch (NumberFormatException e) {
+        ProjectLogger.log(
+            "Util:getIntConfigValue: Invalid value " + value + " for key " + key,
+            LoggerEnum.WARN.name());
+      }
+    }
+    return defaultValue;
+  }
+
+  /**
+   * This method will read an integer request value given as number or string and fall back to given
+   * default value if it is missing or invalid.
+   *
+   * @param value Request value
+   * @param defaultValue Value to be used if request value is not a valid integer
+   * @return Request value or default value
+   */
+  public static int getIntValue(Object value, int defaultValue) {
+    if (value instanceof Number) {
+      return ((Number) value).intValue();
+    }
+    if (value instanceof String && StringUtils.isNotBlank((String) value)) {
+      try {
+        return Integer.parseInt(((String) value).trim());
+      } catch (NumberFormatException e) {
+        ProjectLogger.log(
+            "Util:getIntValue: Invalid integer value " + value, LoggerEnum.WARN.name());
+      }
+    }
+    return defaultValue;
+  }
+
   private static DbInfo getDbInfoObject(String keySpace, String table) {
 
     DbInfo dbInfo = new DbInfo();
@@ -729,16 +768,12 @@ public final class Util {
    * @return Id of Root organization.
    */
   public static String getRootOrgIdFromChannel(String channel) {
-    Map<String, Object> filters = new HashMap<>();
-    filters.put(JsonKey.IS_ROOT_ORG, true);
-    if (StringUtils.isNotBlank(channel)) {
-      filters.put(JsonKey.CHANNEL, channel);
-    } else {
+    String requestedChannel = channel;
+    if (StringUtils.isBlank(requestedChannel)) {
       // If channel value is not coming in request then read the default channel value provided from
       // ENV.
-      if (StringUtils.isNotBlank(ProjectUtil.getConfigValue(JsonKey.SUNBIRD_DEFAULT_CHANNEL))) {
-        filters.put(JsonKey.CHANNEL, ProjectUtil.getConfigValue(JsonKey.SUNBIRD_DEFAULT_CHANNEL));
-      } else {
+      requestedChannel = ProjectUtil.getConfigValue(JsonKey.SUNBIRD_DEFAULT_CHANNEL);
+      if (StringUtils.isBlank(requestedChannel)) {
         throw new ProjectCommonException(
             ResponseCode.mandatoryParamsMissing.getErrorCode(),
             ProjectUtil.formatMessage(
@@ -746,14 +781,9 @@ public final class Util {
             ResponseCode.CLIENT_ERROR.getResponseCode());
       }
     }
-    Map<String, Object> esResult =
-        elasticSearchComplexSearch(
-            filters, EsIndex.sunbird.getIndexName(), EsType.organisation.getTypeName());
-    if (MapUtils.isNotEmpty(esResult)
-        && CollectionUtils.isNotEmpty((List) esResult.get(JsonKey.CONTENT))) {
-      Map<String, Object> esContent =
-          ((List<Map<String, Object>>) esResult.get(JsonKey.CONTENT)).get(0);
-      return (String) esContent.get(JsonKey.ID);
+    String rootOrgId = ChannelRootOrgResolver.getRootOrgId(requestedChannel);
+    if (StringUtils.isNotBlank(rootOrgId)) {
+      return rootOrgId;
     } else {
       if (StringUtils.isNotBlank(channel)) {
         throw new ProjectCommonException(
@@ -771,15 +801,6 @@ public final class Util {
     }
   }
 
-  private static Map<String, Object> elasticSearchComplexSearch(
-      Map<String, Object> filters, String index, String type) {
-
-    SearchDTO searchDTO = new SearchDTO();
-    searchDTO.getAdditionalProperties().put(JsonKey.FILTERS, filters);
-
-    return ElasticSearchUtil.complexSearch(searchDTO, index, type);
-  }
-
   public static String validateRoles(List<String> roleList) {
     Map<String, Object> roleMap = DataCacheHandler.getRoleMap();
     if (null != roleMap && !roleMap.isEmpty()) {
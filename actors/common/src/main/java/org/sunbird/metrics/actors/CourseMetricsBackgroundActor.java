@@ -31,9 +31,6 @@ import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.util.Util;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 @ActorConfig(
   tasks = {},
   asyncTasks = {"courseProgressMetricsData"}
@@ -201,20 +198,12 @@ public class CourseMetricsBackgroundActor extends BaseMetricsActor {
     requestDbInfo.put(JsonKey.ID, requestId);
     requestDbInfo.put(JsonKey.STATUS, ReportTrackingStatus.GENERATING_DATA.getValue());
     requestDbInfo.put(JsonKey.UPDATED_DATE, format.format(new Date()));
-
-    ObjectMapper mapper = new ObjectMapper();
-    try {
-      String data = mapper.writeValueAsString(finalList);
-      requestDbInfo.put(JsonKey.DATA, data);
-    } catch (JsonProcessingException e) {
-      ProjectLogger.log(e.getMessage(), e);
-    }
+    requestDbInfo.put(ReportDataStore.DATA_CHUNKS, ReportDataStore.save(requestId, finalList));
     cassandraOperation.updateRecord(
         reportTrackingdbInfo.getKeySpace(), reportTrackingdbInfo.getTableName(), requestDbInfo);
 
     Request backGroundRequest = new Request();
     backGroundRequest.setOperation(ActorOperations.FILE_GENERATION_AND_UPLOAD.getValue());
-    backGroundRequest.getRequest().put(JsonKey.DATA, finalList);
     backGroundRequest.getRequest().put(JsonKey.REQUEST_ID, requestId);
     tellToAnother(backGroundRequest);
   }
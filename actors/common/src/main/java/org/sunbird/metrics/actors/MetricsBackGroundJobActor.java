@@ -1,8 +1,13 @@
 package org.sunbird.metrics.actors;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencsv.CSVWriter;
 import java.io.File;
+import java.io.FileWriter;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -10,7 +15,6 @@ import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.velocity.VelocityContext;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.exception.ProjectCommonException;
@@ -28,6 +32,7 @@ import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.Util;
 
 /** Created by arvind on 28/8/17. */
@@ -35,10 +40,12 @@ import org.sunbird.learner.util.Util;
   tasks = {},
   asyncTasks = {"fileGenerationAndUpload", "processData", "fileGenerationAndUpload"}
 )
-public class MetricsBackGroundJobActor extends BaseActor {
+public class MetricsBackGroundJobActor extends InstrumentedActor {
 
   private Util.DbInfo reportTrackingdbInfo = Util.dbInfoMap.get(JsonKey.REPORT_TRACKING_DB);
+  private static final String CSV = "csv";
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+  private ObjectMapper mapper = new ObjectMapper();
 
   @Override
   public void onReceive(Request request) throws Throwable {
@@ -157,19 +164,17 @@ public class MetricsBackGroundJobActor extends BaseActor {
     }
     Map<String, Object> reportDbInfo = responseList.get(0);
     String fileFormat = (String) reportDbInfo.get(JsonKey.FORMAT);
-    FileUtil fileUtil = FileUtil.getFileUtil(fileFormat);
 
     Map<String, Object> dbReqMap = new HashMap<>();
     dbReqMap.put(JsonKey.ID, requestId);
 
-    List<List<Object>> finalList = (List<List<Object>>) map.get(JsonKey.DATA);
     String fileName = (String) map.get(JsonKey.FILE_NAME);
     if (StringUtils.isBlank(fileName)) {
       fileName = "File-" + requestId;
     }
     File file = null;
     try {
-      file = fileUtil.writeToFile(fileName, finalList);
+      file = writeReportFile(fileName, fileFormat, requestId, reportDbInfo);
     } catch (Exception ex) {
       ProjectLogger.log("PROCESS FAILED WHILE CONVERTING THE DATA TO FILE .", ex);
       // update DB as status failed since unable to convert data to file
@@ -211,9 +216,11 @@ public class MetricsBackGroundJobActor extends BaseActor {
     dbReqMap.put(JsonKey.FILE_URL, storageUrl);
     dbReqMap.put(JsonKey.UPDATED_DATE, simpleDateFormat.format(new Date()));
     dbReqMap.put(JsonKey.DATA, null);
+    dbReqMap.put(ReportDataStore.DATA_CHUNKS, null);
     dbReqMap.put(JsonKey.STATUS, ReportTrackingStatus.UPLOADING_FILE_SUCCESS.getValue());
     cassandraOperation.updateRecord(
         reportTrackingdbInfo.getKeySpace(), reportTrackingdbInfo.getTableName(), dbReqMap);
+    ReportDataStore.delete(requestId);
 
     Request backGroundRequest = new Request();
     backGroundRequest.setOperation(ActorOperations.SEND_MAIL.getValue());
@@ -225,6 +232,44 @@ public class MetricsBackGroundJobActor extends BaseActor {
     self().tell(backGroundRequest, self());
   }
 
+  /**
+   * Write report rows saved in the store to a file. CSV reports are streamed chunk by chunk into
+   * the file, other formats need all the rows to build the file.
+   */
+  private File writeReportFile(
+      String fileName, String fileFormat, String requestId, Map<String, Object> reportDbInfo)
+      throws IOException {
+    FileUtil fileUtil = FileUtil.getFileUtil(fileFormat);
+    Integer chunks = (Integer) reportDbInfo.get(ReportDataStore.DATA_CHUNKS);
+    if (chunks == null) {
+      // report data saved as a single value before chunked storage was introduced
+      List<List<Object>> rows =
+          mapper.readValue(
+              (String) reportDbInfo.get(JsonKey.DATA),
+              new TypeReference<List<List<Object>>>() {});
+      return fileUtil.writeToFile(fileName, rows);
+    }
+    if (!(StringUtils.isBlank(fileFormat) || CSV.equalsIgnoreCase(fileFormat))) {
+      List<List<Object>> rows = new ArrayList<>();
+      ReportDataStore.forEachRow(requestId, chunks, rows::add);
+      return fileUtil.writeToFile(fileName, rows);
+    }
+    File file = new File(fileName + "." + CSV);
+    try (CSVWriter csvWriter = new CSVWriter(new FileWriter(file))) {
+      ReportDataStore.forEachRow(
+          requestId,
+          chunks,
+          row -> {
+            String[] line = new String[row.size()];
+            for (int i = 0; i < row.size(); i++) {
+              line[i] = (row.get(i) == null) ? "" : String.valueOf(row.get(i));
+            }
+            csvWriter.writeNext(line);
+          });
+    }
+    return file;
+  }
+
   private boolean processMailSending(Map<String, Object> reportDbInfo) {
 
     Map<String, Object> templateMap = new HashMap<>();
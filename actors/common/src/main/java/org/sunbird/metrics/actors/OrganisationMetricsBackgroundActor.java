@@ -117,7 +117,6 @@ public class OrganisationMetricsBackgroundActor extends BaseMetricsActor {
       Map<String, Object> innerMap = new HashMap<>();
       innerMap.put(JsonKey.REQUEST_ID, requestId);
       innerMap.put(JsonKey.FILE_NAME, fileName);
-      innerMap.put(JsonKey.DATA, csvRecords);
       backGroundRequest.setRequest(innerMap);
       tellToAnother(backGroundRequest);
     } catch (Exception e) {
@@ -189,7 +188,6 @@ public class OrganisationMetricsBackgroundActor extends BaseMetricsActor {
       Map<String, Object> innerMap = new HashMap<>();
       innerMap.put(JsonKey.REQUEST_ID, requestId);
       innerMap.put(JsonKey.FILE_NAME, fileName);
-      innerMap.put(JsonKey.DATA, csvRecords);
       backGroundRequest.setRequest(innerMap);
       tellToAnother(backGroundRequest);
     } catch (Exception e) {
@@ -504,8 +502,7 @@ public class OrganisationMetricsBackgroundActor extends BaseMetricsActor {
     SimpleDateFormat format = ProjectUtil.getDateFormatter();
     format.setLenient(false);
     dbReqMap.put(JsonKey.ID, requestId);
-    String dataStr = getJsonString(data);
-    dbReqMap.put(JsonKey.DATA, dataStr);
+    dbReqMap.put(ReportDataStore.DATA_CHUNKS, ReportDataStore.save(requestId, data));
     dbReqMap.put(JsonKey.STATUS, ReportTrackingStatus.GENERATING_DATA.getValue());
     dbReqMap.put(JsonKey.UPDATED_DATE, format.format(new Date()));
     dbReqMap.put(JsonKey.TYPE, type);
@@ -525,18 +522,4 @@ public class OrganisationMetricsBackgroundActor extends BaseMetricsActor {
     }
     return responseList.get(0);
   }
-
-  private String getJsonString(Object requestObject) {
-    ObjectMapper mapper = new ObjectMapper();
-    String data = "";
-    try {
-      data = mapper.writeValueAsString(requestObject);
-    } catch (JsonProcessingException e) {
-      throw new ProjectCommonException(
-          ResponseCode.invalidJsonData.getErrorCode(),
-          ResponseCode.invalidJsonData.getErrorMessage(),
-          ResponseCode.SERVER_ERROR.getResponseCode());
-    }
-    return data;
-  }
 }
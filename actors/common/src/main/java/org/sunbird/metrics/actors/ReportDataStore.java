@@ -0,0 +1,105 @@
+package org.sunbird.metrics.actors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.apache.commons.collections.CollectionUtils;
+import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.util.Util;
+
+/**
+ * Stores rows of a metrics report in chunks (report_tracking_data table) so that report data is
+ * never passed around as one big value. Report tracking entry refers to the stored data using its
+ * request id and number of chunks (DATA_CHUNKS column).
+ */
+public final class ReportDataStore {
+
+  public static final String DATA_CHUNKS = "datachunks";
+  private static final String CHUNK = "chunk";
+  private static final String CHUNK_DATA = "chunkdata";
+  private static final String TABLE_NAME = "report_tracking_data";
+  private static final int CHUNK_SIZE =
+      Util.getIntConfigValue("sunbird_report_data_chunk_size", 500);
+  private static final TypeReference<List<List<Object>>> ROWS_TYPE =
+      new TypeReference<List<List<Object>>>() {};
+
+  private static CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+  private static ObjectMapper mapper = new ObjectMapper();
+
+  private ReportDataStore() {}
+
+  /**
+   * Save report rows replacing previously saved rows of the report.
+   *
+   * @param requestId Report request id
+   * @param rows Report rows, first row being the header
+   * @return Number of chunks written
+   */
+  public static int save(String requestId, List<List<Object>> rows) {
+    delete(requestId);
+    int chunks = 0;
+    for (int start = 0; start < rows.size(); start += CHUNK_SIZE) {
+      List<List<Object>> chunkRows =
+          rows.subList(start, Math.min(start + CHUNK_SIZE, rows.size()));
+      Map<String, Object> chunk = new HashMap<>();
+      chunk.put(JsonKey.ID, requestId);
+      chunk.put(CHUNK, chunks);
+      try {
+        chunk.put(CHUNK_DATA, mapper.writeValueAsString(chunkRows));
+      } catch (JsonProcessingException e) {
+        throw new ProjectCommonException(
+            ResponseCode.invalidJsonData.getErrorCode(),
+            ResponseCode.invalidJsonData.getErrorMessage(),
+            ResponseCode.SERVER_ERROR.getResponseCode());
+      }
+      cassandraOperation.insertRecord(Util.KEY_SPACE_NAME, TABLE_NAME, chunk);
+      chunks++;
+    }
+    return chunks;
+  }
+
+  /**
+   * Read saved report rows chunk by chunk, so only one chunk is held in memory at a time.
+   *
+   * @param requestId Report request id
+   * @param chunks Number of chunks saved for the report
+   * @param rowConsumer Consumer called for each row in order
+   */
+  @SuppressWarnings("unchecked")
+  public static void forEachRow(
+      String requestId, int chunks, Consumer<List<Object>> rowConsumer) throws IOException {
+    for (int chunk = 0; chunk < chunks; chunk++) {
+      Map<String, Object> key = new HashMap<>();
+      key.put(JsonKey.ID, requestId);
+      key.put(CHUNK, chunk);
+      Response response = cassandraOperation.getRecordById(Util.KEY_SPACE_NAME, TABLE_NAME, key);
+      List<Map<String, Object>> list = (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+      if (CollectionUtils.isEmpty(list)) {
+        throw new IOException("Chunk " + chunk + " of report " + requestId + " is missing");
+      }
+      List<List<Object>> rows = mapper.readValue((String) list.get(0).get(CHUNK_DATA), ROWS_TYPE);
+      rows.forEach(rowConsumer);
+    }
+  }
+
+  /**
+   * Delete saved report rows.
+   *
+   * @param requestId Report request id
+   */
+  public static void delete(String requestId) {
+    Map<String, String> key = new HashMap<>();
+    key.put(JsonKey.ID, requestId);
+    cassandraOperation.deleteRecord(Util.KEY_SPACE_NAME, TABLE_NAME, key);
+  }
+}
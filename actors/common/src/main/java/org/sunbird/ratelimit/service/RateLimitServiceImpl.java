@@ -20,7 +20,15 @@ import org.sunbird.ratelimit.limiter.RateLimiter;
 
 public class RateLimitServiceImpl implements RateLimitService {
 
-  private RateLimitDao rateLimitDao = RateLimitDaoImpl.getInstance();
+  private RateLimitDao rateLimitDao;
+
+  public RateLimitServiceImpl() {
+    this(RateLimitDaoImpl.getInstance());
+  }
+
+  public RateLimitServiceImpl(RateLimitDao rateLimitDao) {
+    this.rateLimitDao = rateLimitDao;
+  }
 
   public boolean isRateLimitOn() {
     return Boolean.TRUE
@@ -0,0 +1,177 @@
+package org.sunbird.learner.actors.bulkupload;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.learner.actors.bulkupload.dao.BulkUploadProcessLeaseDao;
+import org.sunbird.learner.actors.bulkupload.dao.impl.BulkUploadProcessLeaseDaoImpl;
+
+@RunWith(PowerMockRunner.class)
+@PowerMockIgnore({"javax.management.*"})
+public class BulkUploadLeaseManagerTest {
+
+  private static final String OTHER_NODE = "otherNode";
+  private static final String RESERVED = "reserved";
+  private static final long EXPIRED_AGE_MS = 301 * 1000L;
+  private static final long LEASE_TIMEOUT_MS = 300 * 1000L;
+  private static final long BUCKET_SIZE_MS = 300 * 1000L;
+
+  @Mock private BulkUploadProcessLeaseDao leaseDao;
+
+  private Map<String, Map<String, Object>> leases;
+
+  @Before
+  public void beforeEachTest() {
+    MockitoAnnotations.initMocks(this);
+    Whitebox.setInternalState(BulkUploadLeaseManager.class, "leaseDao", leaseDao);
+    leases = new HashMap<>();
+    when(leaseDao.read(anyList())).thenReturn(leases);
+  }
+
+  @Test
+  public void testClaimWithoutLeaseSuccess() {
+    when(leaseDao.insert(eq("process1"), anyString(), anyLong())).thenReturn(true);
+
+    assertTrue(BulkUploadLeaseManager.claim("process1"));
+  }
+
+  @Test
+  public void testClaimWithoutLeaseLosingRaceFailure() {
+    when(leaseDao.insert(eq("process2"), anyString(), anyLong())).thenReturn(false);
+
+    assertFalse(BulkUploadLeaseManager.claim("process2"));
+  }
+
+  @Test
+  public void testClaimWithLiveLeaseFailure() {
+    putLease("process3", OTHER_NODE, System.currentTimeMillis());
+
+    assertFalse(BulkUploadLeaseManager.claim("process3"));
+    verify(leaseDao, never()).insert(anyString(), anyString(), anyLong());
+    verify(leaseDao, never()).update(anyString(), anyString(), anyLong(), anyString(), anyLong());
+  }
+
+  @Test
+  public void testClaimWithExpiredLeaseSuccess() {
+    long heartbeat = System.currentTimeMillis() - EXPIRED_AGE_MS;
+    putLease("process4", OTHER_NODE, heartbeat);
+    when(leaseDao.update(eq("process4"), anyString(), anyLong(), eq(OTHER_NODE), eq(heartbeat)))
+        .thenReturn(true);
+
+    assertTrue(BulkUploadLeaseManager.claim("process4"));
+  }
+
+  @Test
+  public void testClaimWithExpiredLeaseChangedMeanwhileFailure() {
+    long heartbeat = System.currentTimeMillis() - EXPIRED_AGE_MS;
+    putLease("process5", OTHER_NODE, heartbeat);
+    when(leaseDao.update(eq("process5"), anyString(), anyLong(), eq(OTHER_NODE), eq(heartbeat)))
+        .thenReturn(false);
+
+    assertFalse(BulkUploadLeaseManager.claim("process5"));
+  }
+
+  @Test
+  public void testClaimWithLiveReservationSuccess() {
+    long heartbeat = System.currentTimeMillis();
+    putLease("process6", RESERVED, heartbeat);
+    when(leaseDao.update(eq("process6"), anyString(), anyLong(), eq(RESERVED), eq(heartbeat)))
+        .thenReturn(true);
+
+    assertTrue(BulkUploadLeaseManager.claim("process6"));
+  }
+
+  @Test
+  public void testReserveWithLiveReservationFailure() {
+    putLease("process7", RESERVED, System.currentTimeMillis());
+
+    assertFalse(BulkUploadLeaseManager.reserve("process7"));
+    verify(leaseDao, never()).update(anyString(), anyString(), anyLong(), anyString(), anyLong());
+  }
+
+  @Test
+  public void testReleaseOfClaimedProcessSuccess() {
+    when(leaseDao.insert(eq("process8"), anyString(), anyLong())).thenReturn(true);
+    BulkUploadLeaseManager.claim("process8");
+
+    BulkUploadLeaseManager.release("process8");
+
+    verify(leaseDao).delete(eq("process8"), anyString());
+  }
+
+  @Test
+  public void testReleaseOfProcessNotClaimedSuccess() {
+    BulkUploadLeaseManager.release("process9");
+
+    verify(leaseDao, never()).delete(anyString(), anyString());
+  }
+
+  @Test
+  public void testGetLeaseStatusSuccess() {
+    putLease("live", OTHER_NODE, System.currentTimeMillis());
+    putLease("expired", OTHER_NODE, System.currentTimeMillis() - EXPIRED_AGE_MS);
+
+    Map<String, Boolean> leaseStatus =
+        BulkUploadLeaseManager.getLeaseStatus(Arrays.asList("live", "expired", "absent"));
+
+    assertTrue(leaseStatus.get("live"));
+    assertFalse(leaseStatus.get("expired"));
+    assertFalse(leaseStatus.get("absent"));
+  }
+
+  @Test
+  @SuppressWarnings("rawtypes")
+  public void testGetExpiredProcessIdsReadsOnlyExpiredBucketsSuccess() {
+    when(leaseDao.getBucket(anyLong()))
+        .thenAnswer(invocation -> (long) invocation.getArguments()[0] / BUCKET_SIZE_MS);
+    long now = System.currentTimeMillis();
+    putLease("expiredLease", OTHER_NODE, now - EXPIRED_AGE_MS);
+    putLease("renewedLease", OTHER_NODE, now);
+    when(leaseDao.readByBuckets(anyList()))
+        .thenReturn(Arrays.asList("expiredLease", "renewedLease", "releasedLease"));
+
+    List<String> processIds = BulkUploadLeaseManager.getExpiredProcessIds();
+
+    assertEquals(Arrays.asList("expiredLease", "releasedLease"), processIds);
+    // Only buckets ending before the lease timeout are read.
+    long expiredBefore = System.currentTimeMillis() - LEASE_TIMEOUT_MS;
+    ArgumentCaptor<List> buckets = ArgumentCaptor.forClass(List.class);
+    verify(leaseDao, atLeastOnce()).readByBuckets(buckets.capture());
+    for (List<?> bucketList : buckets.getAllValues()) {
+      for (Object bucket : bucketList) {
+        assertTrue(((Long) bucket + 1) * BUCKET_SIZE_MS <= expiredBefore);
+      }
+    }
+  }
+
+  private void putLease(String processId, String owner, long heartbeat) {
+    Map<String, Object> lease = new HashMap<>();
+    lease.put(JsonKey.ID, processId);
+    lease.put(BulkUploadProcessLeaseDaoImpl.OWNER, owner);
+    lease.put(BulkUploadProcessLeaseDaoImpl.HEARTBEAT, heartbeat);
+    leases.put(processId, lease);
+  }
+}
@@ -0,0 +1,101 @@
+package org.sunbird.learner.actors.coursebatch.service;
+
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.learner.actors.coursebatch.dao.CourseBatchDao;
+import org.sunbird.learner.util.CourseBatchUtil;
+import org.sunbird.models.course.batch.CourseBatch;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({CourseBatchUtil.class})
+@PowerMockIgnore({"javax.management.*"})
+public class CourseBatchParticipantUpdaterTest {
+
+  @Mock private CourseBatchDao courseBatchDao;
+
+  @Before
+  public void beforeEachTest() {
+    MockitoAnnotations.initMocks(this);
+    PowerMockito.mockStatic(CourseBatchUtil.class);
+    Whitebox.setInternalState(
+        CourseBatchParticipantUpdater.class, "courseBatchDao", courseBatchDao);
+  }
+
+  @Test
+  public void testAddAndRemoveParticipantSuccess() {
+    CourseBatch courseBatch = new CourseBatch();
+    courseBatch.setId("batch1");
+    when(courseBatchDao.readById("batch1")).thenReturn(courseBatch);
+
+    CourseBatchParticipantUpdater.addParticipant("batch1", "user1");
+    verify(courseBatchDao, timeout(1000))
+        .updateParticipants("batch1", Collections.singletonMap("user1", true));
+    CourseBatchParticipantUpdater.removeParticipant("batch1", "user1");
+    verify(courseBatchDao, timeout(1000))
+        .updateParticipants("batch1", Collections.singletonMap("user1", false));
+
+    CourseBatchParticipantUpdater.flush();
+
+    PowerMockito.verifyStatic();
+    CourseBatchUtil.syncCourseBatchForeground(eq("batch1"), anyMap());
+  }
+
+  @Test
+  public void testFailedWriteOfMissingBatchDroppedSuccess() {
+    doThrow(new RuntimeException("write failed"))
+        .when(courseBatchDao)
+        .updateParticipants(eq("batch2"), anyMap());
+    when(courseBatchDao.readById("batch2"))
+        .thenThrow(
+            new ProjectCommonException(
+                ResponseCode.invalidCourseBatchId.getErrorCode(),
+                ResponseCode.invalidCourseBatchId.getErrorMessage(),
+                ResponseCode.CLIENT_ERROR.getResponseCode()));
+
+    CourseBatchParticipantUpdater.addParticipant("batch2", "user2");
+    verify(courseBatchDao, timeout(1000)).readById("batch2");
+    CourseBatchParticipantUpdater.flush();
+
+    verify(courseBatchDao, times(1)).updateParticipants(eq("batch2"), anyMap());
+  }
+
+  @Test
+  public void testFailedWriteRetriedInNextFlushSuccess() {
+    CourseBatch courseBatch = new CourseBatch();
+    courseBatch.setId("batch3");
+    when(courseBatchDao.readById("batch3")).thenReturn(courseBatch);
+    Map<String, Boolean> changes = new HashMap<>();
+    changes.put("user3", true);
+    doThrow(new RuntimeException("write failed"))
+        .doNothing()
+        .when(courseBatchDao)
+        .updateParticipants("batch3", changes);
+
+    CourseBatchParticipantUpdater.addParticipant("batch3", "user3");
+    verify(courseBatchDao, timeout(1000)).readById("batch3");
+    CourseBatchParticipantUpdater.flush();
+
+    verify(courseBatchDao, timeout(10000).times(2)).updateParticipants("batch3", changes);
+  }
+}
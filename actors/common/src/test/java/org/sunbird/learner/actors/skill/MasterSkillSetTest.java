@@ -0,0 +1,191 @@
+package org.sunbird.learner.actors.skill;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.helper.CassandraConnectionManager;
+import org.sunbird.helper.CassandraConnectionMngrFactory;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({CassandraConnectionMngrFactory.class})
+@PowerMockIgnore({"javax.management.*"})
+public class MasterSkillSetTest {
+
+  @Mock private CassandraOperation cassandraOperation;
+  @Mock private CassandraConnectionManager connectionManager;
+  @Mock private Session session;
+
+  private List<String> storedSkills;
+
+  @Before
+  public void beforeEachTest() {
+    MockitoAnnotations.initMocks(this);
+    PowerMockito.mockStatic(CassandraConnectionMngrFactory.class);
+    when(CassandraConnectionMngrFactory.getObject(anyString())).thenReturn(connectionManager);
+    when(connectionManager.getSession(anyString())).thenReturn(session);
+    Whitebox.setInternalState(MasterSkillSet.class, "cassandraOperation", cassandraOperation);
+    storedSkills = new ArrayList<>(Arrays.asList("java", "javascript", "python", "jaxb", "go"));
+    when(cassandraOperation.getRecordById(anyString(), anyString(), anyString()))
+        .thenAnswer(invocation -> storedSkillsResponse());
+    this.<NavigableSet<String>>getInternalState("skills").clear();
+    this.<NavigableSet<String>>getInternalState("addedSkills").clear();
+    Whitebox.setInternalState(MasterSkillSet.class, "sortedSkills", (Object) null);
+    this.<AtomicBoolean>getInternalState("loaded").set(false);
+  }
+
+  @Test
+  public void testSearchWithoutPrefixReturnsAllSkillsSuccess() {
+    Map<String, Object> result = MasterSkillSet.search(null, 0, 0);
+
+    assertEquals(5, result.get(JsonKey.COUNT));
+    assertEquals(
+        Arrays.asList("go", "java", "javascript", "jaxb", "python"), result.get(JsonKey.SKILLS));
+  }
+
+  @Test
+  public void testSearchWithPrefixReturnsOnlyMatchingSkillsSuccess() {
+    Map<String, Object> result = MasterSkillSet.search("JAV", 0, 0);
+
+    assertEquals(2, result.get(JsonKey.COUNT));
+    assertEquals(Arrays.asList("java", "javascript"), result.get(JsonKey.SKILLS));
+  }
+
+  @Test
+  public void testSearchWithPrefixAfterLastSkillReturnsNoSkillsSuccess() {
+    Map<String, Object> result = MasterSkillSet.search("z", 0, 10);
+
+    assertEquals(0, result.get(JsonKey.COUNT));
+    assertTrue(((List<?>) result.get(JsonKey.SKILLS)).isEmpty());
+  }
+
+  @Test
+  public void testSearchPageWithinPrefixSuccess() {
+    Map<String, Object> result = MasterSkillSet.search("ja", 1, 1);
+
+    assertEquals(3, result.get(JsonKey.COUNT));
+    assertEquals(Collections.singletonList("javascript"), result.get(JsonKey.SKILLS));
+  }
+
+  @Test
+  public void testSearchClampsNegativeOffsetAndLargeLimitSuccess() {
+    Map<String, Object> result = MasterSkillSet.search("ja", -5, Integer.MAX_VALUE);
+
+    assertEquals(3, result.get(JsonKey.COUNT));
+    assertEquals(Arrays.asList("java", "javascript", "jaxb"), result.get(JsonKey.SKILLS));
+  }
+
+  @Test
+  public void testSearchWithOffsetPastPrefixReturnsNoSkillsSuccess() {
+    Map<String, Object> result = MasterSkillSet.search("ja", 10, 2);
+
+    assertEquals(3, result.get(JsonKey.COUNT));
+    assertTrue(((List<?>) result.get(JsonKey.SKILLS)).isEmpty());
+  }
+
+  @Test
+  public void testSearchAfterAddIncludesNewSkillSuccess() {
+    MasterSkillSet.search("ja", 0, 0);
+
+    MasterSkillSet.add(Arrays.asList("Jade", " "));
+
+    Map<String, Object> result = MasterSkillSet.search("ja", 0, 0);
+    assertEquals(4, result.get(JsonKey.COUNT));
+    assertEquals(Arrays.asList("jade", "java", "javascript", "jaxb"), result.get(JsonKey.SKILLS));
+  }
+
+  @Test
+  public void testFlushAppendsOnlyAddedSkillsSuccess() {
+    MasterSkillSet.add(Arrays.asList("Java", "Rust", "Scala"));
+
+    MasterSkillSet.flush();
+
+    ArgumentCaptor<Statement> statement = ArgumentCaptor.forClass(Statement.class);
+    verify(session).execute(statement.capture());
+    String query = statement.getValue().toString();
+    assertTrue(query.contains("'rust'"));
+    assertTrue(query.contains("'scala'"));
+    assertFalse(query.contains("'java'"));
+    MasterSkillSet.flush();
+    verify(session, times(1)).execute(any(Statement.class));
+  }
+
+  @Test
+  public void testFailedFlushRetriedInNextFlushSuccess() {
+    when(session.execute(any(Statement.class)))
+        .thenThrow(new RuntimeException("write failed"))
+        .thenReturn(null);
+    MasterSkillSet.add(Collections.singletonList("rust"));
+
+    MasterSkillSet.flush();
+    MasterSkillSet.flush();
+
+    ArgumentCaptor<Statement> statement = ArgumentCaptor.forClass(Statement.class);
+    verify(session, times(2)).execute(statement.capture());
+    assertTrue(statement.getAllValues().get(1).toString().contains("'rust'"));
+  }
+
+  @Test
+  public void testSyncWithAddedSkillsFlushesSuccess() throws Exception {
+    MasterSkillSet.add(Collections.singletonList("rust"));
+
+    Whitebox.invokeMethod(MasterSkillSet.class, "sync");
+
+    verify(session).execute(any(Statement.class));
+    verify(cassandraOperation, times(1)).getRecordById(anyString(), anyString(), anyString());
+  }
+
+  @Test
+  public void testSyncWithoutAddedSkillsReadsSkillsOfOtherNodesSuccess() throws Exception {
+    MasterSkillSet.load();
+    storedSkills.add("kotlin");
+
+    Whitebox.invokeMethod(MasterSkillSet.class, "sync");
+
+    verify(session, never()).execute(any(Statement.class));
+    assertTrue(MasterSkillSet.getSkills().contains("kotlin"));
+    assertEquals(1, MasterSkillSet.search("kot", 0, 0).get(JsonKey.COUNT));
+  }
+
+  private Response storedSkillsResponse() {
+    Map<String, Object> row = new HashMap<>();
+    row.put(JsonKey.SKILLS, new ArrayList<>(storedSkills));
+    Response response = new Response();
+    response.put(JsonKey.RESPONSE, Collections.singletonList(row));
+    return response;
+  }
+
+  private <T> T getInternalState(String field) {
+    return Whitebox.getInternalState(MasterSkillSet.class, field);
+  }
+}
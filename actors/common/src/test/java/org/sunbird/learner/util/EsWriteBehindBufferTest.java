@@ -0,0 +1,288 @@
+package org.sunbird.learner.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.sunbird.common.models.util.JsonKey;
+
+public class EsWriteBehindBufferTest {
+
+  private static final String INDEX = "searchindex";
+  private static final String TYPE = "user";
+
+  private FakeEsWriter writer;
+  private EsWriteBehindBuffer buffer;
+
+  @Before
+  public void beforeEachTest() {
+    writer = new FakeEsWriter();
+    buffer = new EsWriteBehindBuffer(writer, 2, 3, 10);
+  }
+
+  @Test
+  public void testFlushIndexesDocumentsInBulkSuccess() {
+    for (int i = 0; i < 3; i++) {
+      buffer.index(INDEX, TYPE, "id" + i, document("name", "user" + i));
+    }
+    assertEquals(3, buffer.getPendingCount());
+
+    buffer.flush();
+
+    assertEquals(0, buffer.getPendingCount());
+    assertEquals(2, writer.bulkRequests.size());
+    assertEquals(3, writer.indexed.size());
+    assertEquals("user1", writer.indexed.get("id1").get("name"));
+    assertEquals("id1", writer.indexed.get("id1").get(JsonKey.ID));
+    assertEquals(3L, buffer.getMetrics().get("written"));
+  }
+
+  @Test
+  public void testFlushCoalescesPartialUpdatesSuccess() {
+    buffer.update(INDEX, TYPE, "id1", document("name", "user1"));
+    buffer.update(INDEX, TYPE, "id1", document("phone", "9999888898"));
+    buffer.update(INDEX, TYPE, "id1", document("name", "user2"));
+
+    buffer.flush();
+
+    assertEquals(1, writer.updates.size());
+    Map<String, Object> fields = writer.updates.get(0);
+    assertEquals("user2", fields.get("name"));
+    assertEquals("9999888898", fields.get("phone"));
+    assertEquals(1, writer.bulkRequests.size());
+    assertEquals(2L, buffer.getMetrics().get("coalesced"));
+  }
+
+  @Test
+  public void testFlushWritesPartialUpdatesAndDocumentsInOneBulkSuccess() {
+    buffer.index(INDEX, TYPE, "id1", document("name", "user1"));
+    buffer.update(INDEX, TYPE, "id2", document("phone", "9999888898"));
+
+    buffer.flush();
+
+    assertEquals(1, writer.bulkRequests.size());
+    assertEquals(2, writer.bulkRequests.get(0).size());
+    assertEquals("user1", writer.indexed.get("id1").get("name"));
+    assertEquals(1, writer.updates.size());
+    assertEquals(0, writer.upserts);
+    assertEquals(2L, buffer.getMetrics().get("written"));
+  }
+
+  @Test
+  public void testFlushCoalescesUpdateIntoIndexedDocumentSuccess() {
+    buffer.index(INDEX, TYPE, "id1", document("name", "user1"));
+    buffer.update(INDEX, TYPE, "id1", document("phone", "9999888898"));
+
+    buffer.flush();
+
+    assertTrue(writer.updates.isEmpty());
+    assertEquals(1, writer.bulkRequests.size());
+    Map<String, Object> indexed = writer.indexed.get("id1");
+    assertEquals("user1", indexed.get("name"));
+    assertEquals("9999888898", indexed.get("phone"));
+  }
+
+  @Test
+  public void testFlushCoalescesUpsertFragmentsSuccess() {
+    int[] loads = new int[1];
+    buffer.upsert(INDEX, TYPE, "id1", () -> document("name", "user1"));
+    buffer.upsert(
+        INDEX,
+        TYPE,
+        "id1",
+        () -> {
+          loads[0]++;
+          return document("organisations", new ArrayList<>());
+        });
+    buffer.update(INDEX, TYPE, "id1", document("phone", "9999888898"));
+    assertEquals(0, loads[0]);
+
+    buffer.flush();
+
+    assertEquals(1, loads[0]);
+    assertEquals(1, writer.upserts);
+    assertEquals(1, writer.updates.size());
+    Map<String, Object> fields = writer.updates.get(0);
+    assertEquals("user1", fields.get("name"));
+    assertTrue(fields.containsKey("organisations"));
+    assertEquals("9999888898", fields.get("phone"));
+  }
+
+  @Test
+  public void testFlushCreatesMissingDocumentFromUpsertAndModificationSuccess() {
+    buffer.upsert(INDEX, TYPE, "id1", () -> document("name", "user1"));
+    buffer.modify(INDEX, TYPE, "id1", doc -> doc.put("skills", Arrays.asList("java")));
+
+    buffer.flush();
+
+    assertEquals(1, writer.reads);
+    Map<String, Object> indexed = writer.indexed.get("id1");
+    assertEquals("user1", indexed.get("name"));
+    assertEquals(Arrays.asList("java"), indexed.get("skills"));
+    assertEquals("id1", indexed.get(JsonKey.ID));
+    assertEquals(0, buffer.getPendingCount());
+  }
+
+  @Test
+  public void testFlushSkipsModificationOfMissingDocumentSuccess() {
+    buffer.update(INDEX, TYPE, "id1", document("name", "user1"));
+    buffer.modify(INDEX, TYPE, "id1", doc -> doc.put("skills", Arrays.asList("java")));
+
+    buffer.flush();
+
+    assertTrue(writer.indexed.isEmpty());
+    assertEquals(0, buffer.getPendingCount());
+  }
+
+  @Test
+  public void testFlushReadsDocumentOnceForModificationsSuccess() {
+    writer.stored.put("id1", document("skills", new ArrayList<>()));
+    buffer.modify(INDEX, TYPE, "id1", doc -> addSkill(doc, "java"));
+    buffer.modify(INDEX, TYPE, "id1", doc -> addSkill(doc, "scala"));
+
+    buffer.flush();
+
+    assertEquals(1, writer.reads);
+    List<String> skills = getSkills(writer.indexed.get("id1"));
+    assertEquals(2, skills.size());
+    assertEquals("java", skills.get(0));
+    assertEquals("scala", skills.get(1));
+  }
+
+  @Test
+  public void testFlushRetriesOnlyFailedBulkItemsSuccess() {
+    buffer.index(INDEX, TYPE, "id1", document("name", "user1"));
+    buffer.index(INDEX, TYPE, "id2", document("name", "user2"));
+    writer.failingIds.add("id2");
+
+    buffer.flush();
+
+    assertEquals(1, buffer.getPendingCount());
+    assertEquals(1, writer.indexed.size());
+
+    writer.failingIds.clear();
+    buffer.update(INDEX, TYPE, "id2", document("phone", "9999888898"));
+    buffer.flush();
+
+    assertEquals(0, buffer.getPendingCount());
+    assertEquals("user2", writer.indexed.get("id2").get("name"));
+    assertEquals("9999888898", writer.indexed.get("id2").get("phone"));
+    assertEquals(1L, buffer.getMetrics().get("retried"));
+  }
+
+  @Test
+  public void testFlushDropsWriteAfterMaxAttemptsFailure() {
+    writer.failingIds.add("id1");
+    buffer.index(INDEX, TYPE, "id1", document("name", "user1"));
+
+    buffer.flush();
+    buffer.flush();
+    assertEquals(1, buffer.getPendingCount());
+    buffer.flush();
+
+    assertEquals(0, buffer.getPendingCount());
+    assertEquals(3, writer.bulkRequests.size());
+    assertEquals(1L, buffer.getMetrics().get("dropped"));
+  }
+
+  @Test
+  public void testFlushRetriesFailedPartialUpdateSuccess() {
+    writer.failUpdates = true;
+    buffer.upsert(INDEX, TYPE, "id1", () -> document("name", "user1"));
+
+    buffer.flush();
+    assertEquals(1, buffer.getPendingCount());
+
+    writer.failUpdates = false;
+    buffer.flush();
+
+    assertEquals(0, buffer.getPendingCount());
+    assertEquals(2, writer.updates.size());
+    assertEquals(1L, buffer.getMetrics().get("written"));
+  }
+
+  @Test
+  public void testWriteIsSynchronousWhenQueueIsFullSuccess() {
+    for (int i = 0; i < 10; i++) {
+      buffer.index(INDEX, TYPE, "id" + i, document("name", "user" + i));
+    }
+    assertTrue(writer.indexed.isEmpty());
+
+    buffer.index(INDEX, TYPE, "id10", document("name", "user10"));
+    buffer.update(INDEX, TYPE, "id1", document("phone", "9999888898"));
+
+    assertEquals(10, buffer.getPendingCount());
+    assertEquals(1, writer.indexed.size());
+    assertEquals("user10", writer.indexed.get("id10").get("name"));
+    assertEquals(1L, buffer.getMetrics().get("synchronous"));
+    assertEquals(1L, buffer.getMetrics().get("coalesced"));
+  }
+
+  private static Map<String, Object> document(String field, Object value) {
+    Map<String, Object> document = new HashMap<>();
+    document.put(field, value);
+    return document;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<String> getSkills(Map<String, Object> document) {
+    return (List<String>) document.get("skills");
+  }
+
+  private static void addSkill(Map<String, Object> document, String skill) {
+    List<String> skills = new ArrayList<>(getSkills(document));
+    skills.add(skill);
+    document.put("skills", skills);
+  }
+
+  /** Keeps written documents in memory, failing writes of configured documents. */
+  private static class FakeEsWriter implements EsWriter {
+
+    private final Map<String, Map<String, Object>> stored = new HashMap<>();
+    private final Map<String, Map<String, Object>> indexed = new HashMap<>();
+    private final List<Map<String, Map<String, Object>>> bulkRequests = new ArrayList<>();
+    private final List<Map<String, Object>> updates = new ArrayList<>();
+    private final Set<String> failingIds = new HashSet<>();
+    private boolean failUpdates;
+    private int reads;
+    private int upserts;
+
+    @Override
+    public Set<String> bulkWrite(String index, String type, List<BulkWrite> writes) {
+      Map<String, Map<String, Object>> documentsById = new HashMap<>();
+      Set<String> failedIds = new HashSet<>();
+      for (BulkWrite write : writes) {
+        documentsById.put(write.id, write.source);
+        if (write.partial) {
+          updates.add(write.source);
+          if (write.upsert) {
+            upserts++;
+          }
+          if (failUpdates) {
+            failedIds.add(write.id);
+          }
+        } else if (failingIds.contains(write.id)) {
+          failedIds.add(write.id);
+        } else {
+          indexed.put(write.id, write.source);
+        }
+      }
+      bulkRequests.add(documentsById);
+      return failedIds;
+    }
+
+    @Override
+    public Map<String, Object> read(String index, String type, String id) {
+      reads++;
+      return stored.get(id);
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package org.sunbird.learner.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.sunbird.common.models.util.JsonKey;
+
+public class NotesCacheTest {
+
+  @Test
+  public void testGetNotesWithoutPutFailure() {
+    assertNull(NotesCache.getNotes("user1", "course1", null));
+  }
+
+  @Test
+  public void testPutNotesMarksUserValidSuccess() {
+    assertFalse(NotesCache.isValidUser("user2"));
+
+    NotesCache.putNotes("user2", null, null, new ArrayList<>());
+
+    assertTrue(NotesCache.isValidUser("user2"));
+    assertTrue(NotesCache.getNotes("user2", null, null).isEmpty());
+    assertNull(NotesCache.getNotes("user2", "course2", null));
+  }
+
+  @Test
+  public void testPutNotesCachesNotesByIdSuccess() {
+    NotesCache.putNotes(
+        "user3", "course3", null, Arrays.asList(note("note3", "user3", "course3", "content3")));
+
+    Map<String, Object> note = NotesCache.getNote("note3");
+    assertEquals("user3", note.get(JsonKey.USER_ID));
+    assertEquals(false, note.get(JsonKey.IS_DELETED));
+  }
+
+  @Test
+  public void testGetNotesReturnsCopySuccess() {
+    NotesCache.putNotes(
+        "user4", null, null, Arrays.asList(note("note4", "user4", "course4", "content4")));
+
+    NotesCache.getNotes("user4", null, null).get(0).put(JsonKey.TITLE, "changed");
+
+    assertEquals("title", NotesCache.getNotes("user4", null, null).get(0).get(JsonKey.TITLE));
+  }
+
+  @Test
+  public void testPutNoteAddsNoteToMatchingListsSuccess() {
+    NotesCache.putNotes("user5", null, null, new ArrayList<>());
+    NotesCache.putNotes("user5", "course5", null, new ArrayList<>());
+    NotesCache.putNotes("user5", "otherCourse", null, new ArrayList<>());
+
+    NotesCache.putNote("user5", note("note5", "user5", "course5", "content5"));
+
+    assertEquals(1, NotesCache.getNotes("user5", null, null).size());
+    assertEquals(1, NotesCache.getNotes("user5", "course5", null).size());
+    assertTrue(NotesCache.getNotes("user5", "otherCourse", null).isEmpty());
+  }
+
+  @Test
+  public void testPutNotePartialUpdateSuccess() {
+    NotesCache.putNotes(
+        "user6", "course6", null, Arrays.asList(note("note6", "user6", "course6", "content6")));
+    Map<String, Object> update = new HashMap<>();
+    update.put(JsonKey.ID, "note6");
+    update.put(JsonKey.TITLE, "updated");
+    update.put(JsonKey.NOTE, null);
+
+    NotesCache.putNote("user6", update);
+
+    List<Map<String, Object>> notes = NotesCache.getNotes("user6", "course6", null);
+    assertEquals(1, notes.size());
+    assertEquals("updated", notes.get(0).get(JsonKey.TITLE));
+    assertEquals("note", notes.get(0).get(JsonKey.NOTE));
+    assertFalse(notes.get(0).containsKey(JsonKey.IS_DELETED));
+  }
+
+  @Test
+  public void testPutNoteDeleteRemovesNoteFromListsSuccess() {
+    NotesCache.putNotes(
+        "user7", null, null, Arrays.asList(note("note7", "user7", "course7", "content7")));
+    Map<String, Object> delete = new HashMap<>();
+    delete.put(JsonKey.ID, "note7");
+    delete.put(JsonKey.IS_DELETED, true);
+
+    NotesCache.putNote("user7", delete);
+
+    assertTrue(NotesCache.getNotes("user7", null, null).isEmpty());
+    assertEquals(true, NotesCache.getNote("note7").get(JsonKey.IS_DELETED));
+  }
+
+  @Test
+  public void testPutNoteOfUnknownScopeInvalidatesListsSuccess() {
+    NotesCache.putNotes("user8", null, null, new ArrayList<>());
+    Map<String, Object> update = new HashMap<>();
+    update.put(JsonKey.ID, "note8");
+    update.put(JsonKey.TITLE, "updated");
+
+    NotesCache.putNote("user8", update);
+
+    assertNull(NotesCache.getNotes("user8", null, null));
+  }
+
+  private static Map<String, Object> note(
+      String id, String userId, String courseId, String contentId) {
+    Map<String, Object> note = new HashMap<>();
+    note.put(JsonKey.ID, id);
+    note.put(JsonKey.USER_ID, userId);
+    note.put(JsonKey.COURSE_ID, courseId);
+    note.put(JsonKey.CONTENT_ID, contentId);
+    note.put(JsonKey.TITLE, "title");
+    note.put(JsonKey.NOTE, "note");
+    return note;
+  }
+}
@@ -0,0 +1,37 @@
+package org.sunbird.content.dao;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class to provide Data access operation for the content_badge_update table, which keeps badge
+ * updates of content that failed until they are made again.
+ */
+public interface ContentBadgeUpdateDao {
+
+  /**
+   * Method to store a failed badge update of content.
+   *
+   * @param id Badge update id
+   * @param url Content badge API URL
+   * @param body Request body
+   * @param replayCount Number of times the update was made again already
+   * @param failure Reason of the last failure
+   */
+  void insert(String id, String url, String body, int replayCount, String failure);
+
+  /**
+   * Method to read all stored badge updates (id, url, body and replay count).
+   *
+   * @return List of badge updates
+   */
+  List<Map<String, Object>> readAll();
+
+  /**
+   * Method to remove a stored badge update if it is still present.
+   *
+   * @param id Badge update id
+   * @return True if badge update is removed, false if it was removed already
+   */
+  boolean delete(String id);
+}
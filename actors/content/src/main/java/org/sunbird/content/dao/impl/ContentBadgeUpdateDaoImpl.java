@@ -0,0 +1,65 @@
+package org.sunbird.content.dao.impl;
+
+import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.PropertiesCache;
+import org.sunbird.content.dao.ContentBadgeUpdateDao;
+import org.sunbird.helper.CassandraConnectionMngrFactory;
+import org.sunbird.helper.ServiceFactory;
+
+/**
+ * Data access implementation for failed badge updates of content. CassandraOperation has no
+ * conditional writes, so removal is done as a lightweight transaction through the Cassandra
+ * session.
+ */
+public class ContentBadgeUpdateDaoImpl implements ContentBadgeUpdateDao {
+
+  public static final String URL = "url";
+  public static final String BODY = "body";
+  public static final String REPLAY_COUNT = "replaycount";
+  public static final String FAILURE = "failure";
+  private static final String KEYSPACE_NAME = "sunbird";
+  private static final String TABLE_NAME = "content_badge_update";
+
+  private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+
+  @Override
+  public void insert(String id, String url, String body, int replayCount, String failure) {
+    Map<String, Object> update = new HashMap<>();
+    update.put(JsonKey.ID, id);
+    update.put(URL, url);
+    update.put(BODY, body);
+    update.put(REPLAY_COUNT, replayCount);
+    update.put(FAILURE, failure);
+    cassandraOperation.insertRecord(KEYSPACE_NAME, TABLE_NAME, update);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<Map<String, Object>> readAll() {
+    Response response = cassandraOperation.getAllRecords(KEYSPACE_NAME, TABLE_NAME);
+    List<Map<String, Object>> updates = (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    return (updates == null) ? new ArrayList<>() : updates;
+  }
+
+  @Override
+  public boolean delete(String id) {
+    return CassandraConnectionMngrFactory.getObject(
+            PropertiesCache.getInstance().getProperty(JsonKey.SUNBIRD_CASSANDRA_MODE))
+        .getSession(KEYSPACE_NAME)
+        .execute(
+            QueryBuilder.delete()
+                .from(KEYSPACE_NAME, TABLE_NAME)
+                .where(eq(JsonKey.ID, id))
+                .ifExists())
+        .wasApplied();
+  }
+}
@@ -0,0 +1,280 @@
+package org.sunbird.content.service;
+
+import akka.dispatch.Futures;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.util.EntityUtils;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.content.dao.ContentBadgeUpdateDao;
+import org.sunbird.content.dao.impl.ContentBadgeUpdateDaoImpl;
+import org.sunbird.learner.util.Util;
+import scala.concurrent.Future;
+import scala.concurrent.Promise;
+
+/**
+ * Asynchronous client for badge updates of content. Calls are made over a pooled connection and at
+ * most sunbird_content_badge_parallelism calls are in flight, further calls wait in a queue without
+ * blocking the caller.
+ *
+ * <p>A call which fails with an I/O error, a server error or throttling is queued again after a
+ * delay growing exponentially from sunbird_content_badge_retry_delay_ms, at most
+ * sunbird_content_badge_max_retries times.
+ *
+ * <p>A call which still fails after its retries is stored in Cassandra and made again by {@link
+ * #replay(Map)}, which the content badge replay scheduler job triggers every
+ * sunbird_content_badge_replay_interval_ms milliseconds (on one of the nodes), at most
+ * sunbird_content_badge_max_replays times, so a badge update is not lost when the content API is
+ * down for long or the node stops. The returned future completes with the status of the successful
+ * response, or with {@link #STATUS_STORED} once the call is stored, and fails if the call is
+ * rejected.
+ */
+final class ContentBadgeClient {
+
+  /** Status the future completes with when the call failed and is stored to be made again. */
+  static final int STATUS_STORED = HttpStatus.SC_ACCEPTED;
+
+  private static final int MAX_CONNECTIONS =
+      Util.getIntConfigValue("sunbird_content_badge_max_connections", 20);
+  private static final int PARALLELISM =
+      Util.getIntConfigValue("sunbird_content_badge_parallelism", 10);
+  private static final int TIMEOUT_MS =
+      Util.getIntConfigValue("sunbird_content_badge_timeout_ms", 10000);
+  private static final int MAX_RETRIES =
+      Util.getIntConfigValue("sunbird_content_badge_max_retries", 5);
+  private static final int RETRY_DELAY_MS =
+      Util.getIntConfigValue("sunbird_content_badge_retry_delay_ms", 2000);
+  private static final int MAX_REPLAYS =
+      Util.getIntConfigValue("sunbird_content_badge_max_replays", 10);
+
+  private static final CloseableHttpAsyncClient httpClient =
+      HttpAsyncClients.custom()
+          .setMaxConnTotal(MAX_CONNECTIONS)
+          .setMaxConnPerRoute(MAX_CONNECTIONS)
+          .setDefaultRequestConfig(
+              RequestConfig.custom()
+                  .setConnectTimeout(TIMEOUT_MS)
+                  .setConnectionRequestTimeout(TIMEOUT_MS)
+                  .setSocketTimeout(TIMEOUT_MS)
+                  .build())
+          .build();
+
+  private static final Semaphore permits = new Semaphore(PARALLELISM);
+  private static final Queue<BadgeCall> pendingCalls = new ConcurrentLinkedQueue<>();
+  private static final ScheduledExecutorService retryExecutor =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "content-badge-retry");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private static ContentBadgeUpdateDao badgeUpdateDao = new ContentBadgeUpdateDaoImpl();
+
+  static {
+    httpClient.start();
+  }
+
+  private ContentBadgeClient() {}
+
+  /**
+   * Post a badge update of content.
+   *
+   * @param url Content badge API URL
+   * @param body Request body
+   * @param headers Request headers
+   * @return Future of response status
+   */
+  static Future<Integer> post(String url, String body, Map<String, String> headers) {
+    BadgeCall call = new BadgeCall(UUID.randomUUID().toString(), url, body, headers, 0);
+    pendingCalls.add(call);
+    dispatch();
+    return call.promise.future();
+  }
+
+  /**
+   * Make the stored badge updates again. A stored update is removed before it is made, and is
+   * stored again if it still fails.
+   *
+   * @param headers Request headers of the stored badge updates
+   */
+  static void replay(Map<String, String> headers) {
+    try {
+      for (Map<String, Object> update : badgeUpdateDao.readAll()) {
+        String id = (String) update.get(JsonKey.ID);
+        // removed before it is made, so of the nodes replaying it only one makes the call
+        if (!badgeUpdateDao.delete(id)) {
+          continue;
+        }
+        Integer replayCount = (Integer) update.get(ContentBadgeUpdateDaoImpl.REPLAY_COUNT);
+        pendingCalls.add(
+            new BadgeCall(
+                id,
+                (String) update.get(ContentBadgeUpdateDaoImpl.URL),
+                (String) update.get(ContentBadgeUpdateDaoImpl.BODY),
+                headers,
+                (replayCount == null) ? 1 : replayCount + 1));
+      }
+      dispatch();
+    } catch (Exception e) {
+      ProjectLogger.log("ContentBadgeClient:replay: Failed to replay badge updates", e);
+    }
+  }
+
+  private static void dispatch() {
+    while (!pendingCalls.isEmpty() && permits.tryAcquire()) {
+      BadgeCall call = pendingCalls.poll();
+      if (call == null) {
+        permits.release();
+        return;
+      }
+      execute(call);
+    }
+  }
+
+  private static void execute(BadgeCall call) {
+    HttpPost request = new HttpPost(call.url);
+    call.headers.forEach(request::setHeader);
+    request.setEntity(new StringEntity(call.body, ContentType.APPLICATION_JSON));
+    httpClient.execute(
+        request,
+        new FutureCallback<HttpResponse>() {
+          @Override
+          public void completed(HttpResponse response) {
+            try {
+              int status = response.getStatusLine().getStatusCode();
+              String responseBody = EntityUtils.toString(response.getEntity());
+              if (status >= 200 && status < 300) {
+                call.promise.success(status);
+              } else if (status >= 500 || status == 429) {
+                retry(call, "status " + status + ", response " + responseBody);
+              } else {
+                fail(call, "status " + status + ", response " + responseBody);
+              }
+            } catch (Exception e) {
+              retry(call, e.getMessage());
+            } finally {
+              release();
+            }
+          }
+
+          @Override
+          public void failed(Exception e) {
+            retry(call, e.getMessage());
+            release();
+          }
+
+          @Override
+          public void cancelled() {
+            fail(call, "request cancelled");
+            release();
+          }
+        });
+  }
+
+  private static void release() {
+    permits.release();
+    dispatch();
+  }
+
+  private static void retry(BadgeCall call, String reason) {
+    if (call.attempt >= MAX_RETRIES) {
+      store(call, reason);
+      return;
+    }
+    long delay = (long) RETRY_DELAY_MS << call.attempt;
+    call.attempt++;
+    ProjectLogger.log(
+        "ContentBadgeClient:retry: Retrying badge update of "
+            + call.url
+            + " in "
+            + delay
+            + " ms, attempt "
+            + call.attempt
+            + " failed with "
+            + reason,
+        LoggerEnum.INFO.name());
+    retryExecutor.schedule(
+        () -> {
+          pendingCalls.add(call);
+          dispatch();
+        },
+        delay,
+        TimeUnit.MILLISECONDS);
+  }
+
+  private static void store(BadgeCall call, String reason) {
+    if (call.replayCount >= MAX_REPLAYS) {
+      fail(call, reason);
+      return;
+    }
+    try {
+      badgeUpdateDao.insert(call.id, call.url, call.body, call.replayCount, reason);
+    } catch (Exception e) {
+      ProjectLogger.log("ContentBadgeClient:store: Failed to store badge update " + call.id, e);
+      fail(call, reason);
+      return;
+    }
+    ProjectLogger.log(
+        "ContentBadgeClient:store: Badge update of "
+            + call.url
+            + " failed with "
+            + reason
+            + ", stored to be made again",
+        LoggerEnum.INFO.name());
+    call.promise.success(STATUS_STORED);
+  }
+
+  private static void fail(BadgeCall call, String reason) {
+    ProjectLogger.log(
+        "ContentBadgeClient:fail: Badge update of "
+            + call.url
+            + " failed with "
+            + reason
+            + " for request "
+            + call.body,
+        LoggerEnum.ERROR.name());
+    call.promise.failure(
+        new ProjectCommonException(
+            ResponseCode.SERVER_ERROR.getErrorCode(),
+            ResponseCode.SERVER_ERROR.getErrorMessage(),
+            ResponseCode.SERVER_ERROR.getResponseCode()));
+  }
+
+  private static final class BadgeCall {
+    private final String id;
+    private final String url;
+    private final String body;
+    private final Map<String, String> headers;
+    private final int replayCount;
+    private final Promise<Integer> promise = Futures.promise();
+    private int attempt;
+
+    private BadgeCall(
+        String id, String url, String body, Map<String, String> headers, int replayCount) {
+      this.id = id;
+      this.url = url;
+      this.body = body;
+      this.headers = headers;
+      this.replayCount = replayCount;
+    }
+  }
+}
@@ -1,18 +1,22 @@
 package org.sunbird.content.service;
 
+import akka.dispatch.ExecutionContexts;
+import akka.dispatch.Mapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
-import org.sunbird.common.models.util.HttpUtil;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.PropertiesCache;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
+import scala.concurrent.Future;
 
 public class ContentService {
 
@@ -20,6 +24,7 @@ public class ContentService {
   private static ObjectMapper mapper = new ObjectMapper();
   private static Map<String, String> headers = new HashMap<String, String>();
   private static final String BADGE_ASSERTION = "badgeAssertion";
+  private static final String BADGE_UPDATE_STORED = "STORED";
 
   static {
     String authorization = System.getenv(JsonKey.SUNBIRD_AUTHORIZATION);
@@ -32,16 +37,30 @@ public class ContentService {
     headers.put("Content-Type", "application/json");
   }
 
-  public static Response assignBadge(Request request) throws Exception {
+  /** Make the badge updates of content which failed and were stored to be made again. */
+  public static void replayBadgeUpdates() {
+    ContentBadgeClient.replay(headers);
+  }
+
+  public static Future<Response> assignBadge(Request request) {
     return processBadge(request, "ASSIGNBADGE");
   }
 
-  public static Response revokeBadge(Request request) throws Exception {
+  public static Future<Response> revokeBadge(Request request) {
     return processBadge(request, "REVOKEBADGE");
   }
 
+  /**
+   * Validate badge request of content and post the badge update. Invalid requests are rejected
+   * right away, the update itself is made in background (see {@link ContentBadgeClient}).
+   *
+   * @param request Badge request containing content id and badge assertion
+   * @param operation ASSIGNBADGE or REVOKEBADGE
+   * @return Future of response, which is STORED if update failed and will be made again later, and
+   *     failed if content could not be updated
+   */
   @SuppressWarnings("unchecked")
-  private static Response processBadge(Request request, String operation) throws Exception {
+  private static Future<Response> processBadge(Request request, String operation) {
     String id = (String) request.getRequest().get("id");
     Map<String, Object> badge = (Map<String, Object>) request.getRequest().get(BADGE_ASSERTION);
     Map<String, String> props = getProperties(operation);
@@ -58,24 +77,44 @@ public class ContentService {
           ResponseCode.CLIENT_ERROR.getResponseCode());
     }
 
-    String badgeStr = mapper.writeValueAsString(badge);
-    String reqBody =
-        "{\"request\": {\"content\": {\"" + BADGE_ASSERTION + "\": " + badgeStr + "}}}";
+    Map<String, Object> content = new HashMap<>();
+    content.put(BADGE_ASSERTION, badge);
+    Map<String, Object> requestBody = new HashMap<>();
+    requestBody.put(JsonKey.REQUEST, Collections.singletonMap(JsonKey.CONTENT, content));
+    String reqBody;
+    try {
+      reqBody = mapper.writeValueAsString(requestBody);
+    } catch (JsonProcessingException e) {
+      throw new ProjectCommonException(
+          props.get("errCode"),
+          "Please provide valid badge details.",
+          ResponseCode.CLIENT_ERROR.getResponseCode());
+    }
 
     String url = props.get("basePath") + id;
     ProjectLogger.log(
         "Making call to update badge for content: " + url,
         request.getRequest(),
         LoggerEnum.INFO.name());
-    String result = HttpUtil.sendPostRequest(url, reqBody, headers);
-    ProjectLogger.log(
-        "Status for badge processing of content: " + result,
-        request.getRequest(),
-        LoggerEnum.INFO.name());
-    // TODO: Get the response and return msg based on it's value.
-    Response response = new Response();
-    response.put(JsonKey.RESPONSE, JsonKey.SUCCESS);
-    return response;
+    return ContentBadgeClient.post(url, reqBody, headers)
+        .map(
+            new Mapper<Integer, Response>() {
+              @Override
+              public Response apply(Integer status) {
+                ProjectLogger.log(
+                    "Status for badge processing of content: " + status,
+                    request.getRequest(),
+                    LoggerEnum.INFO.name());
+                Response response = new Response();
+                response.put(
+                    JsonKey.RESPONSE,
+                    (status == ContentBadgeClient.STATUS_STORED)
+                        ? BADGE_UPDATE_STORED
+                        : JsonKey.SUCCESS);
+                return response;
+              }
+            },
+            ExecutionContexts.global());
   }
 
   private static Map<String, String> getProperties(String operation) {
@@ -0,0 +1,213 @@
+package org.sunbird.content.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.core.classloader.annotations.SuppressStaticInitializationFor;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.content.dao.ContentBadgeUpdateDao;
+import org.sunbird.content.dao.impl.ContentBadgeUpdateDaoImpl;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.util.Util;
+import scala.concurrent.Await;
+import scala.concurrent.Future;
+import scala.concurrent.duration.Duration;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Util.class, ServiceFactory.class})
+@SuppressStaticInitializationFor("org.sunbird.learner.util.Util")
+@PowerMockIgnore({"javax.management.*", "javax.net.ssl.*", "com.sun.net.httpserver.*"})
+public class ContentBadgeClientTest {
+
+  private static final String BODY = "{\"request\":{\"content\":{}}}";
+  private static final Map<String, String> HEADERS =
+      Collections.singletonMap("Content-Type", "application/json");
+
+  @Mock private ContentBadgeUpdateDao badgeUpdateDao;
+
+  private HttpServer server;
+  private String url;
+  private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+  private final Queue<String> receivedBodies = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger requestCount = new AtomicInteger();
+
+  @Before
+  public void beforeEachTest() throws Exception {
+    MockitoAnnotations.initMocks(this);
+    PowerMockito.mockStatic(ServiceFactory.class);
+    PowerMockito.mockStatic(Util.class);
+    when(Util.getIntConfigValue(anyString(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              String key = (String) invocation.getArguments()[0];
+              if ("sunbird_content_badge_max_retries".equals(key)) {
+                return 2;
+              } else if ("sunbird_content_badge_retry_delay_ms".equals(key)) {
+                return 10;
+              }
+              return invocation.getArguments()[1];
+            });
+    Whitebox.setInternalState(ContentBadgeClient.class, "badgeUpdateDao", badgeUpdateDao);
+
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext(
+        "/badge",
+        exchange -> {
+          requestCount.incrementAndGet();
+          receivedBodies.add(
+              IOUtils.toString(exchange.getRequestBody(), StandardCharsets.UTF_8.name()));
+          Integer status = statuses.poll();
+          byte[] response = "{}".getBytes(StandardCharsets.UTF_8);
+          exchange.sendResponseHeaders((status == null) ? 200 : status, response.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+          }
+        });
+    server.start();
+    url = "http://localhost:" + server.getAddress().getPort() + "/badge";
+  }
+
+  @After
+  public void afterEachTest() {
+    server.stop(0);
+  }
+
+  @Test
+  public void testPostSuccess() throws Exception {
+    assertEquals(200, (int) await(ContentBadgeClient.post(url, BODY, HEADERS)));
+    assertEquals(1, requestCount.get());
+    assertEquals(BODY, receivedBodies.poll());
+  }
+
+  @Test
+  public void testPostRetriedOnServerErrorSuccess() throws Exception {
+    statuses.add(500);
+    statuses.add(429);
+
+    assertEquals(200, (int) await(ContentBadgeClient.post(url, BODY, HEADERS)));
+    assertEquals(3, requestCount.get());
+    verify(badgeUpdateDao, never())
+        .insert(anyString(), anyString(), anyString(), anyInt(), anyString());
+  }
+
+  @Test
+  public void testPostStoredAfterRetriesSuccess() throws Exception {
+    statuses.add(500);
+    statuses.add(500);
+    statuses.add(500);
+
+    assertEquals(
+        ContentBadgeClient.STATUS_STORED, (int) await(ContentBadgeClient.post(url, BODY, HEADERS)));
+    assertEquals(3, requestCount.get());
+    verify(badgeUpdateDao).insert(anyString(), eq(url), eq(BODY), eq(0), anyString());
+  }
+
+  @Test
+  public void testPostRejectedOnClientErrorFailure() throws Exception {
+    statuses.add(400);
+
+    try {
+      await(ContentBadgeClient.post(url, BODY, HEADERS));
+      fail("Badge update rejected by content API should fail");
+    } catch (ProjectCommonException e) {
+      assertEquals(1, requestCount.get());
+    }
+    verify(badgeUpdateDao, never())
+        .insert(anyString(), anyString(), anyString(), anyInt(), anyString());
+  }
+
+  @Test
+  public void testReplayOfStoredUpdateSuccess() {
+    when(badgeUpdateDao.readAll()).thenReturn(Collections.singletonList(storedUpdate("update1")));
+    when(badgeUpdateDao.delete("update1")).thenReturn(true);
+
+    ContentBadgeClient.replay(HEADERS);
+
+    verify(badgeUpdateDao).delete("update1");
+    waitForRequests(1);
+    assertEquals(BODY, receivedBodies.poll());
+  }
+
+  @Test
+  public void testReplayOfFailingUpdateStoredAgainSuccess() {
+    for (int i = 0; i < 3; i++) {
+      statuses.add(503);
+    }
+    when(badgeUpdateDao.readAll()).thenReturn(Collections.singletonList(storedUpdate("update2")));
+    when(badgeUpdateDao.delete("update2")).thenReturn(true);
+
+    ContentBadgeClient.replay(HEADERS);
+
+    verify(badgeUpdateDao, timeout(10000))
+        .insert(eq("update2"), eq(url), eq(BODY), eq(2), anyString());
+  }
+
+  @Test
+  public void testReplayOfUpdateRemovedByAnotherNodeSuccess() throws Exception {
+    when(badgeUpdateDao.readAll()).thenReturn(Collections.singletonList(storedUpdate("update3")));
+    when(badgeUpdateDao.delete("update3")).thenReturn(false);
+
+    ContentBadgeClient.replay(HEADERS);
+
+    TimeUnit.MILLISECONDS.sleep(200);
+    assertEquals(0, requestCount.get());
+  }
+
+  private Map<String, Object> storedUpdate(String id) {
+    Map<String, Object> update = new HashMap<>();
+    update.put(JsonKey.ID, id);
+    update.put(ContentBadgeUpdateDaoImpl.URL, url);
+    update.put(ContentBadgeUpdateDaoImpl.BODY, BODY);
+    update.put(ContentBadgeUpdateDaoImpl.REPLAY_COUNT, 1);
+    return update;
+  }
+
+  private void waitForRequests(int count) {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (requestCount.get() < count && System.currentTimeMillis() < deadline) {
+      try {
+        TimeUnit.MILLISECONDS.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+    assertTrue(requestCount.get() >= count);
+  }
+
+  private static Integer await(Future<Integer> future) throws Exception {
+    return Await.result(future, Duration.create(10, TimeUnit.SECONDS));
+  }
+}
@@ -1,29 +1,203 @@
 package org.sunbird.learner.actors;
 
+import akka.dispatch.ExecutionContexts;
+import akka.dispatch.Futures;
+import akka.pattern.Patterns;
+import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.learner.util.Util;
+import scala.concurrent.Future;
 
-/** @author Mahesh Kumar Gangula */
+/**
+ * Actor to print a thread dump (takeThreadDump) or to sample stacks of all threads for a while
+ * (sampleThreads).
+ *
+ * <p>Sampling captures stacks of all threads every intervalMs milliseconds for durationSeconds
+ * seconds and returns them aggregated as collapsed stacks ("thread;frame;...;frame count", root
+ * frame first, ready for flame graph tools) along with CPU time used by each thread during
+ * sampling and the monitors threads were most often blocked or waiting on. With writeToFile the
+ * collapsed stacks are written to a file in temp directory and its path is returned instead.
+ *
+ * @author Mahesh Kumar Gangula
+ */
 @ActorConfig(
   tasks = {},
-  asyncTasks = {"takeThreadDump"}
+  asyncTasks = {"takeThreadDump", "sampleThreads"}
 )
 public class ThreadDumpActor extends BaseActor {
 
+  private static final int DEFAULT_DURATION_SECONDS = 10;
+  private static final int MAX_DURATION_SECONDS = 300;
+  private static final int DEFAULT_INTERVAL_MS = 50;
+  private static final int MIN_INTERVAL_MS = 10;
+  private static final int DEFAULT_MAX_DEPTH = 64;
+  private static final int TOP_COUNT = 20;
+
+  private static final ExecutorService samplerExecutor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "thread-sampler");
+            thread.setDaemon(true);
+            return thread;
+          });
+
   @Override
   public void onReceive(Request request) throws Throwable {
+    if ("sampleThreads".equalsIgnoreCase(request.getOperation())) {
+      sampleThreads(request);
+      return;
+    }
     takeThreadDump();
     Response response = new Response();
     response.setResponseCode(ResponseCode.success);
     sender().tell(response, self());
   }
 
+  private void sampleThreads(Request request) {
+    Map<String, Object> requestMap = request.getRequest();
+    int durationSeconds =
+        Math.min(
+            Util.getIntValue(requestMap.get("durationSeconds"), DEFAULT_DURATION_SECONDS),
+            MAX_DURATION_SECONDS);
+    int intervalMs =
+        Math.max(
+            Util.getIntValue(requestMap.get("intervalMs"), DEFAULT_INTERVAL_MS), MIN_INTERVAL_MS);
+    int maxDepth = Math.max(Util.getIntValue(requestMap.get("maxDepth"), DEFAULT_MAX_DEPTH), 1);
+    boolean writeToFile = Boolean.TRUE.equals(requestMap.get("writeToFile"));
+    // sampling runs on its own thread, so actor and dispatcher threads are not held meanwhile
+    Future<Response> response =
+        Futures.future(
+            () -> sample(durationSeconds, intervalMs, maxDepth, writeToFile),
+            ExecutionContexts.fromExecutorService(samplerExecutor));
+    Patterns.pipe(response, getContext().dispatcher()).to(sender());
+  }
+
+  private Response sample(int durationSeconds, int intervalMs, int maxDepth, boolean writeToFile)
+      throws IOException, InterruptedException {
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    boolean cpuTimeEnabled =
+        threadMXBean.isThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled();
+    long samplerThreadId = Thread.currentThread().getId();
+    Map<Long, Long> startCpuTimes = cpuTimeEnabled ? getCpuTimes(threadMXBean) : new HashMap<>();
+    Map<Long, String> threadNames = new HashMap<>();
+    Map<String, Integer> stacks = new HashMap<>();
+    Map<String, Integer> monitors = new HashMap<>();
+    StringBuilder stack = new StringBuilder();
+    int samples = 0;
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+    while (System.nanoTime() < deadline) {
+      long sampleStart = System.nanoTime();
+      for (ThreadInfo threadInfo :
+          threadMXBean.getThreadInfo(threadMXBean.getAllThreadIds(), maxDepth)) {
+        if (threadInfo == null || threadInfo.getThreadId() == samplerThreadId) {
+          continue;
+        }
+        threadNames.put(threadInfo.getThreadId(), threadInfo.getThreadName());
+        stack.setLength(0);
+        // thread numbers are dropped so that threads of a pool are aggregated together
+        stack.append(threadInfo.getThreadName().replaceAll("\\d+", "N").replace(';', '_'));
+        StackTraceElement[] frames = threadInfo.getStackTrace();
+        for (int i = frames.length - 1; i >= 0; i--) {
+          stack.append(';').append(frames[i].getClassName()).append('.');
+          stack.append(frames[i].getMethodName());
+        }
+        stacks.merge(stack.toString(), 1, Integer::sum);
+        Thread.State state = threadInfo.getThreadState();
+        if (threadInfo.getLockName() != null
+            && (state == Thread.State.BLOCKED
+                || state == Thread.State.WAITING
+                || state == Thread.State.TIMED_WAITING)) {
+          String monitor = state + " on " + threadInfo.getLockName();
+          if (threadInfo.getLockOwnerName() != null) {
+            monitor += " owned by " + threadInfo.getLockOwnerName();
+          }
+          monitors.merge(monitor, 1, Integer::sum);
+        }
+      }
+      samples++;
+      long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sampleStart);
+      Thread.sleep(Math.max(intervalMs - elapsedMs, 0));
+    }
+
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("samples", samples);
+    result.put("intervalMs", intervalMs);
+    List<String> collapsedStacks = new ArrayList<>(stacks.size());
+    getTop(stacks, stacks.size())
+        .forEach(entry -> collapsedStacks.add(entry.getKey() + " " + entry.getValue()));
+    if (writeToFile) {
+      Path file =
+          Files.createTempFile("thread-samples-" + System.currentTimeMillis(), ".collapsed");
+      Files.write(file, collapsedStacks, StandardCharsets.UTF_8);
+      result.put("file", file.toString());
+    } else {
+      result.put("collapsedStacks", collapsedStacks);
+    }
+    if (cpuTimeEnabled) {
+      Map<String, Long> cpuTimeMs = new HashMap<>();
+      getCpuTimes(threadMXBean)
+          .forEach(
+              (threadId, cpuTime) -> {
+                String threadName = threadNames.get(threadId);
+                long startCpuTime = startCpuTimes.getOrDefault(threadId, 0L);
+                if (threadName != null && cpuTime > startCpuTime) {
+                  cpuTimeMs.merge(
+                      threadName + " (" + threadId + ")",
+                      TimeUnit.NANOSECONDS.toMillis(cpuTime - startCpuTime),
+                      Long::sum);
+                }
+              });
+      result.put("threadCpuTimeMs", toMap(getTop(cpuTimeMs, TOP_COUNT)));
+    }
+    result.put("topMonitors", toMap(getTop(monitors, TOP_COUNT)));
+    Response response = new Response();
+    response.put(JsonKey.RESPONSE, result);
+    return response;
+  }
+
+  private Map<Long, Long> getCpuTimes(ThreadMXBean threadMXBean) {
+    Map<Long, Long> cpuTimes = new HashMap<>();
+    for (long threadId : threadMXBean.getAllThreadIds()) {
+      long cpuTime = threadMXBean.getThreadCpuTime(threadId);
+      if (cpuTime >= 0) {
+        cpuTimes.put(threadId, cpuTime);
+      }
+    }
+    return cpuTimes;
+  }
+
+  private <V extends Comparable<V>> List<Map.Entry<String, V>> getTop(
+      Map<String, V> counts, int limit) {
+    List<Map.Entry<String, V>> entries = new ArrayList<>(counts.entrySet());
+    entries.sort(Map.Entry.<String, V>comparingByValue().reversed());
+    return entries.subList(0, Math.min(limit, entries.size()));
+  }
+
+  private <V> Map<String, V> toMap(List<Map.Entry<String, V>> entries) {
+    Map<String, V> map = new LinkedHashMap<>();
+    entries.forEach(entry -> map.put(entry.getKey(), entry.getValue()));
+    return map;
+  }
+
   private void takeThreadDump() {
     final StringBuilder dump = new StringBuilder();
     final StringBuilder details = new StringBuilder();
@@ -6,18 +6,18 @@ import java.util.List;
 import java.util.Map;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.common.models.util.GeoLocationJsonKey;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.PropertiesCache;
 import org.sunbird.common.request.Request;
 import org.sunbird.dto.SearchDTO;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.telemetry.util.TelemetryLmaxWriter;
 import org.sunbird.telemetry.util.TelemetryUtil;
 
 /** @author Amit Kumar */
-public abstract class BaseLocationActor extends BaseActor {
+public abstract class BaseLocationActor extends InstrumentedActor {
 
   public void generateTelemetryForLocation(
       String targetObjId, Map<String, Object> data, String operation) {
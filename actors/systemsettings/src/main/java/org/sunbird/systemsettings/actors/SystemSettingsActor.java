@@ -3,7 +3,6 @@ package org.sunbird.systemsettings.actors;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.text.MessageFormat;
 import java.util.*;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.actorutil.user.UserClient;
 import org.sunbird.actorutil.user.impl.UserClientImpl;
@@ -15,15 +14,17 @@ import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.systemsetting.SystemSetting;
 import org.sunbird.systemsettings.dao.impl.SystemSettingDaoImpl;
+import org.sunbird.systemsettings.util.SystemSettingsCache;
 
 @ActorConfig(
   tasks = {"getSystemSetting", "getAllSystemSettings", "setSystemSetting"},
   asyncTasks = {}
 )
-public class SystemSettingsActor extends BaseActor {
+public class SystemSettingsActor extends InstrumentedActor {
   private final ObjectMapper mapper = new ObjectMapper();
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private UserClient userClient = new UserClientImpl();
@@ -58,7 +59,8 @@ public class SystemSettingsActor extends BaseActor {
         "SystemSettingsActor:getSystemSetting: request is " + actorMessage.getRequest(),
         LoggerEnum.INFO.name());
     SystemSetting setting =
-        systemSettingDaoImpl.readByField((String) actorMessage.getContext().get(JsonKey.FIELD));
+        SystemSettingsCache.getByField(
+            systemSettingDaoImpl, (String) actorMessage.getContext().get(JsonKey.FIELD));
 
     if (setting == null) {
       throw new ProjectCommonException(
@@ -75,7 +77,7 @@ public class SystemSettingsActor extends BaseActor {
   @SuppressWarnings("unchecked")
   private void getAllSystemSettings() {
     ProjectLogger.log("SystemSettingsActor: getAllSystemSettings called", LoggerEnum.DEBUG.name());
-    List<SystemSetting> allSystemSettings = systemSettingDaoImpl.readAll();
+    List<SystemSetting> allSystemSettings = SystemSettingsCache.getAll(systemSettingDaoImpl);
     Response response = new Response();
     response.put(JsonKey.RESPONSE, allSystemSettings);
     sender().tell(response, self());
@@ -98,6 +100,7 @@ public class SystemSettingsActor extends BaseActor {
 
     SystemSetting systemSetting = mapper.convertValue(request, SystemSetting.class);
     Response response = systemSettingDaoImpl.write(systemSetting);
+    SystemSettingsCache.put(systemSetting);
     sender().tell(response, self());
   }
 }
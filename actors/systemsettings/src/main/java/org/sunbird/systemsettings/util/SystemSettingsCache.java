@@ -0,0 +1,115 @@
+package org.sunbird.systemsettings.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.learner.util.ExecutorManager;
+import org.sunbird.learner.util.Util;
+import org.sunbird.models.systemsetting.SystemSetting;
+import org.sunbird.systemsettings.dao.SystemSettingDao;
+
+/**
+ * In memory copy of system settings, keyed by field name. Once all settings are loaded, reads are
+ * served from memory and a field which is not in the copy is reported as not found without
+ * reading the store.
+ *
+ * <p>Settings written on this node are applied to the copy as they are written. Settings written
+ * on other nodes are picked up by reloading all settings every
+ * sunbird_system_settings_refresh_interval seconds, so all nodes converge within that interval.
+ */
+public final class SystemSettingsCache {
+
+  private static final int REFRESH_INTERVAL_SECONDS =
+      Util.getIntConfigValue("sunbird_system_settings_refresh_interval", 10);
+
+  private static final AtomicBoolean refreshScheduled = new AtomicBoolean();
+  private static volatile Map<String, SystemSetting> settingsByField = Collections.emptyMap();
+  private static volatile boolean loaded;
+
+  private SystemSettingsCache() {}
+
+  /**
+   * Get system setting of given field.
+   *
+   * @param dao System setting DAO used to load settings not loaded yet
+   * @param field System setting field name
+   * @return System setting information, null if setting is not found
+   */
+  public static SystemSetting getByField(SystemSettingDao dao, String field) {
+    if (StringUtils.isBlank(field)) {
+      return dao.readByField(field);
+    }
+    load(dao);
+    SystemSetting setting = settingsByField.get(field);
+    if (setting == null && !loaded) {
+      setting = dao.readByField(field);
+      if (setting != null) {
+        put(setting);
+      }
+    }
+    return setting;
+  }
+
+  /**
+   * Get all system settings.
+   *
+   * @param dao System setting DAO used to load settings not loaded yet
+   * @return List of system settings
+   */
+  public static List<SystemSetting> getAll(SystemSettingDao dao) {
+    load(dao);
+    if (!loaded) {
+      return dao.readAll();
+    }
+    return new ArrayList<>(settingsByField.values());
+  }
+
+  /**
+   * Apply a setting written to the store to the in memory copy.
+   *
+   * @param setting System setting information
+   */
+  public static synchronized void put(SystemSetting setting) {
+    if (setting == null || StringUtils.isBlank(setting.getField())) {
+      return;
+    }
+    Map<String, SystemSetting> settings = new HashMap<>(settingsByField);
+    settings.put(setting.getField(), setting);
+    settingsByField = settings;
+  }
+
+  private static void load(SystemSettingDao dao) {
+    if (!loaded) {
+      refresh(dao);
+    }
+    if (refreshScheduled.compareAndSet(false, true)) {
+      ExecutorManager.getExecutorService()
+          .scheduleWithFixedDelay(
+              () -> refresh(dao),
+              REFRESH_INTERVAL_SECONDS,
+              REFRESH_INTERVAL_SECONDS,
+              TimeUnit.SECONDS);
+    }
+  }
+
+  private static synchronized void refresh(SystemSettingDao dao) {
+    try {
+      Map<String, SystemSetting> settings = new HashMap<>();
+      for (SystemSetting setting : dao.readAll()) {
+        if (setting != null && StringUtils.isNotBlank(setting.getField())) {
+          settings.put(setting.getField(), setting);
+        }
+      }
+      settingsByField = settings;
+      loaded = true;
+    } catch (Exception e) {
+      ProjectLogger.log("SystemSettingsCache:refresh: Failed to read system settings", e);
+    }
+  }
+}
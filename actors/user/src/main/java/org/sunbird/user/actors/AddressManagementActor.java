@@ -6,7 +6,6 @@ import java.util.Map;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
@@ -15,6 +14,7 @@ import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.models.util.datasecurity.EncryptionService;
 import org.sunbird.common.request.Request;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.user.dao.AddressDao;
 import org.sunbird.user.dao.impl.AddressDaoImpl;
 
@@ -22,7 +22,7 @@ import org.sunbird.user.dao.impl.AddressDaoImpl;
   tasks = {"insertUserAddress", "updateUserAddress"},
   asyncTasks = {"insertUserAddress", "updateUserAddress"}
 )
-public class AddressManagementActor extends BaseActor {
+public class AddressManagementActor extends InstrumentedActor {
 
   private EncryptionService encryptionService =
       org.sunbird.common.models.util.datasecurity.impl.ServiceFactory.getEncryptionServiceInstance(
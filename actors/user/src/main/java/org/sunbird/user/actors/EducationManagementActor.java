@@ -7,7 +7,6 @@ import java.util.Map;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
@@ -15,6 +14,7 @@ import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.Request;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.user.dao.AddressDao;
 import org.sunbird.user.dao.EducationDao;
 import org.sunbird.user.dao.impl.AddressDaoImpl;
@@ -24,7 +24,7 @@ import org.sunbird.user.dao.impl.EducationDaoImpl;
   tasks = {"insertUserEducation", "updateUserEducation"},
   asyncTasks = {"insertUserEducation", "updateUserEducation"}
 )
-public class EducationManagementActor extends BaseActor {
+public class EducationManagementActor extends InstrumentedActor {
 
   private EducationDao educationDao = EducationDaoImpl.getInstance();
   private AddressDao addressDao = AddressDaoImpl.getInstance();
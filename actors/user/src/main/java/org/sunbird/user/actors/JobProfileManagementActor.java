@@ -6,7 +6,6 @@ import java.util.Map;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
@@ -14,6 +13,7 @@ import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.Request;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.user.dao.AddressDao;
 import org.sunbird.user.dao.JobProfileDao;
 import org.sunbird.user.dao.impl.AddressDaoImpl;
@@ -23,7 +23,7 @@ import org.sunbird.user.dao.impl.JobProfileDaoImpl;
   tasks = {"insertUserJobProfile", "updateUserJobProfile"},
   asyncTasks = {"insertUserJobProfile", "updateUserJobProfile"}
 )
-public class JobProfileManagementActor extends BaseActor {
+public class JobProfileManagementActor extends InstrumentedActor {
 
   private AddressDao addressDao = AddressDaoImpl.getInstance();
   private JobProfileDao jobProfileDao = JobProfileDaoImpl.getInstance();
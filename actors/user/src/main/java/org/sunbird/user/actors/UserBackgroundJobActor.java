@@ -5,9 +5,7 @@ import java.util.HashMap;
 import java.util.Map;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
-import org.sunbird.common.ElasticSearchUtil;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
@@ -15,6 +13,8 @@ import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.Request;
 import org.sunbird.extension.user.UserExtension;
 import org.sunbird.extension.user.impl.UserProviderRegistryImpl;
+import org.sunbird.learner.actors.InstrumentedActor;
+import org.sunbird.learner.util.EsWriteBehindQueue;
 import org.sunbird.models.user.User;
 import org.sunbird.user.util.UserUtil;
 
@@ -34,7 +34,7 @@ import org.sunbird.user.util.UserUtil;
     "upsertUserOrgDetailsToES"
   }
 )
-public class UserBackgroundJobActor extends BaseActor {
+public class UserBackgroundJobActor extends InstrumentedActor {
 
   private static ObjectMapper mapper = new ObjectMapper();
 
@@ -65,16 +65,19 @@ public class UserBackgroundJobActor extends BaseActor {
   }
 
   private void saveUserOrgDetailsToES(Map<String, Object> userDetails) {
-    Map<String, Object> userOrgMap = new HashMap<>();
-    userOrgMap.put(JsonKey.ID, userDetails.get(JsonKey.ID));
-    userOrgMap.put(
-        JsonKey.ORGANISATIONS, UserUtil.getUserOrgDetails((String) userDetails.get(JsonKey.ID)));
     ProjectLogger.log("Updating saveUserOrgDetailsToES");
-    upsertDataToElastic(
+    String userId = (String) userDetails.get(JsonKey.ID);
+    // user orgs are read once the fragments of user document are collected
+    EsWriteBehindQueue.upsert(
         ProjectUtil.EsIndex.sunbird.getIndexName(),
         ProjectUtil.EsType.user.getTypeName(),
-        (String) userDetails.get(JsonKey.ID),
-        userOrgMap);
+        userId,
+        () -> {
+          Map<String, Object> userOrgMap = new HashMap<>();
+          userOrgMap.put(JsonKey.ID, userId);
+          userOrgMap.put(JsonKey.ORGANISATIONS, UserUtil.getUserOrgDetails(userId));
+          return userOrgMap;
+        });
   }
 
   private void saveUserJobProfileToES(Map<String, Object> userDetails) {
@@ -126,12 +129,15 @@ public class UserBackgroundJobActor extends BaseActor {
         userDetails);
   }
 
+  /**
+   * Queue fragment of user document. Fragments of a user queued within the write behind window are
+   * merged and written with a single upsert.
+   */
   private void upsertDataToElastic(
       String indexName, String typeName, String id, Map<String, Object> userDetails) {
-    Boolean bool = ElasticSearchUtil.upsertData(indexName, typeName, id, userDetails);
+    EsWriteBehindQueue.upsert(indexName, typeName, id, userDetails);
     ProjectLogger.log(
-        "Getting ES save response for type , identifier==" + typeName + "  " + id + "  " + bool,
-        LoggerEnum.INFO.name());
+        "Queued ES upsert for type , identifier==" + typeName + "  " + id, LoggerEnum.INFO.name());
   }
 
   private static Map<String, Object> getUserDetailsFromRegistry(Map<String, Object> userMap) {
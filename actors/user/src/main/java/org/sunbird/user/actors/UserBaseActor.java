@@ -5,10 +5,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.common.models.util.ActorOperations;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.request.UserRequestValidator;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.services.sso.SSOManager;
 import org.sunbird.services.sso.SSOServiceFactory;
 import org.sunbird.telemetry.util.TelemetryUtil;
@@ -17,7 +17,7 @@ import org.sunbird.user.dao.impl.UserDaoImpl;
 import org.sunbird.user.service.UserService;
 import org.sunbird.user.service.impl.UserServiceImpl;
 
-public abstract class UserBaseActor extends BaseActor {
+public abstract class UserBaseActor extends InstrumentedActor {
 
   private UserRequestValidator userRequestValidator = new UserRequestValidator();
   private ActorRef systemSettingActorRef;
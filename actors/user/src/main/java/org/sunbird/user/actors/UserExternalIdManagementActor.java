@@ -10,7 +10,6 @@ import java.util.Optional;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.exception.ProjectCommonException;
@@ -21,6 +20,7 @@ import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.Util;
 import org.sunbird.user.util.UserActorOperations;
 
@@ -28,7 +28,7 @@ import org.sunbird.user.util.UserActorOperations;
   tasks = {"upsertUserExternalIdentityDetails"},
   asyncTasks = {"upsertUserExternalIdentityDetails"}
 )
-public class UserExternalIdManagementActor extends BaseActor {
+public class UserExternalIdManagementActor extends InstrumentedActor {
 
   private static CassandraOperation cassandraOperation = ServiceFactory.getInstance();
 
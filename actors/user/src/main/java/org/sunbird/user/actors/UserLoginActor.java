@@ -3,11 +3,10 @@ package org.sunbird.user.actors;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.JsonKey;
-import org.sunbird.common.models.util.ProjectLogger;
-import org.sunbird.common.models.util.PropertiesCache;
 import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
 import org.sunbird.learner.util.Util;
+import org.sunbird.user.util.LoginTimeRecorder;
 
 @ActorConfig(
   tasks = {"userCurrentLogin"},
@@ -29,7 +28,8 @@ public class UserLoginActor extends UserBaseActor {
   }
 
   /**
-   * Updates user's current login time in Keycloak.
+   * Updates user's current login time in Keycloak. Login is recorded and written in background by
+   * {@link LoginTimeRecorder}.
    *
    * @param actorMessage Request containing user ID.
    */
@@ -38,10 +38,6 @@ public class UserLoginActor extends UserBaseActor {
     Response response = new Response();
     response.put(JsonKey.RESPONSE, JsonKey.SUCCESS);
     sender().tell(response, self());
-    if (Boolean.parseBoolean(PropertiesCache.getInstance().getProperty(JsonKey.IS_SSO_ENABLED))) {
-      boolean loginTimeResponse = getSSOManager().addUserLoginTime(userId);
-      ProjectLogger.log(
-          "UserLoginActor:updateUserLoginTime: keycloak response = " + loginTimeResponse);
-    }
+    LoginTimeRecorder.record(userId);
   }
 }
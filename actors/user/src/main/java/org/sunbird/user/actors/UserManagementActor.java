@@ -9,10 +9,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.actorutil.InterServiceCommunication;
 import org.sunbird.actorutil.InterServiceCommunicationFactory;
@@ -32,10 +30,10 @@ import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.request.UserRequestValidator;
 import org.sunbird.common.responsecode.ResponseCode;
-import org.sunbird.content.util.ContentStoreUtil;
 import org.sunbird.extension.user.UserExtension;
 import org.sunbird.extension.user.impl.UserProviderRegistryImpl;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.DataCacheHandler;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.organisation.Organisation;
@@ -45,6 +43,7 @@ import org.sunbird.services.sso.SSOServiceFactory;
 import org.sunbird.telemetry.util.TelemetryUtil;
 import org.sunbird.user.service.UserService;
 import org.sunbird.user.service.impl.UserServiceImpl;
+import org.sunbird.user.util.FrameworkRegistry;
 import org.sunbird.user.util.UserActorOperations;
 import org.sunbird.user.util.UserUtil;
 
@@ -52,7 +51,7 @@ import org.sunbird.user.util.UserUtil;
   tasks = {"createUser", "updateUser"},
   asyncTasks = {}
 )
-public class UserManagementActor extends BaseActor {
+public class UserManagementActor extends InstrumentedActor {
   private ObjectMapper mapper = new ObjectMapper();
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private SSOManager ssoManager = SSOServiceFactory.getInstance();
@@ -195,10 +194,9 @@ public class UserManagementActor extends BaseActor {
       String hashtagId = (String) rootOrgMap.get(JsonKey.HASHTAGID);
 
       verifyFrameworkId(hashtagId, frameworkIdList);
-      Map<String, List<Map<String, String>>> frameworkCachedValue =
-          getFrameworkDetails(frameworkIdList.get(0));
       ((Map<String, Object>) userRequestMap.get(JsonKey.FRAMEWORK)).remove(JsonKey.ID);
-      userRequestValidator.validateFrameworkCategoryValues(userRequestMap, frameworkCachedValue);
+      FrameworkRegistry.validateCategoryValues(
+          frameworkIdList.get(0), (Map<String, Object>) userRequestMap.get(JsonKey.FRAMEWORK));
       ((Map<String, Object>) userRequestMap.get(JsonKey.FRAMEWORK))
           .put(JsonKey.ID, frameworkIdList);
     }
@@ -440,50 +438,13 @@ public class UserManagementActor extends BaseActor {
     }
   }
 
+  /**
+   * Get terms of supported categories of a framework from {@link FrameworkRegistry}.
+   *
+   * @param frameworkId Framework identifier
+   * @return Map of category code and its terms, null if framework is not found
+   */
   public static Map<String, List<Map<String, String>>> getFrameworkDetails(String frameworkId) {
-    if (DataCacheHandler.getFrameworkCategoriesMap().get(frameworkId) == null) {
-      handleGetFrameworkDetails(frameworkId);
-    }
-    return DataCacheHandler.getFrameworkCategoriesMap().get(frameworkId);
-  }
-
-  @SuppressWarnings("unchecked")
-  private static void handleGetFrameworkDetails(String frameworkId) {
-    Map<String, Object> response = ContentStoreUtil.readFramework(frameworkId);
-    Map<String, List<Map<String, String>>> frameworkCacheMap = new HashMap<>();
-    List<String> supportedfFields = DataCacheHandler.getFrameworkFieldsConfig().get(JsonKey.FIELDS);
-    Map<String, Object> result = (Map<String, Object>) response.get(JsonKey.RESULT);
-    if (MapUtils.isNotEmpty(result)) {
-      Map<String, Object> frameworkDetails = (Map<String, Object>) result.get(JsonKey.FRAMEWORK);
-      if (MapUtils.isNotEmpty(frameworkDetails)) {
-        List<Map<String, Object>> frameworkCategories =
-            (List<Map<String, Object>>) frameworkDetails.get(JsonKey.CATEGORIES);
-        if (CollectionUtils.isNotEmpty(frameworkCategories)) {
-          for (Map<String, Object> frameworkCategoriesValue : frameworkCategories) {
-            String frameworkField = (String) frameworkCategoriesValue.get(JsonKey.CODE);
-            if (supportedfFields.contains(frameworkField)) {
-              List<Map<String, String>> listOfFields = new ArrayList<>();
-              List<Map<String, Object>> frameworkTermList =
-                  (List<Map<String, Object>>) frameworkCategoriesValue.get(JsonKey.TERMS);
-              if (CollectionUtils.isNotEmpty(frameworkTermList)) {
-                for (Map<String, Object> frameworkTerm : frameworkTermList) {
-                  String id = (String) frameworkTerm.get(JsonKey.IDENTIFIER);
-                  String name = (String) frameworkTerm.get(JsonKey.NAME);
-                  Map<String, String> writtenValue = new HashMap<>();
-                  writtenValue.put(JsonKey.ID, id);
-                  writtenValue.put(JsonKey.NAME, name);
-                  listOfFields.add(writtenValue);
-                }
-              }
-              if (StringUtils.isNotBlank(frameworkField)
-                  && CollectionUtils.isNotEmpty(listOfFields))
-                frameworkCacheMap.put(frameworkField, listOfFields);
-            }
-            if (MapUtils.isNotEmpty(frameworkCacheMap))
-              DataCacheHandler.updateFrameworkCategoriesMap(frameworkId, frameworkCacheMap);
-          }
-        }
-      }
-    }
+    return FrameworkRegistry.getCategoryTerms(frameworkId);
   }
 }
@@ -2,11 +2,11 @@ package org.sunbird.user.actors;
 
 import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.util.KeycloakRequiredActionLinkUtil;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.UserUtility;
 import org.sunbird.learner.util.Util;
 import org.sunbird.services.sso.SSOManager;
@@ -17,7 +17,7 @@ import org.sunbird.user.util.UserActorOperations;
   tasks = {},
   asyncTasks = {"processOnBoardingMailAndSms"}
 )
-public class UserOnboardingNotificationActor extends BaseActor {
+public class UserOnboardingNotificationActor extends InstrumentedActor {
 
   private SSOManager ssoManager = SSOServiceFactory.getInstance();
 
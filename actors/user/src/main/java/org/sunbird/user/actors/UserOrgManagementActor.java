@@ -4,19 +4,19 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.Request;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.learner.util.Util;
 
 @ActorConfig(
   tasks = {"insertUserOrgDetails", "updateUserOrgDetails"},
   asyncTasks = {"insertUserOrgDetails", "updateUserOrgDetails"}
 )
-public class UserOrgManagementActor extends BaseActor {
+public class UserOrgManagementActor extends InstrumentedActor {
 
   @Override
   public void onReceive(Request request) throws Throwable {
@@ -9,7 +9,6 @@ import java.util.List;
 import java.util.Map;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.actorutil.InterServiceCommunication;
 import org.sunbird.actorutil.InterServiceCommunicationFactory;
@@ -18,6 +17,7 @@ import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.request.Request;
+import org.sunbird.learner.actors.InstrumentedActor;
 import org.sunbird.user.util.UserActorOperations;
 import scala.concurrent.Future;
 
@@ -25,7 +25,7 @@ import scala.concurrent.Future;
   tasks = {"saveUserAttributes"},
   asyncTasks = {"saveUserAttributes"}
 )
-public class UserProfileUpdateActor extends BaseActor {
+public class UserProfileUpdateActor extends InstrumentedActor {
 
   private static InterServiceCommunication interServiceCommunication =
       InterServiceCommunicationFactory.getInstance();
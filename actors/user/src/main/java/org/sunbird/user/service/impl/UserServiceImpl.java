@@ -30,6 +30,7 @@ import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.util.ChannelRootOrgResolver;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.systemsetting.SystemSetting;
 import org.sunbird.models.user.User;
@@ -204,17 +205,12 @@ public class UserServiceImpl implements UserService {
 
   @Override
   public String getRootOrgIdFromChannel(String channel) {
-
-    Map<String, Object> filters = new HashMap<>();
-    filters.put(JsonKey.IS_ROOT_ORG, true);
-    if (StringUtils.isNotBlank(channel)) {
-      filters.put(JsonKey.CHANNEL, channel);
-    } else {
+    String requestedChannel = channel;
+    if (StringUtils.isBlank(requestedChannel)) {
       // If channel value is not coming in request then read the default channel value provided from
       // ENV.
-      if (StringUtils.isNotBlank(ProjectUtil.getConfigValue(JsonKey.SUNBIRD_DEFAULT_CHANNEL))) {
-        filters.put(JsonKey.CHANNEL, ProjectUtil.getConfigValue(JsonKey.SUNBIRD_DEFAULT_CHANNEL));
-      } else {
+      requestedChannel = ProjectUtil.getConfigValue(JsonKey.SUNBIRD_DEFAULT_CHANNEL);
+      if (StringUtils.isBlank(requestedChannel)) {
         throw new ProjectCommonException(
             ResponseCode.mandatoryParamsMissing.getErrorCode(),
             ProjectUtil.formatMessage(
@@ -222,17 +218,10 @@ public class UserServiceImpl implements UserService {
             ResponseCode.CLIENT_ERROR.getResponseCode());
       }
     }
-    SearchDTO searchDTO = new SearchDTO();
-    searchDTO.getAdditionalProperties().put(JsonKey.FILTERS, filters);
-    Map<String, Object> esResult =
-        ElasticSearchUtil.complexSearch(
-            searchDTO, EsIndex.sunbird.getIndexName(), EsType.organisation.getTypeName());
-    if (MapUtils.isNotEmpty(esResult)
-        && CollectionUtils.isNotEmpty((List) esResult.get(JsonKey.CONTENT))) {
-      Map<String, Object> esContent =
-          ((List<Map<String, Object>>) esResult.get(JsonKey.CONTENT)).get(0);
-      if (null != esContent.get(JsonKey.STATUS)) {
-        int status = (int) esContent.get(JsonKey.STATUS);
+    Map<String, Object> rootOrg = ChannelRootOrgResolver.getRootOrg(requestedChannel);
+    if (MapUtils.isNotEmpty(rootOrg)) {
+      if (null != rootOrg.get(JsonKey.STATUS)) {
+        int status = (int) rootOrg.get(JsonKey.STATUS);
         if (1 != status) {
           ProjectCommonException.throwClientErrorException(
               ResponseCode.errorInactiveOrg,
@@ -245,7 +234,7 @@ public class UserServiceImpl implements UserService {
             ProjectUtil.formatMessage(
                 ResponseCode.errorInactiveOrg.getErrorMessage(), JsonKey.CHANNEL, channel));
       }
-      return (String) esContent.get(JsonKey.ID);
+      return (String) rootOrg.get(JsonKey.ID);
     } else {
       if (StringUtils.isNotBlank(channel)) {
         throw new ProjectCommonException(
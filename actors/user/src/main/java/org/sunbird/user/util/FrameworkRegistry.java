@@ -0,0 +1,189 @@
+package org.sunbird.user.util;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.collections.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.content.util.ContentStoreUtil;
+import org.sunbird.learner.util.DataCacheHandler;
+import org.sunbird.learner.util.Util;
+
+/**
+ * Registry of frameworks used to validate framework details of a user. Terms of the categories
+ * supported in user profile are kept per category as a list (id and name) and as a set of lower
+ * case term names, so a category value is validated with a single lookup.
+ *
+ * <p>A framework is read from content store once no matter how many requests need it at the same
+ * time. Loaded frameworks are refreshed in background every sunbird_framework_cache_ttl seconds
+ * while the old copy keeps being served. A framework which is not found is not cached.
+ */
+public final class FrameworkRegistry {
+
+  private static final int CACHE_TTL_SECONDS =
+      Util.getIntConfigValue("sunbird_framework_cache_ttl", 3600);
+  private static final int CACHE_MAX_SIZE =
+      Util.getIntConfigValue("sunbird_framework_cache_size", 1000);
+
+  private static final ExecutorService refreshExecutor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "framework-registry-refresh");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private static final LoadingCache<String, Optional<Framework>> frameworks =
+      CacheBuilder.newBuilder()
+          .maximumSize(CACHE_MAX_SIZE)
+          .refreshAfterWrite(CACHE_TTL_SECONDS, TimeUnit.SECONDS)
+          .build(
+              CacheLoader.asyncReloading(
+                  new CacheLoader<String, Optional<Framework>>() {
+                    @Override
+                    public Optional<Framework> load(String frameworkId) {
+                      return readFramework(frameworkId);
+                    }
+                  },
+                  refreshExecutor));
+
+  private FrameworkRegistry() {}
+
+  /**
+   * Get terms of supported categories of a framework.
+   *
+   * @param frameworkId Framework identifier
+   * @return Map of category code and its terms (id and name), null if framework is not found
+   */
+  public static Map<String, List<Map<String, String>>> getCategoryTerms(String frameworkId) {
+    Framework framework = getFramework(frameworkId);
+    return (framework == null) ? null : framework.categoryTerms;
+  }
+
+  /**
+   * Validate framework category values of a user against terms of a framework.
+   *
+   * @param frameworkId Framework identifier
+   * @param userFramework Map of category code and list of term names
+   * @throws ProjectCommonException if framework is not found or a value is not a term of the
+   *     category
+   */
+  @SuppressWarnings("unchecked")
+  public static void validateCategoryValues(String frameworkId, Map<String, Object> userFramework) {
+    Framework framework = getFramework(frameworkId);
+    if (framework == null) {
+      throw new ProjectCommonException(
+          ResponseCode.errorNoFrameworkFound.getErrorCode(),
+          ResponseCode.errorNoFrameworkFound.getErrorMessage(),
+          ResponseCode.RESOURCE_NOT_FOUND.getResponseCode());
+    }
+    for (Map.Entry<String, Object> category : userFramework.entrySet()) {
+      if (!(category.getValue() instanceof List)) {
+        continue;
+      }
+      Set<String> termNames =
+          framework.termNames.getOrDefault(category.getKey(), Collections.emptySet());
+      for (Object value : (List<Object>) category.getValue()) {
+        if (!(value instanceof String) || !termNames.contains(((String) value).toLowerCase())) {
+          throw new ProjectCommonException(
+              ResponseCode.invalidParameterValue.getErrorCode(),
+              ProjectUtil.formatMessage(
+                  ResponseCode.invalidParameterValue.getErrorMessage(),
+                  value,
+                  category.getKey()),
+              ResponseCode.CLIENT_ERROR.getResponseCode());
+        }
+      }
+    }
+  }
+
+  private static Framework getFramework(String frameworkId) {
+    if (StringUtils.isBlank(frameworkId)) {
+      return null;
+    }
+    Optional<Framework> framework;
+    try {
+      framework = frameworks.getUnchecked(frameworkId);
+    } catch (UncheckedExecutionException e) {
+      if (e.getCause() instanceof ProjectCommonException) {
+        throw (ProjectCommonException) e.getCause();
+      }
+      throw e;
+    }
+    if (!framework.isPresent()) {
+      // concurrent requests shared the failed read, later requests have to read it again
+      frameworks.invalidate(frameworkId);
+      return null;
+    }
+    return framework.get();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Optional<Framework> readFramework(String frameworkId) {
+    ProjectLogger.log("FrameworkRegistry:readFramework: Reading framework " + frameworkId);
+    Map<String, Object> response = ContentStoreUtil.readFramework(frameworkId);
+    List<String> supportedFields = DataCacheHandler.getFrameworkFieldsConfig().get(JsonKey.FIELDS);
+    Map<String, Object> result =
+        (response == null) ? null : (Map<String, Object>) response.get(JsonKey.RESULT);
+    if (MapUtils.isEmpty(result) || supportedFields == null) {
+      return Optional.empty();
+    }
+    Map<String, Object> frameworkDetails = (Map<String, Object>) result.get(JsonKey.FRAMEWORK);
+    if (MapUtils.isEmpty(frameworkDetails)) {
+      return Optional.empty();
+    }
+    List<Map<String, Object>> categories =
+        (List<Map<String, Object>>) frameworkDetails.get(JsonKey.CATEGORIES);
+    Framework framework = new Framework();
+    if (CollectionUtils.isNotEmpty(categories)) {
+      for (Map<String, Object> category : categories) {
+        String categoryCode = (String) category.get(JsonKey.CODE);
+        List<Map<String, Object>> terms = (List<Map<String, Object>>) category.get(JsonKey.TERMS);
+        if (StringUtils.isBlank(categoryCode)
+            || !supportedFields.contains(categoryCode)
+            || CollectionUtils.isEmpty(terms)) {
+          continue;
+        }
+        List<Map<String, String>> categoryTerms = new ArrayList<>();
+        Set<String> termNames = new HashSet<>();
+        for (Map<String, Object> term : terms) {
+          String name = (String) term.get(JsonKey.NAME);
+          Map<String, String> categoryTerm = new HashMap<>();
+          categoryTerm.put(JsonKey.ID, (String) term.get(JsonKey.IDENTIFIER));
+          categoryTerm.put(JsonKey.NAME, name);
+          categoryTerms.add(categoryTerm);
+          if (name != null) {
+            termNames.add(name.toLowerCase());
+          }
+        }
+        framework.categoryTerms.put(categoryCode, categoryTerms);
+        framework.termNames.put(categoryCode, termNames);
+      }
+    }
+    // framework without any supported category is treated as not found, as before
+    return framework.categoryTerms.isEmpty() ? Optional.empty() : Optional.of(framework);
+  }
+
+  private static final class Framework {
+    private final Map<String, List<Map<String, String>>> categoryTerms = new HashMap<>();
+    private final Map<String, Set<String>> termNames = new HashMap<>();
+  }
+}
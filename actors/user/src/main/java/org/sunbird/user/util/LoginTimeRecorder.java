@@ -0,0 +1,154 @@
+package org.sunbird.user.util;
+
+import com.google.common.util.concurrent.RateLimiter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.PropertiesCache;
+import org.sunbird.learner.util.ActorMetrics;
+import org.sunbird.learner.util.Util;
+import org.sunbird.services.sso.SSOServiceFactory;
+
+/**
+ * Records login time of users in SSO store. Logins are kept per user (latest login time) and
+ * written every sunbird_login_time_flush_interval_ms milliseconds, at most
+ * sunbird_login_time_flush_batch_size users per flush and sunbird_login_time_rate_per_second
+ * writes per second, so a login spike does not turn into a flood of SSO admin calls. Multiple
+ * logins of a user before a flush are written once.
+ *
+ * <p>Users whose write failed with an error are written again in next flush unless they logged in
+ * again meanwhile. Queue depth and flush details are available through {@link #getMetrics()}.
+ */
+public final class LoginTimeRecorder {
+
+  private static final boolean IS_SSO_ENABLED =
+      Boolean.parseBoolean(PropertiesCache.getInstance().getProperty(JsonKey.IS_SSO_ENABLED));
+  private static final int FLUSH_INTERVAL_MS =
+      Util.getIntConfigValue("sunbird_login_time_flush_interval_ms", 1000);
+  private static final int FLUSH_BATCH_SIZE =
+      Util.getIntConfigValue("sunbird_login_time_flush_batch_size", 500);
+  private static final int RATE_PER_SECOND =
+      Util.getIntConfigValue("sunbird_login_time_rate_per_second", 50);
+
+  /** Map of user id and time of latest login not yet written. */
+  private static final Map<String, Long> pendingLogins = new ConcurrentHashMap<>();
+
+  private static final RateLimiter rateLimiter = RateLimiter.create(RATE_PER_SECOND);
+  private static final ScheduledExecutorService flushExecutor =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "login-time-recorder");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private static final AtomicLong recordedCount = new AtomicLong();
+  private static final AtomicLong coalescedCount = new AtomicLong();
+  private static final AtomicLong writtenCount = new AtomicLong();
+  private static final AtomicLong failedCount = new AtomicLong();
+  private static final AtomicLong lastFlushLatencyMs = new AtomicLong();
+  private static final AtomicLong lastFlushSize = new AtomicLong();
+
+  static {
+    ActorMetrics.registerComponent("loginTimeRecorder", LoginTimeRecorder::getMetrics);
+    if (IS_SSO_ENABLED) {
+      flushExecutor.scheduleWithFixedDelay(
+          LoginTimeRecorder::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private LoginTimeRecorder() {}
+
+  /**
+   * Record login of a user. Has no effect if SSO is not enabled.
+   *
+   * @param userId User id
+   */
+  public static void record(String userId) {
+    if (!IS_SSO_ENABLED || userId == null) {
+      return;
+    }
+    recordedCount.incrementAndGet();
+    if (pendingLogins.put(userId, System.currentTimeMillis()) != null) {
+      coalescedCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * Get recorder metrics: pending users (queue depth), lag of oldest pending login, counts of
+   * recorded, coalesced, written and failed logins and details of last flush.
+   *
+   * @return Map of metric name and value
+   */
+  public static Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new LinkedHashMap<>();
+    metrics.put("pending", pendingLogins.size());
+    metrics.put("oldestPendingLagMs", getOldestPendingLagMs());
+    metrics.put("recorded", recordedCount.get());
+    metrics.put("coalesced", coalescedCount.get());
+    metrics.put("written", writtenCount.get());
+    metrics.put("failed", failedCount.get());
+    metrics.put("lastFlushSize", lastFlushSize.get());
+    metrics.put("lastFlushLatencyMs", lastFlushLatencyMs.get());
+    return metrics;
+  }
+
+  private static void flush() {
+    if (pendingLogins.isEmpty()) {
+      return;
+    }
+    long startTime = System.currentTimeMillis();
+    List<String> userIds = new ArrayList<>(FLUSH_BATCH_SIZE);
+    for (String userId : pendingLogins.keySet()) {
+      if (userIds.size() == FLUSH_BATCH_SIZE) {
+        break;
+      }
+      userIds.add(userId);
+    }
+    for (String userId : userIds) {
+      Long loginTime = pendingLogins.remove(userId);
+      if (loginTime == null) {
+        continue;
+      }
+      rateLimiter.acquire();
+      try {
+        boolean written = SSOServiceFactory.getInstance().addUserLoginTime(userId);
+        if (written) {
+          writtenCount.incrementAndGet();
+        } else {
+          failedCount.incrementAndGet();
+          ProjectLogger.log(
+              "LoginTimeRecorder:flush: Login time not updated for user " + userId,
+              LoggerEnum.INFO.name());
+        }
+      } catch (Exception e) {
+        failedCount.incrementAndGet();
+        pendingLogins.putIfAbsent(userId, loginTime);
+        ProjectLogger.log(
+            "LoginTimeRecorder:flush: Failed to update login time for user " + userId, e);
+      }
+    }
+    lastFlushSize.set(userIds.size());
+    lastFlushLatencyMs.set(System.currentTimeMillis() - startTime);
+    ProjectLogger.log(
+        "LoginTimeRecorder:flush: metrics = " + getMetrics(), LoggerEnum.DEBUG.name());
+  }
+
+  private static long getOldestPendingLagMs() {
+    long now = System.currentTimeMillis();
+    long lag = 0;
+    for (Long loginTime : pendingLogins.values()) {
+      lag = Math.max(lag, now - loginTime);
+    }
+    return lag;
+  }
+}
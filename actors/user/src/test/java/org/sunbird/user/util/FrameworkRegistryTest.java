@@ -0,0 +1,154 @@
+package org.sunbird.user.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.content.util.ContentStoreUtil;
+import org.sunbird.learner.util.DataCacheHandler;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ContentStoreUtil.class})
+@PowerMockIgnore({"javax.management.*"})
+public class FrameworkRegistryTest {
+
+  private static final String GRADE_LEVEL = "gradeLevel";
+  private static final String SUBJECT = "subject";
+
+  @Before
+  public void beforeEachTest() {
+    PowerMockito.mockStatic(ContentStoreUtil.class);
+    Map<String, List<String>> frameworkFieldsConfig = new HashMap<>();
+    frameworkFieldsConfig.put(JsonKey.FIELDS, Arrays.asList(GRADE_LEVEL, SUBJECT));
+    DataCacheHandler.setFrameworkFieldsConfig(frameworkFieldsConfig);
+  }
+
+  @Test
+  public void testGetCategoryTermsSuccess() {
+    mockFramework("framework1");
+
+    Map<String, List<Map<String, String>>> categoryTerms =
+        FrameworkRegistry.getCategoryTerms("framework1");
+
+    assertEquals(1, categoryTerms.size());
+    assertEquals(2, categoryTerms.get(GRADE_LEVEL).size());
+    assertEquals("kg", categoryTerms.get(GRADE_LEVEL).get(0).get(JsonKey.ID));
+    assertEquals("KG", categoryTerms.get(GRADE_LEVEL).get(0).get(JsonKey.NAME));
+  }
+
+  @Test
+  public void testGetCategoryTermsReadsFrameworkOnceSuccess() {
+    mockFramework("framework2");
+
+    FrameworkRegistry.getCategoryTerms("framework2");
+    FrameworkRegistry.getCategoryTerms("framework2");
+
+    PowerMockito.verifyStatic(Mockito.times(1));
+    ContentStoreUtil.readFramework("framework2");
+  }
+
+  @Test
+  public void testGetCategoryTermsOfUnknownFrameworkFailure() {
+    when(ContentStoreUtil.readFramework("framework3")).thenReturn(null);
+
+    assertNull(FrameworkRegistry.getCategoryTerms("framework3"));
+    assertNull(FrameworkRegistry.getCategoryTerms("framework3"));
+
+    PowerMockito.verifyStatic(Mockito.times(2));
+    ContentStoreUtil.readFramework("framework3");
+  }
+
+  @Test
+  public void testValidateCategoryValuesIgnoringCaseSuccess() {
+    mockFramework("framework4");
+
+    FrameworkRegistry.validateCategoryValues(
+        "framework4", userFramework(GRADE_LEVEL, "kg", "Class 1"));
+  }
+
+  @Test
+  public void testValidateCategoryValuesWithInvalidTermFailure() {
+    mockFramework("framework5");
+    try {
+      FrameworkRegistry.validateCategoryValues(
+          "framework5", userFramework(GRADE_LEVEL, "KG", "Class 2"));
+    } catch (ProjectCommonException e) {
+      assertEquals(ResponseCode.invalidParameterValue.getErrorCode(), e.getCode());
+      return;
+    }
+    throw new AssertionError("Invalid term is accepted");
+  }
+
+  @Test
+  public void testValidateCategoryValuesOfUnsupportedCategoryFailure() {
+    mockFramework("framework6");
+    try {
+      FrameworkRegistry.validateCategoryValues("framework6", userFramework("medium", "English"));
+    } catch (ProjectCommonException e) {
+      assertEquals(ResponseCode.invalidParameterValue.getErrorCode(), e.getCode());
+      return;
+    }
+    throw new AssertionError("Value of unsupported category is accepted");
+  }
+
+  @Test
+  public void testValidateCategoryValuesOfUnknownFrameworkFailure() {
+    when(ContentStoreUtil.readFramework("framework7")).thenReturn(null);
+    try {
+      FrameworkRegistry.validateCategoryValues("framework7", userFramework(GRADE_LEVEL, "KG"));
+    } catch (ProjectCommonException e) {
+      assertEquals(ResponseCode.errorNoFrameworkFound.getErrorCode(), e.getCode());
+      return;
+    }
+    throw new AssertionError("Unknown framework is accepted");
+  }
+
+  private static void mockFramework(String frameworkId) {
+    List<Map<String, Object>> categories = new ArrayList<>();
+    categories.add(category(GRADE_LEVEL, "KG", "Class 1"));
+    categories.add(category("medium", "English"));
+    Map<String, Object> framework = new HashMap<>();
+    framework.put(JsonKey.CATEGORIES, categories);
+    Map<String, Object> result = new HashMap<>();
+    result.put(JsonKey.FRAMEWORK, framework);
+    Map<String, Object> response = new HashMap<>();
+    response.put(JsonKey.RESULT, result);
+    when(ContentStoreUtil.readFramework(frameworkId)).thenReturn(response);
+  }
+
+  private static Map<String, Object> category(String code, String... termNames) {
+    List<Map<String, Object>> terms = new ArrayList<>();
+    for (String termName : termNames) {
+      Map<String, Object> term = new HashMap<>();
+      term.put(JsonKey.IDENTIFIER, termName.toLowerCase().replace(" ", ""));
+      term.put(JsonKey.NAME, termName);
+      terms.add(term);
+    }
+    Map<String, Object> category = new HashMap<>();
+    category.put(JsonKey.CODE, code);
+    category.put(JsonKey.TERMS, terms);
+    return category;
+  }
+
+  private static Map<String, Object> userFramework(String category, String... values) {
+    Map<String, Object> userFramework = new HashMap<>();
+    userFramework.put(category, new ArrayList<>(Arrays.asList(values)));
+    return userFramework;
+  }
+}
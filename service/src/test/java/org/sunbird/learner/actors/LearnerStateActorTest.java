@@ -7,6 +7,7 @@ import static org.powermock.api.mockito.PowerMockito.when;
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.actor.Props;
+import akka.dispatch.Futures;
 import akka.testkit.javadsl.TestKit;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -31,11 +32,18 @@ import org.sunbird.common.models.util.ActorOperations;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.content.util.TextBookTocUtil;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.util.ContentSearchUtil;
 
 /** @author arvind */
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({ServiceFactory.class, ElasticSearchUtil.class})
+@PrepareForTest({
+  ServiceFactory.class,
+  ElasticSearchUtil.class,
+  ContentSearchUtil.class,
+  TextBookTocUtil.class
+})
 @PowerMockIgnore({"javax.management.*", "javax.net.ssl.*", "javax.security.*"})
 public class LearnerStateActorTest {
 
@@ -47,6 +55,7 @@ public class LearnerStateActorTest {
   private static String courseId2 = "alpha01crs15";
   private static String batchId = "115";
   private static final String contentId = "cont3544TeBuk";
+  private static final String GET_BATCH_CONTENT_STATE = "getBatchContentState";
 
   @BeforeClass
   public static void setUp() {
@@ -92,6 +101,59 @@ public class LearnerStateActorTest {
     Assert.assertNotNull(res);
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testGetCourseWithContentSearchFailure() {
+    Map<String, Object> batch = new HashMap<>();
+    batch.put(JsonKey.COURSE_ID, "uncachedCourse");
+    batch.put(JsonKey.BATCH_ID, batchId);
+    Map<String, Object> esResult = new HashMap<>();
+    esResult.put(JsonKey.CONTENT, new ArrayList<>(Arrays.asList(batch)));
+    when(ElasticSearchUtil.complexSearch(
+            Mockito.anyObject(), Mockito.anyObject(), Mockito.anyObject()))
+        .thenReturn(esResult);
+    PowerMockito.mockStatic(ContentSearchUtil.class);
+    when(ContentSearchUtil.searchContent(
+            Mockito.anyObject(), Mockito.anyString(), Mockito.anyMap()))
+        .thenReturn(Futures.failed(new RuntimeException("content search failed")));
+
+    TestKit probe = new TestKit(system);
+    ActorRef subject = system.actorOf(props);
+    Request request = new Request();
+    Map<String, Object> map = new HashMap<>();
+    map.put(JsonKey.USER_ID, userId);
+    request.setRequest(map);
+    request.setOperation(ActorOperations.GET_COURSE.getValue());
+    subject.tell(request, probe.getRef());
+    Response res = probe.expectMsgClass(duration("10 second"), Response.class);
+    List<Map<String, Object>> courses = (List<Map<String, Object>>) res.get(JsonKey.COURSES);
+    Assert.assertEquals(1, courses.size());
+    Assert.assertFalse(courses.get(0).containsKey(JsonKey.CONTENT));
+  }
+
+  @Test
+  public void testGetCourseWithEnrolledCoursesReadFailure() {
+    when(ElasticSearchUtil.complexSearch(
+            Mockito.anyObject(), Mockito.anyObject(), Mockito.anyObject()))
+        .thenThrow(
+            new ProjectCommonException(
+                ResponseCode.esError.getErrorCode(),
+                ResponseCode.esError.getErrorMessage(),
+                ResponseCode.SERVER_ERROR.getResponseCode()));
+
+    TestKit probe = new TestKit(system);
+    ActorRef subject = system.actorOf(props);
+    Request request = new Request();
+    Map<String, Object> map = new HashMap<>();
+    map.put(JsonKey.USER_ID, userId);
+    request.setRequest(map);
+    request.setOperation(ActorOperations.GET_COURSE.getValue());
+    subject.tell(request, probe.getRef());
+    ProjectCommonException exception =
+        probe.expectMsgClass(duration("10 second"), ProjectCommonException.class);
+    Assert.assertEquals(ResponseCode.esError.getErrorCode(), exception.getCode());
+  }
+
   @Test
   public void testGetCourseWithInvalidOperation() {
 
@@ -196,4 +258,90 @@ public class LearnerStateActorTest {
     Response res = probe.expectMsgClass(duration("10 second"), Response.class);
     Assert.assertNotNull(res);
   }
+
+  @Test
+  public void testGetBatchContentStateWithoutContentIdsSuccess() {
+    String participantsBatchId = "batchWithoutContentIds";
+    mockCourseBatch(participantsBatchId);
+    mockCourseHierarchy();
+
+    Response res = getBatchContentState(participantsBatchId, null);
+
+    Assert.assertEquals(2, res.getResult().get(JsonKey.COUNT));
+    Assert.assertEquals(2, ((List<Object>) res.getResult().get(JsonKey.RESPONSE)).size());
+    Mockito.verify(cassandraOperation, Mockito.times(1))
+        .getRecordsByProperty(
+            Mockito.anyString(), Mockito.anyString(), Mockito.eq(JsonKey.ID), Mockito.anyList());
+    Mockito.verify(cassandraOperation, Mockito.never())
+        .getRecordsByProperties(Mockito.anyString(), Mockito.anyString(), Mockito.anyMap());
+    Mockito.verify(cassandraOperation, Mockito.never())
+        .getRecordsByIndexedProperty(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyObject());
+  }
+
+  @Test
+  public void testGetBatchContentStateWithContentIdsSuccess() {
+    String participantsBatchId = "batchWithContentIds";
+    mockCourseBatch(participantsBatchId);
+
+    Response res = getBatchContentState(participantsBatchId, Arrays.asList(contentId));
+
+    Assert.assertEquals(2, res.getResult().get(JsonKey.COUNT));
+    Mockito.verify(cassandraOperation, Mockito.never())
+        .getRecordsByProperties(Mockito.anyString(), Mockito.anyString(), Mockito.anyMap());
+    Mockito.verify(cassandraOperation, Mockito.never())
+        .getRecordsByIndexedProperty(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyObject());
+  }
+
+  private void mockCourseBatch(String participantsBatchId) {
+    Map<String, Boolean> participant = new HashMap<>();
+    participant.put(userId, true);
+    participant.put("user122gama", true);
+    participant.put("user123gama", false);
+    Map<String, Object> courseBatch = new HashMap<>();
+    courseBatch.put(JsonKey.ID, participantsBatchId);
+    courseBatch.put(JsonKey.COURSE_ID, courseId);
+    courseBatch.put(JsonKey.PARTICIPANT, participant);
+    Response batchResponse = new Response();
+    batchResponse.put(JsonKey.RESPONSE, new ArrayList<>(Arrays.asList(courseBatch)));
+    when(cassandraOperation.getRecordById(
+            Mockito.anyString(), Mockito.anyString(), Mockito.eq(participantsBatchId)))
+        .thenReturn(batchResponse);
+  }
+
+  private void mockCourseHierarchy() {
+    Map<String, Object> unit = new HashMap<>();
+    unit.put(JsonKey.IDENTIFIER, "unit01");
+    unit.put(JsonKey.MIME_TYPE, JsonKey.COLLECTION_MIME_TYPE);
+    unit.put(JsonKey.CHILDREN, Arrays.asList(leaf(contentId), leaf("cont3545TeBuk")));
+    Map<String, Object> course = new HashMap<>();
+    course.put(JsonKey.IDENTIFIER, courseId);
+    course.put(JsonKey.MIME_TYPE, JsonKey.COLLECTION_MIME_TYPE);
+    course.put(JsonKey.CHILDREN, Arrays.asList(unit));
+    Response hierarchyResponse = new Response();
+    hierarchyResponse.put(JsonKey.CONTENT, course);
+    PowerMockito.mockStatic(TextBookTocUtil.class);
+    when(TextBookTocUtil.readHierarchy(courseId)).thenReturn(hierarchyResponse);
+  }
+
+  private Map<String, Object> leaf(String identifier) {
+    Map<String, Object> leaf = new HashMap<>();
+    leaf.put(JsonKey.IDENTIFIER, identifier);
+    leaf.put(JsonKey.MIME_TYPE, "application/vnd.ekstep.ecml-archive");
+    return leaf;
+  }
+
+  private Response getBatchContentState(String participantsBatchId, List<String> contentIds) {
+    TestKit probe = new TestKit(system);
+    ActorRef subject = system.actorOf(props);
+    Request request = new Request();
+    Map<String, Object> innerMap = new HashMap<>();
+    innerMap.put(JsonKey.BATCH_ID, participantsBatchId);
+    innerMap.put(JsonKey.CONTENT_IDS, contentIds);
+    request.setRequest(innerMap);
+    request.setOperation(GET_BATCH_CONTENT_STATE);
+    subject.tell(request, probe.getRef());
+    return probe.expectMsgClass(duration("10 second"), Response.class);
+  }
 }
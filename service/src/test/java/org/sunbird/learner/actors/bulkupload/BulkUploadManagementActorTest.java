@@ -134,6 +134,32 @@ public class BulkUploadManagementActorTest {
     }
   }
 
+  @Test
+  public void testBulkUploadGetStatusOfFailedTextbookUploadSuccess() {
+    Response response = new Response();
+    Map<String, Object> bulkUploadProcessMap = new HashMap<>();
+    bulkUploadProcessMap.put(JsonKey.ID, PROCESS_ID);
+    bulkUploadProcessMap.put(JsonKey.STATUS, ProjectUtil.BulkProcessStatus.FAILED.getValue());
+    bulkUploadProcessMap.put(JsonKey.OBJECT_TYPE, JsonKey.TEXTBOOK);
+    bulkUploadProcessMap.put(JsonKey.FAILURE_RESULT, "[{\"errorMsg\":\"Invalid hierarchy\"}]");
+    List<Map<String, Object>> list = new ArrayList<>();
+    list.add(bulkUploadProcessMap);
+    response.put(JsonKey.RESPONSE, list);
+    when(cassandraOperation.getRecordById(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyList()))
+        .thenReturn(response);
+    TestKit probe = new TestKit(system);
+    ActorRef subject = system.actorOf(props);
+    Request reqObj = new Request();
+    reqObj.setOperation(ActorOperations.GET_BULK_OP_STATUS.getValue());
+    reqObj.getRequest().put(JsonKey.PROCESS_ID, PROCESS_ID);
+    subject.tell(reqObj, probe.getRef());
+    Response res = probe.expectMsgClass(duration("10 second"), Response.class);
+    Map<String, Object> map = ((List<Map<String, Object>>) res.get(JsonKey.RESPONSE)).get(0);
+    Assert.assertEquals(JsonKey.FAILED, map.get(JsonKey.STATUS));
+    Assert.assertEquals(1, ((Object[]) map.get(JsonKey.FAILURE_RESULT)).length);
+  }
+
   @Ignore
   public void testUserBulkUploadCreateUserSuccess() {
 